@@ -84,6 +84,9 @@ public final class AtlasDbMetricNames {
     public static final String DELETED_CELLS = "deletedCells";
     public static final String SCRUBBED_CELLS = "scrubbedCells";
     public static final String SCRUB_RETRIES = "retriedBatches";
+    public static final String SCRUB_STAGE_PROCESSED = "scrubStageProcessed";
+    public static final String SCRUB_STAGE_OCCUPANCY = "scrubStageOccupancy";
+    public static final String TAG_SCRUB_STAGE = "stage";
 
     public static final String TAG_CURRENT_SUSPECTED_LEADER = "isCurrentSuspectedLeader";
     public static final String TAG_CLIENT = "client";
@@ -0,0 +1,105 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.compress;
+
+import com.google.protobuf.ByteString;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import java.util.Arrays;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A preset dictionary for values compressed with {@code Compression.DEFLATE}. Deflate can refer back to bytes of the
+ * dictionary as if they preceded the value, so a dictionary made of content that is common across the values of a
+ * table lets even small values compress well.
+ *
+ * Every compressed value records the id of the dictionary it was compressed with, so a table can keep older
+ * dictionaries to read existing values while compressing new values with a newer one.
+ */
+@Immutable
+public final class CompressionDictionary {
+    /**
+     * Deflate can only refer back this many bytes, so any earlier bytes of a larger dictionary would never be used.
+     */
+    public static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+
+    private final int id;
+    private final byte[] dictionary;
+
+    private CompressionDictionary(int id, byte[] dictionary) {
+        Preconditions.checkArgument(id > 0, "Dictionary ids must be positive", SafeArg.of("id", id));
+        Preconditions.checkArgument(
+                dictionary.length > 0 && dictionary.length <= MAX_DICTIONARY_SIZE,
+                "Dictionaries must be non-empty and at most the maximum size",
+                SafeArg.of("id", id),
+                SafeArg.of("size", dictionary.length),
+                SafeArg.of("maxSize", MAX_DICTIONARY_SIZE));
+        this.id = id;
+        this.dictionary = dictionary;
+    }
+
+    public static CompressionDictionary of(int id, byte[] dictionary) {
+        return new CompressionDictionary(id, dictionary.clone());
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public byte[] getDictionary() {
+        return dictionary.clone();
+    }
+
+    /**
+     * Returns the dictionary without copying it, for compressing and decompressing values.
+     */
+    byte[] bytes() {
+        return dictionary;
+    }
+
+    public TableMetadataPersistence.CompressionDictionary.Builder persistToProto() {
+        return TableMetadataPersistence.CompressionDictionary.newBuilder()
+                .setId(id)
+                .setDictionary(ByteString.copyFrom(dictionary));
+    }
+
+    public static CompressionDictionary hydrateFromProto(TableMetadataPersistence.CompressionDictionary message) {
+        return new CompressionDictionary(message.getId(), message.getDictionary().toByteArray());
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+        CompressionDictionary that = (CompressionDictionary) other;
+        return id == that.id && Arrays.equals(dictionary, that.dictionary);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * id + Arrays.hashCode(dictionary);
+    }
+
+    @Override
+    public String toString() {
+        return "CompressionDictionary{id=" + id + ", size=" + dictionary.length + "}";
+    }
+}
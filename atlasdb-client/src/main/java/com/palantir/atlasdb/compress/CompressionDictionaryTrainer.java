@@ -0,0 +1,150 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.compress;
+
+import com.google.common.primitives.Bytes;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trains {@link CompressionDictionary compression dictionaries} from sampled values of a table.
+ *
+ * The dictionary is built from segments around the byte sequences that occur in the most samples, such as field names
+ * and common values, skipping sequences already covered by an earlier segment. Deflate encodes nearer references more
+ * cheaply, so the most common segments are placed at the end of the dictionary. A few hundred kilobytes of samples are
+ * usually enough; training holds an entry for every distinct sequence of the samples in memory.
+ */
+public final class CompressionDictionaryTrainer {
+    // Sequences are packed into a long, so they are compared exactly.
+    private static final int SEQUENCE_LENGTH = Long.BYTES;
+    private static final int SEGMENT_LENGTH = 64;
+
+    private CompressionDictionaryTrainer() {
+        // utility
+    }
+
+    public static CompressionDictionary train(int id, List<byte[]> samples) {
+        return train(id, samples, CompressionDictionary.MAX_DICTIONARY_SIZE);
+    }
+
+    public static CompressionDictionary train(int id, List<byte[]> samples, int maxSize) {
+        Preconditions.checkArgument(
+                maxSize > 0 && maxSize <= CompressionDictionary.MAX_DICTIONARY_SIZE,
+                "Dictionary size must be positive and at most the maximum size",
+                SafeArg.of("maxSize", maxSize));
+
+        List<Sequence> commonSequences = new ArrayList<>();
+        for (Sequence sequence : countSequences(samples).values()) {
+            if (sequence.samplesContaining > 1) {
+                commonSequences.add(sequence);
+            }
+        }
+        // Ties are broken by position in the samples, so the same samples always train the same dictionary.
+        commonSequences.sort(Comparator.comparingInt((Sequence sequence) -> -sequence.samplesContaining)
+                .thenComparingInt(sequence -> sequence.firstSample)
+                .thenComparingInt(sequence -> sequence.firstOffset));
+
+        Set<Long> coveredSequences = new HashSet<>();
+        Deque<byte[]> segments = new ArrayDeque<>();
+        int size = 0;
+        for (Sequence sequence : commonSequences) {
+            if (coveredSequences.contains(sequence.key)) {
+                continue;
+            }
+            byte[] segment = segmentAround(samples.get(sequence.firstSample), sequence.firstOffset);
+            if (size + segment.length > maxSize) {
+                break;
+            }
+            for (int offset = 0; offset + SEQUENCE_LENGTH <= segment.length; offset++) {
+                coveredSequences.add(sequenceAt(segment, offset));
+            }
+            // Segments are chosen most common first, so prepending puts the most common segments last.
+            segments.addFirst(segment);
+            size += segment.length;
+        }
+
+        if (segments.isEmpty()) {
+            throw new SafeIllegalArgumentException(
+                    "Samples have no content in common to train a dictionary from",
+                    SafeArg.of("samples", samples.size()));
+        }
+        return CompressionDictionary.of(id, Bytes.concat(segments.toArray(new byte[0][])));
+    }
+
+    private static Map<Long, Sequence> countSequences(List<byte[]> samples) {
+        Map<Long, Sequence> sequences = new HashMap<>();
+        for (int sample = 0; sample < samples.size(); sample++) {
+            byte[] bytes = samples.get(sample);
+            for (int offset = 0; offset + SEQUENCE_LENGTH <= bytes.length; offset++) {
+                long key = sequenceAt(bytes, offset);
+                Sequence sequence = sequences.computeIfAbsent(key, Sequence::new);
+                sequence.addOccurrence(sample, offset);
+            }
+        }
+        return sequences;
+    }
+
+    private static long sequenceAt(byte[] bytes, int offset) {
+        long sequence = 0L;
+        for (int i = offset; i < offset + SEQUENCE_LENGTH; i++) {
+            sequence = (sequence << Byte.SIZE) | (bytes[i] & 0xFF);
+        }
+        return sequence;
+    }
+
+    private static byte[] segmentAround(byte[] sample, int sequenceOffset) {
+        int start = Math.max(0, sequenceOffset - (SEGMENT_LENGTH - SEQUENCE_LENGTH) / 2);
+        int end = Math.min(sample.length, start + SEGMENT_LENGTH);
+        start = Math.max(0, end - SEGMENT_LENGTH);
+        byte[] segment = new byte[end - start];
+        System.arraycopy(sample, start, segment, 0, segment.length);
+        return segment;
+    }
+
+    private static final class Sequence {
+        private final long key;
+        private int samplesContaining = 0;
+        private int lastSample = -1;
+        private int firstSample;
+        private int firstOffset;
+
+        private Sequence(long key) {
+            this.key = key;
+        }
+
+        private void addOccurrence(int sample, int offset) {
+            if (lastSample == sample) {
+                return;
+            }
+            if (lastSample == -1) {
+                firstSample = sample;
+                firstOffset = offset;
+            }
+            samplesContaining++;
+            lastSample = sample;
+        }
+    }
+}
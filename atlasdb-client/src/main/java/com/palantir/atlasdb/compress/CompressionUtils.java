@@ -15,20 +15,47 @@
  */
 package com.palantir.atlasdb.compress;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Bytes;
+import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
 import com.palantir.common.base.Throwables;
+import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import javax.annotation.Nullable;
 import org.xerial.snappy.Snappy;
 
 public final class CompressionUtils {
+    private static final int NO_DICTIONARY_ID = 0;
+    private static final int DEFLATE_BUFFER_SIZE = 4096;
+    // Deflaters and inflaters hold native memory that is only freed when they are ended, so reuse them per thread.
+    private static final ThreadLocal<Deflater> DEFLATERS =
+            ThreadLocal.withInitial(() -> new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+    private static final ThreadLocal<Inflater> INFLATERS = ThreadLocal.withInitial(() -> new Inflater(true));
+
     private CompressionUtils() {
         // empty
     }
 
     public static byte[] compress(byte[] bytes, Compression compressionType) {
+        return compress(bytes, compressionType, ImmutableList.of());
+    }
+
+    /**
+     * Compresses the bytes, using the dictionary with the highest id if the compression type supports dictionaries.
+     */
+    public static byte[] compress(byte[] bytes, Compression compressionType, List<CompressionDictionary> dictionaries) {
         if (compressionType == Compression.SNAPPY) {
             return compressWithSnappy(bytes);
+        } else if (compressionType == Compression.DEFLATE) {
+            return compressWithDeflate(bytes, latestDictionary(dictionaries));
         } else if (compressionType == Compression.NONE) {
             return bytes;
         } else {
@@ -37,8 +64,19 @@ public final class CompressionUtils {
     }
 
     public static byte[] decompress(byte[] bytes, Compression compressionType) {
+        return decompress(bytes, compressionType, ImmutableList.of());
+    }
+
+    /**
+     * Decompresses the bytes. Values compressed with a dictionary can only be decompressed if the dictionaries include
+     * the one they were compressed with.
+     */
+    public static byte[] decompress(
+            byte[] bytes, Compression compressionType, List<CompressionDictionary> dictionaries) {
         if (compressionType == Compression.SNAPPY) {
             return decompressWithSnappy(bytes);
+        } else if (compressionType == Compression.DEFLATE) {
+            return decompressWithDeflate(bytes, dictionaries);
         } else if (compressionType == Compression.NONE) {
             return bytes;
         } else {
@@ -64,4 +102,83 @@ public final class CompressionUtils {
             throw Throwables.throwUncheckedException(e);
         }
     }
+
+    /**
+     * Compresses the bytes with raw deflate, preceded by the id of the dictionary used (or zero if there is none) and
+     * the uncompressed length, both as var longs.
+     */
+    public static byte[] compressWithDeflate(byte[] bytes, @Nullable CompressionDictionary dictionary) {
+        Deflater deflater = DEFLATERS.get();
+        deflater.reset();
+        if (dictionary != null) {
+            deflater.setDictionary(dictionary.bytes());
+        }
+        deflater.setInput(bytes);
+        deflater.finish();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length / 2 + 16);
+        int dictionaryId = dictionary == null ? NO_DICTIONARY_ID : dictionary.getId();
+        byte[] header =
+                Bytes.concat(EncodingUtils.encodeVarLong(dictionaryId), EncodingUtils.encodeVarLong(bytes.length));
+        output.write(header, 0, header.length);
+        byte[] buffer = new byte[DEFLATE_BUFFER_SIZE];
+        while (!deflater.finished()) {
+            int compressedBytes = deflater.deflate(buffer);
+            output.write(buffer, 0, compressedBytes);
+        }
+        return output.toByteArray();
+    }
+
+    public static byte[] decompressWithDeflate(byte[] bytes, List<CompressionDictionary> dictionaries) {
+        try {
+            long dictionaryId = EncodingUtils.decodeVarLong(bytes, 0);
+            int offset = EncodingUtils.sizeOfVarLong(dictionaryId);
+            long length = EncodingUtils.decodeVarLong(bytes, offset);
+            offset += EncodingUtils.sizeOfVarLong(length);
+            if (length < 0 || length > Integer.MAX_VALUE) {
+                throw new SafeIllegalArgumentException(
+                        "Cannot decompress these bytes using Deflate", SafeArg.of("length", length));
+            }
+
+            Inflater inflater = INFLATERS.get();
+            inflater.reset();
+            if (dictionaryId != NO_DICTIONARY_ID) {
+                inflater.setDictionary(findDictionary(dictionaries, dictionaryId).bytes());
+            }
+            inflater.setInput(bytes, offset, bytes.length - offset);
+
+            byte[] result = new byte[(int) length];
+            int decompressedBytes = 0;
+            while (decompressedBytes < result.length) {
+                int read = inflater.inflate(result, decompressedBytes, result.length - decompressedBytes);
+                if (read == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new SafeIllegalArgumentException(
+                            "Cannot decompress these bytes using Deflate",
+                            SafeArg.of("length", length),
+                            SafeArg.of("decompressedBytes", decompressedBytes));
+                }
+                decompressedBytes += read;
+            }
+            return result;
+        } catch (DataFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new SafeIllegalArgumentException("Cannot decompress these bytes using Deflate", e);
+        }
+    }
+
+    @Nullable
+    private static CompressionDictionary latestDictionary(List<CompressionDictionary> dictionaries) {
+        return dictionaries.stream()
+                .max(Comparator.comparingInt(CompressionDictionary::getId))
+                .orElse(null);
+    }
+
+    private static CompressionDictionary findDictionary(List<CompressionDictionary> dictionaries, long id) {
+        for (CompressionDictionary dictionary : dictionaries) {
+            if (dictionary.getId() == id) {
+                return dictionary;
+            }
+        }
+        throw new SafeIllegalArgumentException(
+                "Value was compressed with a dictionary that is not available", SafeArg.of("dictionaryId", id));
+    }
 }
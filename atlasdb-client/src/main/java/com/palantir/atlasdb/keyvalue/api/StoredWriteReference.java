@@ -31,6 +31,8 @@ public interface StoredWriteReference extends Persistable {
                 return visitor.visitTableNameAsStringBinary(data);
             case 1:
                 return visitor.visitTableIdBinary(data);
+            case 2:
+                return visitor.visitRangeSummaryBinary(data);
             case '{':
                 return visitor.visitJson(data);
             default:
@@ -53,5 +55,7 @@ public interface StoredWriteReference extends Persistable {
         T visitTableNameAsStringBinary(byte[] ref);
 
         T visitTableIdBinary(byte[] ref);
+
+        T visitRangeSummaryBinary(byte[] ref);
     }
 }
@@ -0,0 +1,45 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.api;
+
+import java.util.List;
+import org.immutables.value.Value;
+
+/**
+ * Summarises the writes a single transaction made into a table as the {@link #rows()} written, restricted to
+ * {@link #columns()}. The summary may cover cells that were not written by the transaction; the writes it stands for
+ * are exactly the {@link #numberOfCells()} cells in those rows and columns that have a value at the start timestamp of
+ * the transaction.
+ */
+@Value.Immutable
+public abstract class WriteRangeSummary {
+    @Value.Parameter
+    public abstract TableReference tableRef();
+
+    @Value.Parameter
+    public abstract List<byte[]> rows();
+
+    @Value.Parameter
+    public abstract ColumnSelection columns();
+
+    @Value.Parameter
+    public abstract int numberOfCells();
+
+    public static WriteRangeSummary of(
+            TableReference tableRef, List<byte[]> rows, ColumnSelection columns, int numberOfCells) {
+        return ImmutableWriteRangeSummary.of(tableRef, rows, columns, numberOfCells);
+    }
+}
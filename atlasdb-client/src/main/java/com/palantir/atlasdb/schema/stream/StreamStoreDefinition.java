@@ -38,6 +38,7 @@ public class StreamStoreDefinition {
     private final ValueType idType;
     private final StreamCompression streamCompression;
     private final int numberOfRowComponentsHashed;
+    private final boolean deduplicateChunks;
 
     private int inMemoryThreshold;
 
@@ -48,7 +49,8 @@ public class StreamStoreDefinition {
             ValueType idType,
             int inMemoryThreshold,
             StreamCompression streamCompression,
-            int numberOfRowComponentsHashed) {
+            int numberOfRowComponentsHashed,
+            boolean deduplicateChunks) {
         this.streamStoreTables = streamStoreTables;
         this.shortName = shortName;
         this.longName = longName;
@@ -56,6 +58,7 @@ public class StreamStoreDefinition {
         this.inMemoryThreshold = inMemoryThreshold;
         this.streamCompression = streamCompression;
         this.numberOfRowComponentsHashed = numberOfRowComponentsHashed;
+        this.deduplicateChunks = deduplicateChunks;
     }
 
     public Map<String, TableDefinition> getTables() {
@@ -73,7 +76,13 @@ public class StreamStoreDefinition {
     public StreamStoreRenderer getRenderer(String packageName, String name) {
         String renderedLongName = Renderers.CamelCase(longName);
         return new StreamStoreRenderer(
-                renderedLongName, idType, packageName, name, inMemoryThreshold, streamCompression);
+                renderedLongName,
+                idType,
+                packageName,
+                name,
+                inMemoryThreshold,
+                streamCompression,
+                deduplicateChunks);
     }
 
     public Multimap<String, Supplier<OnCleanupTask>> getCleanupTasks(
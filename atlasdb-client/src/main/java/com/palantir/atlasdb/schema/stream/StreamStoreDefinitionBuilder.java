@@ -22,7 +22,9 @@ import com.palantir.atlasdb.protos.generated.TableMetadataPersistence;
 import com.palantir.atlasdb.table.description.TableDefinition;
 import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.common.compression.StreamCompression;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class StreamStoreDefinitionBuilder {
@@ -31,9 +33,11 @@ public class StreamStoreDefinitionBuilder {
     private final String longName;
     private Map<String, StreamTableDefinitionBuilder> streamTables =
             Maps.newHashMapWithExpectedSize(StreamTableType.values().length);
+    private final Set<String> chunkTableNames = new HashSet<>();
     private int inMemoryThreshold = AtlasDbConstants.DEFAULT_STREAM_IN_MEMORY_THRESHOLD;
     private StreamCompression compressStreamType;
     private int numberOfRowComponentsHashed = 0;
+    private boolean deduplicateChunks = false;
 
     /**
      * @param shortName The prefix of the table names in the DB.
@@ -45,6 +49,9 @@ public class StreamStoreDefinitionBuilder {
             streamTables.put(
                     tableType.getTableName(shortName),
                     new StreamTableDefinitionBuilder(tableType, longName, valueType));
+            if (tableType.isChunkTable()) {
+                chunkTableNames.add(tableType.getTableName(shortName));
+            }
         }
         this.valueType = valueType;
         this.shortName = shortName;
@@ -111,6 +118,22 @@ public class StreamStoreDefinitionBuilder {
         return this;
     }
 
+    /**
+     * Splits streams into content-defined chunks instead of fixed size blocks, and stores each distinct chunk only
+     * once across all the streams of this store, so near-identical streams mostly share their chunks. Chunks that are
+     * no longer referenced by any stream are deleted by the stream cleanup tasks.
+     *
+     * Streams are chunked after they are compressed in the client, and compressing a stream can spread a small edit
+     * over much of its compressed form, so this works best for stores that do not compress in the client.
+     *
+     * This adds two tables to the stream store. Do not change this flag for an existing store schema, as we currently
+     * do not support StreamStore migrations.
+     */
+    public StreamStoreDefinitionBuilder deduplicateChunks() {
+        deduplicateChunks = true;
+        return this;
+    }
+
     public StreamStoreDefinitionBuilder inMemoryThreshold(int inMemoryThreshold) {
         this.inMemoryThreshold = inMemoryThreshold;
         return this;
@@ -118,6 +141,7 @@ public class StreamStoreDefinitionBuilder {
 
     public StreamStoreDefinition build() {
         Map<String, TableDefinition> tablesToCreate = streamTables.entrySet().stream()
+                .filter(entry -> deduplicateChunks || !chunkTableNames.contains(entry.getKey()))
                 .collect(Collectors.toMap(
                         Map.Entry::getKey, entry -> entry.getValue().build()));
 
@@ -135,6 +159,7 @@ public class StreamStoreDefinitionBuilder {
                 valueType,
                 inMemoryThreshold,
                 compressStreamType,
-                numberOfRowComponentsHashed);
+                numberOfRowComponentsHashed,
+                deduplicateChunks);
     }
 }
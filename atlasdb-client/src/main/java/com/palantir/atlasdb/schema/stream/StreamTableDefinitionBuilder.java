@@ -196,6 +196,56 @@ public class StreamTableDefinitionBuilder {
                     }
                 };
 
+            case CHUNK:
+                return new TableDefinition() {
+                    {
+                        javaTableName(streamTableType.getJavaClassName(prefix));
+
+                        tableNameLogSafety(tableNameLogSafety);
+                        namedComponentsSafeByDefault();
+
+                        rowName();
+                        rowComponent("hash", ValueType.SHA256HASH);
+                        columns();
+                        column("value", "v", ValueType.BLOB);
+
+                        conflictHandler(ConflictHandler.IGNORE_ALL);
+                        maxValueSize(GenericStreamStore.BLOCK_SIZE_IN_BYTES);
+                        cachePriority(CachePriority.COLD);
+                        if (appendHeavyAndReadLight) {
+                            appendHeavyAndReadLight();
+                        }
+                        ignoreHotspottingChecks();
+                    }
+                };
+
+            case CHUNK_INDEX:
+                return new TableDefinition() {
+                    {
+                        javaTableName(streamTableType.getJavaClassName(prefix));
+
+                        tableNameLogSafety(tableNameLogSafety);
+                        namedComponentsSafeByDefault();
+
+                        rowName();
+                        rowComponent("hash", ValueType.SHA256HASH);
+                        dynamicColumns();
+                        columnComponent("stream_id", idType);
+                        columnComponent("chunk_number", ValueType.VAR_LONG);
+                        value(ValueType.VAR_LONG);
+
+                        // Storing a chunk checks whether it is referenced, and deleting a stream checks whether its
+                        // chunks are still referenced, so those reads must conflict with concurrent writes.
+                        conflictHandler(ConflictHandler.SERIALIZABLE);
+                        maxValueSize(1);
+                        explicitCompressionRequested();
+                        if (appendHeavyAndReadLight) {
+                            appendHeavyAndReadLight();
+                        }
+                        ignoreHotspottingChecks();
+                    }
+                };
+
             default:
                 throw new SafeIllegalStateException("Incorrectly supplied stream table type");
         }
@@ -23,7 +23,9 @@ public enum StreamTableType { // WARNING: do not change these without an upgrade
     METADATA("_stream_metadata", "StreamMetadata"),
     VALUE("_stream_value", "StreamValue"),
     HASH("_stream_hash_aidx", "StreamHashAidx"),
-    INDEX("_stream_idx", "StreamIdx");
+    INDEX("_stream_idx", "StreamIdx"),
+    CHUNK("_stream_chunk", "StreamChunk"),
+    CHUNK_INDEX("_stream_chunk_idx", "StreamChunkIdx");
 
     private final String tableSuffix;
     private final String javaSuffix;
@@ -41,6 +43,13 @@ public enum StreamTableType { // WARNING: do not change these without an upgrade
         return Renderers.CamelCase(prefix) + javaSuffix;
     }
 
+    /**
+     * Whether this table is only created for stream stores that deduplicate chunks across streams.
+     */
+    public boolean isChunkTable() {
+        return this == CHUNK || this == CHUNK_INDEX;
+    }
+
     public static boolean isStreamStoreValueTable(TableReference tableReference) {
         return tableReference.getQualifiedName().endsWith(StreamTableType.VALUE.tableSuffix);
     }
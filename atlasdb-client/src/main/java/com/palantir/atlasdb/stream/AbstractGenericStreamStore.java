@@ -27,9 +27,11 @@ import com.palantir.atlasdb.transaction.api.Transaction;
 import com.palantir.atlasdb.transaction.api.TransactionManager;
 import com.palantir.common.base.Throwables;
 import com.palantir.common.compression.StreamCompression;
+import com.palantir.common.concurrent.PTExecutors;
 import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.UnsafeArg;
 import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
 import com.palantir.logsafe.logger.SafeLogger;
 import com.palantir.logsafe.logger.SafeLoggerFactory;
 import com.palantir.util.ByteArrayIOStream;
@@ -40,26 +42,45 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.SeekableByteChannel;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.CheckForNull;
 
 public abstract class AbstractGenericStreamStore<T> implements GenericStreamStore<T> {
     protected static final SafeLogger log = SafeLoggerFactory.get(AbstractGenericStreamStore.class);
+    private static final int MAX_READ_AHEAD_THREADS = 64;
+    private static final ExecutorService READ_AHEAD_EXECUTOR =
+            PTExecutors.newFixedThreadPool(MAX_READ_AHEAD_THREADS, "stream-store-read-ahead");
 
     @CheckForNull
     protected final TransactionManager txnMgr;
 
     private final StreamCompression compression;
+    private final Supplier<StreamStorePersistenceConfiguration> persistenceConfiguration;
 
     protected AbstractGenericStreamStore(TransactionManager txManager, StreamCompression compression) {
+        this(txManager, compression, () -> StreamStorePersistenceConfigurations.DEFAULT_CONFIG);
+    }
+
+    protected AbstractGenericStreamStore(
+            TransactionManager txManager,
+            StreamCompression compression,
+            Supplier<StreamStorePersistenceConfiguration> persistenceConfiguration) {
         this.txnMgr = txManager;
         this.compression = compression;
+        this.persistenceConfiguration = persistenceConfiguration;
     }
 
-    private long getNumberOfBlocksFromMetadata(StreamMetadata metadata) {
+    protected final long getNumberOfBlocksFromMetadata(StreamMetadata metadata) {
+        if (metadata.hasChunkCount()) {
+            return metadata.getChunkCount();
+        }
         return (metadata.getLength() + BLOCK_SIZE_IN_BYTES - 1) / BLOCK_SIZE_IN_BYTES;
     }
 
@@ -90,6 +111,31 @@ public abstract class AbstractGenericStreamStore<T> implements GenericStreamStor
         return Optional.of(getStream(transaction, id, metadata));
     }
 
+    @Override
+    public Optional<SeekableByteChannel> loadSingleStreamAsChannel(Transaction transaction, T id) {
+        if (compression != StreamCompression.NONE) {
+            throw new SafeIllegalStateException(
+                    "Random access reads are only supported for uncompressed streams",
+                    SafeArg.of("compression", compression));
+        }
+        Map<T, StreamMetadata> idToMetadata = getMetadata(transaction, ImmutableSet.of(id));
+        if (idToMetadata.isEmpty()) {
+            return Optional.empty();
+        }
+
+        StreamMetadata metadata = getOnlyStreamMetadata(idToMetadata);
+        checkStreamStored(id, metadata);
+        if (metadata.hasChunkCount()) {
+            throw new SafeIllegalStateException(
+                    "Random access reads are not supported for streams stored as content-defined chunks");
+        }
+        return Optional.of(new BlockSeekableByteChannel(
+                createBlockGetter(transaction, id),
+                metadata.getLength(),
+                BLOCK_SIZE_IN_BYTES,
+                getNumberOfBlocksThatFitInMemory()));
+    }
+
     @Override
     public Map<T, InputStream> loadStreams(Transaction transaction, Set<T> ids) {
         Map<T, StreamMetadata> idsToMetadata = getMetadata(transaction, ids);
@@ -115,7 +161,8 @@ public abstract class AbstractGenericStreamStore<T> implements GenericStreamStor
             return new ByteArrayInputStream(new byte[0]);
         } else if (metadata.getLength() <= Math.min(getInMemoryThreshold(), BLOCK_SIZE_IN_BYTES)) {
             ByteArrayIOStream ios = new ByteArrayIOStream(Ints.saturatedCast(metadata.getLength()));
-            loadSingleBlockToOutputStream(transaction, id, 0, ios);
+            // Streams stored as content-defined chunks may be split into several chunks, even when this short.
+            loadNBlocksToOutputStream(transaction, id, 0, getNumberOfBlocksFromMetadata(metadata), ios);
             return ios.getInputStream();
         } else {
             return makeStream(transaction, id, metadata);
@@ -125,8 +172,38 @@ public abstract class AbstractGenericStreamStore<T> implements GenericStreamStor
     private InputStream makeStream(Transaction parent, T id, StreamMetadata metadata) {
         long totalBlocks = getNumberOfBlocksFromMetadata(metadata);
         int blocksInMemory = getNumberOfBlocksThatFitInMemory();
+        BlockGetter pageRefresher = createBlockGetter(parent, id);
+
+        int blocksToReadAhead = getNumberOfBlocksToReadAhead();
+        if (blocksToReadAhead > 0) {
+            return ReadAheadBlockInputStream.create(
+                    pageRefresher, totalBlocks, blocksToReadAhead, readAheadExecutorOutside(parent));
+        }
 
-        BlockGetter pageRefresher = new BlockGetter() {
+        try {
+            return BlockConsumingInputStream.create(pageRefresher, totalBlocks, blocksInMemory);
+        } catch (IOException e) {
+            throw Throwables.throwUncheckedException(e);
+        }
+    }
+
+    /**
+     * The parent transaction must only be used by the thread reading the stream, so blocks are only fetched ahead on
+     * other threads once it has finished, each in its own read-only transaction. While the stream is read inside the
+     * parent transaction, the reader fetches blocks itself.
+     */
+    private static Executor readAheadExecutorOutside(Transaction parent) {
+        return fetch -> {
+            if (parent.isUncommitted()) {
+                fetch.run();
+            } else {
+                READ_AHEAD_EXECUTOR.execute(fetch);
+            }
+        };
+    }
+
+    private BlockGetter createBlockGetter(Transaction parent, T id) {
+        return new BlockGetter() {
             @Override
             public void get(long firstBlock, long numBlocks, OutputStream destination) {
                 if (parent.isUncommitted()) {
@@ -144,12 +221,15 @@ public abstract class AbstractGenericStreamStore<T> implements GenericStreamStor
                 return BLOCK_SIZE_IN_BYTES;
             }
         };
+    }
 
-        try {
-            return BlockConsumingInputStream.create(pageRefresher, totalBlocks, blocksInMemory);
-        } catch (IOException e) {
-            throw Throwables.throwUncheckedException(e);
+    private int getNumberOfBlocksToReadAhead() {
+        StreamStorePersistenceConfiguration config = persistenceConfiguration.get();
+        if (config.readAheadBlocks() == 0) {
+            return 0;
         }
+        long blocksWithinBudget = Math.max(1L, config.readAheadMaxBytes() / BLOCK_SIZE_IN_BYTES);
+        return (int) Math.min(config.readAheadBlocks(), blocksWithinBudget);
     }
 
     protected int getNumberOfBlocksThatFitInMemory() {
@@ -17,6 +17,7 @@ package com.palantir.atlasdb.stream;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
 import com.google.common.io.ByteStreams;
@@ -31,6 +32,7 @@ import com.palantir.atlasdb.transaction.api.TransactionTask;
 import com.palantir.atlasdb.transaction.impl.TxTask;
 import com.palantir.common.base.Throwables;
 import com.palantir.common.compression.StreamCompression;
+import com.palantir.common.concurrent.PTExecutors;
 import com.palantir.common.streams.KeyedStream;
 import com.palantir.logsafe.SafeArg;
 import com.palantir.util.Pair;
@@ -40,13 +42,19 @@ import java.io.InputStream;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 
 public abstract class AbstractPersistentStreamStore extends AbstractGenericStreamStore<Long>
         implements PersistentStreamStore {
+    private static final int MAX_BLOCK_WRITER_THREADS = 64;
+    private static final ExecutorService BLOCK_WRITER_EXECUTOR =
+            PTExecutors.newFixedThreadPool(MAX_BLOCK_WRITER_THREADS, "stream-store-block-writer");
+
     private final StreamStoreBackoffStrategy backoffStrategy;
     private final StreamCompression compression;
+    private final Supplier<StreamStorePersistenceConfiguration> persistenceConfiguration;
 
     protected AbstractPersistentStreamStore(TransactionManager txManager, StreamCompression compression) {
         this(txManager, compression, () -> StreamStorePersistenceConfigurations.DEFAULT_CONFIG);
@@ -56,8 +64,9 @@ public abstract class AbstractPersistentStreamStore extends AbstractGenericStrea
             TransactionManager txManager,
             StreamCompression compression,
             Supplier<StreamStorePersistenceConfiguration> persistenceConfiguration) {
-        super(txManager, compression);
+        super(txManager, compression, persistenceConfiguration);
         this.compression = compression;
+        this.persistenceConfiguration = persistenceConfiguration;
         this.backoffStrategy = StandardPeriodicBackoffStrategy.create(persistenceConfiguration);
     }
 
@@ -132,7 +141,12 @@ public abstract class AbstractPersistentStreamStore extends AbstractGenericStrea
         long id = storeEmptyMetadata();
 
         StreamMetadata metadata = storeBlocksAndGetFinalMetadata(null, id, stream);
-        storeMetadataAndIndex(id, metadata);
+        try {
+            storeMetadataAndIndex(id, metadata);
+        } catch (RuntimeException e) {
+            deleteBlocksOfFailedUpload(id, getNumberOfBlocksFromMetadata(metadata), e);
+            throw e;
+        }
         return Pair.create(id, new Sha256Hash(metadata.getHash().toByteArray()));
     }
 
@@ -175,8 +189,9 @@ public abstract class AbstractPersistentStreamStore extends AbstractGenericStrea
         CountingInputStream countingStream = new CountingInputStream(stream);
 
         // Try to store the bytes in the stream and get length
+        long numberOfBlocks;
         try {
-            storeBlocksFromStream(tx, id, countingStream);
+            numberOfBlocks = storeBlocksFromStream(tx, id, countingStream);
         } catch (IOException e) {
             long length = countingStream.getCount();
             StreamMetadata metadata = StreamMetadata.newBuilder()
@@ -194,35 +209,142 @@ public abstract class AbstractPersistentStreamStore extends AbstractGenericStrea
         }
 
         long length = countingStream.getCount();
-        return StreamMetadata.newBuilder()
+        StreamMetadata.Builder metadata = StreamMetadata.newBuilder()
                 .setStatus(Status.STORED)
                 .setLength(length)
-                .setHash(ByteString.EMPTY)
-                .build();
+                .setHash(ByteString.EMPTY);
+        if (deduplicatesChunks()) {
+            metadata.setChunkCount(numberOfBlocks);
+        }
+        return metadata.build();
     }
 
-    private void storeBlocksFromStream(@Nullable Transaction tx, long id, InputStream stream) throws IOException {
+    /**
+     * Stores the blocks of the stream, returning the number of blocks stored.
+     */
+    private long storeBlocksFromStream(@Nullable Transaction tx, long id, InputStream stream) throws IOException {
+        int concurrentBlockWrites = persistenceConfiguration.get().concurrentBlockWrites();
+        if (!streamOperationIsTransactional(tx) && concurrentBlockWrites > 1) {
+            return storeBlocksFromStreamConcurrently(id, stream, concurrentBlockWrites);
+        }
+        BlockReader blockReader = createBlockReader(stream);
         long blockNumber = 0;
 
-        while (true) {
-            byte[] bytesToStore = new byte[BLOCK_SIZE_IN_BYTES];
-            int length = ByteStreams.read(stream, bytesToStore, 0, BLOCK_SIZE_IN_BYTES);
-            // Store only relevant data if it only filled a partial block
-            if (length == 0) {
-                break;
-            }
-            if (length < BLOCK_SIZE_IN_BYTES) {
-                // This is the last block.
-                storeBlockWithNonNullTransaction(tx, id, blockNumber, PtBytes.head(bytesToStore, length));
-                break;
-            } else {
-                // Store a full block.
-                storeBlockWithNonNullTransaction(tx, id, blockNumber, bytesToStore);
+        for (byte[] block = blockReader.nextBlock(); block.length > 0; block = blockReader.nextBlock()) {
+            if (blockNumber > 0 && !streamOperationIsTransactional(tx)) {
+                backoffStrategy.accept(blockNumber);
             }
+            storeBlockWithNonNullTransaction(tx, id, blockNumber, block);
             blockNumber++;
-            if (!streamOperationIsTransactional(tx)) {
-                backoffStrategy.accept(blockNumber);
+        }
+        return blockNumber;
+    }
+
+    /**
+     * Reads (and so hashes and compresses) blocks on the calling thread, while committing them in separate
+     * transactions on the block writer executor.
+     *
+     * Touching the metadata of the stream in every block transaction would make the block transactions conflict with
+     * each other. Instead, the calling thread touches the metadata once for every {@code concurrentBlockWrites}
+     * blocks, before writing them, so that cleaning up the stream deletes every block that may have been written,
+     * and the block transactions only write their block. Marking the stream as stored checks that it is still
+     * storing, so an upload that was cleaned up part way through fails.
+     *
+     * Block transactions do not conflict with cleaning up the stream, so a block committed while the stream is being
+     * cleaned up is left behind by cleanup, along with its reference to its chunk. The upload then fails, and deletes
+     * every block it may have written once the writes in progress have finished.
+     */
+    private long storeBlocksFromStreamConcurrently(long id, InputStream stream, int concurrentBlockWrites)
+            throws IOException {
+        ConcurrentBlockWriter writer = new ConcurrentBlockWriter(
+                BLOCK_WRITER_EXECUTOR,
+                concurrentBlockWrites,
+                (blockNumber, block) -> storeReservedBlockInNewTransaction(id, blockNumber, block));
+        BlockReader blockReader = createBlockReader(stream);
+        long blockNumber = 0;
+        long reservedBlocks = 0;
+
+        try {
+            for (byte[] block = blockReader.nextBlock(); block.length > 0; block = blockReader.nextBlock()) {
+                if (blockNumber > 0) {
+                    backoffStrategy.accept(blockNumber);
+                }
+                if (blockNumber == reservedBlocks) {
+                    reservedBlocks += concurrentBlockWrites;
+                    reserveBlocks(id, reservedBlocks - 1);
+                }
+                writer.write(blockNumber, block);
+                blockNumber++;
+            }
+            writer.awaitWrites();
+        } catch (IOException | RuntimeException e) {
+            writer.cancelAndAwaitWritesInProgress();
+            deleteBlocksOfFailedUpload(id, reservedBlocks, e);
+            throw e;
+        }
+        return blockNumber;
+    }
+
+    private BlockReader createBlockReader(InputStream stream) {
+        if (deduplicatesChunks()) {
+            return new ContentDefinedChunker(stream)::nextChunk;
+        }
+        return () -> {
+            byte[] block = new byte[BLOCK_SIZE_IN_BYTES];
+            int length = ByteStreams.read(stream, block, 0, BLOCK_SIZE_IN_BYTES);
+            // Store only relevant data if it only filled a partial block
+            return length < BLOCK_SIZE_IN_BYTES ? PtBytes.head(block, length) : block;
+        };
+    }
+
+    /**
+     * Whether streams are split into content-defined chunks that are shared across streams, rather than into fixed
+     * size blocks. Overridden in generated code for stream stores that deduplicate chunks.
+     */
+    protected boolean deduplicatesChunks() {
+        return false;
+    }
+
+    private void reserveBlocks(long id, long lastBlockNumber) {
+        com.palantir.logsafe.Preconditions.checkNotNull(txnMgr, "Transaction manager must not be null");
+        txnMgr.runTaskThrowOnConflict((TransactionTask<Void, RuntimeException>) t1 -> {
+            touchMetadataWhileStoringForConflicts(t1, id, lastBlockNumber);
+            return null;
+        });
+    }
+
+    private void storeReservedBlockInNewTransaction(long id, long blockNumber, byte[] bytesToStore) {
+        com.palantir.logsafe.Preconditions.checkNotNull(txnMgr, "Transaction manager must not be null");
+        TransactionTask<Void, RuntimeException> storeTask = t1 -> {
+            storeReservedBlock(t1, id, blockNumber, bytesToStore);
+            return null;
+        };
+        if (deduplicatesChunks()) {
+            // Blocks storing the same chunk concurrently conflict on its references, and are safe to retry.
+            txnMgr.runTaskWithRetry(storeTask);
+        } else {
+            txnMgr.runTaskThrowOnConflict(storeTask);
+        }
+    }
+
+    /**
+     * Deletes the first numberOfBlocks blocks of a stream whose nontransactional upload failed, unless the stream was
+     * stored after all, as cleaning up the stream only deletes the blocks that had been committed when it started.
+     */
+    private void deleteBlocksOfFailedUpload(long id, long numberOfBlocks, Exception failure) {
+        com.palantir.logsafe.Preconditions.checkNotNull(txnMgr, "Transaction manager must not be null");
+        TransactionTask<Void, RuntimeException> deleteTask = t1 -> {
+            StreamMetadata metadata = getMetadata(t1, ImmutableSet.of(id)).get(id);
+            if (metadata == null || metadata.getStatus() != Status.STORED) {
+                deleteBlocks(t1, id, numberOfBlocks);
             }
+            return null;
+        };
+        try {
+            // Deleting references to chunks conflicts with streams concurrently referencing them, and is safe to retry.
+            txnMgr.runTaskWithRetry(deleteTask);
+        } catch (RuntimeException e) {
+            failure.addSuppressed(e);
         }
     }
 
@@ -239,10 +361,16 @@ public abstract class AbstractPersistentStreamStore extends AbstractGenericStrea
             storeBlock(tx, id, blockNumber, bytesToStore);
         } else {
             com.palantir.logsafe.Preconditions.checkNotNull(txnMgr, "Transaction manager must not be null");
-            txnMgr.runTaskThrowOnConflict((TransactionTask<Void, RuntimeException>) t1 -> {
+            TransactionTask<Void, RuntimeException> storeTask = t1 -> {
                 storeBlock(t1, id, blockNumber, bytesToStore);
                 return null;
-            });
+            };
+            if (deduplicatesChunks()) {
+                // Streams storing the same chunk concurrently conflict on its references, and are safe to retry.
+                txnMgr.runTaskWithRetry(storeTask);
+            } else {
+                txnMgr.runTaskThrowOnConflict(storeTask);
+            }
         }
     }
 
@@ -258,8 +386,33 @@ public abstract class AbstractPersistentStreamStore extends AbstractGenericStrea
 
     protected abstract void storeBlock(Transaction tx, long id, long blockNumber, byte[] block);
 
+    /**
+     * Stores a block without touching the metadata of the stream, for blocks whose metadata has already been touched
+     * by {@link #touchMetadataWhileStoringForConflicts(Transaction, Long, long)}.
+     */
+    protected abstract void storeReservedBlock(Transaction tx, long id, long blockNumber, byte[] block);
+
+    /**
+     * Checks that the stream is still storing, and extends its length to cover the given block, so that cleaning up
+     * the stream deletes the blocks up to and including it.
+     */
+    protected abstract void touchMetadataWhileStoringForConflicts(Transaction tx, Long id, long blockNumber);
+
+    /**
+     * Deletes the blocks of the stream numbered below numberOfBlocks, and for stream stores that deduplicate chunks,
+     * their references to chunks, deleting chunks that are no longer referenced.
+     */
+    protected abstract void deleteBlocks(Transaction tx, long id, long numberOfBlocks);
+
     protected abstract void touchMetadataWhileMarkingUsedForConflicts(Transaction tx, Iterable<Long> ids)
             throws StreamCleanedException;
 
     protected abstract void markStreamsAsUsedInternal(Transaction tx, Map<Long, byte[]> streamIdsToReference);
+
+    private interface BlockReader {
+        /**
+         * Returns the next block of the stream, or an empty array once the stream has been fully read.
+         */
+        byte[] nextBlock() throws IOException;
+    }
 }
@@ -0,0 +1,150 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.stream;
+
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A read-only {@link SeekableByteChannel} over the blocks produced by a {@link BlockGetter}, where every block but
+ * the last is exactly {@code blockSize} bytes long.
+ *
+ * Byte offsets are mapped to block numbers, so a read only fetches the blocks it covers. The most recently used
+ * {@code cachedBlocks} blocks are kept in memory, so small reads close to each other do not fetch the same block
+ * repeatedly.
+ */
+public final class BlockSeekableByteChannel implements SeekableByteChannel {
+    private final BlockGetter blockGetter;
+    private final long size;
+    private final int blockSize;
+    private final Map<Long, byte[]> cache;
+
+    private long position;
+    private boolean open;
+
+    public BlockSeekableByteChannel(BlockGetter blockGetter, long size, int blockSize, int cachedBlocks) {
+        Preconditions.checkArgument(blockSize > 0, "Block size must be positive", SafeArg.of("blockSize", blockSize));
+        Preconditions.checkArgument(
+                cachedBlocks > 0,
+                "Number of cached blocks must be positive",
+                SafeArg.of("cachedBlocks", cachedBlocks));
+        this.blockGetter = blockGetter;
+        this.size = size;
+        this.blockSize = blockSize;
+        this.cache = new LinkedHashMap<Long, byte[]>(cachedBlocks + 1, 1.0f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+                return size() > cachedBlocks;
+            }
+        };
+        this.position = 0L;
+        this.open = true;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws ClosedChannelException {
+        ensureOpen();
+        if (position >= size) {
+            return -1;
+        }
+
+        int bytesRead = 0;
+        while (dst.hasRemaining() && position < size) {
+            long blockNumber = position / blockSize;
+            int positionInBlock = (int) (position % blockSize);
+            byte[] block = getBlock(blockNumber);
+            if (positionInBlock >= block.length) {
+                throw new SafeIllegalStateException(
+                        "Block is shorter than expected",
+                        SafeArg.of("blockNumber", blockNumber),
+                        SafeArg.of("blockLength", block.length),
+                        SafeArg.of("positionInBlock", positionInBlock));
+            }
+            int bytesToCopy = Math.min(dst.remaining(), block.length - positionInBlock);
+            dst.put(block, positionInBlock, bytesToCopy);
+            position += bytesToCopy;
+            bytesRead += bytesToCopy;
+        }
+        return bytesRead;
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public long position() throws ClosedChannelException {
+        ensureOpen();
+        return position;
+    }
+
+    @Override
+    public BlockSeekableByteChannel position(long newPosition) throws ClosedChannelException {
+        ensureOpen();
+        Preconditions.checkArgument(
+                newPosition >= 0, "Position must be non-negative", SafeArg.of("position", newPosition));
+        this.position = newPosition;
+        return this;
+    }
+
+    @Override
+    public long size() throws ClosedChannelException {
+        ensureOpen();
+        return size;
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long newSize) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() {
+        open = false;
+        cache.clear();
+    }
+
+    private byte[] getBlock(long blockNumber) {
+        byte[] block = cache.get(blockNumber);
+        if (block == null) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(blockSize);
+            blockGetter.get(blockNumber, 1, outputStream);
+            block = outputStream.toByteArray();
+            cache.put(blockNumber, block);
+        }
+        return block;
+    }
+
+    private void ensureOpen() throws ClosedChannelException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+    }
+}
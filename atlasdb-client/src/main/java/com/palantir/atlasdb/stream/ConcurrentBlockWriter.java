@@ -0,0 +1,138 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.stream;
+
+import com.palantir.common.base.Throwables;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Writes the blocks of a stream on an executor, with at most {@code maxWritesInFlight} writes in progress at once.
+ * {@link #write(long, byte[])} blocks while that many writes are in progress, so the blocks held in memory are
+ * bounded. The first failed write is rethrown by the next call to this writer, and cancels the writes that have not
+ * yet started. Writes that have already started run to completion, and can be waited for with
+ * {@link #cancelAndAwaitWritesInProgress()}.
+ */
+final class ConcurrentBlockWriter {
+    private final ExecutorService executor;
+    private final int maxWritesInFlight;
+    private final Semaphore permits;
+    private final BlockStorer blockStorer;
+    private final Deque<Future<?>> writes = new ArrayDeque<>();
+
+    private volatile boolean cancelled = false;
+
+    ConcurrentBlockWriter(ExecutorService executor, int maxWritesInFlight, BlockStorer blockStorer) {
+        Preconditions.checkArgument(
+                maxWritesInFlight > 0,
+                "Number of concurrent block writes must be positive",
+                SafeArg.of("maxWritesInFlight", maxWritesInFlight));
+        this.executor = executor;
+        this.maxWritesInFlight = maxWritesInFlight;
+        this.permits = new Semaphore(maxWritesInFlight);
+        this.blockStorer = blockStorer;
+    }
+
+    void write(long blockNumber, byte[] block) throws InterruptedIOException {
+        checkCompletedWrites();
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            cancelWrites();
+            throw interrupted(e);
+        }
+        try {
+            writes.add(executor.submit(() -> {
+                try {
+                    if (!cancelled) {
+                        blockStorer.store(blockNumber, block);
+                    }
+                } finally {
+                    permits.release();
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for all writes to complete, rethrowing the first failure.
+     */
+    void awaitWrites() throws InterruptedIOException {
+        while (!writes.isEmpty()) {
+            await(writes.peek());
+            writes.poll();
+        }
+    }
+
+    /**
+     * Cancels the writes that have not yet started, and waits for the writes in progress to finish, whether they
+     * succeed or fail.
+     */
+    void cancelAndAwaitWritesInProgress() {
+        cancelWrites();
+        // Every submitted write, including cancelled ones, returns its permit once it has finished or been skipped.
+        permits.acquireUninterruptibly(maxWritesInFlight);
+        permits.release(maxWritesInFlight);
+    }
+
+    private void checkCompletedWrites() throws InterruptedIOException {
+        while (!writes.isEmpty() && writes.peek().isDone()) {
+            await(writes.poll());
+        }
+    }
+
+    private void await(Future<?> write) throws InterruptedIOException {
+        try {
+            write.get();
+        } catch (InterruptedException e) {
+            cancelWrites();
+            throw interrupted(e);
+        } catch (ExecutionException e) {
+            cancelWrites();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw Throwables.rewrapAndThrowUncheckedException(e.getCause());
+        }
+    }
+
+    private void cancelWrites() {
+        cancelled = true;
+        writes.clear();
+    }
+
+    private static InterruptedIOException interrupted(InterruptedException cause) {
+        Thread.currentThread().interrupt();
+        InterruptedIOException interrupted = new InterruptedIOException("Interrupted while writing stream blocks");
+        interrupted.initCause(cause);
+        return interrupted;
+    }
+
+    interface BlockStorer {
+        void store(long blockNumber, byte[] block);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.stream;
+
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Splits a stream into content-defined chunks. Chunk boundaries are placed where a rolling hash of the preceding
+ * bytes matches a mask, so inserting or removing bytes only changes the chunks around the edit, and near-identical
+ * streams are split into mostly identical chunks.
+ *
+ * This uses a gear hash, which shifts the hash left by one bit and adds a fixed pseudo-random value for every byte,
+ * so a boundary only depends on the 64 bytes before it. Every chunk but the last is between {@link #MIN_CHUNK_SIZE}
+ * and {@link #MAX_CHUNK_SIZE} bytes long.
+ */
+public final class ContentDefinedChunker {
+    // Changing these does not affect existing streams, but new chunks would no longer match the chunks stored before.
+    public static final int MIN_CHUNK_SIZE = 64 * 1024;
+    public static final int MAX_CHUNK_SIZE = GenericStreamStore.BLOCK_SIZE_IN_BYTES;
+    // Checks the top 18 bits, which depend on all of the last 64 bytes, so chunks average 256 KiB past the minimum.
+    private static final long BOUNDARY_MASK = -1L << (Long.SIZE - 18);
+    private static final long[] GEAR = createGearTable();
+
+    private final InputStream stream;
+    private final byte[] buffer = new byte[MAX_CHUNK_SIZE];
+    private int bufferedBytes = 0;
+    private boolean exhausted = false;
+
+    public ContentDefinedChunker(InputStream stream) {
+        this.stream = stream;
+    }
+
+    /**
+     * Returns the next chunk of the stream, or an empty array once the stream has been fully read.
+     */
+    public byte[] nextChunk() throws IOException {
+        fillBuffer();
+        int chunkLength = findChunkLength();
+        byte[] chunk = Arrays.copyOf(buffer, chunkLength);
+        System.arraycopy(buffer, chunkLength, buffer, 0, bufferedBytes - chunkLength);
+        bufferedBytes -= chunkLength;
+        return chunk;
+    }
+
+    private void fillBuffer() throws IOException {
+        if (!exhausted) {
+            bufferedBytes += ByteStreams.read(stream, buffer, bufferedBytes, buffer.length - bufferedBytes);
+            exhausted = bufferedBytes < buffer.length;
+        }
+    }
+
+    private int findChunkLength() {
+        if (bufferedBytes <= MIN_CHUNK_SIZE) {
+            return bufferedBytes;
+        }
+        long hash = 0L;
+        // Bytes more than 64 positions before a boundary have been shifted out of the hash, so skip them.
+        for (int i = MIN_CHUNK_SIZE - Long.SIZE; i < bufferedBytes; i++) {
+            hash = (hash << 1) + GEAR[buffer[i] & 0xFF];
+            if (i + 1 >= MIN_CHUNK_SIZE && (hash & BOUNDARY_MASK) == 0) {
+                return i + 1;
+            }
+        }
+        return bufferedBytes;
+    }
+
+    /**
+     * Generates the gear table with SplitMix64 from a fixed seed, so chunk boundaries never change between runs.
+     */
+    private static long[] createGearTable() {
+        long[] gear = new long[256];
+        long state = 0L;
+        for (int i = 0; i < gear.length; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            long value = (state ^ (state >>> 30)) * 0xBF58476D1CE4E5B9L;
+            value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+            gear[i] = value ^ (value >>> 31);
+        }
+        return gear;
+    }
+}
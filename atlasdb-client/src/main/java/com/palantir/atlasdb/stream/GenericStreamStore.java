@@ -19,6 +19,7 @@ import com.palantir.atlasdb.transaction.api.Transaction;
 import com.palantir.util.crypto.Sha256Hash;
 import java.io.File;
 import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -48,6 +49,18 @@ public interface GenericStreamStore<ID> {
      */
     Optional<InputStream> loadSingleStream(Transaction tx, ID id);
 
+    /**
+     * Loads the stream with ID id for random access, returning {@code Optional.empty} if no such stream exists.
+     * Reads from the returned channel only fetch the blocks of the stream that they cover.
+     *
+     * Only supported by stream stores that do not compress their streams, and not for streams stored as
+     * content-defined chunks. Stream stores that do not implement random access throw
+     * {@link UnsupportedOperationException}.
+     */
+    default Optional<SeekableByteChannel> loadSingleStreamAsChannel(Transaction tx, ID id) {
+        throw new UnsupportedOperationException("Random access reads are not supported by this stream store");
+    }
+
     /**
      * Loads the streams for each ID in ids.
      * If an id has no corresponding stream, it will be omitted from the returned map.
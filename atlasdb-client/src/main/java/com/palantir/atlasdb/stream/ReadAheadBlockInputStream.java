@@ -0,0 +1,169 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.stream;
+
+import com.palantir.common.base.Throwables;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * An {@link InputStream} over the blocks produced by a {@link BlockGetter} that fetches blocks ahead of the reader.
+ *
+ * Up to {@code blocksInFlight} blocks are fetched concurrently on the supplied executor, one block per call to
+ * {@link BlockGetter#get(long, long, java.io.OutputStream)}, and handed to the reader in order. A new fetch is only
+ * started once the reader moves on from a block, so at most {@code blocksInFlight} blocks are held in memory besides
+ * the one being read. Closing the stream cancels fetches that have not yet started. An executor that runs tasks
+ * inline makes the reader fetch the blocks itself, in turn.
+ */
+public final class ReadAheadBlockInputStream extends InputStream {
+    private final BlockGetter blockGetter;
+    private final long numBlocks;
+    private final int blocksInFlight;
+    private final Executor executor;
+    private final Deque<Future<byte[]>> fetches = new ArrayDeque<>();
+
+    private long nextBlockToFetch;
+
+    private byte[] buffer;
+    private int positionInBuffer;
+
+    public static ReadAheadBlockInputStream create(
+            BlockGetter blockGetter, long numBlocks, int blocksInFlight, Executor executor) {
+        Preconditions.checkArgument(
+                blocksInFlight > 0,
+                "Number of blocks to read ahead must be positive",
+                SafeArg.of("blocksInFlight", blocksInFlight));
+        return new ReadAheadBlockInputStream(blockGetter, numBlocks, blocksInFlight, executor);
+    }
+
+    private ReadAheadBlockInputStream(
+            BlockGetter blockGetter, long numBlocks, int blocksInFlight, Executor executor) {
+        this.blockGetter = blockGetter;
+        this.numBlocks = numBlocks;
+        this.blocksInFlight = blocksInFlight;
+        this.executor = executor;
+        this.nextBlockToFetch = 0L;
+        this.buffer = new byte[0];
+        this.positionInBuffer = 0;
+    }
+
+    @Override
+    public int read() throws InterruptedIOException {
+        if (positionInBuffer >= buffer.length && !refillBuffer()) {
+            return -1;
+        }
+        return buffer[positionInBuffer++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] bytes, int off, int len) throws InterruptedIOException {
+        Preconditions.checkNotNull(bytes, "Cannot read into a null array!");
+        if (off < 0 || len < 0 || len > bytes.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+
+        int bytesRead = 0;
+        while (bytesRead < len) {
+            if (positionInBuffer >= buffer.length && !refillBuffer()) {
+                break;
+            }
+            int bytesToCopy = Math.min(buffer.length - positionInBuffer, len - bytesRead);
+            System.arraycopy(buffer, positionInBuffer, bytes, off + bytesRead, bytesToCopy);
+            positionInBuffer += bytesToCopy;
+            bytesRead += bytesToCopy;
+        }
+
+        if (bytesRead == 0) {
+            return -1;
+        }
+
+        return bytesRead;
+    }
+
+    @Override
+    public int available() {
+        return buffer.length - positionInBuffer;
+    }
+
+    @Override
+    public void close() {
+        fetches.forEach(fetch -> fetch.cancel(false));
+        fetches.clear();
+        nextBlockToFetch = numBlocks;
+        buffer = new byte[0];
+        positionInBuffer = 0;
+    }
+
+    private boolean refillBuffer() throws InterruptedIOException {
+        do {
+            startFetches();
+            Future<byte[]> fetch = fetches.poll();
+            if (fetch == null) {
+                return false;
+            }
+            buffer = awaitBlock(fetch);
+            positionInBuffer = 0;
+        } while (buffer.length == 0);
+        startFetches();
+        return true;
+    }
+
+    private void startFetches() {
+        while (fetches.size() < blocksInFlight && nextBlockToFetch < numBlocks) {
+            long block = nextBlockToFetch++;
+            FutureTask<byte[]> fetch = new FutureTask<>(() -> fetchBlock(block));
+            fetches.add(fetch);
+            executor.execute(fetch);
+        }
+    }
+
+    private byte[] fetchBlock(long block) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(blockGetter.expectedBlockLength());
+        blockGetter.get(block, 1, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private byte[] awaitBlock(Future<byte[]> fetch) throws InterruptedIOException {
+        try {
+            return fetch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            InterruptedIOException interrupted = new InterruptedIOException("Interrupted while waiting for a block");
+            interrupted.initCause(e);
+            throw interrupted;
+        } catch (ExecutionException e) {
+            close();
+            // Rethrow failures as they would be thrown had the block been fetched by the reader.
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw Throwables.rewrapAndThrowUncheckedException(e.getCause());
+        }
+    }
+}
@@ -56,11 +56,52 @@ public interface StreamStorePersistenceConfiguration {
         return 0;
     }
 
+    /**
+     * The number of blocks that a nontransactional storeStream() commits concurrently, each in its own transaction.
+     * Blocks are still read, hashed and compressed in order on the calling thread; a value of 1 commits each block
+     * before reading the next.
+     *
+     * This parameter is live reloadable. If live reloaded, streams stored afterwards use the new value; streams
+     * already being stored are unaffected.
+     */
+    @Value.Default
+    default int concurrentBlockWrites() {
+        return 1;
+    }
+
+    /**
+     * The number of blocks that loadStream() and loadStreamAsFile() fetch concurrently ahead of the reader of a
+     * stream. If zero, blocks are fetched one batch at a time, only once the reader has consumed the previous batch.
+     * Blocks are only fetched on other threads once the transaction the stream was loaded in has finished, each in
+     * its own read-only transaction; while that transaction is open, the reader fetches the blocks itself.
+     *
+     * This parameter is live reloadable. If live reloaded, streams loaded afterwards use the new value; streams
+     * already being read are unaffected.
+     */
+    @Value.Default
+    default int readAheadBlocks() {
+        return 0;
+    }
+
+    /**
+     * An upper bound on the number of bytes of blocks that are fetched ahead of the reader of a single stream. If
+     * this is smaller than readAheadBlocks blocks, fewer blocks are fetched ahead, but always at least one.
+     *
+     * This parameter is live reloadable, with the same guarantees as readAheadBlocks.
+     */
+    @Value.Default
+    default long readAheadMaxBytes() {
+        return 16L * 1024 * 1024;
+    }
+
     @Value.Check
     default void check() {
         Preconditions.checkState(
                 numBlocksToWriteBeforePause() > 0, "Number of blocks to write before pausing must be positive");
         Preconditions.checkState(
                 writePauseDurationMillis() >= 0, "Pause duration between batches of writes must be non-negative");
+        Preconditions.checkState(concurrentBlockWrites() > 0, "Number of concurrent block writes must be positive");
+        Preconditions.checkState(readAheadBlocks() >= 0, "Number of blocks to read ahead must be non-negative");
+        Preconditions.checkState(readAheadMaxBytes() > 0, "Maximum bytes to read ahead must be positive");
     }
 }
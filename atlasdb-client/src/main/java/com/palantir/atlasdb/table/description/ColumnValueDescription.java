@@ -15,6 +15,7 @@
  */
 package com.palantir.atlasdb.table.description;
 
+import com.google.common.collect.ImmutableList;
 import com.google.protobuf.AbstractMessage;
 import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
 import com.google.protobuf.Descriptors.Descriptor;
@@ -23,6 +24,7 @@ import com.google.protobuf.Descriptors.FileDescriptor;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
 import com.palantir.atlasdb.annotation.Reusable;
+import com.palantir.atlasdb.compress.CompressionDictionary;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.persist.api.Persister;
 import com.palantir.atlasdb.persist.api.ReusablePersister;
@@ -38,6 +40,7 @@ import com.palantir.logsafe.logger.SafeLogger;
 import com.palantir.logsafe.logger.SafeLoggerFactory;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.List;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import org.apache.commons.lang3.Validate;
@@ -64,7 +67,14 @@ public final class ColumnValueDescription {
 
     public enum Compression {
         SNAPPY,
-        NONE;
+        NONE,
+        /**
+         * Compresses with deflate, using the latest of the table's
+         * {@link TableMetadata#getCompressionDictionaries() compression dictionaries} if it has any. This compresses
+         * better but more slowly than Snappy, and dictionaries trained from the table's values let even small values
+         * compress well.
+         */
+        DEFLATE;
 
         public TableMetadataPersistence.Compression persistToProto() {
             return TableMetadataPersistence.Compression.valueOf(name());
@@ -75,6 +85,14 @@ public final class ColumnValueDescription {
         }
     }
 
+    /**
+     * The static field in which generated tables hold their {@link TableMetadata#getCompressionDictionaries()}.
+     */
+    public static final String COMPRESSION_DICTIONARIES_FIELD = "COMPRESSION_DICTIONARIES";
+
+    private static final String QUALIFIED_COMPRESSION_ENUM =
+            "com.palantir.atlasdb.table.description.ColumnValueDescription.Compression";
+
     final Format format;
     final Compression compression;
     final ValueType type;
@@ -315,7 +333,7 @@ public final class ColumnValueDescription {
             result = type.getPersistCode(varName);
         }
         return "com.palantir.atlasdb.compress.CompressionUtils.compress(" + result + ", "
-                + "com.palantir.atlasdb.table.description.ColumnValueDescription.Compression." + compression + ")";
+                + getCompressionArgumentsCode(QUALIFIED_COMPRESSION_ENUM) + ")";
     }
 
     public Class<?> getImportClass() {
@@ -375,8 +393,24 @@ public final class ColumnValueDescription {
     }
 
     public String composeVarName(String varName) {
-        return "com.palantir.atlasdb.compress.CompressionUtils.decompress(" + varName
-                + ", com.palantir.atlasdb.table.description.ColumnValueDescription.Compression." + compression + ")";
+        return "com.palantir.atlasdb.compress.CompressionUtils.decompress(" + varName + ", "
+                + getCompressionArgumentsCode(QUALIFIED_COMPRESSION_ENUM) + ")";
+    }
+
+    /**
+     * Returns whether values of this column are compressed with the compression dictionaries of their table.
+     */
+    public boolean usesCompressionDictionaries() {
+        return compression == Compression.DEFLATE;
+    }
+
+    /**
+     * Returns the arguments that follow the value in generated calls to compress or decompress values of this column,
+     * given how the generated code refers to the {@link Compression} enum.
+     */
+    public String getCompressionArgumentsCode(String compressionEnum) {
+        String arguments = compressionEnum + "." + compression;
+        return usesCompressionDictionaries() ? arguments + ", " + COMPRESSION_DICTIONARIES_FIELD : arguments;
     }
 
     public String getInstantiateReusablePersisterCode(boolean isStatic) {
@@ -384,12 +418,19 @@ public final class ColumnValueDescription {
                 + canonicalClassName + "();";
     }
 
-    @SuppressWarnings("unchecked")
     public Message hydrateProto(ClassLoader classLoader, byte[] value) {
+        return hydrateProto(classLoader, value, ImmutableList.of());
+    }
+
+    /**
+     * Hydrates a protocol buffer value of this column, given the compression dictionaries of its table.
+     */
+    @SuppressWarnings("unchecked")
+    public Message hydrateProto(ClassLoader classLoader, byte[] value, List<CompressionDictionary> dictionaries) {
         Preconditions.checkState(format == Format.PROTO, "Column value is not a protocol buffer.");
         return ColumnValues.parseProtoBuf(
                 (Class<? extends AbstractMessage>) getImportClass(classLoader),
-                CompressionUtils.decompress(value, compression));
+                CompressionUtils.decompress(value, compression, dictionaries));
     }
 
     public TableMetadataPersistence.ColumnValueDescription.Builder persistToProto() {
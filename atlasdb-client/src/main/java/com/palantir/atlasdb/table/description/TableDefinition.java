@@ -20,6 +20,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
 import com.google.protobuf.AbstractMessage;
 import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.compress.CompressionDictionary;
 import com.palantir.atlasdb.persist.api.Persister;
 import com.palantir.atlasdb.persist.api.ReusablePersister;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.LogSafety;
@@ -31,6 +32,7 @@ import com.palantir.atlasdb.table.description.constraints.RowConstraintMetadata;
 import com.palantir.atlasdb.table.description.constraints.TableConstraint;
 import com.palantir.atlasdb.transaction.api.ConflictHandler;
 import com.palantir.common.persist.Persistable;
+import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -332,6 +334,21 @@ public class TableDefinition extends AbstractDefinition {
         return maxValueSize;
     }
 
+    /**
+     * Adds a dictionary for values of this table's columns with {@link Compression#DEFLATE} compression. Values are
+     * compressed with the dictionary with the highest id and record the id they were compressed with, so to replace
+     * a dictionary, add a new one with a higher id and keep the old one for as long as values compressed with it
+     * remain. Dictionaries can be trained from sampled values with
+     * {@link com.palantir.atlasdb.compress.CompressionDictionaryTrainer}.
+     */
+    public void compressionDictionary(CompressionDictionary dictionary) {
+        com.palantir.logsafe.Preconditions.checkArgument(
+                compressionDictionaries.stream().noneMatch(existing -> existing.getId() == dictionary.getId()),
+                "Compression dictionary ids must be unique",
+                SafeArg.of("id", dictionary.getId()));
+        compressionDictionaries.add(dictionary);
+    }
+
     public void genericTableName(String name) {
         genericTableName = name;
     }
@@ -397,6 +414,7 @@ public class TableDefinition extends AbstractDefinition {
     private LogSafety tableNameSafety = LogSafety.UNSAFE;
     private LogSafety defaultNamedComponentLogSafety = LogSafety.UNSAFE;
     private boolean v2TableEnabled = false;
+    private List<CompressionDictionary> compressionDictionaries = new ArrayList<>();
 
     public TableMetadata toTableMetadata() {
         com.palantir.logsafe.Preconditions.checkState(!rowNameComponents.isEmpty(), "No row name components defined.");
@@ -421,6 +439,7 @@ public class TableDefinition extends AbstractDefinition {
                 .sweepStrategy(sweepStrategy)
                 .appendHeavyAndReadLight(appendHeavyAndReadLight)
                 .nameLogSafety(tableNameSafety)
+                .compressionDictionaries(compressionDictionaries)
                 .build();
     }
 
@@ -17,6 +17,7 @@ package com.palantir.atlasdb.table.description;
 
 import com.google.common.collect.ImmutableList;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.palantir.atlasdb.compress.CompressionDictionary;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.CachePriority;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.LogSafety;
@@ -90,6 +91,13 @@ public abstract class TableMetadata implements Persistable {
         return false;
     }
 
+    /**
+     * Returns the dictionaries for values of columns with {@link ColumnValueDescription.Compression#DEFLATE}
+     * compression. New values are compressed with the dictionary with the highest id, and older dictionaries are kept
+     * to read the values compressed with them.
+     */
+    public abstract List<CompressionDictionary> getCompressionDictionaries();
+
     public static TableMetadata allDefault() {
         return builder().build();
     }
@@ -165,6 +173,9 @@ public abstract class TableMetadata implements Persistable {
         if (hasDenselyAccessedWideRows()) {
             builder.setDenselyAccessedWideRows(hasDenselyAccessedWideRows());
         }
+        for (CompressionDictionary dictionary : getCompressionDictionaries()) {
+            builder.addCompressionDictionaries(dictionary.persistToProto());
+        }
         return builder;
     }
 
@@ -198,6 +209,9 @@ public abstract class TableMetadata implements Persistable {
         if (message.hasDenselyAccessedWideRows()) {
             builder.denselyAccessedWideRows(message.getDenselyAccessedWideRows());
         }
+        for (TableMetadataPersistence.CompressionDictionary dictionary : message.getCompressionDictionariesList()) {
+            builder.addCompressionDictionaries(CompressionDictionary.hydrateFromProto(dictionary));
+        }
 
         return builder.build();
     }
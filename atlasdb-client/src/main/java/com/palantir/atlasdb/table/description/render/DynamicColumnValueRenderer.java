@@ -170,10 +170,7 @@ public class DynamicColumnValueRenderer extends Renderer {
                 default:
                     throw new UnsupportedOperationException("Unsupported value type: " + val.getFormat());
             }
-            line(
-                    "return CompressionUtils.compress(bytes, Compression.",
-                    val.getCompression().name(),
-                    ");");
+            line("return CompressionUtils.compress(bytes, ", val.getCompressionArgumentsCode("Compression"), ");");
         }
         line("}");
     }
@@ -181,10 +178,7 @@ public class DynamicColumnValueRenderer extends Renderer {
     private void hydrateValue() {
         line("public static ", Value, " hydrateValue(byte[] bytes) {");
         {
-            line(
-                    "bytes = CompressionUtils.decompress(bytes, Compression.",
-                    val.getCompression().name(),
-                    ");");
+            line("bytes = CompressionUtils.decompress(bytes, ", val.getCompressionArgumentsCode("Compression"), ");");
             switch (val.getFormat()) {
                 case PERSISTABLE:
                     line("return ", Value, ".BYTES_HYDRATOR.hydrateFromBytes(bytes);");
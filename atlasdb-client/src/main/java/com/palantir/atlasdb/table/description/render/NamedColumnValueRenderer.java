@@ -150,8 +150,8 @@ public class NamedColumnValueRenderer extends Renderer {
                             "Unsupported value type: " + col.getValue().getFormat());
             }
             line(
-                    "return CompressionUtils.compress(bytes, Compression.",
-                    col.getValue().getCompression().name(),
+                    "return CompressionUtils.compress(bytes, ",
+                    col.getValue().getCompressionArgumentsCode("Compression"),
                     ");");
         }
         line("}");
@@ -180,8 +180,8 @@ public class NamedColumnValueRenderer extends Renderer {
             line("public ", Name, " hydrateFromBytes(byte[] bytes) {");
             {
                 line(
-                        "bytes = CompressionUtils.decompress(bytes, Compression.",
-                        col.getValue().getCompression().name(),
+                        "bytes = CompressionUtils.decompress(bytes, ",
+                        col.getValue().getCompressionArgumentsCode("Compression"),
                         ");");
                 switch (col.getValue().getFormat()) {
                     case PERSISTABLE:
@@ -31,6 +31,8 @@ import com.google.common.io.ByteStreams;
 import com.google.common.io.CountingInputStream;
 import com.google.common.primitives.Ints;
 import com.google.protobuf.ByteString;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.protos.generated.StreamPersistence.Status;
 import com.palantir.atlasdb.protos.generated.StreamPersistence.StreamMetadata;
@@ -38,6 +40,7 @@ import com.palantir.atlasdb.stream.AbstractPersistentStreamStore;
 import com.palantir.atlasdb.stream.BlockConsumingInputStream;
 import com.palantir.atlasdb.stream.BlockGetter;
 import com.palantir.atlasdb.stream.BlockLoader;
+import com.palantir.atlasdb.stream.ContentDefinedChunker;
 import com.palantir.atlasdb.stream.PersistentStreamStore;
 import com.palantir.atlasdb.stream.StreamCleanedException;
 import com.palantir.atlasdb.stream.StreamStorePersistenceConfiguration;
@@ -73,6 +76,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -91,6 +95,7 @@ public class StreamStoreRenderer {
     private final String schemaName;
     private final int inMemoryThreshold;
     private final StreamCompression streamCompression;
+    private final boolean deduplicateChunks;
 
     public StreamStoreRenderer(
             String name,
@@ -99,12 +104,24 @@ public class StreamStoreRenderer {
             String schemaName,
             int inMemoryThreshold,
             StreamCompression streamCompression) {
+        this(name, streamIdType, packageName, schemaName, inMemoryThreshold, streamCompression, false);
+    }
+
+    public StreamStoreRenderer(
+            String name,
+            ValueType streamIdType,
+            String packageName,
+            String schemaName,
+            int inMemoryThreshold,
+            StreamCompression streamCompression,
+            boolean deduplicateChunks) {
         this.name = name;
         this.streamIdType = streamIdType;
         this.packageName = packageName;
         this.schemaName = schemaName;
         this.inMemoryThreshold = inMemoryThreshold;
         this.streamCompression = streamCompression;
+        this.deduplicateChunks = deduplicateChunks;
     }
 
     public String getPackageName() {
@@ -142,13 +159,25 @@ public class StreamStoreRenderer {
         final String StreamIdxColumn = StreamIdxTable + "." + name + "StreamIdxColumn";
         final String StreamIdxColumnValue = StreamIdxTable + "." + name + "StreamIdxColumnValue";
 
+        final String StreamChunkTable = name + "StreamChunkTable";
+        final String StreamChunkRow = StreamChunkTable + "." + name + "StreamChunkRow";
+
+        final String StreamChunkIdxTable = name + "StreamChunkIdxTable";
+        final String StreamChunkIdxRow = StreamChunkIdxTable + "." + name + "StreamChunkIdxRow";
+        final String StreamChunkIdxColumn = StreamChunkIdxTable + "." + name + "StreamChunkIdxColumn";
+        final String StreamChunkIdxColumnValue = StreamChunkIdxTable + "." + name + "StreamChunkIdxColumnValue";
+
         final String TableFactory = schemaName + "TableFactory";
         final String StreamId = streamIdType.getJavaObjectClassName();
 
         return new Renderer() {
             @Override
             protected void run() {
-                ImportRenderer importRenderer = new ImportRenderer(this, Arrays.asList(IMPORTS));
+                List<Class<?>> imports = Lists.newArrayList(IMPORTS);
+                if (deduplicateChunks) {
+                    imports.addAll(Arrays.asList(CHUNK_IMPORTS));
+                }
+                ImportRenderer importRenderer = new ImportRenderer(this, imports);
                 line("package ", packageName, ";");
                 line();
                 importRenderer.renderImports();
@@ -162,7 +191,15 @@ public class StreamStoreRenderer {
                     line();
                     getInMemoryThreshold();
                     line();
-                    storeBlock();
+                    if (deduplicateChunks) {
+                        deduplicatesChunks();
+                        line();
+                        storeChunkedBlock();
+                        line();
+                        storeChunk();
+                    } else {
+                        storeBlock();
+                    }
                     line();
                     touchMetadataWhileStoringForConflicts();
                     line();
@@ -174,7 +211,11 @@ public class StreamStoreRenderer {
                     line();
                     loadSingleBlockToOutputStream();
                     line();
-                    getBlock();
+                    if (deduplicateChunks) {
+                        getChunkedBlock();
+                    } else {
+                        getBlock();
+                    }
                     line();
                     getMetadata();
                     line();
@@ -188,6 +229,12 @@ public class StreamStoreRenderer {
                     line();
                     deleteStreams();
                     line();
+                    deleteBlocks();
+                    line();
+                    if (deduplicateChunks) {
+                        deleteChunkReferences();
+                        line();
+                    }
                     markStreamsAsUsedInternal();
                     line();
                     unmarkStreamsAsUsed();
@@ -212,6 +259,12 @@ public class StreamStoreRenderer {
                 line();
                 line("private static final SafeLogger log = SafeLoggerFactory.get(", StreamStore, ".class);");
                 line();
+                if (deduplicateChunks) {
+                    line("private static final BatchColumnRangeSelection ONE_COLUMN =");
+                    line("        BatchColumnRangeSelection.create(PtBytes.EMPTY_BYTE_ARRAY, PtBytes.EMPTY_BYTE_ARRAY,"
+                            + " 1);");
+                    line();
+                }
                 line("private final ", TableFactory, " tables;");
             }
 
@@ -267,18 +320,85 @@ public class StreamStoreRenderer {
             }
 
             private void storeBlock() {
+                storeBlockOverrides();
+                line("private void storeBlock(Transaction t, long id, long blockNumber, final byte[] block, boolean"
+                        + " touchMetadata) {");
+                {
+                    line("Preconditions.checkArgument(block.length <= BLOCK_SIZE_IN_BYTES, \"Block to store in DB"
+                            + " must be less than BLOCK_SIZE_IN_BYTES\");");
+                    line("final ", StreamValueRow, " row = ", StreamValueRow, ".of(id, blockNumber);");
+                    line("try {");
+                    {
+                        line("if (touchMetadata) {");
+                        {
+                            line("// Do a touch operation on this table to ensure we get a conflict if someone"
+                                    + " cleans it up.");
+                            line("touchMetadataWhileStoringForConflicts(t, row.getId(), row.getBlockId());");
+                        }
+                        line("}");
+                        line("tables.get", StreamValueTable, "(t).putValue(row, block);");
+                    }
+                    line("} catch (RuntimeException e) {");
+                    {
+                        line("log.error(");
+                        line("        \"Error storing block {} for stream id {}\",");
+                        line("        SafeArg.of(\"blockId\", row.getBlockId()),");
+                        line("        SafeArg.of(\"id\", row.getId()),");
+                        line("        e);");
+                        line("throw e;");
+                    }
+                    line("}");
+                }
+                line("}");
+            }
+
+            private void deduplicatesChunks() {
+                line("@Override");
+                line("protected boolean deduplicatesChunks() {");
+                {
+                    line("return true;");
+                }
+                line("}");
+            }
+
+            private void storeBlockOverrides() {
                 line("@Override");
                 line("protected void storeBlock(Transaction t, long id, long blockNumber, final byte[] block) {");
+                {
+                    line("storeBlock(t, id, blockNumber, block, true);");
+                }
+                line("}");
+                line();
+                line("@Override");
+                line("protected void storeReservedBlock(Transaction t, long id, long blockNumber, final byte[]"
+                        + " block) {");
+                {
+                    line("storeBlock(t, id, blockNumber, block, false);");
+                }
+                line("}");
+                line();
+            }
+
+            private void storeChunkedBlock() {
+                storeBlockOverrides();
+                line("private void storeBlock(Transaction t, long id, long blockNumber, final byte[] block, boolean"
+                        + " touchMetadata) {");
                 {
                     line("Preconditions.checkArgument(block.length <= BLOCK_SIZE_IN_BYTES, \"Block to store in DB"
                             + " must be less than BLOCK_SIZE_IN_BYTES\");");
                     line("final ", StreamValueRow, " row = ", StreamValueRow, ".of(id, blockNumber);");
                     line("try {");
                     {
-                        line("// Do a touch operation on this table to ensure we get a conflict if someone cleans"
-                                + " it up.");
-                        line("touchMetadataWhileStoringForConflicts(t, row.getId(), row.getBlockId());");
-                        line("tables.get", StreamValueTable, "(t).putValue(row, block);");
+                        line("if (touchMetadata) {");
+                        {
+                            line("// Do a touch operation on this table to ensure we get a conflict if someone"
+                                    + " cleans it up.");
+                            line("touchMetadataWhileStoringForConflicts(t, row.getId(), row.getBlockId());");
+                        }
+                        line("}");
+                        line("Sha256Hash chunkHash = Sha256Hash.computeHash(block);");
+                        line("storeChunk(t, chunkHash, block, ", StreamChunkIdxColumn, ".of(id, blockNumber));");
+                        line("tables.get", StreamValueTable, "(t).putValue(row, chunkHash.getBytes());");
                     }
                     line("} catch (RuntimeException e) {");
                     {
@@ -294,9 +414,36 @@ public class StreamStoreRenderer {
                 line("}");
             }
 
+            private void storeChunk() {
+                line(
+                        "private void storeChunk(Transaction t, Sha256Hash chunkHash, byte[] chunk, ",
+                        StreamChunkIdxColumn,
+                        " reference) {");
+                {
+                    line(StreamChunkIdxTable, " chunkIndex = tables.get", StreamChunkIdxTable, "(t);");
+                    line(StreamChunkIdxRow, " indexRow = ", StreamChunkIdxRow, ".of(chunkHash);");
+                    line("// Chunks are stored as long as they are referenced, and this read conflicts with cleanup"
+                            + " deleting the last reference.");
+                    line("if (!chunkIndex.getRowsColumnRangeIterator(ImmutableSet.of(indexRow), ONE_COLUMN)"
+                            + ".get(indexRow).hasNext()) {");
+                    {
+                        line(
+                                "tables.get",
+                                StreamChunkTable,
+                                "(t).putValue(",
+                                StreamChunkRow,
+                                ".of(chunkHash), chunk);");
+                    }
+                    line("}");
+                    line("chunkIndex.put(indexRow, ", StreamChunkIdxColumnValue, ".of(reference, 0L));");
+                }
+                line("}");
+            }
+
             private void touchMetadataWhileStoringForConflicts() {
+                line("@Override");
                 line(
-                        "private void touchMetadataWhileStoringForConflicts(Transaction t, ",
+                        "protected void touchMetadataWhileStoringForConflicts(Transaction t, ",
                         StreamId,
                         " id, long blockNumber) {");
                 {
@@ -372,6 +519,20 @@ public class StreamStoreRenderer {
             private void getNumberOfBlocksFromMetadata() {
                 line("private long getNumberOfBlocksFromMetadata(StreamMetadata metadata) {");
                 {
+                    if (deduplicateChunks) {
+                        line("if (metadata.hasChunkCount()) {");
+                        {
+                            line("return metadata.getChunkCount();");
+                        }
+                        line("}");
+                        line("if (metadata.getStatus() == Status.FAILED) {");
+                        {
+                            line("// The length of a failed stream is the number of bytes read, and every chunk"
+                                    + " but the last is at least MIN_CHUNK_SIZE long.");
+                            line("return metadata.getLength() / ContentDefinedChunker.MIN_CHUNK_SIZE + 1;");
+                        }
+                        line("}");
+                    }
                     line("return (metadata.getLength() + BLOCK_SIZE_IN_BYTES - 1) / BLOCK_SIZE_IN_BYTES;");
                 }
                 line("}");
@@ -442,6 +603,20 @@ public class StreamStoreRenderer {
                 line("}");
             }
 
+            private void getChunkedBlock() {
+                line("private byte[] getBlock(Transaction t, ", StreamValueRow, " row) {");
+                {
+                    line(StreamValueTable, " valueTable = tables.get", StreamValueTable, "(t);");
+                    line("Sha256Hash chunkHash = new Sha256Hash(valueTable.getValues(ImmutableSet.of(row)).get(row));");
+                    line(StreamChunkRow, " chunkRow = ", StreamChunkRow, ".of(chunkHash);");
+                    line(
+                            "return tables.get",
+                            StreamChunkTable,
+                            "(t).getValues(ImmutableSet.of(chunkRow)).get(chunkRow);");
+                }
+                line("}");
+            }
+
             private void getMetadata() {
                 line("@Override");
                 line(
@@ -663,6 +838,12 @@ public class StreamStoreRenderer {
                     }
                     line("}");
 
+                    if (deduplicateChunks) {
+                        line(
+                                "deleteChunkReferences(t, tables.get",
+                                StreamValueTable,
+                                "(t).getValues(streamValueToDelete));");
+                    }
                     line("tables.get", StreamHashAidxTable, "(t).delete(shToDelete);");
                     line("tables.get", StreamValueTable, "(t).delete(streamValueToDelete);");
                     line("table.delete(smRows);");
@@ -670,6 +851,84 @@ public class StreamStoreRenderer {
                 line("}");
             }
 
+            private void deleteBlocks() {
+                line("@Override");
+                line("protected void deleteBlocks(Transaction t, long id, long numberOfBlocks) {");
+                {
+                    line("Set<", StreamValueRow, "> rows = new HashSet<>();");
+                    line("for (long i = 0; i < numberOfBlocks; i++) {");
+                    {
+                        line("rows.add(", StreamValueRow, ".of(id, i));");
+                    }
+                    line("}");
+                    line(StreamValueTable, " valueTable = tables.get", StreamValueTable, "(t);");
+                    if (deduplicateChunks) {
+                        line("deleteChunkReferences(t, valueTable.getValues(rows));");
+                    }
+                    line("valueTable.delete(rows);");
+                }
+                line("}");
+            }
+
+            private void deleteChunkReferences() {
+                line(
+                        "private void deleteChunkReferences(Transaction t, Map<",
+                        StreamValueRow,
+                        ", byte[]> blocksToChunkHashes) {");
+                {
+                    line(
+                            "Multimap<",
+                            StreamChunkIdxRow,
+                            ", ",
+                            StreamChunkIdxColumn,
+                            "> referencesToDelete = HashMultimap.create();");
+                    line("for (Map.Entry<", StreamValueRow, ", byte[]> e : blocksToChunkHashes.entrySet()) {");
+                    {
+                        line(
+                                StreamChunkIdxRow,
+                                " indexRow = ",
+                                StreamChunkIdxRow,
+                                ".of(new Sha256Hash(e.getValue()));");
+                        line(
+                                StreamChunkIdxColumn,
+                                " reference = ",
+                                StreamChunkIdxColumn,
+                                ".of(e.getKey().getId(), e.getKey().getBlockId());");
+                        line("referencesToDelete.put(indexRow, reference);");
+                    }
+                    line("}");
+                    line(StreamChunkIdxTable, " chunkIndex = tables.get", StreamChunkIdxTable, "(t);");
+                    line("chunkIndex.delete(referencesToDelete);");
+                    line();
+                    line("// This sees the references deleted above, and conflicts with streams concurrently"
+                            + " referencing these chunks.");
+                    line(
+                            "Map<",
+                            StreamChunkIdxRow,
+                            ", Iterator<",
+                            StreamChunkIdxColumnValue,
+                            ">> remainingReferences =");
+                    line("        chunkIndex.getRowsColumnRangeIterator(referencesToDelete.keySet(), ONE_COLUMN);");
+                    line("Set<", StreamChunkRow, "> chunksToDelete = new HashSet<>();");
+                    line(
+                            "for (Map.Entry<",
+                            StreamChunkIdxRow,
+                            ", Iterator<",
+                            StreamChunkIdxColumnValue,
+                            ">> e : remainingReferences.entrySet()) {");
+                    {
+                        line("if (!e.getValue().hasNext()) {");
+                        {
+                            line("chunksToDelete.add(", StreamChunkRow, ".of(e.getKey().getHash()));");
+                        }
+                        line("}");
+                    }
+                    line("}");
+                    line("tables.get", StreamChunkTable, "(t).delete(chunksToDelete);");
+                }
+                line("}");
+            }
+
             private void touchMetadataWhileMarkingUsedForConflicts() {
                 line("@Override");
                 line(
@@ -1075,4 +1334,8 @@ public class StreamStoreRenderer {
         Supplier.class,
         StreamStorePersistenceConfiguration.class,
     };
+
+    private static final Class<?>[] CHUNK_IMPORTS = new Class<?>[] {
+        BatchColumnRangeSelection.class, ContentDefinedChunker.class, Iterator.class, PtBytes.class,
+    };
 }
@@ -19,6 +19,7 @@ import com.google.common.base.Function;
 import com.google.common.base.Joiner;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Splitter;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.ComparisonChain;
@@ -40,6 +41,7 @@ import com.google.common.io.BaseEncoding;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.palantir.atlasdb.compress.CompressionDictionary;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
@@ -60,6 +62,7 @@ import com.palantir.atlasdb.table.api.AtlasDbNamedMutableTable;
 import com.palantir.atlasdb.table.api.AtlasDbNamedPersistentSet;
 import com.palantir.atlasdb.table.api.ColumnValue;
 import com.palantir.atlasdb.table.api.TypedRowResult;
+import com.palantir.atlasdb.table.description.ColumnValueDescription;
 import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
 import com.palantir.atlasdb.table.description.IndexComponent;
 import com.palantir.atlasdb.table.description.IndexDefinition.IndexType;
@@ -116,6 +119,8 @@ import javax.annotation.processing.Generated;
 
 @SuppressWarnings("checkstyle:all") // too many warnings to fix
 public class TableRenderer {
+    private static final int DICTIONARY_LINE_LENGTH = 96;
+
     private final String packageName;
     private final Namespace namespace;
     private final OptionalType optionalType;
@@ -188,7 +193,7 @@ public class TableRenderer {
 
         @Override
         protected void run() {
-            ImportRenderer importRenderer = new ImportRenderer(this, getImports(optionalType));
+            ImportRenderer importRenderer = new ImportRenderer(this, getImports(optionalType, table));
             if (!isNestedIndex) {
                 line("package ", packageName, ";");
                 line();
@@ -377,6 +382,33 @@ public class TableRenderer {
             line(
                     "private final static ColumnSelection allColumns = ",
                     isDynamic ? "ColumnSelection.all();" : "getColumnSelection(" + Column + ".values());");
+            if (usesCompressionDictionaries(table)) {
+                renderCompressionDictionaries();
+            }
+        }
+
+        private void renderCompressionDictionaries() {
+            List<CompressionDictionary> dictionaries = table.getCompressionDictionaries();
+            String field = "private final static List<CompressionDictionary> "
+                    + ColumnValueDescription.COMPRESSION_DICTIONARIES_FIELD + " = ImmutableList.of(";
+            if (dictionaries.isEmpty()) {
+                line(field, ");");
+                return;
+            }
+            line(field);
+            for (int i = 0; i < dictionaries.size(); i++) {
+                CompressionDictionary dictionary = dictionaries.get(i);
+                line(
+                        "        CompressionDictionary.of(",
+                        String.valueOf(dictionary.getId()),
+                        ", BaseEncoding.base64().decode(");
+                List<String> encoded = Splitter.fixedLength(DICTIONARY_LINE_LENGTH)
+                        .splitToList(BaseEncoding.base64().encode(dictionary.getDictionary()));
+                for (int j = 0; j < encoded.size(); j++) {
+                    line("                ", j == 0 ? "" : "+ ", "\"", encoded.get(j), "\"");
+                }
+                lineEnd("))", i == dictionaries.size() - 1 ? ");" : ",");
+            }
         }
 
         private void staticFactories() {
@@ -1867,9 +1899,19 @@ public class TableRenderer {
         return Collections2.filter(indices, index -> index.getIndexType() == IndexType.CELL_REFERENCING);
     }
 
-    private static List<Class<?>> getImports(OptionalType optionalType) {
+    private static boolean usesCompressionDictionaries(TableMetadata table) {
+        return table.getColumns().getAllColumnValues().stream()
+                .anyMatch(ColumnValueDescription::usesCompressionDictionaries);
+    }
+
+    private static List<Class<?>> getImports(OptionalType optionalType, TableMetadata table) {
         List<Class<?>> classes = new ArrayList<>();
         classes.addAll(Arrays.asList(IMPORTS_WITHOUT_OPTIONAL));
+        // Only imported when needed, so that tables without compression dictionaries render as they did before.
+        if (usesCompressionDictionaries(table)) {
+            classes.add(CompressionDictionary.class);
+            classes.add(BaseEncoding.class);
+        }
         switch (optionalType) {
             case GUAVA:
                 classes.add(com.google.common.base.Optional.class);
@@ -15,6 +15,7 @@
  */
 package com.palantir.atlasdb.schema.stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -38,4 +39,18 @@ public class StreamStoreDefinitionBuilderTest {
                         .build())
                 .doesNotThrowAnyException();
     }
+
+    @Test
+    public void chunkTablesAreOnlyCreatedWhenDeduplicatingChunks() {
+        assertThat(new StreamStoreDefinitionBuilder("test", "test", ValueType.VAR_LONG)
+                        .build()
+                        .getTables())
+                .doesNotContainKeys(
+                        StreamTableType.CHUNK.getTableName("test"), StreamTableType.CHUNK_INDEX.getTableName("test"));
+        assertThat(new StreamStoreDefinitionBuilder("test", "test", ValueType.VAR_LONG)
+                        .deduplicateChunks()
+                        .build()
+                        .getTables())
+                .hasSize(StreamTableType.values().length);
+    }
 }
@@ -0,0 +1,122 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class BlockSeekableByteChannelTest {
+    private static final int BLOCK_SIZE = 3;
+    private static final byte[] DATA = "not quite divisible".getBytes(StandardCharsets.UTF_8);
+
+    private final List<Long> fetchedBlocks = new ArrayList<>();
+    private final BlockGetter blockGetter = new BlockGetter() {
+        @Override
+        public void get(long firstBlock, long numBlocks, OutputStream destination) {
+            for (long block = firstBlock; block < firstBlock + numBlocks; block++) {
+                fetchedBlocks.add(block);
+                int start = (int) block * BLOCK_SIZE;
+                try {
+                    destination.write(DATA, start, Math.min(BLOCK_SIZE, DATA.length - start));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        @Override
+        public int expectedBlockLength() {
+            return BLOCK_SIZE;
+        }
+    };
+
+    private final BlockSeekableByteChannel channel =
+            new BlockSeekableByteChannel(blockGetter, DATA.length, BLOCK_SIZE, 2);
+
+    @Test
+    public void readsWholeStream() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(DATA.length + 1);
+
+        assertThat(channel.read(buffer)).isEqualTo(DATA.length);
+        assertThat(Arrays.copyOf(buffer.array(), DATA.length)).isEqualTo(DATA);
+        assertThat(channel.read(buffer)).isEqualTo(-1);
+    }
+
+    @Test
+    public void onlyFetchesBlocksCoveredByRead() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+
+        channel.position(7).read(buffer);
+
+        assertThat(buffer.array()).isEqualTo(Arrays.copyOfRange(DATA, 7, 11));
+        assertThat(fetchedBlocks).containsExactly(2L, 3L);
+        assertThat(channel.position()).isEqualTo(11);
+    }
+
+    @Test
+    public void readsPartialLastBlock() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BLOCK_SIZE);
+
+        assertThat(channel.position(DATA.length - 1).read(buffer)).isEqualTo(1);
+        assertThat(buffer.get(0)).isEqualTo(DATA[DATA.length - 1]);
+    }
+
+    @Test
+    public void reusesRecentlyReadBlocks() throws IOException {
+        channel.position(0).read(ByteBuffer.allocate(1));
+        channel.position(4).read(ByteBuffer.allocate(1));
+        channel.position(1).read(ByteBuffer.allocate(1));
+        channel.position(5).read(ByteBuffer.allocate(1));
+
+        assertThat(fetchedBlocks).containsExactly(0L, 1L);
+    }
+
+    @Test
+    public void evictsLeastRecentlyReadBlocks() throws IOException {
+        channel.position(0).read(ByteBuffer.allocate(1));
+        channel.position(4).read(ByteBuffer.allocate(1));
+        channel.position(7).read(ByteBuffer.allocate(1));
+        channel.position(0).read(ByteBuffer.allocate(1));
+
+        assertThat(fetchedBlocks).containsExactly(0L, 1L, 2L, 0L);
+    }
+
+    @Test
+    public void isReadOnly() {
+        assertThatThrownBy(() -> channel.write(ByteBuffer.wrap(DATA))).isInstanceOf(NonWritableChannelException.class);
+        assertThatThrownBy(() -> channel.truncate(0)).isInstanceOf(NonWritableChannelException.class);
+    }
+
+    @Test
+    public void cannotReadAfterClose() {
+        channel.close();
+
+        assertThat(channel.isOpen()).isFalse();
+        assertThatThrownBy(() -> channel.read(ByteBuffer.allocate(1))).isInstanceOf(ClosedChannelException.class);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+
+public class ConcurrentBlockWriterTest {
+    private static final byte[] BLOCK = {1, 2, 3};
+
+    private final ExecutorService executor = PTExecutors.newFixedThreadPool(4);
+    private final ExecutorService writerThread = PTExecutors.newSingleThreadExecutor();
+    private final Map<Long, byte[]> storedBlocks = new ConcurrentHashMap<>();
+
+    @After
+    public void after() {
+        executor.shutdownNow();
+        writerThread.shutdownNow();
+    }
+
+    @Test
+    public void storesAllBlocks() throws InterruptedIOException {
+        ConcurrentBlockWriter writer = new ConcurrentBlockWriter(executor, 2, storedBlocks::put);
+
+        for (long block = 0; block < 10; block++) {
+            writer.write(block, BLOCK);
+        }
+        writer.awaitWrites();
+
+        assertThat(storedBlocks).hasSize(10).containsEntry(9L, BLOCK);
+    }
+
+    @Test
+    public void limitsWritesInFlight() throws InterruptedException {
+        CountDownLatch blocker = new CountDownLatch(1);
+        AtomicInteger writesStarted = new AtomicInteger();
+        ConcurrentBlockWriter writer = new ConcurrentBlockWriter(executor, 2, (blockNumber, block) -> {
+            writesStarted.incrementAndGet();
+            Uninterruptibles.awaitUninterruptibly(blocker);
+        });
+
+        Future<?> writes = writerThread.submit(() -> {
+            for (long block = 0; block < 3; block++) {
+                writer.write(block, BLOCK);
+            }
+            writer.awaitWrites();
+            return null;
+        });
+        Thread.sleep(100);
+        assertThat(writesStarted).hasValue(2);
+        assertThat(writes).isNotDone();
+
+        blocker.countDown();
+        Uninterruptibles.getUninterruptibly(writes, 10, TimeUnit.SECONDS);
+        assertThat(writesStarted).hasValue(3);
+    }
+
+    @Test
+    public void rethrowsFailedWrites() {
+        ConcurrentBlockWriter writer = new ConcurrentBlockWriter(executor, 2, (blockNumber, block) -> {
+            throw new SafeIllegalStateException("boom");
+        });
+
+        assertThatThrownBy(() -> {
+                    writer.write(0, BLOCK);
+                    writer.awaitWrites();
+                })
+                .isInstanceOf(SafeIllegalStateException.class);
+    }
+
+    @Test
+    public void cancellingWaitsForWritesInProgress() throws Exception {
+        CountDownLatch writeStarted = new CountDownLatch(1);
+        CountDownLatch blocker = new CountDownLatch(1);
+        ConcurrentBlockWriter writer = new ConcurrentBlockWriter(executor, 2, (blockNumber, block) -> {
+            writeStarted.countDown();
+            Uninterruptibles.awaitUninterruptibly(blocker);
+            storedBlocks.put(blockNumber, block);
+        });
+        writer.write(0, BLOCK);
+        writeStarted.await();
+
+        Future<?> cancellation = writerThread.submit(writer::cancelAndAwaitWritesInProgress);
+        Thread.sleep(100);
+        assertThat(cancellation).isNotDone();
+
+        blocker.countDown();
+        Uninterruptibles.getUninterruptibly(cancellation, 10, TimeUnit.SECONDS);
+        assertThat(storedBlocks).containsOnlyKeys(0L);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.primitives.Bytes;
+import com.palantir.util.crypto.Sha256Hash;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+
+public class ContentDefinedChunkerTest {
+    private static final byte[] DATA = randomBytes(5_000_000);
+
+    @Test
+    public void chunksMakeUpTheWholeStream() throws IOException {
+        List<byte[]> chunks = chunk(DATA);
+
+        ByteArrayOutputStream concatenated = new ByteArrayOutputStream();
+        for (byte[] chunk : chunks) {
+            concatenated.write(chunk);
+        }
+        assertThat(concatenated.toByteArray()).isEqualTo(DATA);
+    }
+
+    @Test
+    public void allChunksButTheLastAreWithinBounds() throws IOException {
+        List<byte[]> chunks = chunk(DATA);
+
+        assertThat(chunks).hasSizeGreaterThan(1);
+        assertThat(chunks.subList(0, chunks.size() - 1))
+                .allSatisfy(chunk -> assertThat(chunk.length)
+                        .isBetween(ContentDefinedChunker.MIN_CHUNK_SIZE, ContentDefinedChunker.MAX_CHUNK_SIZE));
+    }
+
+    @Test
+    public void insertingBytesOnlyChangesNearbyChunks() throws IOException {
+        byte[] edited = Bytes.concat(randomBytes(100), DATA);
+
+        Set<Sha256Hash> originalChunks = hashes(chunk(DATA));
+        Set<Sha256Hash> editedChunks = hashes(chunk(edited));
+
+        Set<Sha256Hash> sharedChunks = new HashSet<>(originalChunks);
+        sharedChunks.retainAll(editedChunks);
+        assertThat(sharedChunks).hasSizeGreaterThanOrEqualTo(originalChunks.size() - 1);
+    }
+
+    @Test
+    public void emptyStreamHasNoChunks() throws IOException {
+        ContentDefinedChunker chunker = new ContentDefinedChunker(new ByteArrayInputStream(new byte[0]));
+
+        assertThat(chunker.nextChunk()).isEmpty();
+    }
+
+    @Test
+    public void shortStreamIsOneChunk() throws IOException {
+        byte[] data = randomBytes(ContentDefinedChunker.MIN_CHUNK_SIZE);
+
+        assertThat(chunk(data)).containsExactly(data);
+    }
+
+    private static List<byte[]> chunk(byte[] data) throws IOException {
+        ContentDefinedChunker chunker = new ContentDefinedChunker(new ByteArrayInputStream(data));
+        List<byte[]> chunks = new ArrayList<>();
+        for (byte[] chunk = chunker.nextChunk(); chunk.length > 0; chunk = chunker.nextChunk()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private static Set<Sha256Hash> hashes(List<byte[]> chunks) {
+        Set<Sha256Hash> hashes = new HashSet<>();
+        chunks.forEach(chunk -> hashes.add(Sha256Hash.computeHash(chunk)));
+        return hashes;
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
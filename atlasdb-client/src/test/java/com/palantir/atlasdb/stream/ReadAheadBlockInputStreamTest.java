@@ -0,0 +1,140 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+
+public class ReadAheadBlockInputStreamTest {
+    private static final int BLOCK_SIZE = 3;
+    private static final byte[] DATA = "divisible by three".getBytes(StandardCharsets.UTF_8);
+    private static final long NUM_BLOCKS = DATA.length / BLOCK_SIZE;
+
+    private final ExecutorService executor = PTExecutors.newFixedThreadPool(4);
+    private final AtomicInteger fetchesStarted = new AtomicInteger();
+
+    @After
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void readsAllBlocksInOrder() throws IOException {
+        try (InputStream stream = ReadAheadBlockInputStream.create(new DataBlockGetter(), NUM_BLOCKS, 4, executor)) {
+            assertThat(ByteStreams.toByteArray(stream)).isEqualTo(DATA);
+        }
+    }
+
+    @Test
+    public void readsSingleBytesInOrder() throws IOException {
+        try (InputStream stream = ReadAheadBlockInputStream.create(new DataBlockGetter(), NUM_BLOCKS, 2, executor)) {
+            for (byte expected : DATA) {
+                assertThat(stream.read()).isEqualTo(expected & 0xff);
+            }
+            assertThat(stream.read()).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    public void fetchesBlocksConcurrently() throws IOException {
+        CountDownLatch allFetchesStarted = new CountDownLatch(3);
+        BlockGetter blockGetter = new DataBlockGetter() {
+            @Override
+            public void get(long firstBlock, long numBlocks, OutputStream destination) {
+                allFetchesStarted.countDown();
+                // Each fetch only completes once all three are in flight.
+                assertThat(Uninterruptibles.awaitUninterruptibly(allFetchesStarted, 10, TimeUnit.SECONDS))
+                        .isTrue();
+                super.get(firstBlock, numBlocks, destination);
+            }
+        };
+
+        try (InputStream stream = ReadAheadBlockInputStream.create(blockGetter, 3, 3, executor)) {
+            assertThat(ByteStreams.toByteArray(stream)).isEqualTo(Arrays.copyOf(DATA, 3 * BLOCK_SIZE));
+        }
+    }
+
+    @Test
+    public void limitsNumberOfBlocksFetchedAhead() throws IOException {
+        try (InputStream stream = ReadAheadBlockInputStream.create(new DataBlockGetter(), NUM_BLOCKS, 2, executor)) {
+            stream.read();
+            assertThat(fetchesStarted).hasValueLessThanOrEqualTo(3);
+        }
+    }
+
+    @Test
+    public void fetchesBlocksOnReaderThreadWithInlineExecutor() throws IOException {
+        Thread reader = Thread.currentThread();
+        BlockGetter blockGetter = new DataBlockGetter() {
+            @Override
+            public void get(long firstBlock, long numBlocks, OutputStream destination) {
+                assertThat(Thread.currentThread()).isEqualTo(reader);
+                super.get(firstBlock, numBlocks, destination);
+            }
+        };
+
+        try (InputStream stream = ReadAheadBlockInputStream.create(blockGetter, NUM_BLOCKS, 2, Runnable::run)) {
+            assertThat(ByteStreams.toByteArray(stream)).isEqualTo(DATA);
+        }
+    }
+
+    @Test
+    public void propagatesFailuresToFetchBlocks() {
+        BlockGetter failingGetter = new DataBlockGetter() {
+            @Override
+            public void get(long firstBlock, long numBlocks, OutputStream destination) {
+                throw new SafeIllegalStateException("boom");
+            }
+        };
+
+        InputStream stream = ReadAheadBlockInputStream.create(failingGetter, NUM_BLOCKS, 2, executor);
+        assertThatThrownBy(stream::read).isInstanceOf(SafeIllegalStateException.class);
+    }
+
+    private class DataBlockGetter implements BlockGetter {
+        @Override
+        public void get(long firstBlock, long numBlocks, OutputStream destination) {
+            fetchesStarted.incrementAndGet();
+            try {
+                destination.write(DATA, (int) firstBlock * BLOCK_SIZE, (int) numBlocks * BLOCK_SIZE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public int expectedBlockLength() {
+            return BLOCK_SIZE;
+        }
+    }
+}
@@ -17,6 +17,7 @@ package com.palantir.atlasdb.table.description;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.palantir.atlasdb.compress.CompressionDictionary;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.LogSafety;
 import com.palantir.atlasdb.transaction.api.ConflictHandler;
@@ -32,6 +33,7 @@ public class TableMetadataTest {
             .appendHeavyAndReadLight(true)
             .nameLogSafety(LogSafety.SAFE)
             .denselyAccessedWideRows(true)
+            .addCompressionDictionaries(CompressionDictionary.of(1, new byte[] {1, 2, 3}))
             .build();
 
     @Test
@@ -20,10 +20,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.google.common.base.Function;
 import com.google.common.collect.Ordering;
 import com.palantir.atlasdb.annotation.Reusable;
+import com.palantir.atlasdb.compress.CompressionDictionary;
 import com.palantir.atlasdb.keyvalue.api.Namespace;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.persist.api.Persister;
 import com.palantir.atlasdb.persister.JsonNodePersister;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
 import com.palantir.atlasdb.table.description.IndexMetadata;
 import com.palantir.atlasdb.table.description.OptionalType;
 import com.palantir.atlasdb.table.description.TableDefinition;
@@ -124,6 +126,42 @@ public class TableRendererTest {
         };
     }
 
+    @Test
+    public void testDeflateColumnsUseCompressionDictionaries() {
+        TableRenderer renderer = new TableRenderer("package", Namespace.DEFAULT_NAMESPACE, OptionalType.JAVA8);
+        CompressionDictionary dictionary = CompressionDictionary.of(3, new byte[] {1, 2, 3});
+        String renderedTableDefinition = renderer.render(
+                "table", getTableWithDeflateCompression(TABLE_REF, dictionary), NO_INDICES);
+        assertThat(renderedTableDefinition)
+                .contains("import com.palantir.atlasdb.compress.CompressionDictionary;")
+                .contains("private final static List<CompressionDictionary> COMPRESSION_DICTIONARIES")
+                .contains("CompressionDictionary.of(3, BaseEncoding.base64().decode(")
+                .contains("\"AQID\"));")
+                .contains("CompressionUtils.compress(bytes, Compression.DEFLATE, COMPRESSION_DICTIONARIES)")
+                .contains("CompressionUtils.decompress(bytes, Compression.DEFLATE, COMPRESSION_DICTIONARIES)");
+    }
+
+    @Test
+    public void testOtherTablesDoNotRenderCompressionDictionaries() {
+        TableRenderer renderer = new TableRenderer("package", Namespace.DEFAULT_NAMESPACE, OptionalType.JAVA8);
+        assertThat(renderer.render("table", getSimpleTableDefinition(TABLE_REF), NO_INDICES))
+                .doesNotContain("CompressionDictionary")
+                .doesNotContain("COMPRESSION_DICTIONARIES");
+    }
+
+    private TableDefinition getTableWithDeflateCompression(TableReference tableRef, CompressionDictionary dictionary) {
+        return new TableDefinition() {
+            {
+                javaTableName(tableRef.getTableName());
+                rowName();
+                rowComponent("rowName", ValueType.STRING);
+                columns();
+                column("col1", "1", JsonNodePersister.class, Compression.DEFLATE);
+                compressionDictionary(dictionary);
+            }
+        };
+    }
+
     @Test
     public void testLegacyPersistersInDynamicColumns() {
         TableRenderer renderer = new TableRenderer("package", Namespace.DEFAULT_NAMESPACE, OptionalType.JAVA8);
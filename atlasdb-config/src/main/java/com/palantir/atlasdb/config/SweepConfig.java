@@ -20,6 +20,7 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.sweep.priority.SweepPriorityOverrideConfig;
 import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
 import java.util.Optional;
 import org.immutables.value.Value;
 
@@ -45,6 +46,12 @@ public abstract class SweepConfig {
         return 1;
     }
 
+    /**
+     * The maximum number of calls deleting stale values that background sweep threads may make to the key value
+     * service at the same time. If unspecified, this is only bounded by the number of background sweep threads.
+     */
+    public abstract Optional<Integer> maxConcurrentDeletes();
+
     /**
      * The number of milliseconds to wait between each batch of cells processed by the background sweeper.
      */
@@ -103,6 +110,11 @@ public abstract class SweepConfig {
                 sweepThreads() > 0,
                 "Must have a positive number of threads! "
                         + "If your intention was to disable sweep, please set enabled to false.");
+        maxConcurrentDeletes()
+                .ifPresent(maxConcurrentDeletes -> Preconditions.checkState(
+                        maxConcurrentDeletes > 0,
+                        "Must allow a positive number of concurrent deletes.",
+                        SafeArg.of("maxConcurrentDeletes", maxConcurrentDeletes)));
     }
 
     public static SweepConfig defaultSweepConfig() {
@@ -16,7 +16,6 @@
 
 package com.palantir.atlasdb.factory;
 
-import com.google.common.base.Suppliers;
 import com.google.common.collect.Iterables;
 import com.google.common.util.concurrent.Uninterruptibles;
 import com.palantir.atlasdb.config.AtlasDbConfig;
@@ -51,7 +50,7 @@ import com.palantir.leader.proxy.LeadershipCoordinator;
 import com.palantir.lock.LockRpcClient;
 import com.palantir.lock.LockService;
 import com.palantir.lock.NamespaceAgnosticLockRpcClient;
-import com.palantir.lock.client.AuthenticatedInternalMultiClientConjureTimelockService;
+import com.palantir.lock.client.CoalescingMultiClientConjureTimelockService;
 import com.palantir.lock.client.ImmutableMultiClientRequestBatchers;
 import com.palantir.lock.client.InternalMultiClientConjureTimelockService;
 import com.palantir.lock.client.LeaderElectionReportingTimelockService;
@@ -331,8 +330,11 @@ public final class DefaultLockAndTimestampServiceFactory implements LockAndTimes
         NamespacedConjureLockWatchingService lockWatchingService = new NamespacedConjureLockWatchingService(
                 serviceProvider.getConjureLockWatchingService(), timelockNamespace);
 
+        CoalescingMultiClientConjureTimelockService multiClientTimelockService =
+                CoalescingMultiClientConjureTimelockService.create(
+                        serviceProvider.getMultiClientConjureTimelockService(), metricsManager.getTaggedRegistry());
         Supplier<InternalMultiClientConjureTimelockService> multiClientTimelockServiceSupplier =
-                getMultiClientTimelockServiceSupplier(serviceProvider);
+                () -> multiClientTimelockService;
 
         Supplier<Optional<RequestBatchersFactory.MultiClientRequestBatchers>> requestBatcherProvider =
                 () -> timelockRequestBatcherProviders.map(batcherProviders -> ImmutableMultiClientRequestBatchers.of(
@@ -368,6 +370,7 @@ public final class DefaultLockAndTimestampServiceFactory implements LockAndTimes
                 .lockWatcher(lockWatchManager)
                 .addResources(remoteTimelockServiceAdapter::close)
                 .addResources(lockWatchManager::close)
+                .addResources(multiClientTimelockService::close)
                 .build();
     }
 
@@ -403,12 +406,6 @@ public final class DefaultLockAndTimestampServiceFactory implements LockAndTimes
         return new NamespacedCoalescingLeaderTimeGetter(timelockNamespace, referenceTrackingBatcher);
     }
 
-    private static Supplier<InternalMultiClientConjureTimelockService> getMultiClientTimelockServiceSupplier(
-            AtlasDbDialogueServiceProvider serviceProvider) {
-        return Suppliers.memoize(() -> new AuthenticatedInternalMultiClientConjureTimelockService(
-                serviceProvider.getMultiClientConjureTimelockService()));
-    }
-
     private static LockAndTimestampServices createRawLeaderServices(
             MetricsManager metricsManager,
             LeaderConfig leaderConfig,
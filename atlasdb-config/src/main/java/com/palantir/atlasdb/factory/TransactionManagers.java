@@ -804,7 +804,11 @@ public abstract class TransactionManagers {
             CleanupFollower follower,
             TransactionManager transactionManager,
             boolean runInBackground) {
-        CellsSweeper cellsSweeper = new CellsSweeper(transactionManager, kvs, ImmutableList.of(follower));
+        CellsSweeper cellsSweeper = new CellsSweeper(
+                transactionManager,
+                kvs,
+                ImmutableList.of(follower),
+                () -> runtimeConfigSupplier.get().sweep().maxConcurrentDeletes());
 
         LegacySweepMetrics sweepMetrics = new LegacySweepMetrics(metricsManager.getRegistry());
 
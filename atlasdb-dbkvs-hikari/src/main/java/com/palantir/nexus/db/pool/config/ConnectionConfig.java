@@ -149,6 +149,18 @@ public abstract class ConnectionConfig {
         return new Properties();
     }
 
+    /**
+     * Number of prepared statements the JDBC driver should cache per physical connection, keyed by SQL text. Reusing
+     * a cached statement avoids parsing (and, for repeated executions, planning) queries on the server. If absent,
+     * the driver's own default is used; for Oracle this means statement caching is disabled.
+     *
+     * Statements are cached by the driver rather than by the SqlConnection layer, because connections are checked out
+     * of the pool for each operation and the pool closes statements left open when they are returned, so statements
+     * cached above the driver would never be reused. Neither driver reports cache hits, misses or evictions; the
+     * effect of the cache shows in the per query prepareStatement and execution times in SqlStats.
+     */
+    public abstract Optional<Integer> getStatementCacheSize();
+
     /**
      * Please refer to <a href="https://github.com/brettwooldridge/HikariCP#infrequently-used">HikariCP</a>
      * before overriding.
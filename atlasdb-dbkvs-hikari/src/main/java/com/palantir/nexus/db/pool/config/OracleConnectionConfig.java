@@ -150,6 +150,10 @@ public abstract class OracleConnectionConfig extends ConnectionConfig {
 
         props.setProperty("oracle.jdbc.maxCachedBufferSize", "100000");
 
+        getStatementCacheSize()
+                .ifPresent(size ->
+                        props.setProperty("oracle.jdbc.implicitStatementCacheSize", Integer.toString(size)));
+
         if (getProtocol() == ConnectionProtocol.TCPS) {
             // Create the truststore
             File clientTruststore = new File(getTruststorePath().get());
@@ -98,6 +98,9 @@ public abstract class PostgresConnectionConfig extends ConnectionConfig {
         props.setProperty("connectTimeout", Integer.toString(getConnectionTimeoutSeconds()));
         props.setProperty("loginTimeout", Integer.toString(getConnectionTimeoutSeconds()));
 
+        getStatementCacheSize()
+                .ifPresent(size -> props.setProperty("preparedStatementCacheQueries", Integer.toString(size)));
+
         return props;
     }
 
@@ -140,6 +140,21 @@ public class OracleConnectionConfigTest {
         }
     }
 
+    @Test
+    public void statementCacheSizeEnablesImplicitStatementCaching() {
+        OracleConnectionConfig connectionConfig =
+                getBaseBuilder().sid(SID).statementCacheSize(128).build();
+        assertThat(connectionConfig.getHikariProperties())
+                .containsEntry("oracle.jdbc.implicitStatementCacheSize", "128");
+    }
+
+    @Test
+    public void implicitStatementCachingIsNotConfiguredByDefault() {
+        OracleConnectionConfig connectionConfig = getBaseBuilder().sid(SID).build();
+        assertThat(connectionConfig.getHikariProperties())
+                .doesNotContainKey("oracle.jdbc.implicitStatementCacheSize");
+    }
+
     private static OracleConnectionConfig.Builder getBaseBuilder() {
         return new OracleConnectionConfig.Builder()
                 .dbPassword(PASSWORD)
@@ -97,6 +97,18 @@ public abstract class DbKeyValueServiceConfig implements KeyValueServiceConfig {
                         SafeArg.of("total", connection().getMaxConnections())));
     }
 
+    @Value.Check
+    public void checkOverflowValueLoadConcurrency() {
+        if (ddl() instanceof OracleDdlConfig) {
+            int overflowValueLoadConcurrency = ((OracleDdlConfig) ddl()).overflowValueLoadConcurrency();
+            checkArgument(
+                    overflowValueLoadConcurrency < connection().getMaxConnections(),
+                    "Oracle overflow value load concurrency must be less than the maximum number of connections.",
+                    SafeArg.of("overflowValueLoadConcurrency", overflowValueLoadConcurrency),
+                    SafeArg.of("maxConnections", connection().getMaxConnections()));
+        }
+    }
+
     @Value.Check
     protected final void check() {
         checkArgument(
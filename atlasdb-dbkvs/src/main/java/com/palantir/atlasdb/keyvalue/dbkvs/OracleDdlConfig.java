@@ -67,6 +67,25 @@ public abstract class OracleDdlConfig extends DdlConfig {
 
     public abstract OverflowMigrationState overflowMigrationState();
 
+    /**
+     * Reads that need more overflow values than this are resolved in batches of this size, which are loaded
+     * concurrently over separate connections.
+     */
+    @Value.Default
+    public int overflowValueLoadBatchSize() {
+        return 100;
+    }
+
+    /**
+     * Maximum number of further pooled connections that load overflow value batches alongside the reads that need
+     * them, across all reads. Reads load batches on their own connection when these are all in use, so this must be
+     * less than the maximum size of the connection pool, and leaves the rest of the pool to other queries.
+     */
+    @Value.Default
+    public int overflowValueLoadConcurrency() {
+        return 8;
+    }
+
     @Value.Default
     public boolean enableOracleEnterpriseFeatures() {
         return false;
@@ -140,6 +159,11 @@ public abstract class OracleDdlConfig extends DdlConfig {
 
         checkTablePrefixLengthLimits();
 
+        Preconditions.checkState(
+                overflowValueLoadBatchSize() > 0, "Oracle 'overflowValueLoadBatchSize' must be positive.");
+        Preconditions.checkState(
+                overflowValueLoadConcurrency() > 0, "Oracle 'overflowValueLoadConcurrency' must be positive.");
+
         Preconditions.checkState(
                 !(useTableMapping() && longIdentifierNamesSupported()),
                 "The table mapper does not support long identifier names yet. Please contact the AtlasDB team if you "
@@ -21,6 +21,11 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.conjure.java.api.config.service.HumanReadableDuration;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.UnsafeArg;
+import java.util.Map;
+import java.util.OptionalInt;
 import org.immutables.value.Value;
 
 @JsonDeserialize(as = ImmutablePostgresDdlConfig.class)
@@ -50,4 +55,27 @@ public abstract class PostgresDdlConfig extends DdlConfig {
     public HumanReadableDuration compactInterval() {
         return HumanReadableDuration.seconds(0);
     }
+
+    /**
+     * Fully qualified names of tables that should be created with Postgres declarative hash partitioning on
+     * row_name, mapped to the number of partitions to create. This is only consulted when a table is created;
+     * the partition count is then recorded in the metadata table, and changing this value for an existing table
+     * has no effect.
+     */
+    public abstract Map<String, Integer> hashPartitionedTables();
+
+    public OptionalInt hashPartitionCount(TableReference tableRef) {
+        Integer partitionCount = hashPartitionedTables().get(tableRef.getQualifiedName());
+        return partitionCount == null ? OptionalInt.empty() : OptionalInt.of(partitionCount);
+    }
+
+    @Value.Check
+    protected final void checkHashPartitionedTables() {
+        hashPartitionedTables()
+                .forEach((tableName, partitionCount) -> Preconditions.checkState(
+                        partitionCount >= 2,
+                        "Hash partitioned tables must have at least two partitions.",
+                        UnsafeArg.of("tableName", tableName),
+                        SafeArg.of("partitionCount", partitionCount)));
+    }
 }
@@ -228,7 +228,13 @@ public final class DbKvs extends AbstractKeyValueService implements DbKeyValueSe
         DbTableFactory tableFactory = new OracleDbTableFactory(
                 oracleDdlConfig, tableNameGetter, prefixedTableNames, valueStyleCache, executor);
         TableMetadataCache tableMetadataCache = new TableMetadataCache(tableFactory);
-        OverflowValueLoader overflowValueLoader = new OracleOverflowValueLoader(oracleDdlConfig, tableNameGetter);
+        OverflowValueLoader overflowValueLoader = new ParallelOverflowValueLoader(
+                new OracleOverflowValueLoader(oracleDdlConfig, tableNameGetter),
+                connections,
+                PTExecutors.newFixedThreadPool(
+                        oracleDdlConfig.overflowValueLoadConcurrency(), "Atlas DbKvs overflow loader"),
+                oracleDdlConfig.overflowValueLoadConcurrency(),
+                oracleDdlConfig.overflowValueLoadBatchSize());
         DbKvsGetRange getRange = new OracleGetRange(
                 connections,
                 overflowValueLoader,
@@ -307,6 +313,7 @@ public final class DbKvs extends AbstractKeyValueService implements DbKeyValueSe
         dbTables.close();
         connections.close();
         batchingQueryRunner.close();
+        overflowValueLoader.close();
     }
 
     @Override
@@ -22,4 +22,8 @@ import java.util.Map;
 public interface OverflowValueLoader {
     Map<Long, byte[]> loadOverflowValues(
             ConnectionSupplier conns, TableReference tableRef, Collection<Long> overflowIds);
+
+    default void close() {
+        // nothing to release by default
+    }
 }
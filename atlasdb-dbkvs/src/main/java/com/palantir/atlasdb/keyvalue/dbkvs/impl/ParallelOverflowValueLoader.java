@@ -0,0 +1,164 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.dbkvs.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.logging.LoggingArgs;
+import com.palantir.logsafe.exceptions.SafeRuntimeException;
+import com.palantir.logsafe.logger.SafeLogger;
+import com.palantir.logsafe.logger.SafeLoggerFactory;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Splits large overflow lookups into batches that are resolved concurrently. Small lookups are passed straight through
+ * to the delegate on the caller's connection.
+ *
+ * The caller always loads batches on its own connection, and is helped by at most {@code maxPooledConnections}
+ * loaders across all lookups, each of which takes one further connection from the pool. Helpers are only started
+ * while that budget has room, and a helper only claims batches once it holds its connection, so a lookup never waits
+ * for a connection: when the pool is exhausted, the caller loads all of the batches itself.
+ */
+public final class ParallelOverflowValueLoader implements OverflowValueLoader {
+    private static final SafeLogger log = SafeLoggerFactory.get(ParallelOverflowValueLoader.class);
+
+    private final OverflowValueLoader delegate;
+    private final SqlConnectionSupplier connections;
+    private final ExecutorService executor;
+    private final Semaphore pooledConnectionBudget;
+    private final int batchSize;
+
+    public ParallelOverflowValueLoader(
+            OverflowValueLoader delegate,
+            SqlConnectionSupplier connections,
+            ExecutorService executor,
+            int maxPooledConnections,
+            int batchSize) {
+        this.delegate = delegate;
+        this.connections = connections;
+        this.executor = executor;
+        this.pooledConnectionBudget = new Semaphore(maxPooledConnections);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public Map<Long, byte[]> loadOverflowValues(
+            ConnectionSupplier conns, TableReference tableRef, Collection<Long> overflowIds) {
+        if (overflowIds.size() <= batchSize) {
+            return delegate.loadOverflowValues(conns, tableRef, overflowIds);
+        }
+        BatchedLookup lookup =
+                new BatchedLookup(tableRef, Lists.partition(ImmutableList.copyOf(overflowIds), batchSize));
+        // The caller loads one of the batches, so there is no point in helpers for all of them.
+        for (int helpers = 1; helpers < lookup.batchCount && pooledConnectionBudget.tryAcquire(); helpers++) {
+            startHelper(lookup);
+        }
+        return lookup.loadOnCallersConnection(conns);
+    }
+
+    private void startHelper(BatchedLookup lookup) {
+        try {
+            executor.execute(() -> {
+                try {
+                    lookup.loadOnPooledConnection();
+                } finally {
+                    pooledConnectionBudget.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pooledConnectionBudget.release();
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        delegate.close();
+    }
+
+    private final class BatchedLookup {
+        private final TableReference tableRef;
+        private final int batchCount;
+        private final Queue<List<Long>> unclaimedBatches;
+        private final CountDownLatch unloadedBatches;
+        private final Map<Long, byte[]> values = new ConcurrentHashMap<>();
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        private BatchedLookup(TableReference tableRef, List<List<Long>> batches) {
+            this.tableRef = tableRef;
+            this.batchCount = batches.size();
+            this.unclaimedBatches = new ConcurrentLinkedQueue<>(batches);
+            this.unloadedBatches = new CountDownLatch(batches.size());
+        }
+
+        private Map<Long, byte[]> loadOnCallersConnection(ConnectionSupplier conns) {
+            loadUnclaimedBatches(conns);
+            // Only batches claimed by helpers that already hold a connection can be outstanding here.
+            try {
+                unloadedBatches.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SafeRuntimeException("Interrupted while loading overflow values", e);
+            }
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+            return values;
+        }
+
+        private void loadOnPooledConnection() {
+            if (unclaimedBatches.isEmpty()) {
+                return;
+            }
+            try (ConnectionSupplier helperConns = new ConnectionSupplier(connections)) {
+                try {
+                    helperConns.get();
+                } catch (RuntimeException e) {
+                    log.info(
+                            "Could not get a connection to help load overflow values, leaving the batches to the"
+                                    + " caller",
+                            LoggingArgs.tableRef(tableRef),
+                            e);
+                    return;
+                }
+                loadUnclaimedBatches(helperConns);
+            }
+        }
+
+        private void loadUnclaimedBatches(ConnectionSupplier conns) {
+            for (List<Long> batch = unclaimedBatches.poll(); batch != null; batch = unclaimedBatches.poll()) {
+                try {
+                    values.putAll(delegate.loadOverflowValues(conns, tableRef, batch));
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    unloadedBatches.countDown();
+                }
+            }
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package com.palantir.atlasdb.keyvalue.dbkvs.impl.postgres;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
@@ -33,6 +34,8 @@ import com.palantir.logsafe.logger.SafeLoggerFactory;
 import com.palantir.nexus.db.sql.AgnosticResultRow;
 import com.palantir.nexus.db.sql.AgnosticResultSet;
 import com.palantir.nexus.db.sql.ExceptionCheck;
+import java.util.List;
+import java.util.OptionalInt;
 import java.util.concurrent.Semaphore;
 import java.util.function.Predicate;
 import org.slf4j.Logger;
@@ -74,6 +77,14 @@ public class PostgresDdlTable implements DbDdlTable {
         }
 
         String prefixedTableName = prefixedTableName();
+        OptionalInt partitionCount = config.hashPartitionCount(tableName);
+        if (partitionCount.isPresent()) {
+            // Checked before creating the parent table, so that a table that cannot be partitioned is not left
+            // without any partitions.
+            PostgresVersionCheck.checkHashPartitioningSupported(getServerVersion());
+            PostgresTablePartitions.partitionNames(prefixedTableName, partitionCount.getAsInt());
+        }
+        boolean createdTable = false;
         try {
             conns.get()
                     .executeUnregisteredQuery(String.format(
@@ -84,7 +95,9 @@ public class PostgresDdlTable implements DbDdlTable {
                                             + "  val        BYTEA,"
                                             + "  CONSTRAINT %s PRIMARY KEY (row_name, col_name, ts) ",
                                     prefixedTableName, PrimaryKeyConstraintNames.get(prefixedTableName))
-                            + ")");
+                            + ")"
+                            + (partitionCount.isPresent() ? PostgresTablePartitions.partitionClause() : ""));
+            createdTable = true;
         } catch (PalantirSqlException e) {
             if (!e.getMessage().contains("already exists")) {
                 log.error("Error occurred trying to create the table", e);
@@ -104,6 +117,21 @@ public class PostgresDdlTable implements DbDdlTable {
             }
         }
 
+        if (partitionCount.isPresent()) {
+            createPartitions(prefixedTableName, partitionCount.getAsInt(), createdTable);
+            ignoringError(
+                    () -> conns.get()
+                            .insertOneUnregisteredQuery(
+                                    String.format(
+                                            "INSERT INTO %s (table_name, table_size, partition_count) VALUES (?, ?, ?)",
+                                            config.metadataTable().getQualifiedName()),
+                                    tableName.getQualifiedName(),
+                                    TableValueStyle.RAW.getId(),
+                                    partitionCount.getAsInt()),
+                    ExceptionCheck::isUniqueConstraintViolation);
+            return;
+        }
+
         ignoringError(
                 () -> conns.get()
                         .insertOneUnregisteredQuery(
@@ -115,6 +143,30 @@ public class PostgresDdlTable implements DbDdlTable {
                 ExceptionCheck::isUniqueConstraintViolation);
     }
 
+    /**
+     * Creates the partitions of a hash partitioned table. If a partition cannot be created, a parent table created
+     * by this call is dropped again, so that the next attempt creates the table from scratch rather than finding a
+     * table that rows cannot be inserted into.
+     */
+    private void createPartitions(String prefixedTableName, int partitionCount, boolean createdTable) {
+        try {
+            for (int remainder = 0; remainder < partitionCount; remainder++) {
+                executeIgnoringError(
+                        PostgresTablePartitions.createPartitionQuery(prefixedTableName, partitionCount, remainder),
+                        "already exists");
+            }
+        } catch (RuntimeException e) {
+            if (createdTable) {
+                log.warn(
+                        "Failed to create the partitions of a hash partitioned table, dropping the table",
+                        UnsafeArg.of("prefixedTableName", prefixedTableName),
+                        e);
+                executeIgnoringError("DROP TABLE " + prefixedTableName, "does not exist");
+            }
+            throw e;
+        }
+    }
+
     @Override
     public void drop() {
         executeIgnoringError("DROP TABLE " + prefixedTableName(), "does not exist");
@@ -133,17 +185,22 @@ public class PostgresDdlTable implements DbDdlTable {
 
     @Override
     public void checkDatabaseVersion() {
+        PostgresVersionCheck.checkDatabaseVersion(getServerVersion(), oldLog);
+    }
+
+    private String getServerVersion() {
         AgnosticResultSet result = conns.get().selectResultSetUnregisteredQuery("SHOW server_version");
-        String version = result.get(0).getString("server_version");
-        PostgresVersionCheck.checkDatabaseVersion(version, oldLog);
+        return result.get(0).getString("server_version");
     }
 
     @Override
     public void compactInternally(boolean unused) {
         if (compactionSemaphore.tryAcquire()) {
             try {
-                if (shouldRunCompaction()) {
-                    runCompactOnTable();
+                for (String relationName : relationsToCompact()) {
+                    if (shouldRunCompaction(relationName)) {
+                        runCompactOn(relationName);
+                    }
                 }
             } finally {
                 compactionSemaphore.release();
@@ -153,15 +210,44 @@ public class PostgresDdlTable implements DbDdlTable {
 
     @VisibleForTesting
     boolean shouldRunCompaction() {
+        return shouldRunCompaction(prefixedTableName());
+    }
+
+    private boolean shouldRunCompaction(String relationName) {
         long compactIntervalMillis = config.compactInterval().toMilliseconds();
-        return compactIntervalMillis <= 0 || getMillisSinceLastCompact() >= compactIntervalMillis;
+        return compactIntervalMillis <= 0 || getMillisSinceLastCompact(relationName) >= compactIntervalMillis;
+    }
+
+    /**
+     * Hash partitioned tables are vacuumed one partition at a time, so that each vacuum works on a bounded
+     * relation and partitions that were recently vacuumed (e.g. by autovacuum) are skipped.
+     */
+    private List<String> relationsToCompact() {
+        int partitionCount = getStoredPartitionCount();
+        if (partitionCount == 0) {
+            return ImmutableList.of(prefixedTableName());
+        }
+        return PostgresTablePartitions.partitionNames(prefixedTableName(), partitionCount);
+    }
+
+    /**
+     * Returns the number of hash partitions recorded for this table when it was created, or 0 if the table is not
+     * partitioned.
+     */
+    private int getStoredPartitionCount() {
+        return conns.get()
+                .selectIntegerUnregisteredQuery(
+                        String.format(
+                                "SELECT MAX(partition_count) FROM %s WHERE table_name = ?",
+                                config.metadataTable().getQualifiedName()),
+                        tableName.getQualifiedName());
     }
 
     /**
      * Returns the number of milliseconds since the last compaction, or Long.MAX_VALUE if
      * compaction has never run.
      */
-    private long getMillisSinceLastCompact() {
+    private long getMillisSinceLastCompact(String relationName) {
         AgnosticResultSet rs = conns.get()
                 .selectResultSetUnregisteredQuery(
                         "SELECT FLOOR(EXTRACT(EPOCH FROM GREATEST( "
@@ -169,7 +255,7 @@ public class PostgresDdlTable implements DbDdlTable {
                                 + "))*1000) AS last, "
                                 + "FLOOR(EXTRACT(EPOCH FROM CURRENT_TIMESTAMP)*1000) AS current "
                                 + "FROM pg_stat_user_tables WHERE relname = ?",
-                        prefixedTableName());
+                        relationName);
 
         AgnosticResultRow row = Iterables.getOnlyElement(rs.rows());
 
@@ -182,9 +268,9 @@ public class PostgresDdlTable implements DbDdlTable {
         return current - last;
     }
 
-    private void runCompactOnTable() {
+    private void runCompactOn(String relationName) {
         // VACUUM FULL is /really/ what we want here, but it takes out a table lock
-        conns.get().executeUnregisteredQuery("VACUUM ANALYZE " + prefixedTableName());
+        conns.get().executeUnregisteredQuery("VACUUM ANALYZE " + relationName);
     }
 
     private String prefixedTableName() {
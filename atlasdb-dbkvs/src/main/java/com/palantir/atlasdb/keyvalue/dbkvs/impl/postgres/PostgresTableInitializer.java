@@ -53,11 +53,17 @@ public class PostgresTableInitializer implements DbTableInitializer {
                                 + "  table_name VARCHAR(2000) NOT NULL,"
                                 + "  table_size BIGINT NOT NULL,"
                                 + "  value      BYTEA NULL,"
+                                + "  partition_count INT NULL,"
                                 + "  CONSTRAINT %s PRIMARY KEY (table_name) "
                                 + ")",
                         metadataTableName, PrimaryKeyConstraintNames.get(metadataTableName)),
                 "already exists");
 
+        // Metadata tables created before hash partitioning was supported do not have this column.
+        executeIgnoringError(
+                String.format("ALTER TABLE %s ADD COLUMN partition_count INT NULL", metadataTableName),
+                "already exists");
+
         executeIgnoringError(
                 String.format(
                         "CREATE UNIQUE INDEX unique_lower_case_%s_index ON %s (lower(table_name))",
@@ -0,0 +1,64 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.dbkvs.impl.postgres;
+
+import com.google.common.collect.ImmutableList;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.UnsafeArg;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Naming and DDL for AtlasDB tables that use Postgres declarative hash partitioning on row_name. The parent table
+ * keeps the name of an unpartitioned table, so reads and writes address it unchanged and Postgres routes them to
+ * (and prunes them by) the individual partitions.
+ */
+final class PostgresTablePartitions {
+    private static final int POSTGRES_NAME_LENGTH_LIMIT = 63;
+    private static final String PARTITION_SUFFIX = "_p";
+
+    private PostgresTablePartitions() {
+        // Utility class
+    }
+
+    static String partitionClause() {
+        return " PARTITION BY HASH (row_name)";
+    }
+
+    static String createPartitionQuery(String prefixedTableName, int partitionCount, int remainder) {
+        return String.format(
+                "CREATE TABLE %s PARTITION OF %s FOR VALUES WITH (MODULUS %d, REMAINDER %d)",
+                partitionName(prefixedTableName, remainder), prefixedTableName, partitionCount, remainder);
+    }
+
+    static List<String> partitionNames(String prefixedTableName, int partitionCount) {
+        return IntStream.range(0, partitionCount)
+                .mapToObj(remainder -> partitionName(prefixedTableName, remainder))
+                .collect(ImmutableList.toImmutableList());
+    }
+
+    static String partitionName(String prefixedTableName, int remainder) {
+        String partitionName = prefixedTableName + PARTITION_SUFFIX + remainder;
+        Preconditions.checkArgument(
+                partitionName.length() <= POSTGRES_NAME_LENGTH_LIMIT,
+                "Partition name exceeds the postgres limit on identifier length. Please use a shorter table name"
+                        + " or do not hash partition this table.",
+                UnsafeArg.of("partitionName", partitionName),
+                SafeArg.of("limit", POSTGRES_NAME_LENGTH_LIMIT));
+        return partitionName;
+    }
+}
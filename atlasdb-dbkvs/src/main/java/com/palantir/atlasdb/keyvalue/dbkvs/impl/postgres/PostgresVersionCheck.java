@@ -21,6 +21,7 @@ import org.slf4j.Logger;
 
 public final class PostgresVersionCheck {
     static final String MIN_POSTGRES_VERSION = "9.6";
+    static final String MIN_HASH_PARTITIONING_POSTGRES_VERSION = "11";
 
     private PostgresVersionCheck() {}
 
@@ -45,4 +46,19 @@ public final class PostgresVersionCheck {
                 version,
                 MIN_POSTGRES_VERSION);
     }
+
+    /**
+     * Hash partitioning (PARTITION BY HASH) was added in Postgres 11, so tables cannot be hash partitioned on older
+     * servers, even though AtlasDB otherwise supports them.
+     */
+    static void checkHashPartitioningSupported(String version) {
+        // Distributions may append details to the version, as in "11.5 (Debian 11.5-1.pgdg90+1)".
+        String numericVersion = version.replaceFirst("[^\\.0-9].*$", "");
+        if (numericVersion.isEmpty()
+                || VersionStrings.compareVersions(numericVersion, MIN_HASH_PARTITIONING_POSTGRES_VERSION) < 0) {
+            throw new DbkvsVersionException("You are running Postgres " + version + ". Hash partitioned tables"
+                    + " require Postgres " + MIN_HASH_PARTITIONING_POSTGRES_VERSION + " or later. Please update"
+                    + " your Postgres distribution, or do not configure hashPartitionedTables.");
+        }
+    }
 }
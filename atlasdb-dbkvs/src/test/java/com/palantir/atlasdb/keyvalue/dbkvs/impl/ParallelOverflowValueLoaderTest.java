@@ -0,0 +1,139 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.dbkvs.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.primitives.Longs;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.exception.PalantirSqlException;
+import com.palantir.nexus.db.sql.SqlConnection;
+import java.sql.Connection;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.junit.After;
+import org.junit.Test;
+
+public class ParallelOverflowValueLoaderTest {
+    private static final TableReference TABLE = TableReference.createFromFullyQualifiedName("ns.table");
+    private static final int BATCH_SIZE = 10;
+    private static final int MAX_POOLED_CONNECTIONS = 2;
+
+    private final List<Collection<Long>> requestedBatches = new CopyOnWriteArrayList<>();
+    private final List<ConnectionSupplier> usedConnections = new CopyOnWriteArrayList<>();
+    private volatile CountDownLatch pooledConnectionsRequested = new CountDownLatch(0);
+    private final ConnectionSupplier callerConnections = mock(ConnectionSupplier.class);
+    private final SqlConnectionSupplier pooledConnections = mock(SqlConnectionSupplier.class);
+    private final ExecutorService executor = PTExecutors.newFixedThreadPool(MAX_POOLED_CONNECTIONS);
+    private final ParallelOverflowValueLoader loader = new ParallelOverflowValueLoader(
+            this::loadFromDelegate, pooledConnections, executor, MAX_POOLED_CONNECTIONS, BATCH_SIZE);
+
+    @After
+    public void after() {
+        loader.close();
+    }
+
+    @Test
+    public void smallLookupsUseTheCallersConnection() {
+        List<Long> ids = ids(BATCH_SIZE);
+
+        assertValuesLoaded(loader.loadOverflowValues(callerConnections, TABLE, ids), ids);
+        assertThat(requestedBatches).containsExactly(ids);
+        assertThat(usedConnections).containsExactly(callerConnections);
+    }
+
+    @Test
+    public void largeLookupsAreSplitIntoBatches() {
+        SqlConnection pooledConnection = mock(SqlConnection.class);
+        when(pooledConnection.getUnderlyingConnection()).thenReturn(mock(Connection.class));
+        when(pooledConnections.get()).thenReturn(pooledConnection);
+        List<Long> ids = ids(3 * BATCH_SIZE + 1);
+
+        assertValuesLoaded(loader.loadOverflowValues(callerConnections, TABLE, ids), ids);
+        assertThat(requestedBatches).hasSize(4).allSatisfy(batch -> assertThat(batch)
+                .hasSizeLessThanOrEqualTo(BATCH_SIZE));
+        assertThat(ImmutableSet.copyOf(usedConnections)).hasSizeLessThanOrEqualTo(1 + MAX_POOLED_CONNECTIONS);
+    }
+
+    @Test
+    public void callerLoadsAllBatchesWhenPoolHasNoConnections() {
+        when(pooledConnections.get()).thenThrow(PalantirSqlException.create("Connection is not available"));
+        List<Long> ids = ids(3 * BATCH_SIZE + 1);
+
+        assertValuesLoaded(loader.loadOverflowValues(callerConnections, TABLE, ids), ids);
+        assertThat(requestedBatches).hasSize(4);
+        assertThat(usedConnections).containsOnly(callerConnections);
+    }
+
+    @Test
+    public void doesNotStartHelpersBeyondTheConnectionBudget() {
+        pooledConnectionsRequested = new CountDownLatch(MAX_POOLED_CONNECTIONS);
+        CountDownLatch poolExhausted = new CountDownLatch(1);
+        when(pooledConnections.get()).thenAnswer(invocation -> {
+            pooledConnectionsRequested.countDown();
+            poolExhausted.await();
+            throw PalantirSqlException.create("Connection is not available");
+        });
+        List<Long> ids = ids(3 * BATCH_SIZE + 1);
+
+        // The first lookup starts both helpers, which wait for a connection while the caller loads every batch.
+        assertValuesLoaded(loader.loadOverflowValues(callerConnections, TABLE, ids), ids);
+        assertValuesLoaded(loader.loadOverflowValues(callerConnections, TABLE, ids), ids);
+        poolExhausted.countDown();
+
+        assertThat(usedConnections).containsOnly(callerConnections);
+        verify(pooledConnections, times(MAX_POOLED_CONNECTIONS)).get();
+    }
+
+    private Map<Long, byte[]> loadFromDelegate(
+            ConnectionSupplier conns, TableReference tableRef, Collection<Long> overflowIds) {
+        if (conns == callerConnections) {
+            Uninterruptibles.awaitUninterruptibly(pooledConnectionsRequested, 10, TimeUnit.SECONDS);
+        }
+        requestedBatches.add(ImmutableList.copyOf(overflowIds));
+        usedConnections.add(conns);
+        return expectedValues(overflowIds);
+    }
+
+    private static void assertValuesLoaded(Map<Long, byte[]> values, List<Long> ids) {
+        assertThat(values).containsOnlyKeys(ids);
+        values.forEach((id, value) -> assertThat(value).isEqualTo(Longs.toByteArray(id)));
+    }
+
+    private static List<Long> ids(int count) {
+        return LongStream.range(0, count).boxed().collect(Collectors.toList());
+    }
+
+    private static Map<Long, byte[]> expectedValues(Collection<Long> ids) {
+        return ids.stream().collect(Collectors.toMap(Function.identity(), Longs::toByteArray));
+    }
+}
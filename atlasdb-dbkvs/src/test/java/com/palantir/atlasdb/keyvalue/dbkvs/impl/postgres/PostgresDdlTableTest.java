@@ -16,21 +16,30 @@
 package com.palantir.atlasdb.keyvalue.dbkvs.impl.postgres;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalMatchers.and;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.endsWith;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.dbkvs.ImmutablePostgresDdlConfig;
 import com.palantir.atlasdb.keyvalue.dbkvs.impl.ConnectionSupplier;
 import com.palantir.atlasdb.keyvalue.dbkvs.impl.DbKvs;
+import com.palantir.atlasdb.keyvalue.dbkvs.impl.TableValueStyle;
 import com.palantir.conjure.java.api.config.service.HumanReadableDuration;
+import com.palantir.exception.PalantirSqlException;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
 import com.palantir.nexus.db.DBType;
 import com.palantir.nexus.db.sql.AgnosticResultSetImpl;
 import com.palantir.nexus.db.sql.SqlConnection;
@@ -49,6 +58,7 @@ public class PostgresDdlTableTest {
     private static final long NOW_MILLIS = 1000;
     private static final long COMPACT_INTERVAL_MILLIS = 100;
     private static final long SMALL_POSITIVE_FACTOR = 10;
+    private static final int PARTITION_COUNT = 4;
 
     @Before
     public void setUp() {
@@ -124,6 +134,116 @@ public class PostgresDdlTableTest {
         verify(sqlConnection, never()).selectResultSetUnregisteredQuery(startsWith("SELECT FLOOR"), any());
     }
 
+    @Test
+    public void createsHashPartitionsForConfiguredTables() {
+        postgresDdlTable = createPartitionedDdlTable(TEST_TABLE);
+        SqlConnection sqlConnection = setUpSqlConnectionWithServerVersion("11.5");
+
+        postgresDdlTable.create(new byte[0]);
+
+        String tableName = DbKvs.internalTableName(TEST_TABLE);
+        verify(sqlConnection)
+                .executeUnregisteredQuery(
+                        and(startsWith("CREATE TABLE " + tableName + " ("), endsWith("PARTITION BY HASH (row_name)")));
+        for (int remainder = 0; remainder < PARTITION_COUNT; remainder++) {
+            verify(sqlConnection)
+                    .executeUnregisteredQuery(eq("CREATE TABLE " + tableName + "_p" + remainder + " PARTITION OF "
+                            + tableName + " FOR VALUES WITH (MODULUS " + PARTITION_COUNT + ", REMAINDER " + remainder
+                            + ")"));
+        }
+        verify(sqlConnection)
+                .insertOneUnregisteredQuery(
+                        contains("partition_count"),
+                        eq(TEST_TABLE.getQualifiedName()),
+                        eq(TableValueStyle.RAW.getId()),
+                        eq(PARTITION_COUNT));
+    }
+
+    @Test
+    public void doesNotCreateHashPartitionedTablesBeforePostgres11() {
+        postgresDdlTable = createPartitionedDdlTable(TEST_TABLE);
+        SqlConnection sqlConnection = setUpSqlConnectionWithServerVersion("10.14");
+
+        assertThatThrownBy(() -> postgresDdlTable.create(new byte[0])).isInstanceOf(DbkvsVersionException.class);
+        verify(sqlConnection, never()).executeUnregisteredQuery(startsWith("CREATE TABLE"));
+    }
+
+    @Test
+    public void doesNotCreateParentTableIfPartitionNamesAreTooLong() {
+        TableReference longTable = TableReference.createFromFullyQualifiedName("ns." + "t".repeat(58));
+        postgresDdlTable = createPartitionedDdlTable(longTable);
+        SqlConnection sqlConnection = setUpSqlConnectionWithServerVersion("11.5");
+
+        assertThatThrownBy(() -> postgresDdlTable.create(new byte[0]))
+                .isInstanceOf(SafeIllegalArgumentException.class)
+                .hasMessageContaining("Partition name exceeds the postgres limit");
+        verify(sqlConnection, never()).executeUnregisteredQuery(startsWith("CREATE TABLE"));
+    }
+
+    @Test
+    public void dropsParentTableIfPartitionCannotBeCreated() {
+        postgresDdlTable = createPartitionedDdlTable(TEST_TABLE);
+        SqlConnection sqlConnection = setUpSqlConnectionWithServerVersion("11.5");
+        PalantirSqlException failure = PalantirSqlException.create("out of shared memory");
+        doThrow(failure).when(sqlConnection).executeUnregisteredQuery(contains("PARTITION OF"));
+
+        assertThatThrownBy(() -> postgresDdlTable.create(new byte[0])).isEqualTo(failure);
+        verify(sqlConnection).executeUnregisteredQuery(eq("DROP TABLE " + DbKvs.internalTableName(TEST_TABLE)));
+        verify(sqlConnection, never()).insertOneUnregisteredQuery(contains("INSERT INTO"), any(), any(), any());
+    }
+
+    @Test
+    public void doesNotPartitionTablesThatAreNotConfigured() {
+        SqlConnection sqlConnection = mock(SqlConnection.class);
+        when(connectionSupplier.get()).thenReturn(sqlConnection);
+
+        postgresDdlTable.create(new byte[0]);
+
+        verify(sqlConnection, never()).executeUnregisteredQuery(contains("PARTITION"));
+        verify(sqlConnection)
+                .insertOneUnregisteredQuery(
+                        endsWith("(table_name, table_size) VALUES (?, ?)"),
+                        eq(TEST_TABLE.getQualifiedName()),
+                        eq(TableValueStyle.RAW.getId()));
+    }
+
+    @Test
+    public void compactsEachPartitionOfPartitionedTable() {
+        SqlConnection sqlConnection = setUpSqlConnection(null, NOW_MILLIS);
+        when(sqlConnection.selectIntegerUnregisteredQuery(startsWith("SELECT MAX(partition_count)"), any()))
+                .thenReturn(PARTITION_COUNT);
+
+        postgresDdlTable.compactInternally(false);
+
+        String tableName = DbKvs.internalTableName(TEST_TABLE);
+        for (int remainder = 0; remainder < PARTITION_COUNT; remainder++) {
+            verify(sqlConnection)
+                    .selectResultSetUnregisteredQuery(startsWith("SELECT FLOOR"), eq(tableName + "_p" + remainder));
+            verify(sqlConnection).executeUnregisteredQuery(eq("VACUUM ANALYZE " + tableName + "_p" + remainder));
+        }
+        verify(sqlConnection, never()).executeUnregisteredQuery(eq("VACUUM ANALYZE " + tableName));
+    }
+
+    private static PostgresDdlTable createPartitionedDdlTable(TableReference tableRef) {
+        return new PostgresDdlTable(
+                tableRef,
+                connectionSupplier,
+                ImmutablePostgresDdlConfig.builder()
+                        .putHashPartitionedTables(tableRef.getQualifiedName(), PARTITION_COUNT)
+                        .build());
+    }
+
+    private static SqlConnection setUpSqlConnectionWithServerVersion(String serverVersion) {
+        SqlConnection sqlConnection = mock(SqlConnection.class);
+        when(connectionSupplier.get()).thenReturn(sqlConnection);
+        when(sqlConnection.selectResultSetUnregisteredQuery(eq("SHOW server_version")))
+                .thenReturn(new AgnosticResultSetImpl(
+                        ImmutableList.<List<Object>>of(ImmutableList.of(serverVersion)),
+                        DBType.POSTGRESQL,
+                        ImmutableMap.of("server_version", 0, "SERVER_VERSION", 0)));
+        return sqlConnection;
+    }
+
     private SqlConnection setUpSqlConnection(Long lastVacuumTimestamp, Long currentTimestamp) {
         SqlConnection sqlConnection = mock(SqlConnection.class);
         when(connectionSupplier.get()).thenReturn(sqlConnection);
@@ -15,6 +15,7 @@
  */
 package com.palantir.atlasdb.keyvalue.dbkvs.impl.postgres;
 
+import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
@@ -76,4 +77,17 @@ public class PostgresVersionCheckTest {
         PostgresVersionCheck.checkDatabaseVersion("9.6.12", log);
         verifyNoMoreInteractions(log);
     }
+
+    @Test
+    public void shouldRejectHashPartitioningOn_10_14() {
+        assertThatThrownBy(() -> PostgresVersionCheck.checkHashPartitioningSupported("10.14"))
+                .isInstanceOf(DbkvsVersionException.class)
+                .hasMessageContaining("Hash partitioned tables require Postgres 11");
+    }
+
+    @Test
+    public void shouldAllowHashPartitioningOn_11_5_WithDistributionDetails() {
+        assertThatCode(() -> PostgresVersionCheck.checkHashPartitioningSupported("11.5 (Debian 11.5-1.pgdg90+1)"))
+                .doesNotThrowAnyException();
+    }
 }
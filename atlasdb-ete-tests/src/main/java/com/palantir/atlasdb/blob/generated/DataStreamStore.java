@@ -114,11 +114,22 @@ public final class DataStreamStore extends AbstractPersistentStreamStore {
 
     @Override
     protected void storeBlock(Transaction t, long id, long blockNumber, final byte[] block) {
+        storeBlock(t, id, blockNumber, block, true);
+    }
+
+    @Override
+    protected void storeReservedBlock(Transaction t, long id, long blockNumber, final byte[] block) {
+        storeBlock(t, id, blockNumber, block, false);
+    }
+
+    private void storeBlock(Transaction t, long id, long blockNumber, final byte[] block, boolean touchMetadata) {
         Preconditions.checkArgument(block.length <= BLOCK_SIZE_IN_BYTES, "Block to store in DB must be less than BLOCK_SIZE_IN_BYTES");
         final DataStreamValueTable.DataStreamValueRow row = DataStreamValueTable.DataStreamValueRow.of(id, blockNumber);
         try {
-            // Do a touch operation on this table to ensure we get a conflict if someone cleans it up.
-            touchMetadataWhileStoringForConflicts(t, row.getId(), row.getBlockId());
+            if (touchMetadata) {
+                // Do a touch operation on this table to ensure we get a conflict if someone cleans it up.
+                touchMetadataWhileStoringForConflicts(t, row.getId(), row.getBlockId());
+            }
             tables.getDataStreamValueTable(t).putValue(row, block);
         } catch (RuntimeException e) {
             log.error(
@@ -130,7 +141,8 @@ public final class DataStreamStore extends AbstractPersistentStreamStore {
         }
     }
 
-    private void touchMetadataWhileStoringForConflicts(Transaction t, Long id, long blockNumber) {
+    @Override
+    protected void touchMetadataWhileStoringForConflicts(Transaction t, Long id, long blockNumber) {
         DataStreamMetadataTable metaTable = tables.getDataStreamMetadataTable(t);
         DataStreamMetadataTable.DataStreamMetadataRow row = DataStreamMetadataTable.DataStreamMetadataRow.of(id);
         StreamMetadata metadata = metaTable.getMetadatas(ImmutableSet.of(row)).values().iterator().next();
@@ -336,6 +348,16 @@ public final class DataStreamStore extends AbstractPersistentStreamStore {
         table.delete(smRows);
     }
 
+    @Override
+    protected void deleteBlocks(Transaction t, long id, long numberOfBlocks) {
+        Set<DataStreamValueTable.DataStreamValueRow> rows = new HashSet<>();
+        for (long i = 0; i < numberOfBlocks; i++) {
+            rows.add(DataStreamValueTable.DataStreamValueRow.of(id, i));
+        }
+        DataStreamValueTable valueTable = tables.getDataStreamValueTable(t);
+        valueTable.delete(rows);
+    }
+
     @Override
     protected void markStreamsAsUsedInternal(Transaction t, final Map<Long, byte[]> streamIdsToReference) {
         if (streamIdsToReference.isEmpty()) {
@@ -0,0 +1,87 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.cleaner;
+
+import com.codahale.metrics.Meter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.atlasdb.AtlasDbMetricNames;
+import com.palantir.atlasdb.util.MetricsManager;
+import com.palantir.common.base.Throwables;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * A stage of the background scrub pipeline, running its tasks on a fixed executor.
+ *
+ * At most {@code capacity} tasks may be queued or running in the stage at once: {@link #submit(Runnable)} blocks
+ * while the stage is full, so a stage that falls behind slows down the stages feeding it instead of letting work
+ * pile up in memory.
+ */
+final class ScrubPipelineStage {
+    private final ListeningExecutorService executor;
+    private final int capacity;
+    private final Semaphore permits;
+    private final Meter processed;
+
+    ScrubPipelineStage(MetricsManager metricsManager, String name, ExecutorService executor, int capacity) {
+        Preconditions.checkArgument(capacity > 0, "Stage capacity must be positive", SafeArg.of("capacity", capacity));
+        this.executor = MoreExecutors.listeningDecorator(executor);
+        this.capacity = capacity;
+        this.permits = new Semaphore(capacity);
+        Map<String, String> tags = ImmutableMap.of(AtlasDbMetricNames.TAG_SCRUB_STAGE, name);
+        this.processed = metricsManager.registerOrGetTaggedMeter(
+                Scrubber.class, AtlasDbMetricNames.SCRUB_STAGE_PROCESSED, tags);
+        metricsManager.registerOrGet(Scrubber.class, AtlasDbMetricNames.SCRUB_STAGE_OCCUPANCY, this::occupancy, tags);
+    }
+
+    /**
+     * Submits a task to this stage, waiting for space in the stage if it is full.
+     */
+    ListenableFuture<?> submit(Runnable task) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw Throwables.rewrapAndThrowUncheckedException(e);
+        }
+        try {
+            return executor.submit(() -> {
+                try {
+                    task.run();
+                    processed.mark();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @VisibleForTesting
+    int occupancy() {
+        return capacity - permits.availablePermits();
+    }
+}
@@ -15,9 +15,11 @@
  */
 package com.palantir.atlasdb.cleaner;
 
+import com.codahale.metrics.Meter;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
@@ -27,6 +29,7 @@ import com.google.common.collect.Multimaps;
 import com.google.common.collect.Ordering;
 import com.google.common.primitives.UnsignedBytes;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.AtlasDbMetricNames;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -59,14 +62,14 @@ import com.palantir.logsafe.logger.SafeLogger;
 import com.palantir.logsafe.logger.SafeLoggerFactory;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -90,6 +93,7 @@ public class Scrubber {
     private static final int MAX_RETRY_ATTEMPTS = 100;
     private static final int RETRY_SLEEP_INTERVAL_IN_MILLIS = 1000;
     private static final int MAX_DELETES_IN_BATCH = 10_000;
+    private static final int STAGE_CAPACITY_PER_THREAD = 4;
 
     private final ScheduledExecutorService service =
             PTExecutors.newSingleThreadScheduledExecutor(new NamedThreadFactory("scrubber", true /* daemon */));
@@ -113,6 +117,12 @@ public class Scrubber {
     private final int readThreadCount;
     private final ExecutorService readerExec;
     private final ExecutorService exec;
+    private final ExecutorService resolverExec;
+    private final ExecutorService markerExec;
+    private final Meter entriesRead;
+    private final ScrubPipelineStage resolveStage;
+    private final ScrubPipelineStage deleteStage;
+    private final ScrubPipelineStage markStage;
 
     private static final String SCRUBBER_THREAD_PREFIX = "AtlasScrubber";
 
@@ -186,8 +196,24 @@ public class Scrubber {
         this.followers = followers;
         this.metricsManager = metricsManager;
 
-        this.readerExec = PTExecutors.newFixedThreadPool(readThreadCount, SCRUBBER_THREAD_PREFIX);
+        this.readerExec = PTExecutors.newFixedThreadPool(readThreadCount, SCRUBBER_THREAD_PREFIX + "-reader");
         this.exec = PTExecutors.newFixedThreadPool(threadCount, SCRUBBER_THREAD_PREFIX);
+        this.resolverExec = PTExecutors.newFixedThreadPool(readThreadCount, SCRUBBER_THREAD_PREFIX + "-resolver");
+        this.markerExec = PTExecutors.newFixedThreadPool(readThreadCount, SCRUBBER_THREAD_PREFIX + "-marker");
+
+        // The background scrub task is a pipeline: readers pull entries off the scrub queue, resolve stage tasks look
+        // up (or roll back) the commit timestamp of each entry, delete stage tasks remove the old values of one table
+        // and mark stage tasks remove the scrubbed cells from the queue.
+        this.entriesRead = metricsManager.registerOrGetTaggedMeter(
+                Scrubber.class,
+                AtlasDbMetricNames.SCRUB_STAGE_PROCESSED,
+                ImmutableMap.of(AtlasDbMetricNames.TAG_SCRUB_STAGE, "read"));
+        this.resolveStage = new ScrubPipelineStage(
+                metricsManager, "resolve", resolverExec, readThreadCount * STAGE_CAPACITY_PER_THREAD);
+        this.deleteStage =
+                new ScrubPipelineStage(metricsManager, "delete", exec, threadCount * STAGE_CAPACITY_PER_THREAD);
+        this.markStage = new ScrubPipelineStage(
+                metricsManager, "markScrubbed", markerExec, readThreadCount * STAGE_CAPACITY_PER_THREAD);
     }
 
     public boolean isInitialized() {
@@ -274,6 +300,7 @@ public class Scrubber {
         rangeBoundaries.add(PtBytes.EMPTY_BYTE_ARRAY);
 
         List<Future<Void>> readerFutures = new ArrayList<>();
+        Queue<ListenableFuture<?>> pendingWork = new ConcurrentLinkedQueue<>();
         final AtomicInteger totalCellsRead = new AtomicInteger(0);
         for (int i = 0; i < rangeBoundaries.size() - 1; i++) {
             final byte[] startRow = rangeBoundaries.get(i);
@@ -287,10 +314,10 @@ public class Scrubber {
                         // for pulling off the scrub queue, and a single entry in the scrub queue may
                         // match multiple tables. These will get broken down into smaller batches later
                         // on when we actually do deletes.
-                        int numCellsRead = scrubSomeCells(cells, txManager, maxScrubTimestamp);
+                        int numCellsRead = enqueueForScrubbing(cells, txManager, maxScrubTimestamp, pendingWork);
                         int totalRead = totalCellsRead.addAndGet(numCellsRead);
                         log.debug(
-                                "Scrub task processed {} cells in a batch, total {} processed so far.",
+                                "Scrub task read {} cells in a batch, total {} read so far.",
                                 SafeArg.of("numCellsRead", numCellsRead),
                                 SafeArg.of("totalRead", totalRead));
                         if (!isScrubEnabled.get()) {
@@ -304,8 +331,24 @@ public class Scrubber {
             }));
         }
 
+        // Every task is waited for even if an earlier one failed, so that no scrub work is left running once the task
+        // returns; the first failure is then rethrown.
+        List<RuntimeException> failures = new ArrayList<>();
         for (Future<Void> readerFuture : readerFutures) {
-            Futures.getUnchecked(readerFuture);
+            waitFor(readerFuture, failures);
+        }
+        // Tasks add the tasks they submit to later stages before completing, so once the queue is drained every
+        // entry read has been fully processed.
+        ListenableFuture<?> pending;
+        while ((pending = pendingWork.poll()) != null) {
+            waitFor(pending, failures);
+        }
+        if (!failures.isEmpty()) {
+            log.warn(
+                    "Scrub background task running at timestamp {} had {} failed tasks",
+                    SafeArg.of("maxScrubTimestamp", maxScrubTimestamp),
+                    SafeArg.of("failedTasks", failures.size()));
+            throw failures.get(0);
         }
 
         log.debug(
@@ -424,15 +467,24 @@ public class Scrubber {
         return commitTimestamp;
     }
 
+    private static void waitFor(Future<?> future, List<RuntimeException> failures) {
+        try {
+            Futures.getUnchecked(future);
+        } catch (RuntimeException e) {
+            failures.add(e);
+        }
+    }
+
     /**
-     * Scrubs some cells.
+     * Submits some cells read from the scrub queue to the scrub pipeline, blocking while the pipeline is full.
      *
      * @return number of cells read from _scrub table
      */
-    private int scrubSomeCells(
+    private int enqueueForScrubbing(
             SortedMap<Long, Multimap<TableReference, Cell>> scrubTimestampToTableNameToCell,
             TransactionManager txManager,
-            long maxScrubTimestamp) {
+            long maxScrubTimestamp,
+            Queue<ListenableFuture<?>> pendingWork) {
         log.trace("Attempting to scrub cells: {}", UnsafeArg.of("cells", scrubTimestampToTableNameToCell));
 
         if (log.isDebugEnabled()) {
@@ -448,86 +500,63 @@ public class Scrubber {
                     UnsafeArg.of("tables", tables));
         }
 
-        if (scrubTimestampToTableNameToCell.size() == 0) {
-            return 0; // No cells left to scrub
-        }
-
         int numCellsReadFromScrubTable = 0;
-        List<Future<Void>> scrubFutures = new ArrayList<>();
-        Map<TableReference, Multimap<Cell, Long>> failedWrites = new HashMap<>();
-
         for (Map.Entry<Long, Multimap<TableReference, Cell>> entry : scrubTimestampToTableNameToCell.entrySet()) {
             final long scrubTimestamp = entry.getKey();
             final Multimap<TableReference, Cell> tableNameToCell = entry.getValue();
 
             numCellsReadFromScrubTable += tableNameToCell.size();
+            entriesRead.mark();
+            pendingWork.add(resolveStage.submit(() ->
+                    resolveAndScrub(txManager, scrubTimestamp, tableNameToCell, maxScrubTimestamp, pendingWork)));
+        }
+        return numCellsReadFromScrubTable;
+    }
 
-            // This is CRITICAL; don't scrub if the hard delete transaction didn't actually finish
-            // (we still remove it from the _scrub table with the call to markCellsAsScrubbed though),
-            // or else we could cause permanent data loss if the hard delete transaction failed after
-            // queuing cells to scrub but before successfully committing
-            long commitTimestamp = getCommitTimestampRollBackIfNecessary(scrubTimestamp, tableNameToCell);
-            if (commitTimestamp == TransactionConstants.FAILED_COMMIT_TS) {
-                for (Map.Entry<TableReference, Collection<Cell>> cells :
-                        tableNameToCell.asMap().entrySet()) {
-                    Multimap<Cell, Long> failedCells = failedWrites.get(cells.getKey());
-                    if (failedCells == null) {
-                        failedCells = ArrayListMultimap.create(cells.getValue().size(), 2);
-                        failedWrites.put(cells.getKey(), failedCells);
-                    }
-                    for (Cell cell : cells.getValue()) {
-                        failedCells.put(cell, scrubTimestamp);
-                    }
+    private void resolveAndScrub(
+            TransactionManager txManager,
+            long scrubTimestamp,
+            Multimap<TableReference, Cell> tableNameToCell,
+            long maxScrubTimestamp,
+            Queue<ListenableFuture<?>> pendingWork) {
+        // This is CRITICAL; don't scrub if the hard delete transaction didn't actually finish
+        // (we still remove it from the _scrub table with the call to markCellsAsScrubbed though),
+        // or else we could cause permanent data loss if the hard delete transaction failed after
+        // queuing cells to scrub but before successfully committing
+        long commitTimestamp = getCommitTimestampRollBackIfNecessary(scrubTimestamp, tableNameToCell);
+        if (commitTimestamp == TransactionConstants.FAILED_COMMIT_TS) {
+            Map<TableReference, Multimap<Cell, Long>> failedWrites =
+                    Maps.newHashMapWithExpectedSize(tableNameToCell.keySet().size());
+            for (Map.Entry<TableReference, Collection<Cell>> cells :
+                    tableNameToCell.asMap().entrySet()) {
+                Multimap<Cell, Long> failedCells = ArrayListMultimap.create(cells.getValue().size(), 1);
+                for (Cell cell : cells.getValue()) {
+                    failedCells.put(cell, scrubTimestamp);
                 }
-            } else if (commitTimestamp < maxScrubTimestamp) {
-                for (final List<Map.Entry<TableReference, Cell>> batch :
-                        Iterables.partition(tableNameToCell.entries(), batchSizeSupplier.get())) {
-                    final Multimap<TableReference, Cell> batchMultimap = HashMultimap.create();
-                    for (Map.Entry<TableReference, Cell> e : batch) {
-                        batchMultimap.put(e.getKey(), e.getValue());
-                    }
-                    scrubFutures.add(exec.submit(() -> {
-                        scrubCells(
-                                txManager,
-                                batchMultimap,
-                                scrubTimestamp,
-                                aggressiveScrub ? TransactionType.AGGRESSIVE_HARD_DELETE : TransactionType.HARD_DELETE);
-                        return null;
+                failedWrites.put(cells.getKey(), failedCells);
+            }
+            pendingWork.add(
+                    markStage.submit(() -> scrubberStore.markCellsAsScrubbed(failedWrites, batchSizeSupplier.get())));
+        } else if (commitTimestamp < maxScrubTimestamp) {
+            TransactionType transactionType =
+                    aggressiveScrub ? TransactionType.AGGRESSIVE_HARD_DELETE : TransactionType.HARD_DELETE;
+            for (Map.Entry<TableReference, Collection<Cell>> cells :
+                    tableNameToCell.asMap().entrySet()) {
+                for (List<Cell> batch : Iterables.partition(cells.getValue(), batchSizeSupplier.get())) {
+                    Multimap<TableReference, Cell> batchMultimap = ImmutableMultimap.<TableReference, Cell>builder()
+                            .putAll(cells.getKey(), batch)
+                            .build();
+                    pendingWork.add(deleteStage.submit(() -> {
+                        Map<TableReference, Multimap<Cell, Long>> cellsToMarkScrubbed =
+                                deleteCells(txManager, batchMultimap, scrubTimestamp, transactionType);
+                        pendingWork.add(markStage.submit(() -> markCellsAsScrubbed(cellsToMarkScrubbed)));
                     }));
                 }
             }
-            // else {
-            //     We cannot scrub this yet because not all transactions can read this value.
-            // }
-        }
-
-        for (Future<Void> future : scrubFutures) {
-            Futures.getUnchecked(future);
         }
-
-        if (!failedWrites.isEmpty()) {
-            scrubberStore.markCellsAsScrubbed(failedWrites, batchSizeSupplier.get());
-        }
-
-        log.trace("Finished scrubbing cells: {}", UnsafeArg.of("cells", scrubTimestampToTableNameToCell));
-
-        if (log.isDebugEnabled()) {
-            Set<TableReference> tables = new HashSet<>();
-            for (Multimap<TableReference, Cell> v : scrubTimestampToTableNameToCell.values()) {
-                tables.addAll(v.keySet());
-            }
-            long minTimestamp = Collections.min(scrubTimestampToTableNameToCell.keySet());
-            long maxTimestamp = Collections.max(scrubTimestampToTableNameToCell.keySet());
-            log.debug(
-                    "Finished scrubbing {} cells at {} timestamps ({}...{}) from tables {}",
-                    SafeArg.of("numCellsReadFromScrubTable", numCellsReadFromScrubTable),
-                    SafeArg.of("tableCount", scrubTimestampToTableNameToCell.size()),
-                    SafeArg.of("minTimestamp", minTimestamp),
-                    SafeArg.of("maxTimestamp", maxTimestamp),
-                    UnsafeArg.of("tables", tables));
-        }
-
-        return numCellsReadFromScrubTable;
+        // else {
+        //     We cannot scrub this yet because not all transactions can read this value.
+        // }
     }
 
     private void scrubCells(
@@ -535,6 +564,19 @@ public class Scrubber {
             Multimap<TableReference, Cell> tableNameToCells,
             long scrubTimestamp,
             Transaction.TransactionType transactionType) {
+        markCellsAsScrubbed(deleteCells(txManager, tableNameToCells, scrubTimestamp, transactionType));
+    }
+
+    /**
+     * Deletes the values of the given cells written before the scrub timestamp.
+     *
+     * @return the scrub queue entries to remove now that the cells are scrubbed
+     */
+    private Map<TableReference, Multimap<Cell, Long>> deleteCells(
+            TransactionManager txManager,
+            Multimap<TableReference, Cell> tableNameToCells,
+            long scrubTimestamp,
+            Transaction.TransactionType transactionType) {
         Map<TableReference, Multimap<Cell, Long>> allCellsToMarkScrubbed =
                 Maps.newHashMapWithExpectedSize(tableNameToCells.keySet().size());
         for (Map.Entry<TableReference, Collection<Cell>> entry :
@@ -549,20 +591,24 @@ public class Scrubber {
                 Multimap<Cell, Long> allTimestamps =
                         scrubBatchOfCells(txManager, scrubTimestamp, transactionType, tableRef, cells);
 
-                Multimap<Cell, Long> cellsToMarkScrubbed = HashMultimap.create(allTimestamps);
+                Multimap<Cell, Long> cellsToMarkScrubbed =
+                        allCellsToMarkScrubbed.computeIfAbsent(tableRef, unused -> HashMultimap.create());
+                cellsToMarkScrubbed.putAll(allTimestamps);
                 for (Cell cell : cells) {
                     cellsToMarkScrubbed.put(cell, scrubTimestamp);
                 }
-
-                allCellsToMarkScrubbed.put(tableRef, cellsToMarkScrubbed);
             }
             log.debug(
                     "Immediately scrubbed {} cells from table {}",
                     SafeArg.of("cellCount", entry.getValue().size()),
                     LoggingArgs.tableRef(tableRef));
         }
-        scrubberStore.markCellsAsScrubbed(allCellsToMarkScrubbed, batchSizeSupplier.get());
-        lazyWriteMetric(AtlasDbMetricNames.SCRUBBED_CELLS, allCellsToMarkScrubbed.size());
+        return allCellsToMarkScrubbed;
+    }
+
+    private void markCellsAsScrubbed(Map<TableReference, Multimap<Cell, Long>> cellsToMarkScrubbed) {
+        scrubberStore.markCellsAsScrubbed(cellsToMarkScrubbed, batchSizeSupplier.get());
+        lazyWriteMetric(AtlasDbMetricNames.SCRUBBED_CELLS, cellsToMarkScrubbed.size());
     }
 
     private Multimap<Cell, Long> scrubBatchOfCells(
@@ -643,6 +689,8 @@ public class Scrubber {
     public void shutdown() {
         exec.shutdown();
         readerExec.shutdown();
+        resolverExec.shutdown();
+        markerExec.shutdown();
         service.shutdownNow();
         boolean shutdown = false;
         try {
@@ -29,6 +29,7 @@ import com.palantir.atlasdb.timelock.api.ConjureRefreshLocksResponseV2;
 import com.palantir.atlasdb.timelock.api.ConjureSingleTimestamp;
 import com.palantir.atlasdb.timelock.api.ConjureStartTransactionsRequest;
 import com.palantir.atlasdb.timelock.api.ConjureStartTransactionsResponse;
+import com.palantir.atlasdb.timelock.api.ConjureStartTransactionsResponseV2;
 import com.palantir.atlasdb.timelock.api.ConjureTimelockService;
 import com.palantir.atlasdb.timelock.api.ConjureUnlockRequest;
 import com.palantir.atlasdb.timelock.api.ConjureUnlockRequestV2;
@@ -39,6 +40,7 @@ import com.palantir.atlasdb.timelock.api.GetCommitTimestampRequest;
 import com.palantir.atlasdb.timelock.api.GetCommitTimestampResponse;
 import com.palantir.atlasdb.timelock.api.GetCommitTimestampsRequest;
 import com.palantir.atlasdb.timelock.api.GetCommitTimestampsResponse;
+import com.palantir.atlasdb.timelock.api.GetCommitTimestampsResponseV2;
 import com.palantir.lock.v2.LeaderTime;
 import com.palantir.tokens.auth.AuthHeader;
 import java.util.Optional;
@@ -73,6 +75,18 @@ public class LockDiagnosticConjureTimelockService implements ConjureTimelockServ
         return response;
     }
 
+    @Override
+    public ConjureStartTransactionsResponseV2 startTransactionsV2(
+            AuthHeader authHeader, String namespace, ConjureStartTransactionsRequest request) {
+        ConjureStartTransactionsResponseV2 response =
+                conjureDelegate.startTransactionsV2(authHeader, namespace, request);
+        lockDiagnosticCollector.collect(
+                response.getTimestamps().stream(),
+                response.getImmutableTimestamp().getImmutableTimestamp(),
+                request.getRequestId());
+        return response;
+    }
+
     @Override
     public ConjureGetFreshTimestampsResponse getFreshTimestamps(
             AuthHeader authHeader, String namespace, ConjureGetFreshTimestampsRequest request) {
@@ -150,6 +164,12 @@ public class LockDiagnosticConjureTimelockService implements ConjureTimelockServ
         return conjureDelegate.getCommitTimestamps(authHeader, namespace, request);
     }
 
+    @Override
+    public GetCommitTimestampsResponseV2 getCommitTimestampsV2(
+            AuthHeader authHeader, String namespace, GetCommitTimestampsRequest request) {
+        return conjureDelegate.getCommitTimestampsV2(authHeader, namespace, request);
+    }
+
     @Override
     public GetCommitTimestampResponse getCommitTimestamp(
             AuthHeader authHeader, String namespace, GetCommitTimestampRequest request) {
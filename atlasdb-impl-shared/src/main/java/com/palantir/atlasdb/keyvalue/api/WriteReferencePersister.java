@@ -17,15 +17,22 @@ package com.palantir.atlasdb.keyvalue.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.google.common.collect.ImmutableList;
 import com.google.common.primitives.Ints;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.sweep.queue.id.SweepTableIndices;
 import com.palantir.conjure.java.jackson.optimizations.ObjectMapperOptimizations;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
 import com.palantir.logsafe.exceptions.SafeRuntimeException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 public final class WriteReferencePersister {
     private static final byte[] writePrefix = {1};
+    private static final byte[] rangeSummaryPrefix = {2};
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
             .registerModule(new Jdk8Module())
             .registerModules(ObjectMapperOptimizations.createModules());
@@ -82,9 +89,46 @@ public final class WriteReferencePersister {
                         .isTombstone(isTombstone == 1)
                         .build();
             }
+
+            @Override
+            public WriteReference visitRangeSummaryBinary(byte[] ref) {
+                throw new SafeIllegalArgumentException("Expected a write reference, but found a range summary");
+            }
         });
     }
 
+    public boolean isRangeSummary(StoredWriteReference writeReference) {
+        return writeReference.data()[0] == rangeSummaryPrefix[0];
+    }
+
+    public WriteRangeSummary unpersistRangeSummary(StoredWriteReference writeReference) {
+        Preconditions.checkArgument(
+                isRangeSummary(writeReference), "Expected a range summary, but found a write reference");
+        byte[] ref = writeReference.data();
+        int offset = 1;
+        int tableId = Ints.checkedCast(EncodingUtils.decodeUnsignedVarLong(ref, offset));
+        TableReference tableReference = tableIndices.getTableReference(tableId);
+        offset += EncodingUtils.sizeOfUnsignedVarLong(tableId);
+        int numberOfCells = Ints.checkedCast(EncodingUtils.decodeUnsignedVarLong(ref, offset));
+        offset += EncodingUtils.sizeOfUnsignedVarLong(numberOfCells);
+        List<byte[]> rows = new ArrayList<>();
+        offset = decodeSizedByteArrays(ref, offset, rows);
+        List<byte[]> columns = new ArrayList<>();
+        decodeSizedByteArrays(ref, offset, columns);
+        return WriteRangeSummary.of(tableReference, rows, ColumnSelection.create(columns), numberOfCells);
+    }
+
+    private static int decodeSizedByteArrays(byte[] ref, int offset, List<byte[]> arrays) {
+        int number = Ints.checkedCast(EncodingUtils.decodeUnsignedVarLong(ref, offset));
+        int newOffset = offset + EncodingUtils.sizeOfUnsignedVarLong(number);
+        for (int i = 0; i < number; i++) {
+            byte[] array = EncodingUtils.decodeSizedBytes(ref, newOffset);
+            newOffset += EncodingUtils.sizeOfSizedBytes(array);
+            arrays.add(array);
+        }
+        return newOffset;
+    }
+
     public StoredWriteReference persist(WriteReference writeReference) {
         byte[] tableId = EncodingUtils.encodeUnsignedVarLong(tableIndices.getTableId(writeReference.tableRef()));
         byte[] row = EncodingUtils.encodeSizedBytes(writeReference.cell().getRowName());
@@ -92,4 +136,23 @@ public final class WriteReferencePersister {
         byte[] isTombstone = EncodingUtils.encodeUnsignedVarLong(writeReference.isTombstone() ? 1 : 0);
         return ImmutableStoredWriteReference.of(EncodingUtils.add(writePrefix, tableId, row, column, isTombstone));
     }
+
+    /**
+     * Persists a range summary. An empty list of columns stands for all columns.
+     */
+    public StoredWriteReference persist(WriteRangeSummary rangeSummary) {
+        byte[] tableId = EncodingUtils.encodeUnsignedVarLong(tableIndices.getTableId(rangeSummary.tableRef()));
+        Collection<byte[]> columns = rangeSummary.columns().allColumnsSelected()
+                ? ImmutableList.of()
+                : rangeSummary.columns().getSelectedColumns();
+        List<byte[]> components = new ArrayList<>();
+        components.add(rangeSummaryPrefix);
+        components.add(tableId);
+        components.add(EncodingUtils.encodeUnsignedVarLong(rangeSummary.numberOfCells()));
+        components.add(EncodingUtils.encodeUnsignedVarLong(rangeSummary.rows().size()));
+        rangeSummary.rows().forEach(row -> components.add(EncodingUtils.encodeSizedBytes(row)));
+        components.add(EncodingUtils.encodeUnsignedVarLong(columns.size()));
+        columns.forEach(column -> components.add(EncodingUtils.encodeSizedBytes(column)));
+        return ImmutableStoredWriteReference.of(EncodingUtils.add(components.toArray(new byte[0][])));
+    }
 }
@@ -17,14 +17,23 @@ package com.palantir.atlasdb.sweep;
 
 import com.codahale.metrics.Gauge;
 import com.google.common.collect.ImmutableMap;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.logging.LoggingArgs;
 import com.palantir.atlasdb.util.MetricsManager;
 import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.logger.SafeLogger;
 import com.palantir.logsafe.logger.SafeLoggerFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import org.apache.commons.lang3.math.NumberUtils;
 
+/**
+ * Adjusts the batch sizes of legacy sweep, cutting them in half after each failure and slowly restoring them after
+ * successes. The batch sizes can either be adjusted globally, or separately for each table, so that background sweep
+ * threads sweeping different tables concurrently do not slow each other down.
+ */
 public final class AdjustableSweepBatchConfigSource {
     private static final SafeLogger log = SafeLoggerFactory.get(AdjustableSweepBatchConfigSource.class);
 
@@ -32,6 +41,7 @@ public final class AdjustableSweepBatchConfigSource {
 
     private static volatile double batchSizeMultiplier = 1.0;
     private final AtomicInteger successiveIncreases = new AtomicInteger(0);
+    private final Map<TableReference, TableMultiplier> tableMultipliers = new ConcurrentHashMap<>();
 
     private AdjustableSweepBatchConfigSource(Supplier<SweepBatchConfig> rawSweepBatchConfig) {
         this.rawSweepBatchConfig = rawSweepBatchConfig;
@@ -41,7 +51,7 @@ public final class AdjustableSweepBatchConfigSource {
             MetricsManager metricsManager, Supplier<SweepBatchConfig> rawSweepBatchConfig) {
         AdjustableSweepBatchConfigSource configSource = new AdjustableSweepBatchConfigSource(rawSweepBatchConfig);
 
-        Gauge<Double> gauge = AdjustableSweepBatchConfigSource::getBatchSizeMultiplier;
+        Gauge<Double> gauge = configSource::getSmallestBatchSizeMultiplier;
 
         // We are generally only interested in the batch size if an error occurred, i.e. it was less than 1.
         metricsManager.addMetricFilter(
@@ -62,10 +72,26 @@ public final class AdjustableSweepBatchConfigSource {
         return batchSizeMultiplier;
     }
 
+    public double getBatchSizeMultiplier(TableReference tableRef) {
+        TableMultiplier multiplier = tableMultipliers.get(tableRef);
+        return multiplier == null ? 1.0 : multiplier.value;
+    }
+
+    private double getSmallestBatchSizeMultiplier() {
+        return tableMultipliers.values().stream()
+                .mapToDouble(multiplier -> multiplier.value)
+                .reduce(batchSizeMultiplier, Math::min);
+    }
+
     public SweepBatchConfig getAdjustedSweepConfig() {
-        SweepBatchConfig sweepConfig = getRawSweepConfig();
-        double multiplier = batchSizeMultiplier;
+        return adjust(getRawSweepConfig(), batchSizeMultiplier);
+    }
+
+    public SweepBatchConfig getAdjustedSweepConfig(TableReference tableRef) {
+        return adjust(getRawSweepConfig(), getBatchSizeMultiplier(tableRef));
+    }
 
+    private static SweepBatchConfig adjust(SweepBatchConfig sweepConfig, double multiplier) {
         return ImmutableSweepBatchConfig.builder()
                 .maxCellTsPairsToExamine(adjust(sweepConfig.maxCellTsPairsToExamine(), multiplier))
                 .candidateBatchSize(adjust(sweepConfig.candidateBatchSize(), multiplier))
@@ -78,13 +104,29 @@ public final class AdjustableSweepBatchConfigSource {
     }
 
     public void increaseMultiplier() {
-        if (batchSizeMultiplier == 1.0) {
+        batchSizeMultiplier = increase(batchSizeMultiplier, successiveIncreases);
+    }
+
+    public void increaseMultiplier(TableReference tableRef) {
+        TableMultiplier multiplier = tableMultipliers.get(tableRef);
+        if (multiplier == null) {
             return;
         }
+        multiplier.value = increase(multiplier.value, multiplier.successiveIncreases);
+        if (multiplier.value == 1.0) {
+            tableMultipliers.remove(tableRef);
+        }
+    }
+
+    private static double increase(double multiplier, AtomicInteger successiveIncreases) {
+        if (multiplier == 1.0) {
+            return multiplier;
+        }
 
         if (successiveIncreases.incrementAndGet() > 25) {
-            batchSizeMultiplier = Math.min(1.0, batchSizeMultiplier * 2);
+            return Math.min(1.0, multiplier * 2);
         }
+        return multiplier;
     }
 
     public void decreaseMultiplier() {
@@ -92,7 +134,7 @@ public final class AdjustableSweepBatchConfigSource {
         SweepBatchConfig lastBatchConfig = getAdjustedSweepConfig();
 
         // Cut batch size in half, always sweep at least one row.
-        reduceBatchSizeMultiplier();
+        batchSizeMultiplier = reduce(batchSizeMultiplier);
 
         log.info(
                 "Sweep failed unexpectedly with candidate batch size {},"
@@ -105,25 +147,49 @@ public final class AdjustableSweepBatchConfigSource {
                 SafeArg.of("batchSizeMultiplier", batchSizeMultiplier));
     }
 
-    private void reduceBatchSizeMultiplier() {
+    public void decreaseMultiplier(TableReference tableRef) {
+        TableMultiplier multiplier = tableMultipliers.computeIfAbsent(tableRef, unused -> new TableMultiplier());
+        multiplier.successiveIncreases.set(0);
+        SweepBatchConfig lastBatchConfig = getAdjustedSweepConfig(tableRef);
+
+        // Cut batch size in half, always sweep at least one row.
+        multiplier.value = reduce(multiplier.value);
+
+        log.info(
+                "Sweep of table {} failed unexpectedly with candidate batch size {},"
+                        + " delete batch size {},"
+                        + " and {} cell+timestamp pairs to examine."
+                        + " Attempting to continue with new batchSizeMultiplier {} for the table",
+                LoggingArgs.tableRef(tableRef),
+                SafeArg.of("candidateBatchSize", lastBatchConfig.candidateBatchSize()),
+                SafeArg.of("deleteBatchSize", lastBatchConfig.deleteBatchSize()),
+                SafeArg.of("maxCellTsPairsToExamine", lastBatchConfig.maxCellTsPairsToExamine()),
+                SafeArg.of("batchSizeMultiplier", multiplier.value));
+    }
+
+    private double reduce(double multiplier) {
         SweepBatchConfig config = getRawSweepConfig();
         double smallestSensibleBatchSizeMultiplier = 1.0
                 / NumberUtils.max(
                         config.maxCellTsPairsToExamine(), config.candidateBatchSize(), config.deleteBatchSize());
 
-        if (batchSizeMultiplier == smallestSensibleBatchSizeMultiplier) {
-            return;
+        if (multiplier == smallestSensibleBatchSizeMultiplier) {
+            return multiplier;
         }
 
-        double newBatchSizeMultiplier = batchSizeMultiplier / 2;
+        double newBatchSizeMultiplier = multiplier / 2;
         if (newBatchSizeMultiplier < smallestSensibleBatchSizeMultiplier) {
             log.info(
                     "batchSizeMultiplier reached the smallest sensible value for the current sweep config ({}), "
                             + "will not reduce further.",
                     SafeArg.of("batchSizeMultiplier", smallestSensibleBatchSizeMultiplier));
-            batchSizeMultiplier = smallestSensibleBatchSizeMultiplier;
-        } else {
-            batchSizeMultiplier = newBatchSizeMultiplier;
+            return smallestSensibleBatchSizeMultiplier;
         }
+        return newBatchSizeMultiplier;
+    }
+
+    private static final class TableMultiplier {
+        private final AtomicInteger successiveIncreases = new AtomicInteger(0);
+        private volatile double value = 1.0;
     }
 }
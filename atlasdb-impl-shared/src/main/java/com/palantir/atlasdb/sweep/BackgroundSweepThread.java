@@ -169,12 +169,17 @@ public class BackgroundSweepThread implements Runnable {
         }
     }
 
+    /**
+     * Batch sizes are adjusted for the table being swept only, so that failures sweeping a large table do not slow
+     * down the other threads sweeping other tables.
+     */
     private void updateBatchSize(SweepOutcome outcome) {
+        Optional<TableReference> tableRef = currentTable.map(TableToSweep::getTableRef);
         if (outcome == SweepOutcome.SUCCESS) {
-            sweepBatchConfigSource.increaseMultiplier();
+            tableRef.ifPresent(sweepBatchConfigSource::increaseMultiplier);
         }
         if (outcome == SweepOutcome.ERROR) {
-            sweepBatchConfigSource.decreaseMultiplier();
+            tableRef.ifPresent(sweepBatchConfigSource::decreaseMultiplier);
         }
     }
 
@@ -249,7 +254,8 @@ public class BackgroundSweepThread implements Runnable {
             return SweepOutcome.NOTHING_TO_SWEEP;
         }
 
-        SweepBatchConfig batchConfig = sweepBatchConfigSource.getAdjustedSweepConfig();
+        SweepBatchConfig batchConfig =
+                sweepBatchConfigSource.getAdjustedSweepConfig(tableToSweep.get().getTableRef());
         try {
             specificTableSweeper.runOnceAndSaveResults(
                     tableToSweep.get(),
@@ -23,6 +23,7 @@ import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.logging.LoggingArgs;
 import com.palantir.atlasdb.transaction.api.Transaction;
 import com.palantir.atlasdb.transaction.api.TransactionManager;
+import com.palantir.common.base.Throwables;
 import com.palantir.logsafe.Arg;
 import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.UnsafeArg;
@@ -31,19 +32,49 @@ import com.palantir.logsafe.logger.SafeLoggerFactory;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import javax.annotation.concurrent.GuardedBy;
 
 public class CellsSweeper {
     private static final SafeLogger log = SafeLoggerFactory.get(CellsSweeper.class);
+    private static final long LIMIT_RECHECK_INTERVAL_MILLIS = 100;
 
     private final TransactionManager txManager;
     private final KeyValueService keyValueService;
     private final Collection<Follower> followers;
+    private final Supplier<Optional<Integer>> maxConcurrentDeletes;
+
+    @GuardedBy("this")
+    private int runningDeletes = 0;
 
     public CellsSweeper(TransactionManager txManager, KeyValueService keyValueService, Collection<Follower> followers) {
+        this(txManager, keyValueService, followers, Optional.empty());
+    }
+
+    public CellsSweeper(
+            TransactionManager txManager,
+            KeyValueService keyValueService,
+            Collection<Follower> followers,
+            Optional<Integer> maxConcurrentDeletes) {
+        this(txManager, keyValueService, followers, () -> maxConcurrentDeletes);
+    }
+
+    /**
+     * If maxConcurrentDeletes supplies a value, at most that many calls deleting stale values are made to the key
+     * value service at the same time, across all threads using this CellsSweeper. The supplier is read whenever a
+     * delete has to wait, so changes to the limit apply to deletes already waiting.
+     */
+    public CellsSweeper(
+            TransactionManager txManager,
+            KeyValueService keyValueService,
+            Collection<Follower> followers,
+            Supplier<Optional<Integer>> maxConcurrentDeletes) {
         this.txManager = txManager;
         this.keyValueService = keyValueService;
         this.followers = followers;
+        this.maxConcurrentDeletes = maxConcurrentDeletes;
     }
 
     public void sweepCells(
@@ -75,7 +106,37 @@ public class CellsSweeper {
                     getLoggingArgForCells(cellTsPairsToSweep));
         }
 
-        keyValueService.delete(tableRef, cellTsPairsToSweep);
+        delete(tableRef, cellTsPairsToSweep);
+    }
+
+    private void delete(TableReference tableRef, Multimap<Cell, Long> cellTsPairsToSweep) {
+        acquireDeletePermit();
+        try {
+            keyValueService.delete(tableRef, cellTsPairsToSweep);
+        } finally {
+            releaseDeletePermit();
+        }
+    }
+
+    /**
+     * Running deletes are counted even when there is no limit, so that a limit set later also accounts for them.
+     * Waiting deletes re-read the limit periodically, as the supplier does not notify us when it changes.
+     */
+    private synchronized void acquireDeletePermit() {
+        try {
+            while (maxConcurrentDeletes.get().filter(max -> runningDeletes >= max).isPresent()) {
+                wait(LIMIT_RECHECK_INTERVAL_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw Throwables.rewrapAndThrowUncheckedException(e);
+        }
+        runningDeletes++;
+    }
+
+    private synchronized void releaseDeletePermit() {
+        runningDeletes--;
+        notifyAll();
     }
 
     private Arg<String> getLoggingArgForCells(Multimap<Cell, Long> cellTsPairsToSweep) {
@@ -16,11 +16,13 @@
 package com.palantir.atlasdb.sweep.metrics;
 
 import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Timer;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
 import com.palantir.atlasdb.AtlasDbMetricNames;
 import com.palantir.atlasdb.cleaner.KeyValueServicePuncherStore;
 import com.palantir.atlasdb.cleaner.MillisAndMaybeTimestamp;
@@ -44,6 +46,7 @@ import com.palantir.util.AggregatingVersionedMetric;
 import com.palantir.util.AggregatingVersionedSupplier;
 import com.palantir.util.CachedComposedSupplier;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -60,6 +63,7 @@ import org.immutables.value.Value;
 public class TargetedSweepMetrics {
     private static final SafeLogger log = SafeLoggerFactory.get(TargetedSweepMetrics.class);
     private final Map<SweeperStrategy, MetricsForStrategy> metricsForStrategyMap;
+    private final TargetedSweepTombstonesMetrics tombstonesMetrics;
 
     private TargetedSweepMetrics(
             MetricsManager metricsManager,
@@ -72,6 +76,7 @@ public class TargetedSweepMetrics {
                 .map(strategyTag -> new MetricsForStrategy(
                         metricsManager, strategyTag, tsToMillis, clock, metricsConfiguration, shards))
                 .collectToMap();
+        tombstonesMetrics = TargetedSweepTombstonesMetrics.of(metricsManager.getTaggedRegistry());
     }
 
     public static TargetedSweepMetrics create(
@@ -145,6 +150,18 @@ public class TargetedSweepMetrics {
         updateMetricsIfPresent(strategy, metrics -> metrics.updateSweepDelayMetric(delay));
     }
 
+    public void updateStageLatency(ShardAndStrategy shardStrategy, SweepStage stage, long nanos) {
+        updateMetricsIfPresent(shardStrategy, metrics -> metrics.updateStageLatency(stage, nanos));
+    }
+
+    public void updateTombstoneRequestsPerDelete(int requests) {
+        tombstonesMetrics.requestsPerDelete().update(requests);
+    }
+
+    public void updateTombstoneDeleteLatency(long nanos) {
+        tombstonesMetrics.deleteLatency().update(nanos, TimeUnit.NANOSECONDS);
+    }
+
     private void updateMetricsIfPresent(ShardAndStrategy shardStrategy, Consumer<MetricsForStrategy> update) {
         updateMetricsIfPresent(shardStrategy.strategy(), update);
     }
@@ -181,6 +198,7 @@ public class TargetedSweepMetrics {
         private final SweepOutcomeMetrics outcomeMetrics;
         private final SlidingWindowMeanGauge batchSizeMean;
         private final CurrentValueMetric<Long> sweepDelayMetric;
+        private final Map<SweepStage, Timer> stageLatencies;
         private final Map<Integer, MillisAndMaybeTimestamp> lastMillisAndTsPerShard = new ConcurrentHashMap<>();
 
         private MetricsForStrategy(
@@ -208,6 +226,16 @@ public class TargetedSweepMetrics {
             registerProgressMetricsFilter(strategy, filter);
             registerProgressMetrics(strategy, filter);
             outcomeMetrics = SweepOutcomeMetrics.registerTargeted(manager, tag, filter);
+            stageLatencies = createStageLatencyMetrics(strategy);
+        }
+
+        private Map<SweepStage, Timer> createStageLatencyMetrics(String strategy) {
+            TargetedSweepStagesMetrics stagesMetrics = TargetedSweepStagesMetrics.of(manager.getTaggedRegistry());
+            return Maps.toMap(EnumSet.allOf(SweepStage.class), stage -> stagesMetrics
+                    .stageLatency()
+                    .strategy(strategy)
+                    .stage(stage.tag())
+                    .build());
         }
 
         private void registerProgressMetricsFilter(String strategy, TargetedSweepMetricPublicationFilter filter) {
@@ -376,6 +404,10 @@ public class TargetedSweepMetrics {
         private void updateSweepDelayMetric(long delay) {
             sweepDelayMetric.setValue(delay);
         }
+
+        private void updateStageLatency(SweepStage stage, long nanos) {
+            stageLatencies.get(stage).update(nanos, TimeUnit.NANOSECONDS);
+        }
     }
 
     @JsonSerialize(as = ImmutableMetricsConfiguration.class)
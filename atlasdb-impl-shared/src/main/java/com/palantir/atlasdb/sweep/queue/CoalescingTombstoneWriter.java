@@ -0,0 +1,142 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.sweep.queue;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.palantir.atlasdb.autobatch.Autobatchers;
+import com.palantir.atlasdb.autobatch.BatchElement;
+import com.palantir.atlasdb.autobatch.DisruptorAutobatcher;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.TimestampRangeDelete;
+import com.palantir.atlasdb.sweep.metrics.TargetedSweepMetrics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.immutables.value.Value;
+
+/**
+ * Coalesces the ranged tombstones written by the targeted sweep threads of all shards into fewer, larger calls to
+ * {@link KeyValueService#deleteAllTimestamps(TableReference, Map)}: requests made while a call is in flight are
+ * grouped by table and sent together in the next calls, of up to {@link #MAX_CELLS_PER_DELETE} cells each.
+ *
+ * Requests for the same cell cannot share a call, and are sent in subsequent calls.
+ */
+final class CoalescingTombstoneWriter implements TombstoneWriter {
+    @VisibleForTesting
+    static final int MAX_CELLS_PER_DELETE = 10 * SweepQueueUtils.BATCH_SIZE_KVS;
+
+    private final DisruptorAutobatcher<TombstoneRequest, Void> autobatcher;
+
+    private CoalescingTombstoneWriter(DisruptorAutobatcher<TombstoneRequest, Void> autobatcher) {
+        this.autobatcher = autobatcher;
+    }
+
+    static CoalescingTombstoneWriter create(KeyValueService kvs, @Nullable TargetedSweepMetrics metrics) {
+        Optional<TargetedSweepMetrics> maybeMetrics = Optional.ofNullable(metrics);
+        DisruptorAutobatcher<TombstoneRequest, Void> autobatcher = Autobatchers.<TombstoneRequest, Void>independent(
+                        batch -> processBatch(kvs, maybeMetrics, batch))
+                .safeLoggablePurpose("targeted-sweep-tombstones")
+                .batchFunctionTimeout(Duration.ofMinutes(5))
+                .build();
+        return new CoalescingTombstoneWriter(autobatcher);
+    }
+
+    @Override
+    public ListenableFuture<Void> deleteAllTimestamps(
+            TableReference tableRef, Map<Cell, TimestampRangeDelete> deletes) {
+        return autobatcher.apply(ImmutableTombstoneRequest.of(tableRef, deletes));
+    }
+
+    @Override
+    public void close() {
+        autobatcher.close();
+    }
+
+    @VisibleForTesting
+    static void processBatch(
+            KeyValueService kvs,
+            Optional<TargetedSweepMetrics> metrics,
+            List<BatchElement<TombstoneRequest, Void>> batch) {
+        Map<TableReference, List<BatchElement<TombstoneRequest, Void>>> requestsByTable = batch.stream()
+                .collect(Collectors.groupingBy(element -> element.argument().tableRef()));
+        requestsByTable.forEach((tableRef, requests) -> {
+            List<BatchElement<TombstoneRequest, Void>> pending = requests;
+            while (!pending.isEmpty()) {
+                Map<Cell, TimestampRangeDelete> deletes = new HashMap<>();
+                List<BatchElement<TombstoneRequest, Void>> included = new ArrayList<>();
+                List<BatchElement<TombstoneRequest, Void>> deferred = new ArrayList<>();
+                for (BatchElement<TombstoneRequest, Void> element : pending) {
+                    if (canCoalesce(deletes, element.argument().deletes())) {
+                        deletes.putAll(element.argument().deletes());
+                        included.add(element);
+                    } else {
+                        deferred.add(element);
+                    }
+                }
+                delete(kvs, metrics, tableRef, deletes, included);
+                pending = deferred;
+            }
+        });
+    }
+
+    private static boolean canCoalesce(
+            Map<Cell, TimestampRangeDelete> coalesced, Map<Cell, TimestampRangeDelete> request) {
+        if (coalesced.isEmpty()) {
+            return true;
+        }
+        return coalesced.size() + request.size() <= MAX_CELLS_PER_DELETE
+                && Collections.disjoint(coalesced.keySet(), request.keySet());
+    }
+
+    private static void delete(
+            KeyValueService kvs,
+            Optional<TargetedSweepMetrics> metrics,
+            TableReference tableRef,
+            Map<Cell, TimestampRangeDelete> deletes,
+            List<BatchElement<TombstoneRequest, Void>> requests) {
+        long startNanos = System.nanoTime();
+        try {
+            kvs.deleteAllTimestamps(tableRef, deletes);
+            requests.forEach(request -> request.result().set(null));
+        } catch (RuntimeException e) {
+            requests.forEach(request -> request.result().setException(e));
+        } finally {
+            long durationNanos = System.nanoTime() - startNanos;
+            metrics.ifPresent(sweepMetrics -> {
+                sweepMetrics.updateTombstoneRequestsPerDelete(requests.size());
+                sweepMetrics.updateTombstoneDeleteLatency(durationNanos);
+            });
+        }
+    }
+
+    @Value.Immutable
+    interface TombstoneRequest {
+        @Value.Parameter
+        TableReference tableRef();
+
+        @Value.Parameter
+        Map<Cell, TimestampRangeDelete> deletes();
+    }
+}
@@ -16,13 +16,17 @@
 
 package com.palantir.atlasdb.sweep.queue;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.palantir.common.concurrent.NamedThreadFactory;
 import com.palantir.common.concurrent.PTExecutors;
 import java.io.Closeable;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BooleanSupplier;
+import java.util.function.IntSupplier;
 
 public class ScalingSweepTaskScheduler implements Closeable {
     static final long INITIAL_DELAY = 1_000L;
@@ -31,6 +35,8 @@ public class ScalingSweepTaskScheduler implements Closeable {
     private final SweepDelay delay;
     private final Callable<SweepIterationResult> singleIteration;
     private final BooleanSupplier scalingEnabled;
+    private final IntSupplier targetTasks;
+    private final AtomicInteger runningTasks = new AtomicInteger();
 
     ScalingSweepTaskScheduler(
             ScheduledExecutorService executorService,
@@ -41,6 +47,20 @@ public class ScalingSweepTaskScheduler implements Closeable {
         this.delay = delay;
         this.singleIteration = singleIteration;
         this.scalingEnabled = scalingEnabled;
+        this.targetTasks = runningTasks::get;
+    }
+
+    ScalingSweepTaskScheduler(
+            ScheduledExecutorService executorService,
+            SweepDelay delay,
+            Callable<SweepIterationResult> singleIteration,
+            BooleanSupplier scalingEnabled,
+            IntSupplier targetTasks) {
+        this.executorService = executorService;
+        this.delay = delay;
+        this.singleIteration = singleIteration;
+        this.scalingEnabled = scalingEnabled;
+        this.targetTasks = targetTasks;
     }
 
     /**
@@ -58,23 +78,74 @@ public class ScalingSweepTaskScheduler implements Closeable {
         return scheduler;
     }
 
+    /**
+     * Creates a scheduler for targeted sweep background tasks that, in addition to dynamically changing pauses between
+     * iterations, runs between minThreads and maxThreads concurrent tasks. After each iteration, a task is added or
+     * retired if the number of running tasks differs from desiredThreads, clamped to these bounds.
+     */
+    public static ScalingSweepTaskScheduler createStarted(
+            SweepDelay delay,
+            int minThreads,
+            int maxThreads,
+            Callable<SweepIterationResult> task,
+            BooleanSupplier scalingEnabled,
+            IntSupplier desiredThreads) {
+        ScheduledThreadPoolExecutor executorService =
+                PTExecutors.newScheduledThreadPoolExecutor(maxThreads, new NamedThreadFactory("Targeted Sweep", true));
+        executorService.setKeepAliveTime(1, TimeUnit.MINUTES);
+        executorService.allowCoreThreadTimeOut(true);
+
+        ScalingSweepTaskScheduler scheduler = new ScalingSweepTaskScheduler(
+                executorService,
+                delay,
+                task,
+                scalingEnabled,
+                () -> Math.max(minThreads, Math.min(maxThreads, desiredThreads.getAsInt())));
+        scheduler.start(minThreads);
+        return scheduler;
+    }
+
     void start(int initialThreads) {
         for (int i = 0; i < initialThreads; i++) {
+            runningTasks.incrementAndGet();
             scheduleAfterDelay(INITIAL_DELAY);
         }
     }
 
+    @VisibleForTesting
+    int getRunningTasks() {
+        return runningTasks.get();
+    }
+
     private void scheduleAfterDelay(long pause) {
         executorService.schedule(() -> retryingTask(singleIteration), pause, TimeUnit.MILLISECONDS);
     }
 
     private void retryingTask(Callable<SweepIterationResult> task) {
+        long pause;
         try {
             SweepIterationResult sweepResult = task.call();
-            long pause = scalingEnabled.getAsBoolean() ? delay.getNextPause(sweepResult) : delay.getInitialPause();
-            scheduleAfterDelay(pause);
+            pause = scalingEnabled.getAsBoolean() ? delay.getNextPause(sweepResult) : delay.getInitialPause();
         } catch (Exception e) {
-            scheduleAfterDelay(delay.getMaxPause());
+            pause = delay.getMaxPause();
+        }
+
+        int target = getTargetTasks();
+        int running = runningTasks.get();
+        if (running > target && runningTasks.compareAndSet(running, running - 1)) {
+            return;
+        }
+        scheduleAfterDelay(pause);
+        if (running < target && runningTasks.compareAndSet(running, running + 1)) {
+            scheduleAfterDelay(pause);
+        }
+    }
+
+    private int getTargetTasks() {
+        try {
+            return targetTasks.getAsInt();
+        } catch (RuntimeException e) {
+            return runningTasks.get();
         }
     }
 
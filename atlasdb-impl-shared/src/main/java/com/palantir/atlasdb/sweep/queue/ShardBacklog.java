@@ -0,0 +1,53 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.sweep.queue;
+
+import java.util.Comparator;
+import org.immutables.value.Value;
+
+/**
+ * An estimate of how much work targeted sweep has left to do for a shard and strategy.
+ */
+@Value.Immutable
+public interface ShardBacklog {
+    Comparator<ShardBacklog> LARGEST_FIRST = Comparator.comparingLong(ShardBacklog::sweepablePartitions)
+            .thenComparingLong(ShardBacklog::timestampsBehind)
+            .reversed();
+
+    @Value.Parameter
+    ShardAndStrategy shardAndStrategy();
+
+    /**
+     * The number of timestamps between the last swept timestamp and the sweep timestamp.
+     */
+    @Value.Parameter
+    long timestampsBehind();
+
+    /**
+     * The number of fine partitions with unprocessed entries in the sweep queue, up to a limit.
+     */
+    @Value.Parameter
+    long sweepablePartitions();
+
+    default boolean hasBacklog() {
+        return sweepablePartitions() > 0;
+    }
+
+    static ShardBacklog of(ShardAndStrategy shardAndStrategy, long timestampsBehind, long sweepablePartitions) {
+        return ImmutableShardBacklog.of(shardAndStrategy, timestampsBehind, sweepablePartitions);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.sweep.queue;
+
+import com.google.common.base.Suppliers;
+import com.palantir.atlasdb.table.description.SweepStrategy.SweeperStrategy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Ranks the shards of a sweeper strategy by their backlog, so that idle targeted sweep threads can pick up the most
+ * lagged shards first. Estimating the backlog of a shard requires reading the sweep queue, so the ranking is only
+ * recomputed once per refresh interval.
+ */
+final class ShardBacklogRanking {
+    private final SweeperStrategy strategy;
+    private final IntSupplier numShards;
+    private final LongSupplier sweepTimestamp;
+    private final BacklogEstimator estimator;
+    private final Supplier<List<ShardBacklog>> ranking;
+
+    ShardBacklogRanking(
+            SweeperStrategy strategy,
+            IntSupplier numShards,
+            LongSupplier sweepTimestamp,
+            BacklogEstimator estimator,
+            Duration refreshInterval) {
+        this.strategy = strategy;
+        this.numShards = numShards;
+        this.sweepTimestamp = sweepTimestamp;
+        this.estimator = estimator;
+        this.ranking = Suppliers.memoizeWithExpiration(
+                this::computeRanking, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the shards that have unprocessed entries in the sweep queue, largest backlog first.
+     */
+    List<Integer> shardsWithBacklog() {
+        return ranking.get().stream()
+                .map(backlog -> backlog.shardAndStrategy().shard())
+                .collect(Collectors.toList());
+    }
+
+    private List<ShardBacklog> computeRanking() {
+        long sweepTs = sweepTimestamp.getAsLong();
+        return IntStream.range(0, numShards.getAsInt())
+                .mapToObj(shard -> estimator.estimate(ShardAndStrategy.of(shard, strategy), sweepTs))
+                .filter(ShardBacklog::hasBacklog)
+                .sorted(ShardBacklog.LARGEST_FIRST)
+                .collect(Collectors.toList());
+    }
+
+    interface BacklogEstimator {
+        ShardBacklog estimate(ShardAndStrategy shardAndStrategy, long sweepTs);
+    }
+}
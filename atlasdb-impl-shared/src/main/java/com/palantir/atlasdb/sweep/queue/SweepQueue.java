@@ -16,44 +16,63 @@
 package com.palantir.atlasdb.sweep.queue;
 
 import com.google.common.base.Suppliers;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.atlasdb.futures.AtlasFutures;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.schema.TargetedSweepSchema;
 import com.palantir.atlasdb.sweep.Sweeper;
 import com.palantir.atlasdb.sweep.metrics.SweepOutcome;
+import com.palantir.atlasdb.sweep.metrics.SweepStage;
 import com.palantir.atlasdb.sweep.metrics.TargetedSweepMetrics;
 import com.palantir.atlasdb.sweep.queue.SweepQueueReader.ReadBatchingRuntimeContext;
 import com.palantir.atlasdb.sweep.queue.clear.DefaultTableClearer;
+import com.palantir.atlasdb.sweep.queue.config.TargetedSweepInstallConfig;
 import com.palantir.atlasdb.table.description.Schemas;
 import com.palantir.atlasdb.table.description.SweepStrategy.SweeperStrategy;
 import com.palantir.atlasdb.transaction.impl.TimelockTimestampServiceAdapter;
 import com.palantir.atlasdb.transaction.service.TransactionService;
 import com.palantir.atlasdb.transaction.service.TransactionServices;
+import com.palantir.common.concurrent.PTExecutors;
 import com.palantir.lock.v2.TimelockService;
 import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.logger.SafeLogger;
 import com.palantir.logsafe.logger.SafeLoggerFactory;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
+import javax.annotation.concurrent.GuardedBy;
 
 public final class SweepQueue implements MultiTableSweepQueueWriter {
     private static final SafeLogger log = SafeLoggerFactory.get(SweepQueue.class);
+    private static final int BACKLOG_COARSE_PARTITIONS = 4;
     private final ShardProgress progress;
     private final SweepQueueWriter writer;
     private final SweepQueueReader reader;
+    private final TombstoneWriter tombstoneWriter;
     private final SweepQueueDeleter deleter;
     private final SweepQueueCleaner cleaner;
+    private final SweepableTimestamps timestamps;
     private final Supplier<Integer> numShards;
     private final TargetedSweepMetrics metrics;
 
+    @GuardedBy("this")
+    private ListeningExecutorService pipelineExecutor;
+
     private SweepQueue(SweepQueueFactory factory, TargetedSweepFollower follower) {
         this.progress = factory.progress;
         this.writer = factory.createWriter();
         this.reader = factory.createReader();
-        this.deleter = factory.createDeleter(follower);
+        this.tombstoneWriter = factory.createTombstoneWriter();
+        this.deleter = factory.createDeleter(follower, tombstoneWriter);
         this.cleaner = factory.createCleaner();
+        this.timestamps = factory.timestamps;
         this.numShards = factory.numShards;
         this.metrics = factory.metrics;
     }
@@ -66,8 +85,33 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
             TransactionService transaction,
             TargetedSweepFollower follower,
             ReadBatchingRuntimeContext readBatchingRuntimeContext) {
-        SweepQueueFactory factory =
-                SweepQueueFactory.create(metrics, kvs, timelock, shardsConfig, transaction, readBatchingRuntimeContext);
+        return create(
+                metrics,
+                kvs,
+                timelock,
+                shardsConfig,
+                transaction,
+                follower,
+                readBatchingRuntimeContext,
+                TargetedSweepInstallConfig.defaultTargetedSweepConfig());
+    }
+
+    /**
+     * Creates a SweepQueue, using the options of the install config that affect how the sweep queue is written and
+     * how tombstones are written: see {@link TargetedSweepInstallConfig#enableRangeSummaries()} and
+     * {@link TargetedSweepInstallConfig#enableCrossShardTombstoneBatching()}.
+     */
+    public static SweepQueue create(
+            TargetedSweepMetrics metrics,
+            KeyValueService kvs,
+            TimelockService timelock,
+            Supplier<Integer> shardsConfig,
+            TransactionService transaction,
+            TargetedSweepFollower follower,
+            ReadBatchingRuntimeContext readBatchingRuntimeContext,
+            TargetedSweepInstallConfig install) {
+        SweepQueueFactory factory = SweepQueueFactory.create(
+                metrics, kvs, timelock, shardsConfig, transaction, readBatchingRuntimeContext, install);
         return new SweepQueue(factory, follower);
     }
 
@@ -121,6 +165,22 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
      * @return number of cells that were swept
      */
     public long sweepNextBatch(ShardAndStrategy shardStrategy, long sweepTs) {
+        return sweepNextBatches(shardStrategy, sweepTs, 1);
+    }
+
+    /**
+     * Sweep up to maxBatches consecutive batches for the shard and strategy specified by shardStrategy, with the sweep
+     * timestamp sweepTs. The stages of consecutive batches are pipelined: the sweep queue is read for batch N + 1 while
+     * batch N is being deleted and the sweep queue information for batch N - 1 is being cleaned up. For each batch, the
+     * last seen commit timestamp is persisted before the deletes, and the sweep queue information is only removed and
+     * progress only updated once the deletes have completed and the previous batch has been cleaned up.
+     *
+     * @param shardStrategy shard and strategy to use
+     * @param sweepTs       sweep timestamp, the upper limit to the start timestamp of writes to sweep
+     * @param maxBatches    maximum number of batches to sweep
+     * @return number of cells that were swept
+     */
+    public long sweepNextBatches(ShardAndStrategy shardStrategy, long sweepTs, int maxBatches) {
         metrics.updateSweepTimestamp(shardStrategy, sweepTs);
         long lastSweptTs = progress.getLastSweptTimestamp(shardStrategy);
 
@@ -135,8 +195,39 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
                 SafeArg.of("sweepTs", sweepTs),
                 SafeArg.of("lastSweptTs", lastSweptTs));
 
+        PendingBatch current = read(shardStrategy, lastSweptTs, sweepTs);
+        ListenableFuture<?> previousClean = Futures.immediateVoidFuture();
+        long entriesRead = 0L;
+        try {
+            for (int batches = 1; batches < maxBatches && current.lastSweptTimestamp() + 1 < sweepTs; batches++) {
+                PendingBatch toSweep = current;
+                ListenableFuture<PendingBatch> next = pipelineExecutor().submit(
+                        () -> read(shardStrategy, toSweep.lastSweptTimestamp(), sweepTs));
+                entriesRead += delete(shardStrategy, toSweep);
+                AtlasFutures.getUnchecked(previousClean);
+                previousClean = pipelineExecutor().submit(() -> clean(shardStrategy, toSweep));
+                current = AtlasFutures.getUnchecked(next);
+            }
+            entriesRead += delete(shardStrategy, current);
+            AtlasFutures.getUnchecked(previousClean);
+            clean(shardStrategy, current);
+            return entriesRead;
+        } catch (RuntimeException e) {
+            waitForCompletion(previousClean);
+            throw e;
+        }
+    }
+
+    private PendingBatch read(ShardAndStrategy shardStrategy, long lastSweptTs, long sweepTs) {
+        long startNanos = System.nanoTime();
         SweepBatchWithPartitionInfo batchWithInfo = reader.getNextBatchToSweep(shardStrategy, lastSweptTs, sweepTs);
-        SweepBatch sweepBatch = batchWithInfo.sweepBatch();
+        metrics.updateStageLatency(shardStrategy, SweepStage.READ, System.nanoTime() - startNanos);
+        return new PendingBatch(lastSweptTs, batchWithInfo);
+    }
+
+    private long delete(ShardAndStrategy shardStrategy, PendingBatch batch) {
+        long startNanos = System.nanoTime();
+        SweepBatch sweepBatch = batch.sweepBatch();
 
         // The order must not be changed without considering correctness of txn4
         progress.updateLastSeenCommitTimestamp(shardStrategy, sweepBatch.lastSeenCommitTimestamp());
@@ -150,10 +241,16 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
                     SafeArg.of("lastSweptTs", sweepBatch.lastSweptTimestamp()),
                     SafeArg.of("shardStrategy", shardStrategy.toText()));
         }
+        metrics.updateStageLatency(shardStrategy, SweepStage.DELETE, System.nanoTime() - startNanos);
+        return sweepBatch.entriesRead();
+    }
 
+    private void clean(ShardAndStrategy shardStrategy, PendingBatch batch) {
+        long startNanos = System.nanoTime();
+        SweepBatch sweepBatch = batch.sweepBatch();
         cleaner.clean(
                 shardStrategy,
-                batchWithInfo.partitionsForPreviousLastSweptTs(lastSweptTs),
+                batch.partitionsToClean(),
                 sweepBatch.lastSweptTimestamp(),
                 sweepBatch.dedicatedRows());
 
@@ -165,8 +262,32 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
         } else {
             metrics.registerOccurrenceOf(shardStrategy, SweepOutcome.SUCCESS);
         }
+        metrics.updateStageLatency(shardStrategy, SweepStage.CLEAN, System.nanoTime() - startNanos);
+    }
+
+    private static void waitForCompletion(ListenableFuture<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.info("Cleaning up the sweep queue after a batch of targeted sweep failed.", e.getCause());
+        }
+    }
 
-        return sweepBatch.entriesRead();
+    /**
+     * Estimates the backlog of the given shard and strategy, given the sweep timestamp sweepTs. At most
+     * {@link #BACKLOG_COARSE_PARTITIONS} coarse partitions of the sweep queue are read to do so.
+     */
+    public ShardBacklog getBacklog(ShardAndStrategy shardStrategy, long sweepTs) {
+        long lastSweptTs = progress.getLastSweptTimestamp(shardStrategy);
+        if (lastSweptTs + 1 >= sweepTs) {
+            return ShardBacklog.of(shardStrategy, 0L, 0L);
+        }
+        return ShardBacklog.of(
+                shardStrategy,
+                sweepTs - 1 - lastSweptTs,
+                timestamps.countSweepablePartitions(shardStrategy, lastSweptTs, sweepTs, BACKLOG_COARSE_PARTITIONS));
     }
 
     public void resetSweepProgress() {
@@ -190,6 +311,50 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
         return numShards.get();
     }
 
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (pipelineExecutor != null) {
+                pipelineExecutor.shutdownNow();
+            }
+        }
+        tombstoneWriter.close();
+    }
+
+    /**
+     * The executor is only created once more than one batch is swept in an iteration, so that no threads are kept
+     * for the pipeline while it is not used.
+     */
+    private synchronized ListeningExecutorService pipelineExecutor() {
+        if (pipelineExecutor == null) {
+            pipelineExecutor =
+                    MoreExecutors.listeningDecorator(PTExecutors.newCachedThreadPool("targeted-sweep-pipeline"));
+        }
+        return pipelineExecutor;
+    }
+
+    private static final class PendingBatch {
+        private final long previousLastSweptTs;
+        private final SweepBatchWithPartitionInfo batchWithInfo;
+
+        private PendingBatch(long previousLastSweptTs, SweepBatchWithPartitionInfo batchWithInfo) {
+            this.previousLastSweptTs = previousLastSweptTs;
+            this.batchWithInfo = batchWithInfo;
+        }
+
+        private SweepBatch sweepBatch() {
+            return batchWithInfo.sweepBatch();
+        }
+
+        private long lastSweptTimestamp() {
+            return sweepBatch().lastSweptTimestamp();
+        }
+
+        private Set<Long> partitionsToClean() {
+            return batchWithInfo.partitionsForPreviousLastSweptTs(previousLastSweptTs);
+        }
+    }
+
     private static final class SweepQueueFactory {
         private final ShardProgress progress;
         private final Supplier<Integer> numShards;
@@ -200,6 +365,7 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
         private final KeyValueService kvs;
         private final TimelockService timelock;
         private final ReadBatchingRuntimeContext readBatchingRuntimeContext;
+        private final boolean crossShardTombstoneBatchingEnabled;
 
         private SweepQueueFactory(
                 ShardProgress progress,
@@ -210,7 +376,8 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
                 TargetedSweepMetrics metrics,
                 KeyValueService kvs,
                 TimelockService timelock,
-                ReadBatchingRuntimeContext readBatchingRuntimeContext) {
+                ReadBatchingRuntimeContext readBatchingRuntimeContext,
+                boolean crossShardTombstoneBatchingEnabled) {
             this.progress = progress;
             this.numShards = numShards;
             this.cells = cells;
@@ -220,6 +387,7 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
             this.kvs = kvs;
             this.timelock = timelock;
             this.readBatchingRuntimeContext = readBatchingRuntimeContext;
+            this.crossShardTombstoneBatchingEnabled = crossShardTombstoneBatchingEnabled;
         }
 
         static SweepQueueFactory create(
@@ -232,7 +400,14 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
             // as transaction services must not hold any local state in them that would affect correctness.
             TransactionService transaction =
                     TransactionServices.createRaw(kvs, new TimelockTimestampServiceAdapter(timelock), false);
-            return create(metrics, kvs, timelock, shardsConfig, transaction, readBatchingRuntimeContext);
+            return create(
+                    metrics,
+                    kvs,
+                    timelock,
+                    shardsConfig,
+                    transaction,
+                    readBatchingRuntimeContext,
+                    TargetedSweepInstallConfig.defaultTargetedSweepConfig());
         }
 
         static SweepQueueFactory create(
@@ -241,13 +416,15 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
                 TimelockService timelock,
                 Supplier<Integer> shardsConfig,
                 TransactionService transaction,
-                ReadBatchingRuntimeContext readBatchingRuntimeContext) {
+                ReadBatchingRuntimeContext readBatchingRuntimeContext,
+                TargetedSweepInstallConfig install) {
             Schemas.createTablesAndIndexes(TargetedSweepSchema.INSTANCE.getLatestSchema(), kvs);
             ShardProgress shardProgress = new ShardProgress(kvs);
             Supplier<Integer> shards =
                     createProgressUpdatingSupplier(shardsConfig, shardProgress, SweepQueueUtils.REFRESH_TIME);
-            WriteInfoPartitioner partitioner = new WriteInfoPartitioner(kvs, shards);
-            SweepableCells cells = new SweepableCells(kvs, partitioner, metrics, transaction);
+            WriteInfoPartitioner partitioner = new WriteInfoPartitioner(kvs, shards, install.enableRangeSummaries());
+            SweepableCells cells =
+                    new SweepableCells(kvs, partitioner, metrics, transaction, install.enableRangeSummaries());
             SweepableTimestamps timestamps = new SweepableTimestamps(kvs, partitioner);
             return new SweepQueueFactory(
                     shardProgress,
@@ -258,7 +435,8 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
                     metrics,
                     kvs,
                     timelock,
-                    readBatchingRuntimeContext);
+                    readBatchingRuntimeContext,
+                    install.enableCrossShardTombstoneBatching());
         }
 
         private SweepQueueWriter createWriter() {
@@ -269,8 +447,15 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
             return new SweepQueueReader(timestamps, cells, readBatchingRuntimeContext);
         }
 
-        private SweepQueueDeleter createDeleter(TargetedSweepFollower follower) {
-            return new SweepQueueDeleter(kvs, follower, new DefaultTableClearer(kvs, timelock::getImmutableTimestamp));
+        private TombstoneWriter createTombstoneWriter() {
+            return crossShardTombstoneBatchingEnabled
+                    ? CoalescingTombstoneWriter.create(kvs, metrics)
+                    : TombstoneWriter.direct(kvs);
+        }
+
+        private SweepQueueDeleter createDeleter(TargetedSweepFollower follower, TombstoneWriter tombstoneWriter) {
+            return new SweepQueueDeleter(
+                    kvs, follower, new DefaultTableClearer(kvs, timelock::getImmutableTimestamp), tombstoneWriter);
         }
 
         private SweepQueueCleaner createCleaner() {
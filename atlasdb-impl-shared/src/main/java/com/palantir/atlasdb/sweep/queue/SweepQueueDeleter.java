@@ -16,7 +16,10 @@
 package com.palantir.atlasdb.sweep.queue;
 
 import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.futures.AtlasFutures;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
@@ -25,8 +28,10 @@ import com.palantir.atlasdb.logging.LoggingArgs;
 import com.palantir.atlasdb.sweep.Sweeper;
 import com.palantir.logsafe.logger.SafeLogger;
 import com.palantir.logsafe.logger.SafeLoggerFactory;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -37,11 +42,21 @@ public class SweepQueueDeleter {
     private final KeyValueService kvs;
     private final TargetedSweepFollower follower;
     private final TargetedSweepFilter filter;
+    private final TombstoneWriter tombstoneWriter;
 
     SweepQueueDeleter(KeyValueService kvs, TargetedSweepFollower follower, TargetedSweepFilter filter) {
+        this(kvs, follower, filter, TombstoneWriter.direct(kvs));
+    }
+
+    SweepQueueDeleter(
+            KeyValueService kvs,
+            TargetedSweepFollower follower,
+            TargetedSweepFilter filter,
+            TombstoneWriter tombstoneWriter) {
         this.kvs = kvs;
         this.follower = follower;
         this.filter = filter;
+        this.tombstoneWriter = tombstoneWriter;
     }
 
     /**
@@ -52,12 +67,17 @@ public class SweepQueueDeleter {
      * tombstone for each write at either the write's timestamp - 1, or at its timestamp.
      * @param sweeper supplies the strategy-specific behaviour: the timestamp for the tombstone and whether we must use
      * sentinels or not.
+     *
+     * The tombstones for all partitions of the writes into a table are submitted to the {@link TombstoneWriter} before
+     * waiting for any of them, so that they can be coalesced with the tombstones of other shards. This method only
+     * returns once all the tombstones have been written.
      */
     public void sweep(Collection<WriteInfo> unfilteredWrites, Sweeper sweeper) {
         Collection<WriteInfo> writes = filter.filter(unfilteredWrites);
         Map<TableReference, Map<Cell, TimestampRangeDelete>> maxTimestampByCell = writesPerTable(writes, sweeper);
         for (Map.Entry<TableReference, Map<Cell, TimestampRangeDelete>> entry : maxTimestampByCell.entrySet()) {
             try {
+                List<ListenableFuture<Void>> deletes = new ArrayList<>();
                 Iterables.partition(entry.getValue().keySet(), SweepQueueUtils.BATCH_SIZE_KVS)
                         .forEach(cells -> {
                             Map<Cell, TimestampRangeDelete> maxTimestampByCellPartition = cells.stream()
@@ -67,8 +87,10 @@ public class SweepQueueDeleter {
                                 kvs.addGarbageCollectionSentinelValues(
                                         entry.getKey(), maxTimestampByCellPartition.keySet());
                             }
-                            kvs.deleteAllTimestamps(entry.getKey(), maxTimestampByCellPartition);
+                            deletes.add(
+                                    tombstoneWriter.deleteAllTimestamps(entry.getKey(), maxTimestampByCellPartition));
                         });
+                AtlasFutures.getUnchecked(Futures.allAsList(deletes));
             } catch (Exception e) {
                 if (tableWasDropped(entry.getKey())) {
                     log.debug(
@@ -26,6 +26,7 @@ import com.palantir.atlasdb.table.api.ColumnValue;
 import com.palantir.common.persist.Persistable;
 import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -41,6 +42,10 @@ public final class SweepQueueUtils {
     public static final int MAX_CELLS_PER_SHARD = MAX_CELLS_DEDICATED * TargetedSweepMetadata.MAX_DEDICATED_ROWS;
     public static final int SWEEP_BATCH_SIZE = MAX_CELLS_DEDICATED / 10;
     public static final int BATCH_SIZE_KVS = 1000;
+    public static final int MIN_CELLS_FOR_RANGE_SUMMARY = 1000;
+    public static final double MIN_DENSITY_FOR_RANGE_SUMMARY = 0.5;
+    public static final int MAX_CELLS_IN_RANGE_SUMMARY = 2_000;
+    public static final int MAX_COLUMNS_IN_RANGE_SUMMARY = 100;
     public static final long READ_TS = Long.MAX_VALUE;
     public static final long INITIAL_TIMESTAMP = -1L;
     public static final long RESET_TIMESTAMP = 0L;
@@ -79,6 +84,30 @@ public final class SweepQueueUtils {
         return previousTs == INITIAL_TIMESTAMP;
     }
 
+    /**
+     * Whether the writes of a transaction into a table are dense enough to be persisted as range summaries: there must
+     * be at least {@link #MIN_CELLS_FOR_RANGE_SUMMARY} of them, in at most {@link #MAX_COLUMNS_IN_RANGE_SUMMARY}
+     * distinct columns, and they must fill at least {@link #MIN_DENSITY_FOR_RANGE_SUMMARY} of the cells in the rows and
+     * columns written, as a range summary is expanded by reading all of those cells.
+     */
+    public static boolean shouldSummarise(Collection<WriteInfo> writesToTable) {
+        if (writesToTable.size() < MIN_CELLS_FOR_RANGE_SUMMARY) {
+            return false;
+        }
+        long distinctColumns = writesToTable.stream()
+                .map(write -> ByteBuffer.wrap(write.cell().getColumnName()))
+                .distinct()
+                .count();
+        if (distinctColumns > MAX_COLUMNS_IN_RANGE_SUMMARY) {
+            return false;
+        }
+        long distinctRows = writesToTable.stream()
+                .map(write -> ByteBuffer.wrap(write.cell().getRowName()))
+                .distinct()
+                .count();
+        return writesToTable.size() >= distinctRows * distinctColumns * MIN_DENSITY_FOR_RANGE_SUMMARY;
+    }
+
     public static Cell toCell(Persistable row, ColumnValue<?> col) {
         return Cell.create(row.persistToBytes(), col.persistColumnName());
     }
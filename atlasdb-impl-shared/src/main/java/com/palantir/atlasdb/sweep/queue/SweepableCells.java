@@ -15,6 +15,7 @@
  */
 package com.palantir.atlasdb.sweep.queue;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -24,16 +25,20 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.PeekingIterator;
 import com.google.common.collect.Streams;
+import com.google.common.primitives.UnsignedBytes;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.CellReference;
 import com.palantir.atlasdb.keyvalue.api.ColumnRangeSelection;
+import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
 import com.palantir.atlasdb.keyvalue.api.ImmutableTargetedSweepMetadata;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.RowColumnRangeIterator;
+import com.palantir.atlasdb.keyvalue.api.StoredWriteReference;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.api.TargetedSweepMetadata;
 import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.keyvalue.api.WriteRangeSummary;
 import com.palantir.atlasdb.keyvalue.api.WriteReference;
 import com.palantir.atlasdb.keyvalue.api.WriteReferencePersister;
 import com.palantir.atlasdb.logging.LoggingArgs;
@@ -53,18 +58,26 @@ import com.palantir.logsafe.logger.SafeLoggerFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
 import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 public class SweepableCells extends SweepQueueTable {
     private static final SafeLogger log = SafeLoggerFactory.get(SweepableCells.class);
     private final CommitTsCache commitTsCache;
     private final WriteReferencePersister writeReferencePersister;
+    private final boolean rangeSummariesEnabled;
 
+    private static final Comparator<byte[]> LEXICOGRAPHICAL_COMPARATOR = UnsignedBytes.lexicographicalComparator();
     private static final WriteReference DUMMY = WriteReference.of(
             TableReference.createFromFullyQualifiedName("dum.my"), Cell.create(new byte[] {0}, new byte[] {0}), false);
 
@@ -73,16 +86,36 @@ public class SweepableCells extends SweepQueueTable {
             WriteInfoPartitioner partitioner,
             TargetedSweepMetrics metrics,
             TransactionService transactionService) {
+        this(kvs, partitioner, metrics, transactionService, false);
+    }
+
+    /**
+     * If rangeSummariesEnabled is true, a transaction that writes at least
+     * {@link SweepQueueUtils#MIN_CELLS_FOR_RANGE_SUMMARY} cells densely filling the rows and columns written into a
+     * table in the same partition persists {@link WriteRangeSummary range summaries} for them instead of one entry per
+     * cell, each covering at most {@link SweepQueueUtils#MAX_CELLS_IN_RANGE_SUMMARY} cells. A summary is expanded into
+     * the individual writes when it is read, by reading the summarised rows of the table at the start timestamp of the
+     * transaction.
+     * Nodes on versions that cannot read range summaries must not read the sweep queue once this has been enabled.
+     */
+    public SweepableCells(
+            KeyValueService kvs,
+            WriteInfoPartitioner partitioner,
+            TargetedSweepMetrics metrics,
+            TransactionService transactionService,
+            boolean rangeSummariesEnabled) {
         super(kvs, TargetedSweepTableFactory.of().getSweepableCellsTable(null).getTableRef(), partitioner, metrics);
         this.commitTsCache = CommitTsCache.create(transactionService);
         this.writeReferencePersister = new WriteReferencePersister(new SweepTableIndices(kvs));
+        this.rangeSummariesEnabled = rangeSummariesEnabled;
     }
 
     @Override
     Map<Cell, byte[]> populateReferences(PartitionInfo partitionInfo, List<WriteInfo> writes) {
-        boolean dedicate = writes.size() > SweepQueueUtils.MAX_CELLS_GENERIC;
+        int numberOfEntries = numberOfEntries(writes);
+        boolean dedicate = numberOfEntries > SweepQueueUtils.MAX_CELLS_GENERIC;
         if (dedicate) {
-            return addReferenceToDedicatedRows(partitionInfo, writes);
+            return addReferenceToDedicatedRows(partitionInfo, numberOfEntries);
         } else {
             return ImmutableMap.of();
         }
@@ -91,32 +124,101 @@ public class SweepableCells extends SweepQueueTable {
     @Override
     Map<Cell, byte[]> populateCells(PartitionInfo partitionInfo, List<WriteInfo> writes) {
         Map<Cell, byte[]> cells = new HashMap<>();
-        boolean dedicate = writes.size() > SweepQueueUtils.MAX_CELLS_GENERIC;
+        List<StoredWriteReference> entries = toEntries(writes);
+        boolean dedicate = entries.size() > SweepQueueUtils.MAX_CELLS_GENERIC;
 
         long index = 0;
-        for (WriteInfo write : writes) {
-            cells.putAll(addWrite(partitionInfo, write, dedicate, index));
+        for (StoredWriteReference entry : entries) {
+            cells.putAll(addWrite(partitionInfo, entry, dedicate, index));
             index++;
         }
         return cells;
     }
 
-    private Map<Cell, byte[]> addReferenceToDedicatedRows(PartitionInfo info, List<WriteInfo> writes) {
-        return addCell(info, DUMMY, false, 0, entryIndicatingNumberOfRequiredRows(writes));
+    private int numberOfEntries(List<WriteInfo> writes) {
+        if (!rangeSummariesEnabled) {
+            return writes.size();
+        }
+        return toEntries(writes).size();
     }
 
-    private long entryIndicatingNumberOfRequiredRows(List<WriteInfo> writes) {
-        return -(1 + (writes.size() - 1) / SweepQueueUtils.MAX_CELLS_DEDICATED);
+    private List<StoredWriteReference> toEntries(List<WriteInfo> writes) {
+        if (!rangeSummariesEnabled) {
+            return Lists.transform(writes, write -> writeReferencePersister.persist(write.writeRef()));
+        }
+        List<StoredWriteReference> entries = new ArrayList<>();
+        writes.stream()
+                .collect(Collectors.groupingBy(WriteInfo::tableRef))
+                .forEach((tableRef, writesToTable) -> {
+                    if (SweepQueueUtils.shouldSummarise(writesToTable)) {
+                        summarise(tableRef, writesToTable)
+                                .forEach(summary -> entries.add(writeReferencePersister.persist(summary)));
+                    } else {
+                        writesToTable.forEach(write -> entries.add(writeReferencePersister.persist(write.writeRef())));
+                    }
+                });
+        return entries;
+    }
+
+    /**
+     * Groups the writes by row and splits the rows, in order, into summaries of at most
+     * {@link SweepQueueUtils#MAX_CELLS_IN_RANGE_SUMMARY} cells, unless a single row has more. The writes to a row are
+     * never split, so that no cell is read when expanding more than one summary.
+     */
+    @VisibleForTesting
+    static List<WriteRangeSummary> summarise(TableReference tableRef, List<WriteInfo> writes) {
+        SortedMap<byte[], List<byte[]>> columnsByRow = new TreeMap<>(LEXICOGRAPHICAL_COMPARATOR);
+        for (WriteInfo write : writes) {
+            columnsByRow
+                    .computeIfAbsent(write.cell().getRowName(), unused -> new ArrayList<>())
+                    .add(write.cell().getColumnName());
+        }
+        List<WriteRangeSummary> summaries = new ArrayList<>();
+        Map<byte[], List<byte[]>> columnsBySummarisedRow = new LinkedHashMap<>();
+        int numberOfCells = 0;
+        for (Map.Entry<byte[], List<byte[]>> row : columnsByRow.entrySet()) {
+            if (numberOfCells > 0
+                    && numberOfCells + row.getValue().size() > SweepQueueUtils.MAX_CELLS_IN_RANGE_SUMMARY) {
+                summaries.add(summariseRows(tableRef, columnsBySummarisedRow, numberOfCells));
+                columnsBySummarisedRow = new LinkedHashMap<>();
+                numberOfCells = 0;
+            }
+            columnsBySummarisedRow.put(row.getKey(), row.getValue());
+            numberOfCells += row.getValue().size();
+        }
+        summaries.add(summariseRows(tableRef, columnsBySummarisedRow, numberOfCells));
+        return summaries;
+    }
+
+    private static WriteRangeSummary summariseRows(
+            TableReference tableRef, Map<byte[], List<byte[]>> columnsByRow, int numberOfCells) {
+        Set<byte[]> columns = new TreeSet<>(LEXICOGRAPHICAL_COMPARATOR);
+        columnsByRow.values().forEach(columns::addAll);
+        return WriteRangeSummary.of(
+                tableRef, ImmutableList.copyOf(columnsByRow.keySet()), ColumnSelection.create(columns), numberOfCells);
+    }
+
+    private Map<Cell, byte[]> addReferenceToDedicatedRows(PartitionInfo info, int numberOfEntries) {
+        return addCell(
+                info,
+                writeReferencePersister.persist(DUMMY),
+                false,
+                0,
+                entryIndicatingNumberOfRequiredRows(numberOfEntries));
+    }
+
+    private long entryIndicatingNumberOfRequiredRows(int numberOfEntries) {
+        return -(1 + (numberOfEntries - 1) / SweepQueueUtils.MAX_CELLS_DEDICATED);
     }
 
     private Map<Cell, byte[]> addCell(
             PartitionInfo info,
-            WriteReference writeRef,
+            StoredWriteReference entry,
             boolean isDedicatedRow,
             long dedicatedRowNumber,
             long writeIndex) {
         SweepableCellsRow row = computeRow(info, isDedicatedRow, dedicatedRowNumber);
-        SweepableCellsColumnValue colVal = createColVal(info.timestamp(), writeIndex, writeRef);
+        SweepableCellsColumnValue colVal = createColVal(info.timestamp(), writeIndex, entry);
         return ImmutableMap.of(SweepQueueUtils.toCell(row, colVal), colVal.persistValue());
     }
 
@@ -147,9 +249,9 @@ public class SweepableCells extends SweepQueueTable {
         return isDedicatedRow ? info.timestamp() : SweepQueueUtils.tsPartitionFine(info.timestamp());
     }
 
-    private SweepableCellsColumnValue createColVal(long ts, long index, WriteReference writeRef) {
+    private SweepableCellsColumnValue createColVal(long ts, long index, StoredWriteReference entry) {
         SweepableCellsTable.SweepableCellsColumn col = SweepableCellsTable.SweepableCellsColumn.of(tsMod(ts), index);
-        return SweepableCellsColumnValue.of(col, writeReferencePersister.persist(writeRef));
+        return SweepableCellsColumnValue.of(col, entry);
     }
 
     private static long tsMod(long timestamp) {
@@ -196,11 +298,15 @@ public class SweepableCells extends SweepQueueTable {
             SweepableCellsRow row, PeekingIterator<Map.Entry<Cell, Value>> resultIterator, long sweepTs) {
         WriteBatch writeBatch = new WriteBatch();
         while (resultIterator.hasNext() && writeBatch.writesByStartTs.size() < SweepQueueUtils.SWEEP_BATCH_SIZE) {
-            Map.Entry<Cell, Value> entry = resultIterator.next();
+            Map.Entry<Cell, Value> entry = resultIterator.peek();
             SweepableCellsTable.SweepableCellsColumn col = computeColumn(entry);
             long startTs = getTimestamp(row, col);
+            if (wouldOverfillBatch(writeBatch, startTs, entry.getValue())) {
+                return writeBatch;
+            }
+            resultIterator.next();
             if (knownToBeCommittedAfterSweepTs(startTs, sweepTs)) {
-                writeBatch.add(ImmutableList.of(getWriteInfo(startTs, entry.getValue())));
+                writeBatch.add(ImmutableList.of(getWriteInfoWithoutExpanding(startTs, entry.getValue())));
                 return writeBatch;
             }
             writeBatch.merge(getWrites(row, col, entry.getValue()));
@@ -221,6 +327,22 @@ public class SweepableCells extends SweepQueueTable {
         return writeBatch;
     }
 
+    /**
+     * A range summary of a start timestamp not yet in the batch is left for the next batch if expanding it would take
+     * the batch past {@link SweepQueueUtils#SWEEP_BATCH_SIZE}. All writes of a start timestamp are always read
+     * together, as sweep progress is tracked by start timestamp.
+     */
+    private boolean wouldOverfillBatch(WriteBatch writeBatch, long startTs, Value value) {
+        if (writeBatch.writesByStartTs.isEmpty() || writeBatch.writesByStartTs.containsKey(startTs)) {
+            return false;
+        }
+        StoredWriteReference entry = SweepableCellsColumnValue.hydrateValue(value.getContents());
+        return writeReferencePersister.isRangeSummary(entry)
+                && writeBatch.writesByStartTs.size()
+                                + writeReferencePersister.unpersistRangeSummary(entry).numberOfCells()
+                        > SweepQueueUtils.SWEEP_BATCH_SIZE;
+    }
+
     private static final class WriteBatch {
         private final Multimap<Long, WriteInfo> writesByStartTs = HashMultimap.create();
         private final List<SweepableCellsRow> dedicatedRows = new ArrayList<>();
@@ -231,11 +353,6 @@ public class SweepableCells extends SweepQueueTable {
             return this;
         }
 
-        static WriteBatch single(WriteInfo writeInfo) {
-            WriteBatch batch = new WriteBatch();
-            return batch.add(ImmutableList.of(writeInfo));
-        }
-
         WriteBatch add(List<SweepableCellsRow> newDedicatedRows, List<WriteInfo> writeInfos) {
             dedicatedRows.addAll(newDedicatedRows);
             return add(writeInfos);
@@ -347,7 +464,7 @@ public class SweepableCells extends SweepQueueTable {
         if (isReferenceToDedicatedRows(col)) {
             return writesFromDedicated(row, col);
         } else {
-            return WriteBatch.single(getWriteInfo(getTimestamp(row, col), value));
+            return new WriteBatch().add(getWriteInfos(getTimestamp(row, col), value));
         }
     }
 
@@ -363,7 +480,7 @@ public class SweepableCells extends SweepQueueTable {
         return batch.add(
                 dedicatedRows,
                 Streams.stream(iterator)
-                        .map(entry -> getWriteInfo(getTimestamp(row, col), entry.getValue()))
+                        .flatMap(entry -> getWriteInfos(getTimestamp(row, col), entry.getValue()).stream())
                         .collect(Collectors.toList()));
     }
 
@@ -405,10 +522,57 @@ public class SweepableCells extends SweepQueueTable {
         return getRowsColumnRange(rows, SweepQueueUtils.ALL_COLUMNS, SweepQueueUtils.BATCH_SIZE_KVS);
     }
 
-    private WriteInfo getWriteInfo(long timestamp, Value value) {
-        return WriteInfo.of(
-                writeReferencePersister.unpersist(SweepableCellsColumnValue.hydrateValue(value.getContents())),
-                timestamp);
+    private List<WriteInfo> getWriteInfos(long timestamp, Value value) {
+        StoredWriteReference entry = SweepableCellsColumnValue.hydrateValue(value.getContents());
+        if (writeReferencePersister.isRangeSummary(entry)) {
+            return writesFromRangeSummary(timestamp, writeReferencePersister.unpersistRangeSummary(entry));
+        }
+        return ImmutableList.of(WriteInfo.of(writeReferencePersister.unpersist(entry), timestamp));
+    }
+
+    /**
+     * Used for entries whose start timestamp will not be swept in this batch, so that range summaries need not be
+     * expanded; the returned write only stands in for the start timestamp of the entry.
+     */
+    private WriteInfo getWriteInfoWithoutExpanding(long timestamp, Value value) {
+        StoredWriteReference entry = SweepableCellsColumnValue.hydrateValue(value.getContents());
+        if (writeReferencePersister.isRangeSummary(entry)) {
+            return WriteInfo.of(DUMMY, timestamp);
+        }
+        return WriteInfo.of(writeReferencePersister.unpersist(entry), timestamp);
+    }
+
+    /**
+     * Start timestamps are unique to a transaction, so the cells in the summarised rows with a value at exactly
+     * the start timestamp are exactly the writes the summary stands for. If the value at the start timestamp has
+     * already been deleted, it was swept for a later write to the cell, and there is nothing left to sweep for.
+     */
+    private List<WriteInfo> writesFromRangeSummary(long startTs, WriteRangeSummary summary) {
+        List<WriteInfo> writes = new ArrayList<>();
+        try {
+            kvs.getRows(summary.tableRef(), summary.rows(), summary.columns(), startTs + 1)
+                    .forEach((cell, value) -> {
+                        if (value.getTimestamp() == startTs) {
+                            writes.add(WriteInfo.of(
+                                    WriteReference.of(summary.tableRef(), cell, value.isEmpty()), startTs));
+                        }
+                    });
+        } catch (Exception exception) {
+            if (tableWasDropped(summary.tableRef())) {
+                log.info(
+                        "Tried to read writes summarised by a range summary from table {}, "
+                                + "but instead found that the table no longer exists.",
+                        LoggingArgs.tableRef(summary.tableRef()),
+                        exception);
+                return ImmutableList.of();
+            }
+            throw exception;
+        }
+        log.debug(
+                "Read {} writes summarised by a range summary from table {}.",
+                SafeArg.of("number", writes.size()),
+                LoggingArgs.tableRef(summary.tableRef()));
+        return writes;
     }
 
     private boolean exhaustedAllColumns(Iterator<Map.Entry<Cell, Value>> resultIterator) {
@@ -434,10 +598,10 @@ public class SweepableCells extends SweepQueueTable {
         deleteRows(rows);
     }
 
-    private Map<Cell, byte[]> addWrite(PartitionInfo info, WriteInfo write, boolean dedicate, long index) {
+    private Map<Cell, byte[]> addWrite(PartitionInfo info, StoredWriteReference entry, boolean dedicate, long index) {
         return addCell(
                 info,
-                write.writeRef(),
+                entry,
                 dedicate,
                 index / SweepQueueUtils.MAX_CELLS_DEDICATED,
                 index % SweepQueueUtils.MAX_CELLS_DEDICATED);
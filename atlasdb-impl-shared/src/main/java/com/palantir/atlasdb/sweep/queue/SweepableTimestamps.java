@@ -17,6 +17,7 @@ package com.palantir.atlasdb.sweep.queue;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterators;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.ColumnRangeSelection;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
@@ -30,6 +31,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 public class SweepableTimestamps extends SweepQueueTable {
     private static final byte[] DUMMY = new byte[0];
@@ -84,6 +86,34 @@ public class SweepableTimestamps extends SweepQueueTable {
         return nextSweepablePartition(shardStrategy, minFineInclusive, maxFineInclusive);
     }
 
+    /**
+     * Counts the fine partitions that have unprocessed entries in the Sweepable Cells table, looking at no more than
+     * maxCoarsePartitions coarse partitions. This is used as a cheap estimate of the backlog of a shard.
+     *
+     * @param shardStrategy desired shard and strategy
+     * @param lastSweptTs exclusive minimum timestamp to check for
+     * @param sweepTs exclusive maximum timestamp to check for
+     * @param maxCoarsePartitions maximum number of coarse partitions (that is, rows of this table) to read
+     * @return number of fine partitions with unprocessed entries
+     */
+    long countSweepablePartitions(
+            ShardAndStrategy shardStrategy, long lastSweptTs, long sweepTs, int maxCoarsePartitions) {
+        long minFineInclusive = SweepQueueUtils.tsPartitionFine(lastSweptTs + 1);
+        long maxFineInclusive = SweepQueueUtils.tsPartitionFine(sweepTs - 1);
+        long minCoarseInclusive = SweepQueueUtils.partitionFineToCoarse(minFineInclusive);
+        long maxCoarseInclusive = Math.min(
+                SweepQueueUtils.partitionFineToCoarse(maxFineInclusive), minCoarseInclusive + maxCoarsePartitions - 1);
+
+        List<byte[]> rows = LongStream.rangeClosed(minCoarseInclusive, maxCoarseInclusive)
+                .mapToObj(partitionCoarse -> computeRowBytes(shardStrategy, partitionCoarse))
+                .collect(Collectors.toList());
+        RowColumnRangeIterator colIterator = getRowsColumnRange(
+                rows,
+                getColRangeSelection(minFineInclusive, maxFineInclusive + 1),
+                SweepQueueUtils.BATCH_SIZE_KVS);
+        return Iterators.size(colIterator);
+    }
+
     private Optional<Long> nextSweepablePartition(
             ShardAndStrategy shardAndStrategy, long minFineInclusive, long maxFineInclusive) {
         ColumnRangeSelection range = getColRangeSelection(minFineInclusive, maxFineInclusive + 1);
@@ -42,21 +42,25 @@ import com.palantir.logsafe.Preconditions;
 import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.logger.SafeLogger;
 import com.palantir.logsafe.logger.SafeLoggerFactory;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @SuppressWarnings({"FinalClass", "Not final for mocking in tests"})
 public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSweeper {
     private static final SafeLogger log = SafeLoggerFactory.get(TargetedSweeper.class);
+    private static final Duration BACKLOG_REFRESH_INTERVAL = Duration.ofSeconds(30);
 
     private final boolean shouldResetAndStopSweep;
     private final Supplier<TargetedSweepRuntimeConfig> runtime;
     private final List<Follower> followers;
     private final MetricsManager metricsManager;
     private final TargetedSweepMetrics.MetricsConfiguration metricsConfiguration;
+    private final TargetedSweepInstallConfig install;
 
     private TargetedSweepMetrics metrics;
     private SweepQueue queue;
@@ -74,12 +78,18 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
             List<Follower> followers) {
         this.metricsManager = metricsManager;
         this.runtime = runtime;
-        this.conservativeScheduler =
-                new BackgroundSweepScheduler(install.conservativeThreads(), SweeperStrategy.CONSERVATIVE);
-        this.thoroughScheduler = new BackgroundSweepScheduler(install.thoroughThreads(), SweeperStrategy.THOROUGH);
+        this.conservativeScheduler = new BackgroundSweepScheduler(
+                install.conservativeThreads(),
+                install.enableBacklogDrivenScheduling() ? install.maximumConservativeThreads() : 0,
+                SweeperStrategy.CONSERVATIVE);
+        this.thoroughScheduler = new BackgroundSweepScheduler(
+                install.thoroughThreads(),
+                install.enableBacklogDrivenScheduling() ? install.maximumThoroughThreads() : 0,
+                SweeperStrategy.THOROUGH);
         this.shouldResetAndStopSweep = install.resetTargetedSweepQueueProgressAndStopSweep();
         this.followers = followers;
         this.metricsConfiguration = install.metricsConfiguration();
+        this.install = install;
     }
 
     /**
@@ -168,7 +178,8 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
                 ReadBatchingRuntimeContext.builder()
                         .maximumPartitions(this::getPartitionBatchLimit)
                         .cellsThreshold(() -> runtime.get().batchCellThreshold())
-                        .build());
+                        .build(),
+                install);
         timestampsSupplier = timestamps;
         timeLock = timelockService;
         isInitialized = true;
@@ -207,16 +218,31 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
         return queue.sweepNextBatch(shardStrategy, maxTsExclusive);
     }
 
+    /**
+     * Sweeps up to maxBatches consecutive batches for the given shard and strategy, pipelining the reads, deletes and
+     * cleanup of consecutive batches.
+     *
+     * @param shardStrategy shard and strategy to use
+     * @return number of entries swept
+     */
+    public long sweepNextBatches(ShardAndStrategy shardStrategy, long maxTsExclusive, int maxBatches) {
+        assertInitialized();
+        return queue.sweepNextBatches(shardStrategy, maxTsExclusive, maxBatches);
+    }
+
     @VisibleForTesting
     long processShard(ShardAndStrategy shardAndStrategy) {
         long maxTsExclusive = Sweeper.of(shardAndStrategy).getSweepTimestamp(timestampsSupplier);
-        return sweepNextBatch(shardAndStrategy, maxTsExclusive);
+        return sweepNextBatches(shardAndStrategy, maxTsExclusive, runtime.get().pipelinedBatchesPerIteration());
     }
 
     @Override
     public void close() {
         conservativeScheduler.close();
         thoroughScheduler.close();
+        if (queue != null) {
+            queue.close();
+        }
     }
 
     @Override
@@ -243,14 +269,21 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
 
     private class BackgroundSweepScheduler implements AutoCloseable {
         private final int numThreads;
+        private final int maxThreadsForBacklog;
         private final SweeperStrategy sweepStrategy;
         private final AtomicLong counter = new AtomicLong(0);
         private final SweepDelay delay;
 
         private ScalingSweepTaskScheduler scheduler;
+        private Optional<ShardBacklogRanking> backlogRanking = Optional.empty();
 
-        private BackgroundSweepScheduler(int numThreads, SweeperStrategy sweepStrategy) {
+        /**
+         * @param maxThreadsForBacklog if positive, shards are swept in order of their backlog, and the number of
+         * threads scales between numThreads and this value with the number of shards that have a backlog.
+         */
+        private BackgroundSweepScheduler(int numThreads, int maxThreadsForBacklog, SweeperStrategy sweepStrategy) {
             this.numThreads = numThreads;
+            this.maxThreadsForBacklog = maxThreadsForBacklog;
             this.sweepStrategy = sweepStrategy;
             this.delay = new SweepDelay(
                     () -> runtime.get().pauseMillis(),
@@ -260,12 +293,33 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
 
         private void scheduleBackgroundThreads() {
             if (numThreads > 0 && scheduler == null) {
-                scheduler = ScalingSweepTaskScheduler.createStarted(
-                        delay, numThreads, this::runOneIteration, () -> runtime.get()
-                                .enableAutoTuning());
+                if (maxThreadsForBacklog > 0) {
+                    scheduleBacklogDrivenThreads();
+                } else {
+                    scheduler = ScalingSweepTaskScheduler.createStarted(
+                            delay, numThreads, this::runOneIteration, () -> runtime.get()
+                                    .enableAutoTuning());
+                }
             }
         }
 
+        private void scheduleBacklogDrivenThreads() {
+            ShardBacklogRanking ranking = new ShardBacklogRanking(
+                    sweepStrategy,
+                    queue::getNumShards,
+                    () -> Sweeper.of(sweepStrategy).getSweepTimestamp(timestampsSupplier),
+                    queue::getBacklog,
+                    BACKLOG_REFRESH_INTERVAL);
+            backlogRanking = Optional.of(ranking);
+            scheduler = ScalingSweepTaskScheduler.createStarted(
+                    delay,
+                    numThreads,
+                    maxThreadsForBacklog,
+                    this::runOneIteration,
+                    () -> runtime.get().enableAutoTuning(),
+                    () -> ranking.shardsWithBacklog().size());
+        }
+
         private SweepIterationResult runOneIteration() {
             if (!runtime.get().enabled()) {
                 return SweepIterationResults.disabled();
@@ -295,10 +349,18 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
             }
         }
 
+        /**
+         * Tries the shards with the largest backlog first, if backlog driven scheduling is enabled, and then falls back
+         * to visiting shards in round-robin order so that the progress of shards without a backlog still advances.
+         */
         private Optional<TargetedSweeperLock> tryToAcquireLockForNextShardAndStrategy() {
-            return IntStream.range(0, queue.getNumShards())
-                    .map(ignore -> getShardAndIncrement())
-                    .mapToObj(shard -> TargetedSweeperLock.tryAcquire(shard, sweepStrategy, timeLock))
+            Stream<Integer> shardsWithBacklog = backlogRanking
+                    .map(ranking -> ranking.shardsWithBacklog().stream())
+                    .orElseGet(Stream::empty);
+            Stream<Integer> roundRobinShards =
+                    IntStream.range(0, queue.getNumShards()).mapToObj(ignore -> getShardAndIncrement());
+            return Stream.concat(shardsWithBacklog, roundRobinShards)
+                    .map(shard -> TargetedSweeperLock.tryAcquire(shard, sweepStrategy, timeLock))
                     .filter(Optional::isPresent)
                     .map(Optional::get)
                     .findFirst();
@@ -0,0 +1,42 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.sweep.queue;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.TimestampRangeDelete;
+import java.util.Map;
+
+/**
+ * Writes the ranged tombstones for targeted sweep. The returned future completes once the tombstones are durably
+ * written to the key value service.
+ */
+interface TombstoneWriter extends AutoCloseable {
+    ListenableFuture<Void> deleteAllTimestamps(TableReference tableRef, Map<Cell, TimestampRangeDelete> deletes);
+
+    @Override
+    default void close() {}
+
+    static TombstoneWriter direct(KeyValueService kvs) {
+        return (tableRef, deletes) -> {
+            kvs.deleteAllTimestamps(tableRef, deletes);
+            return Futures.immediateFuture(null);
+        };
+    }
+}
@@ -19,6 +19,9 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.math.IntMath;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.logging.LoggingArgs;
@@ -32,6 +35,7 @@ import com.palantir.logsafe.logger.SafeLoggerFactory;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -40,6 +44,7 @@ public class WriteInfoPartitioner {
 
     private final KeyValueService kvs;
     private final Supplier<Integer> numShards;
+    private final boolean rangeSummariesEnabled;
 
     private final LoadingCache<TableReference, Optional<SweeperStrategy>> cache = CacheBuilder.newBuilder()
             .build(new CacheLoader<TableReference, Optional<SweeperStrategy>>() {
@@ -50,8 +55,17 @@ public class WriteInfoPartitioner {
             });
 
     public WriteInfoPartitioner(KeyValueService kvs, Supplier<Integer> numShards) {
+        this(kvs, numShards, false);
+    }
+
+    /**
+     * If rangeSummariesEnabled is true, all writes a transaction makes into a table are assigned to the same shard
+     * whenever there are enough of them to be persisted as a range summary, see {@link SweepableCells}.
+     */
+    public WriteInfoPartitioner(KeyValueService kvs, Supplier<Integer> numShards, boolean rangeSummariesEnabled) {
         this.kvs = kvs;
         this.numShards = numShards;
+        this.rangeSummariesEnabled = rangeSummariesEnabled;
     }
 
     /**
@@ -72,12 +86,36 @@ public class WriteInfoPartitioner {
     @VisibleForTesting
     Map<PartitionInfo, List<WriteInfo>> partitionWritesByShardStrategyTimestamp(List<WriteInfo> writes) {
         int shards = numShards.get();
+        Set<Map.Entry<TableReference, Long>> summarisedTables = getTablesToSummarise(writes);
+        return writes.stream()
+                .collect(Collectors.groupingBy(
+                        write -> getPartitionInfo(write, shards, summarisedTables), Collectors.toList()));
+    }
+
+    private Set<Map.Entry<TableReference, Long>> getTablesToSummarise(List<WriteInfo> writes) {
+        if (!rangeSummariesEnabled) {
+            return ImmutableSet.of();
+        }
         return writes.stream()
-                .collect(Collectors.groupingBy(write -> getPartitionInfo(write, shards), Collectors.toList()));
+                .collect(Collectors.groupingBy(WriteInfoPartitioner::tableAndTimestamp))
+                .entrySet()
+                .stream()
+                .filter(entry -> SweepQueueUtils.shouldSummarise(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    private PartitionInfo getPartitionInfo(
+            WriteInfo write, int shards, Set<Map.Entry<TableReference, Long>> summarisedTables) {
+        Map.Entry<TableReference, Long> tableAndTimestamp = tableAndTimestamp(write);
+        int shard = summarisedTables.contains(tableAndTimestamp)
+                ? IntMath.mod(tableAndTimestamp.hashCode(), shards)
+                : write.toShard(shards);
+        return PartitionInfo.of(shard, isConservative(write), write.timestamp());
     }
 
-    private PartitionInfo getPartitionInfo(WriteInfo write, int shards) {
-        return PartitionInfo.of(write.toShard(shards), isConservative(write), write.timestamp());
+    private static Map.Entry<TableReference, Long> tableAndTimestamp(WriteInfo write) {
+        return Maps.immutableEntry(write.tableRef(), write.timestamp());
     }
 
     private boolean isConservative(WriteInfo write) {
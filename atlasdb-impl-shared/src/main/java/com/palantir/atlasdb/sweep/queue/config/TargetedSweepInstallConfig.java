@@ -77,6 +77,84 @@ public class TargetedSweepInstallConfig {
                 thoroughThreads());
     }
 
+    /**
+     * If true, background threads sweep the shards with the largest backlog first, instead of visiting shards in
+     * round-robin order. The backlog of a shard is estimated from how far its progress is behind the sweep timestamp
+     * and the number of partitions of the sweep queue with unprocessed entries. Additionally, the number of threads for
+     * each strategy scales with the number of shards that have a backlog, between {@link #conservativeThreads()} and
+     * {@link #maximumConservativeThreads()} (respectively {@link #thoroughThreads()} and
+     * {@link #maximumThoroughThreads()}).
+     */
+    @Value.Default
+    public boolean enableBacklogDrivenScheduling() {
+        return false;
+    }
+
+    /**
+     * The maximum number of background threads running targeted sweep of tables with SweepStrategy CONSERVATIVE, if
+     * {@link #enableBacklogDrivenScheduling()} is true.
+     */
+    @Value.Default
+    public int maximumConservativeThreads() {
+        return conservativeThreads();
+    }
+
+    @Value.Check
+    void checkMaximumConservativeThreads() {
+        Preconditions.checkArgument(
+                maximumConservativeThreads() >= conservativeThreads()
+                        && maximumConservativeThreads() <= AtlasDbConstants.MAX_SWEEP_QUEUE_SHARDS,
+                "Maximum number of conservative targeted sweep threads must be between %s and %s inclusive, but is %s "
+                        + "instead.",
+                conservativeThreads(),
+                AtlasDbConstants.MAX_SWEEP_QUEUE_SHARDS,
+                maximumConservativeThreads());
+    }
+
+    /**
+     * The maximum number of background threads running targeted sweep of tables with SweepStrategy THOROUGH, if
+     * {@link #enableBacklogDrivenScheduling()} is true.
+     */
+    @Value.Default
+    public int maximumThoroughThreads() {
+        return thoroughThreads();
+    }
+
+    @Value.Check
+    void checkMaximumThoroughThreads() {
+        Preconditions.checkArgument(
+                maximumThoroughThreads() >= thoroughThreads()
+                        && maximumThoroughThreads() <= AtlasDbConstants.MAX_SWEEP_QUEUE_SHARDS,
+                "Maximum number of thorough targeted sweep threads must be between %s and %s inclusive, but is %s "
+                        + "instead.",
+                thoroughThreads(),
+                AtlasDbConstants.MAX_SWEEP_QUEUE_SHARDS,
+                maximumThoroughThreads());
+    }
+
+    /**
+     * If true, a transaction writing at least
+     * {@link com.palantir.atlasdb.sweep.queue.SweepQueueUtils#MIN_CELLS_FOR_RANGE_SUMMARY} cells densely filling the
+     * rows and columns it wrote to in a table records summaries of those rows and columns in the sweep queue, instead
+     * of one entry per cell. This reduces the write amplification of large transactions and the amount of the sweep
+     * queue that has to be read, at the expense of targeted sweep reading the summarised rows of the table. Must only
+     * be enabled once all nodes sweeping the same key value service are on a version that can read range summaries.
+     */
+    @Value.Default
+    public boolean enableRangeSummaries() {
+        return false;
+    }
+
+    /**
+     * If true, the ranged tombstones written by the targeted sweep threads of all shards are coalesced into fewer,
+     * larger calls to the key value service, per table. Each thread still waits for its tombstones to be written before
+     * persisting the progress of its shard.
+     */
+    @Value.Default
+    public boolean enableCrossShardTombstoneBatching() {
+        return false;
+    }
+
     /**
      * Specifies how metrics are tracked for this instance of Targeted Sweep.
      */
@@ -111,6 +111,27 @@ public abstract class TargetedSweepRuntimeConfig {
         return SweepQueueUtils.SWEEP_BATCH_SIZE;
     }
 
+    /**
+     * The maximum number of batches that an iteration of targeted sweep will sweep for a shard while it holds the lock
+     * for that shard. If greater than 1, the stages of consecutive batches are pipelined: the sweep queue is read for
+     * the next batch while the current batch is being deleted, and the sweep queue entries for the previous batch are
+     * being cleaned up. Progress is still persisted in order, after the deletes for each batch have completed.
+     *
+     * The default value of 1 sweeps a single batch per iteration without any pipelining.
+     */
+    @Value.Default
+    public int pipelinedBatchesPerIteration() {
+        return 1;
+    }
+
+    @Value.Check
+    void checkPipelinedBatchesPerIteration() {
+        Preconditions.checkArgument(
+                pipelinedBatchesPerIteration() > 0,
+                "Number of batches to sweep per iteration must be positive.",
+                SafeArg.of("pipelinedBatchesPerIteration", pipelinedBatchesPerIteration()));
+    }
+
     @Value.Check
     public void checkPauseDuration() {
         Preconditions.checkArgument(
@@ -0,0 +1,80 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.cleaner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.palantir.atlasdb.util.MetricsManagers;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.logsafe.exceptions.SafeRuntimeException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import org.junit.After;
+import org.junit.Test;
+
+public class ScrubPipelineStageTest {
+    private final ExecutorService stageExecutor = PTExecutors.newFixedThreadPool(1);
+    private final ExecutorService submitter = PTExecutors.newSingleThreadExecutor();
+    private final ScrubPipelineStage stage =
+            new ScrubPipelineStage(MetricsManagers.createForTests(), "test", stageExecutor, 2);
+
+    @After
+    public void after() {
+        stageExecutor.shutdownNow();
+        submitter.shutdownNow();
+    }
+
+    @Test
+    public void submitBlocksWhileStageIsFull() throws InterruptedException {
+        CountDownLatch blocker = new CountDownLatch(1);
+        ListenableFuture<?> running = stage.submit(() -> awaitUninterruptibly(blocker));
+        ListenableFuture<?> queued = stage.submit(() -> {});
+        assertThat(stage.occupancy()).isEqualTo(2);
+
+        Future<ListenableFuture<?>> blockedSubmission = submitter.submit(() -> stage.submit(() -> {}));
+        Thread.sleep(100);
+        assertThat(blockedSubmission).isNotDone();
+
+        blocker.countDown();
+        Futures.getUnchecked(running);
+        Futures.getUnchecked(queued);
+        Futures.getUnchecked(Futures.getUnchecked(blockedSubmission));
+        assertThat(stage.occupancy()).isZero();
+    }
+
+    @Test
+    public void failedTasksReleaseTheirSpace() {
+        ListenableFuture<?> failed = stage.submit(() -> {
+            throw new SafeRuntimeException("boom");
+        });
+
+        assertThatThrownBy(() -> Futures.getUnchecked(failed)).isInstanceOf(UncheckedExecutionException.class);
+        assertThat(stage.occupancy()).isZero();
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
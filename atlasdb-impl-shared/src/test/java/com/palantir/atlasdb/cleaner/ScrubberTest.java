@@ -16,11 +16,19 @@
 package com.palantir.atlasdb.cleaner;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.keyvalue.api.Cell;
@@ -37,6 +45,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.SortedMap;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -150,7 +160,78 @@ public class ScrubberTest {
         assertThat(scrubQueue).isEmpty();
     }
 
+    @Test
+    public void concurrentPipelineScrubsAllTables() {
+        scrubber.shutdown();
+        scrubber = getScrubber(kvs, scrubStore, transactions, 4, 4);
+        Cell cell1 = Cell.create(new byte[] {1}, new byte[] {2});
+        Cell cell2 = Cell.create(new byte[] {2}, new byte[] {3});
+        Cell cell3 = Cell.create(new byte[] {3}, new byte[] {4});
+        List<TableReference> tableRefs = IntStream.range(0, 10)
+                .mapToObj(i -> TableReference.createFromFullyQualifiedName("foo.bar" + i))
+                .collect(Collectors.toList());
+        for (TableReference tableRef : tableRefs) {
+            kvs.createTable(tableRef, new byte[] {});
+            writeValues(tableRef, cell1, cell2, cell3);
+            scrubStore.queueCellsForScrubbing(ImmutableMultimap.of(cell1, tableRef), 20, 100);
+            scrubStore.queueCellsForScrubbing(ImmutableMultimap.of(cell2, tableRef), 50, 100);
+        }
+        commitTransactions();
+
+        scrubber.runBackgroundScrubTask(null);
+
+        List<SortedMap<Long, Multimap<TableReference, Cell>>> scrubQueue =
+                BatchingVisitables.copyToList(scrubStore.getBatchingVisitableScrubQueue(Long.MAX_VALUE, null, null));
+        assertThat(scrubQueue).isEmpty();
+        for (TableReference tableRef : tableRefs) {
+            Multimap<Cell, Long> timestamps =
+                    kvs.getAllTimestamps(tableRef, ImmutableSet.of(cell1, cell2), Long.MAX_VALUE);
+            assertThat(timestamps.get(cell1)).containsExactlyInAnyOrder(Value.INVALID_VALUE_TIMESTAMP, 20L);
+            assertThat(timestamps.get(cell2)).containsExactlyInAnyOrder(Value.INVALID_VALUE_TIMESTAMP, 50L);
+        }
+    }
+
+    @Test
+    public void failureToScrubOneTableDoesNotStopOtherTablesBeingScrubbed() {
+        scrubber.shutdown();
+        KeyValueService spiedKvs = spy(kvs);
+        scrubber = getScrubber(spiedKvs, scrubStore, transactions, 4, 4);
+        Cell cell = Cell.create(new byte[] {1}, new byte[] {2});
+        Cell otherCell1 = Cell.create(new byte[] {2}, new byte[] {3});
+        Cell otherCell2 = Cell.create(new byte[] {3}, new byte[] {4});
+        List<TableReference> tableRefs = IntStream.range(0, 10)
+                .mapToObj(i -> TableReference.createFromFullyQualifiedName("foo.bar" + i))
+                .collect(Collectors.toList());
+        for (TableReference tableRef : tableRefs) {
+            kvs.createTable(tableRef, new byte[] {});
+            writeValues(tableRef, cell, otherCell1, otherCell2);
+            scrubStore.queueCellsForScrubbing(ImmutableMultimap.of(cell, tableRef), 20, 100);
+        }
+        commitTransactions();
+        TableReference failingTable = tableRefs.get(0);
+        RuntimeException failure = new RuntimeException("failed to read timestamps");
+        doThrow(failure).when(spiedKvs).getAllTimestamps(eq(failingTable), any(), anyLong());
+
+        assertThatThrownBy(() -> scrubber.runBackgroundScrubTask(null)).hasRootCause(failure);
+
+        List<SortedMap<Long, Multimap<TableReference, Cell>>> scrubQueue =
+                BatchingVisitables.copyToList(scrubStore.getBatchingVisitableScrubQueue(Long.MAX_VALUE, null, null));
+        assertThat(scrubQueue.stream()
+                        .flatMap(cells -> cells.values().stream())
+                        .flatMap(cells -> cells.entries().stream()))
+                .containsExactly(Maps.immutableEntry(failingTable, cell));
+        for (TableReference tableRef : tableRefs.subList(1, tableRefs.size())) {
+            assertThat(kvs.getAllTimestamps(tableRef, ImmutableSet.of(cell), Long.MAX_VALUE).get(cell))
+                    .containsExactlyInAnyOrder(Value.INVALID_VALUE_TIMESTAMP, 20L);
+        }
+    }
+
     private void putValues(TableReference tableRef, Cell cell1, Cell cell2, Cell cell3) {
+        writeValues(tableRef, cell1, cell2, cell3);
+        commitTransactions();
+    }
+
+    private void writeValues(TableReference tableRef, Cell cell1, Cell cell2, Cell cell3) {
         kvs.putWithTimestamps(
                 tableRef,
                 ImmutableMultimap.<Cell, Value>builder()
@@ -161,6 +242,9 @@ public class ScrubberTest {
                         .put(cell2, Value.create(new byte[] {6}, 50))
                         .put(cell3, Value.create(new byte[] {7}, 60))
                         .build());
+    }
+
+    private void commitTransactions() {
         transactions.putUnlessExists(10, 15);
         transactions.putUnlessExists(20, 25);
         transactions.putUnlessExists(30, 35);
@@ -170,6 +254,15 @@ public class ScrubberTest {
 
     private Scrubber getScrubber(
             KeyValueService keyValueService, ScrubberStore scrubberStore, TransactionService transactionService) {
+        return getScrubber(keyValueService, scrubberStore, transactionService, 1, 1);
+    }
+
+    private Scrubber getScrubber(
+            KeyValueService keyValueService,
+            ScrubberStore scrubberStore,
+            TransactionService transactionService,
+            int threadCount,
+            int readThreadCount) {
         return Scrubber.create(
                 keyValueService,
                 scrubberStore,
@@ -180,8 +273,8 @@ public class ScrubberTest {
                 transactionService,
                 false, // is aggressive
                 () -> 100, //  batch size
-                1, // thread count
-                1, // read thread count
+                threadCount,
+                readThreadCount,
                 ImmutableList.of(), // followers
                 MetricsManagers.createForTests());
     }
@@ -16,10 +16,13 @@
 package com.palantir.atlasdb.keyvalue.api;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.google.common.collect.ImmutableList;
 import com.palantir.atlasdb.keyvalue.impl.InMemoryKeyValueService;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.sweep.queue.id.SweepTableIndices;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
 import java.nio.charset.StandardCharsets;
 import org.junit.Test;
 
@@ -62,4 +65,37 @@ public final class WriteReferencePersisterTest {
                         persister.persist(WRITE_REFERENCE).persistToBytes())))
                 .isEqualTo(WRITE_REFERENCE);
     }
+
+    @Test
+    public void canUnpersistRangeSummary() {
+        WriteRangeSummary summary = WriteRangeSummary.of(
+                TABLE,
+                ImmutableList.of(row, new byte[] {63, -73, 111}),
+                ColumnSelection.create(ImmutableList.of(column, row)),
+                3);
+        StoredWriteReference stored =
+                StoredWriteReference.BYTES_HYDRATOR.hydrateFromBytes(persister.persist(summary).persistToBytes());
+
+        assertThat(persister.isRangeSummary(stored)).isTrue();
+        assertThat(persister.unpersistRangeSummary(stored))
+                .usingRecursiveComparison()
+                .isEqualTo(summary);
+    }
+
+    @Test
+    public void canUnpersistRangeSummaryOfAllColumns() {
+        WriteRangeSummary summary = WriteRangeSummary.of(TABLE, ImmutableList.of(row), ColumnSelection.all(), 1);
+        assertThat(persister.unpersistRangeSummary(persister.persist(summary)))
+                .usingRecursiveComparison()
+                .isEqualTo(summary);
+    }
+
+    @Test
+    public void writeReferenceIsNotRangeSummary() {
+        StoredWriteReference stored = persister.persist(WRITE_REFERENCE);
+
+        assertThat(persister.isRangeSummary(stored)).isFalse();
+        assertThatThrownBy(() -> persister.unpersistRangeSummary(stored))
+                .isInstanceOf(SafeIllegalArgumentException.class);
+    }
 }
@@ -17,11 +17,14 @@ package com.palantir.atlasdb.sweep;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.util.MetricsManagers;
 import java.util.function.Function;
 import org.junit.Test;
 
 public class AdjustableSweepBatchConfigSourceTest {
+    private static final TableReference TABLE_1 = TableReference.createFromFullyQualifiedName("test.table1");
+    private static final TableReference TABLE_2 = TableReference.createFromFullyQualifiedName("test.table2");
 
     private AdjustableSweepBatchConfigSource adjustableConfig;
     private SweepBatchConfig previousConfig;
@@ -75,6 +78,33 @@ public class AdjustableSweepBatchConfigSourceTest {
         assertThat(AdjustableSweepBatchConfigSource.getBatchSizeMultiplier()).isEqualTo(1.0);
     }
 
+    @Test
+    public void tableBatchSizeMultiplierDecreasesOnlyForThatTable() {
+        configWithValues(1000, 1000, 1000);
+
+        adjustableConfig.decreaseMultiplier(TABLE_1);
+
+        assertThat(adjustableConfig.getBatchSizeMultiplier(TABLE_1)).isEqualTo(0.5);
+        assertThat(adjustableConfig.getAdjustedSweepConfig(TABLE_1).deleteBatchSize()).isEqualTo(500);
+        assertThat(adjustableConfig.getBatchSizeMultiplier(TABLE_2)).isEqualTo(1.0);
+        assertThat(adjustableConfig.getAdjustedSweepConfig(TABLE_2)).isEqualTo(adjustableConfig.getRawSweepConfig());
+    }
+
+    @Test
+    public void tableBatchSizeMultiplierIncreasesBackToOne() {
+        configWithValues(1000, 1000, 1000);
+        for (int i = 0; i < 5; i++) {
+            adjustableConfig.decreaseMultiplier(TABLE_1);
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            adjustableConfig.increaseMultiplier(TABLE_1);
+        }
+
+        assertThat(adjustableConfig.getBatchSizeMultiplier(TABLE_1)).isEqualTo(1.0);
+        assertThat(adjustableConfig.getAdjustedSweepConfig(TABLE_1)).isEqualTo(adjustableConfig.getRawSweepConfig());
+    }
+
     private void whenDecreasingTheMultiplier_thenAdjustedConfigValuesDecrease() {
         for (int i = 0; i < 10_000; i++) {
             // When
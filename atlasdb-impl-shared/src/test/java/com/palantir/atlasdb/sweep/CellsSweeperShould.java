@@ -15,10 +15,13 @@
  */
 package com.palantir.atlasdb.sweep;
 
+import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 
 import com.google.common.collect.ImmutableList;
@@ -30,7 +33,13 @@ import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.Namespace;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.transaction.api.Transaction;
+import com.palantir.common.concurrent.PTExecutors;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Test;
 
 public class CellsSweeperShould {
@@ -88,4 +97,67 @@ public class CellsSweeperShould {
         verify(mockKvs, never()).delete(any(), any());
         verify(mockKvs, never()).addGarbageCollectionSentinelValues(any(), any());
     }
+
+    @Test
+    public void limitConcurrentDeletesAcrossThreads() throws InterruptedException {
+        CellsSweeper limitedSweeper = new CellsSweeper(null, mockKvs, ImmutableList.of(), Optional.of(1));
+        CountDownLatch deleteBlocked = new CountDownLatch(1);
+        CountDownLatch releaseDelete = new CountDownLatch(1);
+        doAnswer(invocation -> {
+                    deleteBlocked.countDown();
+                    releaseDelete.await();
+                    return null;
+                })
+                .doNothing()
+                .when(mockKvs)
+                .delete(TABLE_REFERENCE, SINGLE_CELL_TS_PAIR);
+
+        ExecutorService executor = PTExecutors.newFixedThreadPool(2);
+        try {
+            executor.execute(() -> limitedSweeper.sweepCells(TABLE_REFERENCE, SINGLE_CELL_TS_PAIR, ImmutableSet.of()));
+            deleteBlocked.await();
+            executor.execute(() -> limitedSweeper.sweepCells(TABLE_REFERENCE, SINGLE_CELL_TS_PAIR, ImmutableSet.of()));
+
+            await().during(Duration.ofMillis(200)).atMost(Duration.ofSeconds(1)).untilAsserted(() -> verify(mockKvs)
+                    .delete(TABLE_REFERENCE, SINGLE_CELL_TS_PAIR));
+
+            releaseDelete.countDown();
+            verify(mockKvs, timeout(1_000).times(2)).delete(TABLE_REFERENCE, SINGLE_CELL_TS_PAIR);
+        } finally {
+            releaseDelete.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void applyIncreasedLimitToWaitingDeletes() throws InterruptedException {
+        AtomicReference<Optional<Integer>> maxConcurrentDeletes = new AtomicReference<>(Optional.of(1));
+        CellsSweeper limitedSweeper = new CellsSweeper(null, mockKvs, ImmutableList.of(), maxConcurrentDeletes::get);
+        CountDownLatch deleteBlocked = new CountDownLatch(1);
+        CountDownLatch releaseDelete = new CountDownLatch(1);
+        doAnswer(invocation -> {
+                    deleteBlocked.countDown();
+                    releaseDelete.await();
+                    return null;
+                })
+                .doNothing()
+                .when(mockKvs)
+                .delete(TABLE_REFERENCE, SINGLE_CELL_TS_PAIR);
+
+        ExecutorService executor = PTExecutors.newFixedThreadPool(2);
+        try {
+            executor.execute(() -> limitedSweeper.sweepCells(TABLE_REFERENCE, SINGLE_CELL_TS_PAIR, ImmutableSet.of()));
+            deleteBlocked.await();
+            executor.execute(() -> limitedSweeper.sweepCells(TABLE_REFERENCE, SINGLE_CELL_TS_PAIR, ImmutableSet.of()));
+
+            await().during(Duration.ofMillis(200)).atMost(Duration.ofSeconds(1)).untilAsserted(() -> verify(mockKvs)
+                    .delete(TABLE_REFERENCE, SINGLE_CELL_TS_PAIR));
+
+            maxConcurrentDeletes.set(Optional.of(2));
+            verify(mockKvs, timeout(1_000).times(2)).delete(TABLE_REFERENCE, SINGLE_CELL_TS_PAIR);
+        } finally {
+            releaseDelete.countDown();
+            executor.shutdownNow();
+        }
+    }
 }
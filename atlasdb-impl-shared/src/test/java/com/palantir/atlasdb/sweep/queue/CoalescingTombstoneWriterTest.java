@@ -0,0 +1,152 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.sweep.queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.Futures;
+import com.palantir.atlasdb.autobatch.BatchElement;
+import com.palantir.atlasdb.autobatch.DisruptorAutobatcher.DisruptorFuture;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.TimestampRangeDelete;
+import com.palantir.atlasdb.sweep.queue.CoalescingTombstoneWriter.TombstoneRequest;
+import com.palantir.common.exception.AtlasDbDependencyException;
+import com.palantir.logsafe.exceptions.SafeRuntimeException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Test;
+
+public class CoalescingTombstoneWriterTest {
+    private static final TableReference TABLE_1 = TableReference.createFromFullyQualifiedName("test.table1");
+    private static final TableReference TABLE_2 = TableReference.createFromFullyQualifiedName("test.table2");
+    private static final Cell CELL_1 = Cell.create(new byte[] {1}, new byte[] {1});
+    private static final Cell CELL_2 = Cell.create(new byte[] {2}, new byte[] {1});
+
+    private final KeyValueService kvs = mock(KeyValueService.class);
+
+    @Test
+    public void requestsForDifferentCellsOfTableShareOneDelete() {
+        BatchElement<TombstoneRequest, Void> first = request(TABLE_1, ImmutableMap.of(CELL_1, delete(10L)));
+        BatchElement<TombstoneRequest, Void> second = request(TABLE_1, ImmutableMap.of(CELL_2, delete(20L)));
+
+        process(ImmutableList.of(first, second));
+
+        verify(kvs).deleteAllTimestamps(TABLE_1, ImmutableMap.of(CELL_1, delete(10L), CELL_2, delete(20L)));
+        verifyNoMoreInteractions(kvs);
+        assertSucceeded(first);
+        assertSucceeded(second);
+    }
+
+    @Test
+    public void requestsForSameCellAreDeletedSeparately() {
+        BatchElement<TombstoneRequest, Void> first = request(TABLE_1, ImmutableMap.of(CELL_1, delete(10L)));
+        BatchElement<TombstoneRequest, Void> second = request(TABLE_1, ImmutableMap.of(CELL_1, delete(20L)));
+
+        process(ImmutableList.of(first, second));
+
+        verify(kvs).deleteAllTimestamps(TABLE_1, ImmutableMap.of(CELL_1, delete(10L)));
+        verify(kvs).deleteAllTimestamps(TABLE_1, ImmutableMap.of(CELL_1, delete(20L)));
+        verifyNoMoreInteractions(kvs);
+        assertSucceeded(first);
+        assertSucceeded(second);
+    }
+
+    @Test
+    public void requestsForDifferentTablesAreDeletedSeparately() {
+        BatchElement<TombstoneRequest, Void> first = request(TABLE_1, ImmutableMap.of(CELL_1, delete(10L)));
+        BatchElement<TombstoneRequest, Void> second = request(TABLE_2, ImmutableMap.of(CELL_1, delete(10L)));
+
+        process(ImmutableList.of(first, second));
+
+        verify(kvs).deleteAllTimestamps(TABLE_1, ImmutableMap.of(CELL_1, delete(10L)));
+        verify(kvs).deleteAllTimestamps(TABLE_2, ImmutableMap.of(CELL_1, delete(10L)));
+        verifyNoMoreInteractions(kvs);
+        assertSucceeded(first);
+        assertSucceeded(second);
+    }
+
+    @Test
+    public void deletesAreLimitedInSize() {
+        Map<Cell, TimestampRangeDelete> large = deletesForRows(0, CoalescingTombstoneWriter.MAX_CELLS_PER_DELETE);
+        Map<Cell, TimestampRangeDelete> small = deletesForRows(CoalescingTombstoneWriter.MAX_CELLS_PER_DELETE, 1);
+
+        process(ImmutableList.of(request(TABLE_1, large), request(TABLE_1, small)));
+
+        verify(kvs).deleteAllTimestamps(TABLE_1, large);
+        verify(kvs).deleteAllTimestamps(TABLE_1, small);
+        verifyNoMoreInteractions(kvs);
+    }
+
+    @Test
+    public void failureOnlyFailsRequestsInTheSameDelete() {
+        RuntimeException failure = new AtlasDbDependencyException(new SafeRuntimeException("boom"));
+        doThrow(failure).when(kvs).deleteAllTimestamps(eq(TABLE_1), any());
+        BatchElement<TombstoneRequest, Void> failed = request(TABLE_1, ImmutableMap.of(CELL_1, delete(10L)));
+        BatchElement<TombstoneRequest, Void> succeeded = request(TABLE_2, ImmutableMap.of(CELL_1, delete(10L)));
+
+        process(ImmutableList.of(failed, succeeded));
+
+        assertThatThrownBy(() -> failed.result().get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCause(failure);
+        assertSucceeded(succeeded);
+    }
+
+    private void process(List<BatchElement<TombstoneRequest, Void>> batch) {
+        CoalescingTombstoneWriter.processBatch(kvs, Optional.empty(), batch);
+    }
+
+    private static BatchElement<TombstoneRequest, Void> request(
+            TableReference tableRef, Map<Cell, TimestampRangeDelete> deletes) {
+        return BatchElement.of(ImmutableTombstoneRequest.of(tableRef, deletes), new DisruptorFuture<>("test"));
+    }
+
+    private static void assertSucceeded(BatchElement<TombstoneRequest, Void> element) {
+        assertThat(element.result()).isDone();
+        assertThat(Futures.getUnchecked(element.result())).isNull();
+    }
+
+    private static Map<Cell, TimestampRangeDelete> deletesForRows(int firstRow, int numberOfRows) {
+        return IntStream.range(firstRow, firstRow + numberOfRows)
+                .boxed()
+                .collect(Collectors.toMap(
+                        row -> Cell.create(Ints.toByteArray(row), new byte[] {1}), row -> delete(10L)));
+    }
+
+    private static TimestampRangeDelete delete(long timestamp) {
+        return new TimestampRangeDelete.Builder()
+                .timestamp(timestamp)
+                .endInclusive(false)
+                .deleteSentinels(false)
+                .build();
+    }
+}
@@ -29,6 +29,7 @@ import static org.mockito.Mockito.when;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import org.jmock.lib.concurrent.DeterministicScheduler;
 import org.junit.Before;
@@ -154,6 +155,56 @@ public class ScalingSweepTaskSchedulerTest {
         assertThat(sweepDelay.getNextPause(SUCCESS_MEDIUM)).isEqualTo(100L);
     }
 
+    @Test
+    public void addsTasksUpToTarget() throws Exception {
+        when(sweepIteration.call()).thenReturn(SUCCESS_MEDIUM);
+        AtomicInteger targetTasks = new AtomicInteger(3);
+        ScalingSweepTaskScheduler scalingScheduler = createScheduler(delay, targetTasks);
+        scalingScheduler.start(1);
+
+        runSweepIterations(1);
+        assertThat(scalingScheduler.getRunningTasks()).isEqualTo(2);
+        runSweepIterations(1);
+        assertThat(scalingScheduler.getRunningTasks()).isEqualTo(3);
+        runSweepIterations(5);
+        assertThat(scalingScheduler.getRunningTasks()).isEqualTo(3);
+        verify(sweepIteration, times(1 + 2 + 5 * 3)).call();
+    }
+
+    @Test
+    public void retiresTasksAboveTarget() throws Exception {
+        when(sweepIteration.call()).thenReturn(SUCCESS_MEDIUM);
+        AtomicInteger targetTasks = new AtomicInteger(4);
+        ScalingSweepTaskScheduler scalingScheduler = createScheduler(delay, targetTasks);
+        scalingScheduler.start(4);
+
+        runSweepIterations(1);
+        targetTasks.set(1);
+        runSweepIterations(1);
+        assertThat(scalingScheduler.getRunningTasks()).isEqualTo(1);
+        runSweepIterations(5);
+        verify(sweepIteration, times(4 + 4 + 5)).call();
+    }
+
+    @Test
+    public void keepsRunningTasksIfTargetCannotBeComputed() throws Exception {
+        when(sweepIteration.call()).thenReturn(SUCCESS_MEDIUM);
+        ScalingSweepTaskScheduler scalingScheduler = new ScalingSweepTaskScheduler(
+                deterministicScheduler, delay, sweepIteration, schedulerEnabled::get, () -> {
+                    throw new IllegalStateException("Could not estimate backlog");
+                });
+        scalingScheduler.start(2);
+
+        runSweepIterations(5);
+        assertThat(scalingScheduler.getRunningTasks()).isEqualTo(2);
+        verify(sweepIteration, times(5 * 2)).call();
+    }
+
+    private ScalingSweepTaskScheduler createScheduler(SweepDelay sweepDelay, AtomicInteger targetTasks) {
+        return new ScalingSweepTaskScheduler(
+                deterministicScheduler, sweepDelay, sweepIteration, schedulerEnabled::get, targetTasks::get);
+    }
+
     private ScalingSweepTaskScheduler createScheduler(SweepDelay sweepDelay) {
         return new ScalingSweepTaskScheduler(deterministicScheduler, sweepDelay, sweepIteration, schedulerEnabled::get);
     }
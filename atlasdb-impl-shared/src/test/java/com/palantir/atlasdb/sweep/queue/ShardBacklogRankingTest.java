@@ -0,0 +1,79 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.sweep.queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableMap;
+import com.palantir.atlasdb.table.description.SweepStrategy.SweeperStrategy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class ShardBacklogRankingTest {
+    private static final long SWEEP_TS = 1_000_000L;
+    private static final Duration REFRESH_INTERVAL = Duration.ofHours(1);
+
+    private final AtomicInteger estimates = new AtomicInteger();
+
+    @Test
+    public void ranksShardsBySweepablePartitionsThenTimestampsBehind() {
+        ShardBacklogRanking ranking = createRanking(
+                ImmutableMap.of(
+                        0, backlog(0, 100, 1),
+                        1, backlog(1, 10, 5),
+                        2, backlog(2, 500, 1),
+                        3, backlog(3, 0, 0))));
+
+        assertThat(ranking.shardsWithBacklog()).containsExactly(1, 2, 0);
+    }
+
+    @Test
+    public void shardsWithoutSweepablePartitionsAreNotRanked() {
+        ShardBacklogRanking ranking = createRanking(ImmutableMap.of(0, backlog(0, 100, 0), 1, backlog(1, 0, 0)));
+
+        assertThat(ranking.shardsWithBacklog()).isEmpty();
+    }
+
+    @Test
+    public void doesNotRecomputeRankingWithinRefreshInterval() {
+        ShardBacklogRanking ranking = createRanking(ImmutableMap.of(0, backlog(0, 1, 1), 1, backlog(1, 1, 1)));
+
+        ranking.shardsWithBacklog();
+        ranking.shardsWithBacklog();
+
+        assertThat(estimates).hasValue(2);
+    }
+
+    private ShardBacklogRanking createRanking(Map<Integer, ShardBacklog> backlogs) {
+        return new ShardBacklogRanking(
+                SweeperStrategy.CONSERVATIVE,
+                backlogs::size,
+                () -> SWEEP_TS,
+                (shardAndStrategy, sweepTs) -> {
+                    assertThat(sweepTs).isEqualTo(SWEEP_TS);
+                    estimates.incrementAndGet();
+                    return backlogs.get(shardAndStrategy.shard());
+                },
+                REFRESH_INTERVAL);
+    }
+
+    private static ShardBacklog backlog(int shard, long timestampsBehind, long sweepablePartitions) {
+        return ShardBacklog.of(ShardAndStrategy.conservative(shard), timestampsBehind, sweepablePartitions);
+    }
+}
@@ -24,28 +24,40 @@ import static com.palantir.atlasdb.sweep.queue.SweepQueueUtils.tsPartitionFine;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Streams;
 import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.ImmutableTargetedSweepMetadata;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.keyvalue.api.WriteRangeSummary;
+import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.schema.generated.SweepableCellsTable.SweepableCellsRow;
 import com.palantir.atlasdb.schema.generated.TargetedSweepTableFactory;
 import com.palantir.atlasdb.sweep.metrics.SweepMetricsAssert;
 import com.palantir.atlasdb.sweep.metrics.TargetedSweepMetrics;
+import com.palantir.common.base.ClosableIterator;
 import com.palantir.lock.v2.TimelockService;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
@@ -57,6 +69,7 @@ public class SweepableCellsTest extends AbstractSweepQueueTest {
     private static final long SMALL_SWEEP_TS = TS + 200L;
     private static final TableReference SWEEP_QUEUE_TABLE =
             TargetedSweepTableFactory.of().getSweepableCellsTable(null).getTableRef();
+    private static final byte[] COLUMN = PtBytes.toBytes(0L);
 
     private TargetedSweepMetrics metrics;
     private SweepableCells sweepableCells;
@@ -422,6 +435,197 @@ public class SweepableCellsTest extends AbstractSweepQueueTest {
                 .isEqualTo(expectedDedicatedRows);
     }
 
+    @Test
+    public void denseWritesAreReadFromSingleRangeSummary() {
+        useSingleShard();
+        SweepableCells summarisingCells = createSummarisingSweepableCells();
+        putTimestampIntoTransactionTable(TS + 1, TS + 1);
+        WriteInfo tombstone = WriteInfo.tombstone(TABLE_CONS, Cell.create(PtBytes.toBytes(0L), COLUMN), TS + 1);
+        spiedKvs.put(TABLE_CONS, ImmutableMap.of(tombstone.cell(), PtBytes.EMPTY_BYTE_ARRAY), TS + 1);
+        List<WriteInfo> writes = new ArrayList<>(denseWritesWithValues(TS + 1));
+        writes.add(tombstone);
+        summarisingCells.enqueue(writes);
+
+        assertThat(numberOfSweepQueueEntries()).isEqualTo(3);
+        SweepBatch conservativeBatch =
+                summarisingCells.getBatchForPartition(conservative(0), TS_FINE_PARTITION, TS, SMALL_SWEEP_TS);
+        assertThat(conservativeBatch.writes()).hasSameElementsAs(writes);
+    }
+
+    @Test
+    public void rangeSummaryOnlyIncludesCellsWithValueAtStartTimestamp() {
+        useSingleShard();
+        SweepableCells summarisingCells = createSummarisingSweepableCells();
+        putTimestampIntoTransactionTable(TS + 1, TS + 1);
+        List<WriteInfo> writes = denseWritesWithValues(TS + 1);
+        Cell overwrittenLater = writes.get(0).cell();
+        Cell writtenEarlier = Cell.create(EncodingUtils.add(PtBytes.toBytes(1L), new byte[] {0}), COLUMN);
+        spiedKvs.put(TABLE_CONS, ImmutableMap.of(overwrittenLater, new byte[] {2}), TS + 2);
+        spiedKvs.put(TABLE_CONS, ImmutableMap.of(writtenEarlier, new byte[] {2}), TS - 10);
+        summarisingCells.enqueue(writes);
+
+        SweepBatch conservativeBatch =
+                summarisingCells.getBatchForPartition(conservative(0), TS_FINE_PARTITION, TS, SMALL_SWEEP_TS);
+        assertThat(conservativeBatch.writes()).hasSameElementsAs(writes);
+    }
+
+    @Test
+    public void summarisedWritesOfAbortedTransactionsAreDeleted() {
+        useSingleShard();
+        SweepableCells summarisingCells = createSummarisingSweepableCells();
+        List<WriteInfo> writes = denseWritesWithValues(TS + 1);
+        summarisingCells.enqueue(writes);
+
+        SweepBatch conservativeBatch =
+                summarisingCells.getBatchForPartition(conservative(0), TS_FINE_PARTITION, TS, SMALL_SWEEP_TS);
+        assertThat(conservativeBatch.writes()).isEmpty();
+        assertDeletedNumber(TABLE_CONS, writes.size());
+    }
+
+    @Test
+    public void writesFillingTooFewOfTheirRowsAndColumnsAreNotSummarised() {
+        useSingleShard();
+        SweepableCells summarisingCells = createSummarisingSweepableCells();
+        putTimestampIntoTransactionTable(TS + 1, TS + 1);
+        List<WriteInfo> writes = new ArrayList<>();
+        for (int index = 0; index < SweepQueueUtils.MIN_CELLS_FOR_RANGE_SUMMARY; index++) {
+            Cell cell = Cell.create(PtBytes.toBytes((long) index), PtBytes.toBytes((long) index % 3));
+            writes.add(WriteInfo.write(TABLE_CONS, cell, TS + 1));
+        }
+        long entriesBefore = numberOfSweepQueueEntries();
+        summarisingCells.enqueue(writes);
+
+        assertThat(numberOfSweepQueueEntries() - entriesBefore).isGreaterThan(writes.size());
+        SweepBatch conservativeBatch =
+                summarisingCells.getBatchForPartition(conservative(0), TS_FINE_PARTITION, TS, SMALL_SWEEP_TS);
+        assertThat(conservativeBatch.writes()).hasSameElementsAs(writes);
+    }
+
+    @Test
+    public void writesAreSplitIntoRangeSummariesOfAtMostMaxCells() {
+        List<WriteInfo> writes = new ArrayList<>();
+        for (long row = SweepQueueUtils.MAX_CELLS_IN_RANGE_SUMMARY; row >= 0; row--) {
+            writes.add(WriteInfo.write(TABLE_CONS, Cell.create(PtBytes.toBytes(row), COLUMN), TS + 1));
+        }
+
+        List<WriteRangeSummary> summaries = SweepableCells.summarise(TABLE_CONS, writes);
+        assertThat(summaries).hasSize(2);
+        assertThat(summaries.get(0).numberOfCells()).isEqualTo(SweepQueueUtils.MAX_CELLS_IN_RANGE_SUMMARY);
+        assertThat(summaries.get(0).rows())
+                .hasSize(SweepQueueUtils.MAX_CELLS_IN_RANGE_SUMMARY)
+                .first()
+                .isEqualTo(PtBytes.toBytes(0L));
+        assertThat(summaries.get(1).numberOfCells()).isEqualTo(1);
+        assertThat(summaries.get(1).rows())
+                .containsExactly(PtBytes.toBytes((long) SweepQueueUtils.MAX_CELLS_IN_RANGE_SUMMARY));
+    }
+
+    @Test
+    public void writesToOneRowAreNotSplitAcrossRangeSummaries() {
+        List<WriteInfo> writes = new ArrayList<>();
+        for (long row = 0; row < SweepQueueUtils.MAX_CELLS_IN_RANGE_SUMMARY / 2 + 1; row++) {
+            for (long column = 0; column < 2; column++) {
+                Cell cell = Cell.create(PtBytes.toBytes(row), PtBytes.toBytes(column));
+                writes.add(WriteInfo.write(TABLE_CONS, cell, TS + 1));
+            }
+        }
+
+        List<WriteRangeSummary> summaries = SweepableCells.summarise(TABLE_CONS, writes);
+        assertThat(summaries).hasSize(2);
+        assertThat(summaries.get(0).numberOfCells()).isEqualTo(SweepQueueUtils.MAX_CELLS_IN_RANGE_SUMMARY);
+        assertThat(summaries.get(1).rows())
+                .containsExactly(PtBytes.toBytes((long) SweepQueueUtils.MAX_CELLS_IN_RANGE_SUMMARY / 2));
+        assertThat(summaries.get(1).numberOfCells()).isEqualTo(2);
+    }
+
+    @Test
+    public void expandingRangeSummaryOfSparseRowsOnlyReadsTheRowsWritten() {
+        useSingleShard();
+        SweepableCells summarisingCells = createSummarisingSweepableCells();
+        putTimestampIntoTransactionTable(TS + 1, TS + 1);
+        Random random = new Random(0);
+        Map<Cell, byte[]> otherValues = new HashMap<>();
+        for (int index = 0; index < 10 * SweepQueueUtils.MIN_CELLS_FOR_RANGE_SUMMARY; index++) {
+            otherValues.put(Cell.create(randomRow(random), COLUMN), new byte[] {1});
+        }
+        spiedKvs.put(TABLE_CONS, otherValues, TS - 10);
+        List<WriteInfo> writes = new ArrayList<>();
+        Map<Cell, byte[]> values = new HashMap<>();
+        for (int index = 0; index < SweepQueueUtils.MIN_CELLS_FOR_RANGE_SUMMARY; index++) {
+            Cell cell = Cell.create(randomRow(random), COLUMN);
+            writes.add(WriteInfo.write(TABLE_CONS, cell, TS + 1));
+            values.put(cell, new byte[] {1});
+        }
+        spiedKvs.put(TABLE_CONS, values, TS + 1);
+        summarisingCells.enqueue(writes);
+
+        SweepBatch conservativeBatch =
+                summarisingCells.getBatchForPartition(conservative(0), TS_FINE_PARTITION, TS, SMALL_SWEEP_TS);
+        assertThat(conservativeBatch.writes()).hasSameElementsAs(writes);
+
+        ArgumentCaptor<Iterable<byte[]>> rowsRead = ArgumentCaptor.forClass(Iterable.class);
+        verify(spiedKvs).getRows(eq(TABLE_CONS), rowsRead.capture(), any(), eq(TS + 2));
+        assertThat(rowsRead.getValue()).hasSize(writes.size());
+        verify(spiedKvs, never()).getRange(eq(TABLE_CONS), any(), anyLong());
+    }
+
+    @Test
+    public void rangeSummaryOfLaterTimestampIsLeftForNextBatchIfItCouldOverfillBatch() {
+        useSingleShard();
+        SweepableCells summarisingCells = createSummarisingSweepableCells();
+        putTimestampIntoTransactionTable(TS + 1, TS + 1);
+        putTimestampIntoTransactionTable(TS + 2, TS + 2);
+        List<WriteInfo> unsummarisedWrites = new ArrayList<>();
+        for (long column = 0; column < SWEEP_BATCH_SIZE - SweepQueueUtils.MIN_CELLS_FOR_RANGE_SUMMARY / 2; column++) {
+            Cell cell = Cell.create(PtBytes.toBytes(0L), PtBytes.toBytes(column));
+            unsummarisedWrites.add(WriteInfo.write(TABLE_CONS, cell, TS + 1));
+        }
+        summarisingCells.enqueue(unsummarisedWrites);
+        List<WriteInfo> summarisedWrites = denseWritesWithValues(TS + 2);
+        summarisingCells.enqueue(summarisedWrites);
+
+        SweepBatch firstBatch =
+                summarisingCells.getBatchForPartition(conservative(0), TS_FINE_PARTITION, TS, SMALL_SWEEP_TS);
+        assertThat(firstBatch.writes()).hasSameElementsAs(unsummarisedWrites);
+        assertThat(firstBatch.lastSweptTimestamp()).isEqualTo(TS + 1);
+
+        SweepBatch secondBatch = summarisingCells.getBatchForPartition(
+                conservative(0), TS_FINE_PARTITION, firstBatch.lastSweptTimestamp(), SMALL_SWEEP_TS);
+        assertThat(secondBatch.writes()).hasSameElementsAs(summarisedWrites);
+    }
+
+    private SweepableCells createSummarisingSweepableCells() {
+        return new SweepableCells(
+                spiedKvs, new WriteInfoPartitioner(spiedKvs, () -> numShards, true), metrics, txnService, true);
+    }
+
+    private List<WriteInfo> denseWritesWithValues(long timestamp) {
+        List<WriteInfo> writes = new ArrayList<>();
+        Map<Cell, byte[]> values = new HashMap<>();
+        for (long row = 1; row <= SweepQueueUtils.MIN_CELLS_FOR_RANGE_SUMMARY; row++) {
+            Cell cell = Cell.create(PtBytes.toBytes(row), COLUMN);
+            writes.add(WriteInfo.write(TABLE_CONS, cell, timestamp));
+            values.put(cell, new byte[] {1});
+        }
+        spiedKvs.put(TABLE_CONS, values, timestamp);
+        return writes;
+    }
+
+    private static byte[] randomRow(Random random) {
+        byte[] row = new byte[16];
+        random.nextBytes(row);
+        return row;
+    }
+
+    private long numberOfSweepQueueEntries() {
+        try (ClosableIterator<RowResult<Value>> rows =
+                spiedKvs.getRange(SWEEP_QUEUE_TABLE, RangeRequest.all(), Long.MAX_VALUE)) {
+            return Streams.stream(rows)
+                    .mapToLong(rowResult -> rowResult.getColumns().size())
+                    .sum();
+        }
+    }
+
     private void verifyRowsDeletedFromSweepQueue(List<SweepableCellsRow> rows) {
         ArgumentCaptor<List<byte[]>> captor = ArgumentCaptor.forClass(List.class);
         verify(spiedKvs, atLeast(0)).deleteRows(eq(SWEEP_QUEUE_TABLE), captor.capture());
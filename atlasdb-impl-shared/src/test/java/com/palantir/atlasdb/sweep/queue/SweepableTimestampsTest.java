@@ -189,6 +189,24 @@ public class SweepableTimestampsTest extends AbstractSweepQueueTest {
         assertThat(readConservative(shardCons)).contains(tsPartitionFine(2L * TS_FINE_GRANULARITY + 1000L));
     }
 
+    @Test
+    public void countsSweepablePartitionsWithinCoarsePartitionLimit() {
+        for (long timestamp = 1000L; tsPartitionFine(timestamp) < 10L; timestamp += TS_FINE_GRANULARITY / 5) {
+            writeToDefaultCellCommitted(sweepableTimestamps, timestamp, TABLE_CONS);
+        }
+        long sweepTs = Sweeper.CONSERVATIVE.getSweepTimestamp(timestampsSupplier);
+
+        assertThat(sweepableTimestamps.countSweepablePartitions(conservative(shardCons), -1L, sweepTs, 1))
+                .isEqualTo(10L);
+        assertThat(sweepableTimestamps.countSweepablePartitions(conservative(shardCons), -1L, sweepTs, 2))
+                .isEqualTo(11L);
+        assertThat(sweepableTimestamps.countSweepablePartitions(
+                        conservative(shardCons), 2L * TS_FINE_GRANULARITY - 1, sweepTs, 1))
+                .isEqualTo(8L);
+        assertThat(sweepableTimestamps.countSweepablePartitions(conservative(shardCons + 1), -1L, sweepTs, 2))
+                .isZero();
+    }
+
     private Optional<Long> readConservative(int shardNumber) {
         return sweepableTimestamps.nextSweepableTimestampPartition(
                 conservative(shardNumber),
@@ -529,6 +529,45 @@ public class TargetedSweeperTest extends AbstractSweepQueueTest {
                 TABLE_CONS, LOW_TS + minTsForCoarsePartition(permittedPartitions.get(3 * readBatchSize)));
     }
 
+    @Test
+    public void pipelinedSweepSweepsMultipleBatchesInOneIteration() {
+        setSweepTimestamp(Long.MAX_VALUE);
+        List<Integer> permittedPartitions = new ArrayList<>();
+        permittedPartitions.add(0);
+        enqueueWriteCommitted(TABLE_CONS, LOW_TS);
+
+        for (int index = 0; index <= 3 * readBatchSize; index++) {
+            int partitionToUse = 3 * index + 1;
+            enqueueWriteCommitted(TABLE_CONS, minTsForCoarsePartition(partitionToUse) + LOW_TS);
+            permittedPartitions.add(partitionToUse);
+        }
+
+        sweepQueue.sweepNextBatches(
+                ShardAndStrategy.conservative(CONS_SHARD),
+                Sweeper.CONSERVATIVE.getSweepTimestamp(timestampsSupplier),
+                3);
+
+        assertReadAtTimestampReturnsSentinel(
+                TABLE_CONS, LOW_TS + minTsForCoarsePartition(permittedPartitions.get(3 * readBatchSize - 1)));
+        assertTestValueEnqueuedAtGivenTimestampStillPresent(
+                TABLE_CONS, LOW_TS + minTsForCoarsePartition(permittedPartitions.get(3 * readBatchSize)));
+        assertThat(metricsManager).hasTombstonesPutConservativeEqualTo(3);
+        assertThat(metricsManager).containsEntriesReadInBatchConservative(readBatchSize, readBatchSize, readBatchSize);
+    }
+
+    @Test
+    public void pipelinedSweepStopsAtSweepTimestamp() {
+        enqueueWriteCommitted(TABLE_CONS, LOW_TS);
+        enqueueWriteCommitted(TABLE_CONS, LOW_TS2);
+
+        sweepQueue.sweepNextBatches(ShardAndStrategy.conservative(CONS_SHARD), getSweepTsCons(), 10);
+
+        assertReadAtTimestampReturnsSentinel(TABLE_CONS, LOW_TS + 1);
+        assertTestValueEnqueuedAtGivenTimestampStillPresent(TABLE_CONS, LOW_TS2);
+        assertProgressUpdatedToTimestamp(getSweepTsCons() - 1L);
+        assertThat(metricsManager).hasTombstonesPutConservativeEqualTo(1);
+    }
+
     @Test
     public void sweepProgressesToJustBeforeSweepTsWhenNothingToSweep() {
         sweepNextBatch(ShardAndStrategy.conservative(CONS_SHARD));
@@ -151,6 +151,41 @@ public class WriteInfoPartitionerTest {
         assertThat(Iterables.getOnlyElement(partitions.values())).containsExactlyElementsOf(writes);
     }
 
+    @Test
+    public void writesToSummariseAreAssignedToTheSameShard() {
+        WriteInfoPartitioner summarisingPartitioner = new WriteInfoPartitioner(mockKvs, () -> numShards, true);
+        List<WriteInfo> writes = IntStream.range(0, SweepQueueUtils.MIN_CELLS_FOR_RANGE_SUMMARY)
+                .mapToObj(index -> getWriteInfo(CONSERVATIVE, index, 0, 100L))
+                .collect(Collectors.toList());
+
+        Map<PartitionInfo, List<WriteInfo>> partitions =
+                summarisingPartitioner.partitionWritesByShardStrategyTimestamp(writes);
+        assertThat(Iterables.getOnlyElement(partitions.values())).containsExactlyElementsOf(writes);
+        assertThat(partitioner.partitionWritesByShardStrategyTimestamp(writes)).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    public void writesTooFewToSummariseAreAssignedToShardsByCell() {
+        WriteInfoPartitioner summarisingPartitioner = new WriteInfoPartitioner(mockKvs, () -> numShards, true);
+        List<WriteInfo> writes = IntStream.range(0, SweepQueueUtils.MIN_CELLS_FOR_RANGE_SUMMARY - 1)
+                .mapToObj(index -> getWriteInfo(CONSERVATIVE, index, 0, 100L))
+                .collect(Collectors.toList());
+
+        assertThat(summarisingPartitioner.partitionWritesByShardStrategyTimestamp(writes))
+                .isEqualTo(partitioner.partitionWritesByShardStrategyTimestamp(writes));
+    }
+
+    @Test
+    public void writesInTooManyColumnsToSummariseAreAssignedToShardsByCell() {
+        WriteInfoPartitioner summarisingPartitioner = new WriteInfoPartitioner(mockKvs, () -> numShards, true);
+        List<WriteInfo> writes = IntStream.range(0, SweepQueueUtils.MIN_CELLS_FOR_RANGE_SUMMARY)
+                .mapToObj(index -> getWriteInfo(CONSERVATIVE, index % 10, index, 100L))
+                .collect(Collectors.toList());
+
+        assertThat(summarisingPartitioner.partitionWritesByShardStrategyTimestamp(writes))
+                .isEqualTo(partitioner.partitionWritesByShardStrategyTimestamp(writes));
+    }
+
     @Test
     public void changingNumberOfPartitionsIsReflectedInPartitionInfo() {
         WriteInfo write = getWriteInfo(CONSERVATIVE, 1, 1, 100L);
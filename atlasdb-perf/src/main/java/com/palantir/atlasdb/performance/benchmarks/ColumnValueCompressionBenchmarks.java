@@ -0,0 +1,196 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.palantir.atlasdb.compress.CompressionDictionary;
+import com.palantir.atlasdb.compress.CompressionDictionaryTrainer;
+import com.palantir.atlasdb.compress.CompressionUtils;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.CachePriority;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.LogSafety;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
+import com.palantir.atlasdb.table.description.TableMetadata;
+import com.palantir.atlasdb.table.description.ValueType;
+import com.palantir.atlasdb.transaction.api.ConflictHandler;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares Snappy with deflate, with and without a trained dictionary, for compressing small column values that share
+ * most of their structure: the serialized table metadata kept in the metadata table, and JSON documents. Dictionaries
+ * are trained on one half of the values and the benchmarks compress or decompress the other half. Alongside the
+ * encode and decode times, each benchmark reports the average compressed size of a value.
+ */
+@Measurement(iterations = 5, time = 2)
+@Warmup(iterations = 3, time = 1)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ColumnValueCompressionBenchmarks {
+    private static final int VALUES = 1000;
+
+    @Param({"SNAPPY", "DEFLATE", "DEFLATE_WITH_DICTIONARY"})
+    public Codec codec;
+
+    @Param({"TABLE_METADATA", "JSON_DOCUMENTS"})
+    public Values values;
+
+    private List<CompressionDictionary> dictionaries;
+    private List<byte[]> uncompressed;
+    private List<byte[]> compressed;
+    private long bytesPerValue;
+    private long uncompressedBytesPerValue;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CompressedSize {
+        public long bytesPerValue;
+        public long uncompressedBytesPerValue;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<byte[]> allValues = values.generate(new Random(0));
+        List<byte[]> trainingValues = allValues.subList(0, VALUES / 2);
+        uncompressed = allValues.subList(VALUES / 2, VALUES);
+        dictionaries = codec == Codec.DEFLATE_WITH_DICTIONARY
+                ? ImmutableList.of(CompressionDictionaryTrainer.train(1, trainingValues))
+                : ImmutableList.of();
+
+        compressed = new ArrayList<>();
+        long compressedBytes = 0;
+        long uncompressedBytes = 0;
+        for (byte[] value : uncompressed) {
+            byte[] compressedValue = CompressionUtils.compress(value, codec.compression, dictionaries);
+            compressed.add(compressedValue);
+            compressedBytes += compressedValue.length;
+            uncompressedBytes += value.length;
+        }
+        bytesPerValue = compressedBytes / uncompressed.size();
+        uncompressedBytesPerValue = uncompressedBytes / uncompressed.size();
+    }
+
+    @Benchmark
+    public long encode(CompressedSize compressedSize) {
+        recordSizes(compressedSize);
+        long totalLength = 0;
+        for (byte[] value : uncompressed) {
+            totalLength += CompressionUtils.compress(value, codec.compression, dictionaries).length;
+        }
+        return totalLength;
+    }
+
+    @Benchmark
+    public long decode(CompressedSize compressedSize) {
+        recordSizes(compressedSize);
+        long totalLength = 0;
+        for (byte[] value : compressed) {
+            totalLength += CompressionUtils.decompress(value, codec.compression, dictionaries).length;
+        }
+        return totalLength;
+    }
+
+    private void recordSizes(CompressedSize compressedSize) {
+        compressedSize.bytesPerValue = bytesPerValue;
+        compressedSize.uncompressedBytesPerValue = uncompressedBytesPerValue;
+    }
+
+    public enum Codec {
+        SNAPPY(Compression.SNAPPY),
+        DEFLATE(Compression.DEFLATE),
+        DEFLATE_WITH_DICTIONARY(Compression.DEFLATE);
+
+        private final Compression compression;
+
+        Codec(Compression compression) {
+            this.compression = compression;
+        }
+    }
+
+    public enum Values {
+        TABLE_METADATA(Values::tableMetadata),
+        JSON_DOCUMENTS(Values::jsonDocument);
+
+        private static final String[] NAMES = {"id", "user", "timestamp", "name", "value", "owner", "status", "group"};
+        private static final ValueType[] VALUE_TYPES = {
+            ValueType.VAR_LONG, ValueType.FIXED_LONG, ValueType.STRING, ValueType.BLOB, ValueType.UUID
+        };
+        private static final String[] STATUSES = {"ACTIVE", "SUSPENDED", "DELETED"};
+
+        private final Function<Random, byte[]> generator;
+
+        Values(Function<Random, byte[]> generator) {
+            this.generator = generator;
+        }
+
+        List<byte[]> generate(Random random) {
+            List<byte[]> generated = new ArrayList<>();
+            for (int i = 0; i < VALUES; i++) {
+                generated.add(generator.apply(random));
+            }
+            return generated;
+        }
+
+        private static byte[] tableMetadata(Random random) {
+            TableMetadata.Builder builder = TableMetadata.builder();
+            builder.singleRowComponent(pick(random, NAMES), pick(random, VALUE_TYPES));
+            if (random.nextBoolean()) {
+                builder.singleNamedColumn(
+                        pick(random, NAMES).substring(0, 1), pick(random, NAMES), pick(random, VALUE_TYPES));
+            } else {
+                builder.singleDynamicColumn(pick(random, NAMES), pick(random, VALUE_TYPES), pick(random, VALUE_TYPES));
+            }
+            return builder.conflictHandler(pick(random, ConflictHandler.values()))
+                    .cachePriority(pick(random, CachePriority.values()))
+                    .rangeScanAllowed(random.nextBoolean())
+                    .nameLogSafety(pick(random, LogSafety.values()))
+                    .build()
+                    .persistToBytes();
+        }
+
+        private static byte[] jsonDocument(Random random) {
+            String document = "{\"userId\":" + random.nextInt(1_000_000)
+                    + ",\"displayName\":\"user" + random.nextInt(10_000)
+                    + "\",\"accountStatus\":\"" + pick(random, STATUSES)
+                    + "\",\"lastLoginTimestamp\":" + (1_700_000_000_000L + random.nextInt(1_000_000_000))
+                    + ",\"preferences\":{\"emailNotifications\":" + random.nextBoolean()
+                    + ",\"timeZone\":\"Europe/London\"}}";
+            return document.getBytes(StandardCharsets.UTF_8);
+        }
+
+        private static <T> T pick(Random random, T[] options) {
+            return options[random.nextInt(options.length)];
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.performance.benchmarks;
+
+import com.palantir.atlasdb.timelock.lock.ImmutableTimestampTracker;
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Simulates a namespace with a high transaction start rate: each transaction thread locks the immutable timestamp for
+ * a freshly issued start timestamp and unlocks the oldest of its open transactions, while a single thread polls for
+ * the immutable timestamp as sweep and the immutable timestamp cache would.
+ */
+@Measurement(iterations = 10, time = 2)
+@Warmup(iterations = 6, time = 1)
+@Fork(value = 1)
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ImmutableTimestampTrackerBenchmarks {
+    private static final int OPEN_TRANSACTIONS_PER_THREAD = 64;
+
+    private final ImmutableTimestampTracker tracker = new ImmutableTimestampTracker();
+    private final AtomicLong timestamps = new AtomicLong();
+
+    @State(Scope.Thread)
+    public static class OpenTransactions {
+        private final Queue<OpenTransaction> transactions = new ArrayDeque<>(OPEN_TRANSACTIONS_PER_THREAD + 1);
+    }
+
+    @Benchmark
+    @Group("transactions")
+    @GroupThreads(15)
+    public long startAndEndTransaction(OpenTransactions openTransactions) {
+        OpenTransaction started = new OpenTransaction(timestamps.incrementAndGet(), UUID.randomUUID());
+        tracker.lock(started.timestamp, started.requestId);
+        openTransactions.transactions.add(started);
+
+        if (openTransactions.transactions.size() > OPEN_TRANSACTIONS_PER_THREAD) {
+            OpenTransaction ended = openTransactions.transactions.remove();
+            tracker.unlock(ended.timestamp, ended.requestId);
+        }
+        return started.timestamp;
+    }
+
+    @Benchmark
+    @Group("transactions")
+    @GroupThreads(1)
+    public Optional<Long> getImmutableTimestamp() {
+        return tracker.getImmutableTimestamp();
+    }
+
+    private static final class OpenTransaction {
+        private final long timestamp;
+        private final UUID requestId;
+
+        private OpenTransaction(long timestamp, UUID requestId) {
+            this.timestamp = timestamp;
+            this.requestId = requestId;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.performance.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.primitives.Bytes;
+import com.google.common.primitives.Longs;
+import com.palantir.lock.AtlasRowLockDescriptor;
+import com.palantir.lock.LockDescriptor;
+import com.palantir.lock.v2.LockToken;
+import com.palantir.lock.watch.CompactLockWatchStateUpdates;
+import com.palantir.lock.watch.LockEvent;
+import com.palantir.lock.watch.LockWatchEvent;
+import com.palantir.lock.watch.LockWatchStateUpdate;
+import com.palantir.lock.watch.UnlockEvent;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the JSON and compact encodings of lock watch state updates for a client watching a hot table, whose row
+ * keys share a long prefix. Alongside the encode and decode times, each benchmark reports the encoded size of the
+ * update per event.
+ */
+@Measurement(iterations = 5, time = 2)
+@Warmup(iterations = 3, time = 1)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LockWatchUpdateEncodingBenchmarks {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String TABLE = "benchmark.hot_table";
+    private static final byte[] ROW_PREFIX = new byte[24];
+    private static final int EVENTS_PER_UPDATE = 100;
+
+    @Param({"JSON", "COMPACT"})
+    public Encoding encoding;
+
+    @Param({"1", "64"})
+    public int descriptorsPerEvent;
+
+    private LockWatchStateUpdate update;
+    private byte[] encoded;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+        public long bytesPerEvent;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        List<LockWatchEvent> events = IntStream.range(0, EVENTS_PER_UPDATE)
+                .mapToObj(this::createEvent)
+                .collect(Collectors.toList());
+        update = LockWatchStateUpdate.success(UUID.randomUUID(), EVENTS_PER_UPDATE - 1, events);
+        encoded = encoding.encode(update);
+    }
+
+    @Benchmark
+    public byte[] encode(EncodedSize encodedSize) throws IOException {
+        encodedSize.bytesPerEvent = encoded.length / EVENTS_PER_UPDATE;
+        return encoding.encode(update);
+    }
+
+    @Benchmark
+    public LockWatchStateUpdate decode(EncodedSize encodedSize) throws IOException {
+        encodedSize.bytesPerEvent = encoded.length / EVENTS_PER_UPDATE;
+        return encoding.decode(encoded);
+    }
+
+    private LockWatchEvent createEvent(int sequence) {
+        Set<LockDescriptor> descriptors = LongStream.range(0, descriptorsPerEvent)
+                .map(index -> (long) sequence * descriptorsPerEvent + index)
+                .mapToObj(row -> AtlasRowLockDescriptor.of(TABLE, Bytes.concat(ROW_PREFIX, Longs.toByteArray(row))))
+                .collect(Collectors.toSet());
+        return sequence % 2 == 0
+                ? LockEvent.builder(descriptors, LockToken.of(UUID.randomUUID())).build(sequence)
+                : UnlockEvent.builder(descriptors).build(sequence);
+    }
+
+    public enum Encoding {
+        JSON {
+            @Override
+            byte[] encode(LockWatchStateUpdate update) throws IOException {
+                return OBJECT_MAPPER.writeValueAsBytes(update);
+            }
+
+            @Override
+            LockWatchStateUpdate decode(byte[] bytes) throws IOException {
+                return OBJECT_MAPPER.readValue(bytes, LockWatchStateUpdate.class);
+            }
+        },
+        COMPACT {
+            @Override
+            byte[] encode(LockWatchStateUpdate update) {
+                return CompactLockWatchStateUpdates.encode(update);
+            }
+
+            @Override
+            LockWatchStateUpdate decode(byte[] bytes) {
+                return CompactLockWatchStateUpdates.decode(bytes);
+            }
+        };
+
+        abstract byte[] encode(LockWatchStateUpdate update) throws IOException;
+
+        abstract LockWatchStateUpdate decode(byte[] bytes) throws IOException;
+    }
+}
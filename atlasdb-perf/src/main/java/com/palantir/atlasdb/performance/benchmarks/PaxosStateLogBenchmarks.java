@@ -0,0 +1,137 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.performance.benchmarks;
+
+import com.palantir.paxos.Client;
+import com.palantir.paxos.ImmutableNamespaceAndUseCase;
+import com.palantir.paxos.NamespaceAndUseCase;
+import com.palantir.paxos.PaxosStateLog;
+import com.palantir.paxos.PaxosValue;
+import com.palantir.paxos.SegmentedPaxosStateLog;
+import com.palantir.paxos.SqliteConnections;
+import com.palantir.paxos.SqlitePaxosStateLog;
+import com.zaxxer.hikari.HikariDataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the SQLite backed {@link PaxosStateLog} with the segmented one for the access patterns of a paxos acceptor
+ * or learner: appending successive rounds, reading recent rounds, and finding the greatest round.
+ */
+@Measurement(iterations = 5, time = 5)
+@Warmup(iterations = 3, time = 2)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PaxosStateLogBenchmarks {
+    private static final NamespaceAndUseCase NAMESPACE =
+            ImmutableNamespaceAndUseCase.of(Client.of("benchmark"), "useCase");
+    private static final int PREPOPULATED_ROUNDS = 10_000;
+    private static final byte[] VALUE = new byte[64];
+
+    @Param({"SQLITE", "SEGMENTED"})
+    public Storage storage;
+
+    private final AtomicLong nextSequence = new AtomicLong();
+    private Path directory;
+    private PaxosStateLog<PaxosValue> stateLog;
+    private AutoCloseable resources;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("paxos-state-log-benchmark");
+        switch (storage) {
+            case SQLITE:
+                HikariDataSource dataSource = SqliteConnections.getDefaultConfiguredPooledDataSource(directory);
+                stateLog = SqlitePaxosStateLog.create(NAMESPACE, dataSource);
+                resources = dataSource;
+                break;
+            case SEGMENTED:
+                SegmentedPaxosStateLog<PaxosValue> segmentedLog = SegmentedPaxosStateLog.create(directory, NAMESPACE);
+                stateLog = segmentedLog;
+                resources = segmentedLog;
+                break;
+            default:
+                throw new IllegalStateException("Unknown storage " + storage);
+        }
+        for (int i = 0; i < PREPOPULATED_ROUNDS; i++) {
+            writeNextRound();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        resources.close();
+        FileUtils.deleteDirectory(directory.toFile());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long writeRound() {
+        return writeNextRound();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long concurrentWriteRound() {
+        return writeNextRound();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public byte[] readRecentRound() throws IOException {
+        long greatest = nextSequence.get() - 1;
+        return stateLog.readRound(greatest - ThreadLocalRandom.current().nextInt(PREPOPULATED_ROUNDS));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long getGreatestLogEntry() {
+        return stateLog.getGreatestLogEntry();
+    }
+
+    private long writeNextRound() {
+        long seq = nextSequence.getAndIncrement();
+        stateLog.writeRound(seq, new PaxosValue("leader", seq, VALUE));
+        return seq;
+    }
+
+    public enum Storage {
+        SQLITE,
+        SEGMENTED
+    }
+}
@@ -20,8 +20,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.palantir.atlasdb.performance.benchmarks.table.StreamingTable;
 import com.palantir.atlasdb.performance.schema.generated.StreamTestTableFactory;
 import com.palantir.atlasdb.performance.schema.generated.ValueStreamStore;
+import com.palantir.atlasdb.stream.ImmutableStreamStorePersistenceConfiguration;
+import com.palantir.atlasdb.stream.StreamStorePersistenceConfiguration;
 import com.palantir.atlasdb.transaction.api.TransactionManager;
+import com.palantir.util.Pair;
+import com.palantir.util.crypto.Sha256Hash;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -36,6 +41,7 @@ import org.openjdk.jmh.annotations.Warmup;
 
 @State(Scope.Benchmark)
 public class StreamStoreBenchmarks {
+    private static final int CONCURRENT_BLOCK_WRITES = 8;
 
     @Benchmark
     @Threads(1)
@@ -88,4 +94,33 @@ public class StreamStoreBenchmarks {
             assertThat(firstBytes).isEqualTo(table.getVeryLargeStreamFirstBytes());
         }
     }
+
+    @Benchmark
+    @Threads(1)
+    @Warmup(time = 1, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 30, timeUnit = TimeUnit.SECONDS)
+    public long storeLargeStream(StreamingTable table) {
+        return storeLargeStream(table, 1);
+    }
+
+    @Benchmark
+    @Threads(1)
+    @Warmup(time = 1, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 30, timeUnit = TimeUnit.SECONDS)
+    public long storeLargeStreamWithConcurrentBlockWrites(StreamingTable table) {
+        return storeLargeStream(table, CONCURRENT_BLOCK_WRITES);
+    }
+
+    private static long storeLargeStream(StreamingTable table, int concurrentBlockWrites) {
+        StreamStorePersistenceConfiguration config = ImmutableStreamStorePersistenceConfiguration.builder()
+                .concurrentBlockWrites(concurrentBlockWrites)
+                .build();
+        ValueStreamStore store =
+                ValueStreamStore.of(table.getTransactionManager(), StreamTestTableFactory.of(), () -> config);
+        byte[] data = table.getLargeStreamData();
+        Pair<Long, Sha256Hash> idAndHash = store.storeStream(new ByteArrayInputStream(data));
+
+        assertThat(idAndHash.getRhSide()).isEqualTo(Sha256Hash.computeHash(data));
+        return idAndHash.getLhSide();
+    }
 }
@@ -0,0 +1,297 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.performance.benchmarks;
+
+import com.codahale.metrics.Timer;
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.atlasdb.AtlasDbMetricNames;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.impl.InMemoryKeyValueService;
+import com.palantir.atlasdb.sweep.metrics.SweepStage;
+import com.palantir.atlasdb.sweep.metrics.TargetedSweepStagesMetrics;
+import com.palantir.atlasdb.sweep.queue.ShardAndStrategy;
+import com.palantir.atlasdb.sweep.queue.SpecialTimestampsSupplier;
+import com.palantir.atlasdb.sweep.queue.TargetedSweepFollower;
+import com.palantir.atlasdb.sweep.queue.TargetedSweeper;
+import com.palantir.atlasdb.sweep.queue.WriteInfo;
+import com.palantir.atlasdb.sweep.queue.config.ImmutableTargetedSweepInstallConfig;
+import com.palantir.atlasdb.sweep.queue.config.ImmutableTargetedSweepRuntimeConfig;
+import com.palantir.atlasdb.sweep.queue.config.TargetedSweepInstallConfig;
+import com.palantir.atlasdb.sweep.queue.config.TargetedSweepRuntimeConfig;
+import com.palantir.atlasdb.table.description.SweepStrategy;
+import com.palantir.atlasdb.table.description.TableMetadata;
+import com.palantir.atlasdb.transaction.impl.TransactionTables;
+import com.palantir.atlasdb.transaction.service.TransactionService;
+import com.palantir.atlasdb.transaction.service.TransactionServices;
+import com.palantir.atlasdb.util.MetricsManager;
+import com.palantir.atlasdb.util.MetricsManagers;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.lock.LockClient;
+import com.palantir.lock.impl.LegacyTimelockService;
+import com.palantir.lock.impl.LockServiceImpl;
+import com.palantir.lock.v2.TimelockService;
+import com.palantir.timestamp.InMemoryTimestampService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how fast targeted sweep drains a backlog of conservatively swept writes from an in-memory key value
+ * service. Before each iteration, the sweep queue is filled with the writes of committed transactions following one of
+ * the {@link Workload}s; the benchmark then sweeps every shard, spread over the given number of threads, until the
+ * sweep queue is empty. Unlike the background sweep threads, the threads do not pause between iterations.
+ *
+ * Alongside the time taken to drain the backlog, each benchmark reports the cells and iterations of targeted sweep per
+ * second, and the mean time an iteration spends reading the sweep queue and deleting swept values.
+ */
+@Measurement(iterations = 10)
+@Warmup(iterations = 3)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TargetedSweepBenchmarks {
+    private static final int SHARDS = 16;
+    private static final byte[] VALUE = new byte[16];
+
+    @Param({"HOT_ROWS", "WIDE_ROWS", "MANY_TABLES", "LARGE_TRANSACTIONS"})
+    public Workload workload;
+
+    @Param({"1", "8"})
+    public int threads;
+
+    @Param({"1"})
+    public int pipelinedBatchesPerIteration;
+
+    private MetricsManager metricsManager;
+    private KeyValueService kvs;
+    private LockServiceImpl lockService;
+    private TargetedSweeper sweeper;
+    private ListeningExecutorService executor;
+    private long sweepTimestamp;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SweepCounters {
+        public long cellsPerSecond;
+        public long iterationsPerSecond;
+        public long readMicrosPerIteration;
+        public long deleteMicrosPerIteration;
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        metricsManager = MetricsManagers.createForTests();
+        kvs = new InMemoryKeyValueService(false);
+        TransactionTables.createTables(kvs);
+        InMemoryTimestampService timestampService = new InMemoryTimestampService();
+        lockService = LockServiceImpl.create();
+        TimelockService timelock =
+                new LegacyTimelockService(timestampService, lockService, LockClient.of("targeted-sweep-benchmark"));
+        TransactionService transactionService = TransactionServices.createV1TransactionService(kvs);
+
+        TargetedSweepRuntimeConfig runtime = ImmutableTargetedSweepRuntimeConfig.builder()
+                .shards(SHARDS)
+                .pipelinedBatchesPerIteration(pipelinedBatchesPerIteration)
+                .build();
+        TargetedSweepInstallConfig install = ImmutableTargetedSweepInstallConfig.builder()
+                .conservativeThreads(0)
+                .thoroughThreads(0)
+                .build();
+        sweeper = TargetedSweeper.createUninitialized(metricsManager, () -> runtime, install, ImmutableList.of());
+        sweeper.initializeWithoutRunning(
+                new SpecialTimestampsSupplier(() -> sweepTimestamp, () -> sweepTimestamp),
+                timelock,
+                kvs,
+                transactionService,
+                new TargetedSweepFollower(ImmutableList.of(), null));
+
+        workload.write(kvs, (tableRef, cells) -> {
+            long startTimestamp = timelock.getFreshTimestamp();
+            kvs.put(tableRef, values(cells), startTimestamp);
+            sweeper.enqueue(cells.stream()
+                    .map(cell -> WriteInfo.write(tableRef, cell, startTimestamp))
+                    .collect(Collectors.toList()));
+            transactionService.putUnlessExists(startTimestamp, timelock.getFreshTimestamp());
+        });
+        sweepTimestamp = timelock.getFreshTimestamp();
+        executor = MoreExecutors.listeningDecorator(PTExecutors.newFixedThreadPool(threads));
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        executor.shutdownNow();
+        sweeper.close();
+        lockService.close();
+        kvs.close();
+    }
+
+    @Benchmark
+    public long drainSweepQueue(SweepCounters counters) {
+        long startNanos = System.nanoTime();
+        List<ListenableFuture<long[]>> futures = IntStream.range(0, threads)
+                .mapToObj(thread -> executor.submit(() -> sweepShards(thread)))
+                .collect(Collectors.toList());
+        long cells = 0;
+        long iterations = 0;
+        for (long[] cellsAndIterations : Futures.getUnchecked(Futures.allAsList(futures))) {
+            cells += cellsAndIterations[0];
+            iterations += cellsAndIterations[1];
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        counters.cellsPerSecond = TimeUnit.SECONDS.toNanos(cells) / elapsedNanos;
+        counters.iterationsPerSecond = TimeUnit.SECONDS.toNanos(iterations) / elapsedNanos;
+        counters.readMicrosPerIteration = meanStageLatencyMicros(SweepStage.READ);
+        counters.deleteMicrosPerIteration = meanStageLatencyMicros(SweepStage.DELETE);
+        return cells;
+    }
+
+    /**
+     * Sweeps the shards assigned to the given thread in turn, until none of them has anything left to sweep.
+     *
+     * @return the number of cells swept and the number of iterations of targeted sweep
+     */
+    private long[] sweepShards(int thread) {
+        List<Integer> remainingShards = IntStream.range(0, SHARDS)
+                .filter(shard -> shard % threads == thread)
+                .boxed()
+                .collect(Collectors.toCollection(ArrayList::new));
+        long cells = 0;
+        long iterations = 0;
+        while (!remainingShards.isEmpty()) {
+            List<Integer> shardsToSweep = remainingShards;
+            remainingShards = new ArrayList<>();
+            for (int shard : shardsToSweep) {
+                long swept = sweeper.sweepNextBatches(
+                        ShardAndStrategy.conservative(shard), sweepTimestamp, pipelinedBatchesPerIteration);
+                iterations++;
+                cells += swept;
+                if (swept > 0) {
+                    remainingShards.add(shard);
+                }
+            }
+        }
+        return new long[] {cells, iterations};
+    }
+
+    private long meanStageLatencyMicros(SweepStage stage) {
+        Timer timer = TargetedSweepStagesMetrics.of(metricsManager.getTaggedRegistry())
+                .stageLatency()
+                .strategy(AtlasDbMetricNames.TAG_CONSERVATIVE)
+                .stage(stage.tag())
+                .build();
+        return TimeUnit.NANOSECONDS.toMicros((long) timer.getSnapshot().getMean());
+    }
+
+    @FunctionalInterface
+    interface TransactionWriter {
+        void write(TableReference tableRef, List<Cell> cells);
+    }
+
+    /**
+     * Patterns of writes used to fill the sweep queue, each of about 50,000 cells.
+     */
+    public enum Workload {
+        /**
+         * Many small transactions, all writing to the same few cells.
+         */
+        HOT_ROWS(1, 5_000, 1, 10, 1),
+        /**
+         * Transactions writing a single wide row each.
+         */
+        WIDE_ROWS(1, 500, 1, 100, Integer.MAX_VALUE),
+        /**
+         * Many small transactions, spread over many tables.
+         */
+        MANY_TABLES(100, 5_000, 1, 10, Integer.MAX_VALUE),
+        /**
+         * A few large transactions, whose writes are persisted in dedicated rows of the sweep queue.
+         */
+        LARGE_TRANSACTIONS(1, 2, 250, 100, Integer.MAX_VALUE);
+
+        private final int tables;
+        private final int transactions;
+        private final int rowsPerTransaction;
+        private final int columnsPerRow;
+        private final int distinctRows;
+
+        Workload(int tables, int transactions, int rowsPerTransaction, int columnsPerRow, int distinctRows) {
+            this.tables = tables;
+            this.transactions = transactions;
+            this.rowsPerTransaction = rowsPerTransaction;
+            this.columnsPerRow = columnsPerRow;
+            this.distinctRows = distinctRows;
+        }
+
+        void write(KeyValueService kvs, TransactionWriter writer) {
+            List<TableReference> tableRefs = IntStream.range(0, tables)
+                    .mapToObj(table -> TableReference.createFromFullyQualifiedName("benchmark.table" + table))
+                    .collect(Collectors.toList());
+            byte[] metadata = TableMetadata.builder()
+                    .sweepStrategy(SweepStrategy.CONSERVATIVE)
+                    .build()
+                    .persistToBytes();
+            kvs.createTables(tableRefs.stream().collect(Collectors.toMap(Function.identity(), unused -> metadata)));
+
+            for (int transaction = 0; transaction < transactions; transaction++) {
+                writer.write(tableRefs.get(transaction % tables), cellsForTransaction(transaction));
+            }
+        }
+
+        private List<Cell> cellsForTransaction(int transaction) {
+            List<Cell> cells = new ArrayList<>(rowsPerTransaction * columnsPerRow);
+            for (int row = 0; row < rowsPerTransaction; row++) {
+                byte[] rowName = Ints.toByteArray(
+                        (int) (((long) transaction * rowsPerTransaction + row) % distinctRows));
+                for (int column = 0; column < columnsPerRow; column++) {
+                    cells.add(Cell.create(rowName, Ints.toByteArray(column)));
+                }
+            }
+            return cells;
+        }
+    }
+
+    private static Map<Cell, byte[]> values(List<Cell> cells) {
+        return cells.stream().collect(Collectors.toMap(Function.identity(), unused -> VALUE));
+    }
+}
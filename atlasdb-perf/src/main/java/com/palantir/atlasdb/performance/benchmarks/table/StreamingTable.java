@@ -51,6 +51,7 @@ public class StreamingTable {
     private long smallStreamId;
     private long largeStreamId;
     private long veryLargeStreamId;
+    private byte[] largeStreamData;
     private byte[] largeStreamFirstBytes;
     private byte[] veryLargeStreamFirstBytes;
 
@@ -66,6 +67,10 @@ public class StreamingTable {
         return veryLargeStreamId;
     }
 
+    public byte[] getLargeStreamData() {
+        return largeStreamData;
+    }
+
     public byte[] getLargeStreamFirstBytes() {
         return largeStreamFirstBytes;
     }
@@ -111,6 +116,7 @@ public class StreamingTable {
         byte[] randomData = new byte[6_000_000];
         random.nextBytes(randomData);
         largeStreamId = storeStreamForRow(randomData, "row2");
+        largeStreamData = randomData;
         largeStreamFirstBytes = Arrays.copyOf(randomData, 16);
 
         // Longer streamable data
@@ -28,6 +28,7 @@ import com.google.common.collect.Maps;
 import com.google.common.primitives.Bytes;
 import com.google.protobuf.DynamicMessage;
 import com.google.protobuf.Message;
+import com.palantir.atlasdb.compress.CompressionDictionary;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.keyvalue.api.Cell;
@@ -154,7 +155,10 @@ public final class AtlasDeserializers {
         ColumnMetadataDescription colDescription = metadata.getColumns();
         if (colDescription.hasDynamicColumns()) {
             byte[] col = deserializeDynamicCol(colDescription.getDynamicColumn(), node.get("col"));
-            byte[] val = deserializeVal(colDescription.getDynamicColumn().getValue(), node.get("val"));
+            byte[] val = deserializeVal(
+                    colDescription.getDynamicColumn().getValue(),
+                    node.get("val"),
+                    metadata.getCompressionDictionaries());
             return ImmutableList.of(Maps.immutableEntry(Cell.create(row, col), val));
         } else {
             Collection<Map.Entry<Cell, byte[]>> results = new ArrayList<>(1);
@@ -168,7 +172,7 @@ public final class AtlasDeserializers {
                 NamedColumnDescription description = getNamedCol(colDescription, longName);
                 byte[] col = PtBytes.toCachedBytes(description.getShortName());
                 JsonNode valNode = entry.getValue();
-                byte[] val = deserializeVal(description.getValue(), valNode);
+                byte[] val = deserializeVal(description.getValue(), valNode, metadata.getCompressionDictionaries());
                 results.add(Maps.immutableEntry(Cell.create(row, col), val));
             }
             return results;
@@ -188,6 +192,11 @@ public final class AtlasDeserializers {
     }
 
     public static byte[] deserializeVal(ColumnValueDescription description, JsonNode node) {
+        return deserializeVal(description, node, ImmutableList.of());
+    }
+
+    public static byte[] deserializeVal(
+            ColumnValueDescription description, JsonNode node, List<CompressionDictionary> compressionDictionaries) {
         byte[] bytes;
         switch (description.getFormat()) {
             case PERSISTABLE:
@@ -210,7 +219,7 @@ public final class AtlasDeserializers {
                 throw new EnumConstantNotPresentException(
                         Format.class, description.getFormat().name());
         }
-        return CompressionUtils.compress(bytes, description.getCompression());
+        return CompressionUtils.compress(bytes, description.getCompression(), compressionDictionaries);
     }
 
     private static class JsonNodeIterable<T> implements Iterable<T> {
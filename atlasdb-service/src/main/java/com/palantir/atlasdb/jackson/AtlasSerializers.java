@@ -16,9 +16,11 @@
 package com.palantir.atlasdb.jackson;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.common.collect.ImmutableList;
 import com.google.common.io.BaseEncoding;
 import com.google.common.primitives.UnsignedBytes;
 import com.google.protobuf.Message;
+import com.palantir.atlasdb.compress.CompressionDictionary;
 import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.proto.fork.ForkedJsonFormat;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
@@ -31,6 +33,7 @@ import com.palantir.atlasdb.table.description.NameMetadataDescription;
 import com.palantir.atlasdb.table.description.NamedColumnDescription;
 import com.palantir.util.Pair;
 import java.io.IOException;
+import java.util.List;
 import java.util.Set;
 
 public final class AtlasSerializers {
@@ -75,8 +78,17 @@ public final class AtlasSerializers {
 
     public static void serializeNamedCol(JsonGenerator jgen, NamedColumnDescription description, byte[] val)
             throws IOException {
+        serializeNamedCol(jgen, description, val, ImmutableList.of());
+    }
+
+    public static void serializeNamedCol(
+            JsonGenerator jgen,
+            NamedColumnDescription description,
+            byte[] val,
+            List<CompressionDictionary> compressionDictionaries)
+            throws IOException {
         jgen.writeFieldName(description.getLongName());
-        serializeVal(jgen, description.getValue(), val);
+        serializeVal(jgen, description.getValue(), val, compressionDictionaries);
     }
 
     public static void serializeCol(JsonGenerator jgen, ColumnMetadataDescription colDescription, byte[] col)
@@ -102,13 +114,23 @@ public final class AtlasSerializers {
 
     public static void serializeVal(JsonGenerator jgen, ColumnValueDescription description, byte[] val)
             throws IOException {
+        serializeVal(jgen, description, val, ImmutableList.of());
+    }
+
+    public static void serializeVal(
+            JsonGenerator jgen,
+            ColumnValueDescription description,
+            byte[] val,
+            List<CompressionDictionary> compressionDictionaries)
+            throws IOException {
         switch (description.getFormat()) {
             case PERSISTABLE:
             case PERSISTER:
                 jgen.writeBinary(val);
                 break;
             case PROTO:
-                Message proto = description.hydrateProto(AtlasSerializers.class.getClassLoader(), val);
+                Message proto = description.hydrateProto(
+                        AtlasSerializers.class.getClassLoader(), val, compressionDictionaries);
                 String rawJson = ForkedJsonFormat.printToString(proto);
                 jgen.writeRawValue(rawJson);
                 break;
@@ -68,13 +68,13 @@ public class TableCellValSerializer extends StdSerializer<TableCellVal> {
             DynamicColumnDescription dynamicColumn = columns.getDynamicColumn();
             AtlasSerializers.serializeDynamicColumn(jgen, dynamicColumn, col);
             jgen.writeFieldName("val");
-            AtlasSerializers.serializeVal(jgen, dynamicColumn.getValue(), val);
+            AtlasSerializers.serializeVal(jgen, dynamicColumn.getValue(), val, metadata.getCompressionDictionaries());
         } else {
             String shortName = PtBytes.toString(col);
             Set<NamedColumnDescription> namedColumns = columns.getNamedColumns();
             for (NamedColumnDescription description : namedColumns) {
                 if (shortName.equals(description.getShortName())) {
-                    AtlasSerializers.serializeNamedCol(jgen, description, val);
+                    AtlasSerializers.serializeNamedCol(jgen, description, val, metadata.getCompressionDictionaries());
                     break;
                 }
             }
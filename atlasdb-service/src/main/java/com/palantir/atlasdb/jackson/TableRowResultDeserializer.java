@@ -54,7 +54,9 @@ public class TableRowResultDeserializer extends StdDeserializer<TableRowResult>
                 for (JsonNode colVal : rowResult.get("cols")) {
                     byte[] col = AtlasDeserializers.deserializeCol(metadata.getColumns(), colVal.get("col"));
                     byte[] val = AtlasDeserializers.deserializeVal(
-                            metadata.getColumns().getDynamicColumn().getValue(), colVal.get("val"));
+                            metadata.getColumns().getDynamicColumn().getValue(),
+                            colVal.get("val"),
+                            metadata.getCompressionDictionaries());
                     cols.put(col, val);
                 }
             } else {
@@ -63,7 +65,8 @@ public class TableRowResultDeserializer extends StdDeserializer<TableRowResult>
                     JsonNode valNode = namedCols.get(namedCol.getLongName());
                     if (valNode != null) {
                         byte[] col = namedCol.getShortName().getBytes(StandardCharsets.UTF_8);
-                        byte[] val = AtlasDeserializers.deserializeVal(namedCol.getValue(), valNode);
+                        byte[] val = AtlasDeserializers.deserializeVal(
+                                namedCol.getValue(), valNode, metadata.getCompressionDictionaries());
                         cols.put(col, val);
                     }
                 }
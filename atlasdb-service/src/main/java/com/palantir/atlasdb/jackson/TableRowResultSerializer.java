@@ -69,7 +69,8 @@ public class TableRowResultSerializer extends StdSerializer<TableRowResult> {
                 DynamicColumnDescription dynamicColumn = columns.getDynamicColumn();
                 AtlasSerializers.serializeDynamicColumn(jgen, dynamicColumn, col);
                 jgen.writeFieldName("val");
-                AtlasSerializers.serializeVal(jgen, dynamicColumn.getValue(), val);
+                AtlasSerializers.serializeVal(
+                        jgen, dynamicColumn.getValue(), val, metadata.getCompressionDictionaries());
                 jgen.writeEndObject();
             }
             jgen.writeEndArray();
@@ -81,7 +82,7 @@ public class TableRowResultSerializer extends StdSerializer<TableRowResult> {
                 byte[] col = PtBytes.toCachedBytes(description.getShortName());
                 byte[] val = columnValues.get(col);
                 if (val != null) {
-                    AtlasSerializers.serializeNamedCol(jgen, description, val);
+                    AtlasSerializers.serializeNamedCol(jgen, description, val, metadata.getCompressionDictionaries());
                 }
             }
             jgen.writeEndObject();
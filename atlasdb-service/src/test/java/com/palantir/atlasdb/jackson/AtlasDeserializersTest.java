@@ -21,9 +21,20 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
 import com.google.common.primitives.Bytes;
+import com.google.protobuf.ByteString;
+import com.palantir.atlasdb.compress.CompressionDictionary;
+import com.palantir.atlasdb.compress.CompressionUtils;
+import com.palantir.atlasdb.proto.fork.ForkedJsonFormat;
+import com.palantir.atlasdb.protos.generated.StreamPersistence.Status;
+import com.palantir.atlasdb.protos.generated.StreamPersistence.StreamMetadata;
+import com.palantir.atlasdb.ptobject.EncodingUtils;
+import com.palantir.atlasdb.table.description.ColumnValueDescription;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
 import com.palantir.atlasdb.table.description.NameComponentDescription;
 import com.palantir.atlasdb.table.description.NameMetadataDescription;
 import com.palantir.atlasdb.table.description.ValueType;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import org.junit.Test;
 
 public class AtlasDeserializersTest {
@@ -31,6 +42,9 @@ public class AtlasDeserializersTest {
             NameMetadataDescription.create(ImmutableList.of(
                     NameComponentDescription.of("age", ValueType.FIXED_LONG),
                     NameComponentDescription.of("name", ValueType.STRING)));
+    private static final List<CompressionDictionary> DICTIONARIES = ImmutableList.of(
+            CompressionDictionary.of(1, "STORED length hash".getBytes(StandardCharsets.UTF_8)),
+            CompressionDictionary.of(2, "STORING FAILED length hash".getBytes(StandardCharsets.UTF_8)));
 
     @Test
     public void testDeserializeRowFromJsonList() throws Exception {
@@ -49,4 +63,22 @@ public class AtlasDeserializersTest {
                 ValueType.FIXED_LONG.convertFromString("68"), ValueType.STRING.convertFromString("Smeagol"));
         assertThat(row).isEqualTo(expectedRow);
     }
+
+    @Test
+    public void protoValuesAreCompressedWithLatestDictionary() throws Exception {
+        ColumnValueDescription description =
+                ColumnValueDescription.forProtoMessage(StreamMetadata.class, Compression.DEFLATE);
+        StreamMetadata metadata = StreamMetadata.newBuilder()
+                .setStatus(Status.STORED)
+                .setLength(42L)
+                .setHash(ByteString.copyFromUtf8("hash"))
+                .build();
+        JsonNode jsonNode = new ObjectMapper().readTree(ForkedJsonFormat.printToString(metadata));
+
+        byte[] value = AtlasDeserializers.deserializeVal(description, jsonNode, DICTIONARIES);
+
+        assertThat(EncodingUtils.decodeVarLong(value, 0)).isEqualTo(2L);
+        assertThat(StreamMetadata.parseFrom(CompressionUtils.decompress(value, Compression.DEFLATE, DICTIONARIES)))
+                .isEqualTo(metadata);
+    }
 }
@@ -0,0 +1,60 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.jackson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.ByteString;
+import com.palantir.atlasdb.compress.CompressionDictionary;
+import com.palantir.atlasdb.compress.CompressionUtils;
+import com.palantir.atlasdb.proto.fork.ForkedJsonFormat;
+import com.palantir.atlasdb.protos.generated.StreamPersistence.Status;
+import com.palantir.atlasdb.protos.generated.StreamPersistence.StreamMetadata;
+import com.palantir.atlasdb.table.description.ColumnValueDescription;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.Test;
+
+public class AtlasSerializersTest {
+    private static final List<CompressionDictionary> DICTIONARIES = ImmutableList.of(
+            CompressionDictionary.of(1, "STORED length hash".getBytes(StandardCharsets.UTF_8)),
+            CompressionDictionary.of(2, "STORING FAILED length hash".getBytes(StandardCharsets.UTF_8)));
+
+    @Test
+    public void protoValuesCompressedWithDictionaryAreSerialized() throws IOException {
+        ColumnValueDescription description =
+                ColumnValueDescription.forProtoMessage(StreamMetadata.class, Compression.DEFLATE);
+        StreamMetadata metadata = StreamMetadata.newBuilder()
+                .setStatus(Status.STORED)
+                .setLength(42L)
+                .setHash(ByteString.copyFromUtf8("hash"))
+                .build();
+        byte[] value = CompressionUtils.compress(metadata.toByteArray(), Compression.DEFLATE, DICTIONARIES);
+
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator jgen = new ObjectMapper().getFactory().createGenerator(writer)) {
+            AtlasSerializers.serializeVal(jgen, description, value, DICTIONARIES);
+        }
+
+        assertThat(writer.toString()).isEqualTo(ForkedJsonFormat.printToString(metadata));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.compress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.collect.ImmutableList;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+public class CompressionDictionaryTrainerTest {
+    private static final List<byte[]> SAMPLES = records(1000, 0);
+    private static final List<byte[]> OTHER_VALUES = records(100, 1);
+
+    @Test
+    public void trainedDictionaryImprovesCompressionOfSimilarValues() {
+        CompressionDictionary dictionary = CompressionDictionaryTrainer.train(1, SAMPLES);
+        List<CompressionDictionary> dictionaries = ImmutableList.of(dictionary);
+
+        long sizeWithoutDictionary = 0;
+        long sizeWithDictionary = 0;
+        for (byte[] value : OTHER_VALUES) {
+            sizeWithoutDictionary += CompressionUtils.compress(value, Compression.DEFLATE).length;
+            byte[] compressed = CompressionUtils.compress(value, Compression.DEFLATE, dictionaries);
+            sizeWithDictionary += compressed.length;
+            assertThat(CompressionUtils.decompress(compressed, Compression.DEFLATE, dictionaries))
+                    .isEqualTo(value);
+        }
+        assertThat(sizeWithDictionary).isLessThan(sizeWithoutDictionary / 2);
+    }
+
+    @Test
+    public void dictionaryIsWithinMaxSize() {
+        CompressionDictionary dictionary = CompressionDictionaryTrainer.train(1, SAMPLES, 256);
+
+        assertThat(dictionary.getId()).isEqualTo(1);
+        assertThat(dictionary.getDictionary().length).isBetween(1, 256);
+    }
+
+    @Test
+    public void trainingIsDeterministic() {
+        assertThat(CompressionDictionaryTrainer.train(1, SAMPLES))
+                .isEqualTo(CompressionDictionaryTrainer.train(1, SAMPLES));
+    }
+
+    @Test
+    public void cannotTrainOnSamplesWithNothingInCommon() {
+        List<byte[]> samples = ImmutableList.of(bytes("abcdefghijklmnop"), bytes("qrstuvwxyz012345"));
+
+        assertThatThrownBy(() -> CompressionDictionaryTrainer.train(1, samples))
+                .isInstanceOf(SafeIllegalArgumentException.class);
+    }
+
+    private static List<byte[]> records(int count, long seed) {
+        Random random = new Random(seed);
+        String[] statuses = {"ACTIVE", "SUSPENDED", "DELETED"};
+        List<byte[]> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            records.add(bytes("{\"userId\":" + random.nextInt(1_000_000)
+                    + ",\"displayName\":\"user" + random.nextInt(10_000)
+                    + "\",\"accountStatus\":\"" + statuses[random.nextInt(statuses.length)]
+                    + "\",\"lastLoginTimestamp\":" + (1_700_000_000_000L + random.nextInt(1_000_000_000))
+                    + ",\"preferences\":{\"emailNotifications\":" + random.nextBoolean()
+                    + ",\"timeZone\":\"Europe/London\"}}"));
+        }
+        return records;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
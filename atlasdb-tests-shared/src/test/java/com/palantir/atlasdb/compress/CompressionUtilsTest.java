@@ -16,9 +16,14 @@
 package com.palantir.atlasdb.compress;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.google.common.collect.ImmutableList;
 import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.List;
 import org.junit.Test;
 
 public class CompressionUtilsTest {
@@ -69,4 +74,71 @@ public class CompressionUtilsTest {
         }
         assertThat(threwIllegalArgumentException).isTrue();
     }
+
+    @Test
+    public void testCompressAndDecompressWithDeflate() {
+        byte[] original = new byte[1024];
+
+        byte[] compressed = CompressionUtils.compress(original, Compression.DEFLATE);
+        assertThat(compressed.length).isLessThan(original.length);
+        assertThat(CompressionUtils.decompress(compressed, Compression.DEFLATE)).isEqualTo(original);
+    }
+
+    @Test
+    public void testDeflateWithDictionaryCompressesSmallValuesBetter() {
+        byte[] dictionaryBytes = bytes("{\"name\":\"alice\",\"status\":\"ACTIVE\"}");
+        byte[] original = bytes("{\"name\":\"bob\",\"status\":\"ACTIVE\"}");
+        List<CompressionDictionary> dictionaries = ImmutableList.of(CompressionDictionary.of(1, dictionaryBytes));
+
+        byte[] compressed = CompressionUtils.compress(original, Compression.DEFLATE, dictionaries);
+        assertThat(compressed.length).isLessThan(CompressionUtils.compress(original, Compression.DEFLATE).length);
+        assertThat(CompressionUtils.decompress(compressed, Compression.DEFLATE, dictionaries))
+                .isEqualTo(original);
+    }
+
+    @Test
+    public void testValuesCompressedWithOlderDictionariesCanBeDecompressed() {
+        byte[] original = bytes("some value");
+        CompressionDictionary oldDictionary = CompressionDictionary.of(1, bytes("some old value"));
+        CompressionDictionary newDictionary = CompressionDictionary.of(2, bytes("some new value"));
+
+        byte[] compressed = CompressionUtils.compress(original, Compression.DEFLATE, ImmutableList.of(oldDictionary));
+        assertThat(CompressionUtils.decompress(
+                        compressed, Compression.DEFLATE, ImmutableList.of(newDictionary, oldDictionary)))
+                .isEqualTo(original);
+    }
+
+    @Test
+    public void testCompressUsesDictionaryWithHighestId() {
+        byte[] original = bytes("some value");
+        CompressionDictionary oldDictionary = CompressionDictionary.of(1, bytes("some old value"));
+        CompressionDictionary newDictionary = CompressionDictionary.of(2, bytes("some new value"));
+
+        byte[] compressed = CompressionUtils.compress(
+                original, Compression.DEFLATE, ImmutableList.of(newDictionary, oldDictionary));
+        assertThat(CompressionUtils.decompress(compressed, Compression.DEFLATE, ImmutableList.of(newDictionary)))
+                .isEqualTo(original);
+    }
+
+    @Test
+    public void testDecompressWithMissingDictionaryThrows() {
+        byte[] original = bytes("some value");
+        CompressionDictionary dictionary = CompressionDictionary.of(1, bytes("some dictionary"));
+
+        byte[] compressed = CompressionUtils.compress(original, Compression.DEFLATE, ImmutableList.of(dictionary));
+        assertThatThrownBy(() -> CompressionUtils.decompress(compressed, Compression.DEFLATE))
+                .isInstanceOf(SafeIllegalArgumentException.class)
+                .hasMessageContaining("dictionary that is not available");
+    }
+
+    @Test
+    public void testDecompressExceptionWithDeflate() {
+        byte[] compressed = new byte[] {0, 100, 1, 2, 3}; // invalid
+        assertThatThrownBy(() -> CompressionUtils.decompress(compressed, Compression.DEFLATE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
 }
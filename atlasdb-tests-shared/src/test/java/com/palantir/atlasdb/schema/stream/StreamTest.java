@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.google.common.base.Throwables;
+import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMultimap;
@@ -33,6 +34,12 @@ import com.palantir.atlasdb.protos.generated.StreamPersistence;
 import com.palantir.atlasdb.protos.generated.StreamPersistence.StreamMetadata;
 import com.palantir.atlasdb.schema.stream.generated.DeletingStreamStore;
 import com.palantir.atlasdb.schema.stream.generated.KeyValueTable;
+import com.palantir.atlasdb.schema.stream.generated.StreamTestChunkedStreamChunkIdxTable;
+import com.palantir.atlasdb.schema.stream.generated.StreamTestChunkedStreamChunkIdxTable.StreamTestChunkedStreamChunkIdxColumnValue;
+import com.palantir.atlasdb.schema.stream.generated.StreamTestChunkedStreamChunkIdxTable.StreamTestChunkedStreamChunkIdxRow;
+import com.palantir.atlasdb.schema.stream.generated.StreamTestChunkedStreamChunkTable;
+import com.palantir.atlasdb.schema.stream.generated.StreamTestChunkedStreamChunkTable.StreamTestChunkedStreamChunkRow;
+import com.palantir.atlasdb.schema.stream.generated.StreamTestChunkedStreamStore;
 import com.palantir.atlasdb.schema.stream.generated.StreamTestMaxMemStreamStore;
 import com.palantir.atlasdb.schema.stream.generated.StreamTestStreamHashAidxTable;
 import com.palantir.atlasdb.schema.stream.generated.StreamTestStreamMetadataTable;
@@ -50,7 +57,10 @@ import com.palantir.atlasdb.schema.stream.generated.TestHashComponentsStreamMeta
 import com.palantir.atlasdb.schema.stream.generated.TestHashComponentsStreamMetadataTable.TestHashComponentsStreamMetadataRow;
 import com.palantir.atlasdb.schema.stream.generated.TestHashComponentsStreamStore;
 import com.palantir.atlasdb.schema.stream.generated.TestHashComponentsStreamValueTable.TestHashComponentsStreamValueRow;
+import com.palantir.atlasdb.stream.ContentDefinedChunker;
+import com.palantir.atlasdb.stream.ImmutableStreamStorePersistenceConfiguration;
 import com.palantir.atlasdb.stream.PersistentStreamStore;
+import com.palantir.atlasdb.stream.StreamStorePersistenceConfiguration;
 import com.palantir.atlasdb.table.description.Schemas;
 import com.palantir.atlasdb.transaction.api.Transaction;
 import com.palantir.atlasdb.transaction.api.TransactionConflictException;
@@ -63,10 +73,14 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
@@ -75,6 +89,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.output.ByteArrayOutputStream;
@@ -92,6 +107,7 @@ public class StreamTest extends AtlasDbTestCase {
     private PersistentStreamStore defaultStore;
     private PersistentStreamStore compressedStore;
     private PersistentStreamStore maxMemStore;
+    private StreamTestChunkedStreamStore chunkedStore;
 
     @Parameterized.Parameter
     public boolean useStoreWithHashedComponents;
@@ -117,6 +133,7 @@ public class StreamTest extends AtlasDbTestCase {
 
         compressedStore = StreamTestWithHashStreamStore.of(txManager, StreamTestTableFactory.of());
         maxMemStore = StreamTestMaxMemStreamStore.of(txManager, StreamTestTableFactory.of());
+        chunkedStore = StreamTestChunkedStreamStore.of(txManager, StreamTestTableFactory.of());
     }
 
     @Test
@@ -666,6 +683,69 @@ public class StreamTest extends AtlasDbTestCase {
         assertThat(stream.get()).isNotNull();
     }
 
+    @Test
+    public void testStoreStreamWithConcurrentBlockWrites() throws IOException {
+        StreamStorePersistenceConfiguration config = ImmutableStreamStorePersistenceConfiguration.builder()
+                .concurrentBlockWrites(4)
+                .build();
+        StreamTestStreamStore store = StreamTestStreamStore.of(txManager, StreamTestTableFactory.of(), () -> config);
+        byte[] bytes = getIncompressibleBytes(10 * StreamTestStreamStore.BLOCK_SIZE_IN_BYTES + 1);
+
+        Pair<Long, Sha256Hash> idAndHash = store.storeStream(new ByteArrayInputStream(bytes));
+
+        assertThat(idAndHash.getRhSide()).isEqualTo(Sha256Hash.computeHash(bytes));
+        byte[] storedBytes = txManager.runTaskThrowOnConflict(
+                t -> IOUtils.toByteArray(store.loadStream(t, idAndHash.getLhSide())));
+        assertThat(storedBytes).isEqualTo(bytes);
+    }
+
+    @Test
+    public void cleaningUpStreamDuringConcurrentUploadDeletesAllItsBlocks() {
+        StreamStorePersistenceConfiguration config = ImmutableStreamStorePersistenceConfiguration.builder()
+                .concurrentBlockWrites(4)
+                .build();
+        StreamTestStreamStore store = StreamTestStreamStore.of(txManager, StreamTestTableFactory.of(), () -> config);
+        byte[] bytes = getIncompressibleBytes(10 * StreamTestStreamStore.BLOCK_SIZE_IN_BYTES + 1);
+        Runnable cleanUp = () -> txManager.runTaskWithRetry(t -> {
+            Set<Long> storingIds = StreamTestTableFactory.of()
+                    .getStreamTestStreamMetadataTable(t)
+                    .getAllRowsUnordered()
+                    .immutableCopy()
+                    .stream()
+                    .map(rowResult -> rowResult.getRowName().getId())
+                    .collect(Collectors.toSet());
+            new DeletingStreamStore(store).deleteStreams(t, storingIds);
+            return null;
+        });
+
+        assertThatThrownBy(() -> store.storeStream(
+                        cleanUpAfterReading(bytes, 5 * StreamTestStreamStore.BLOCK_SIZE_IN_BYTES, cleanUp)))
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(txManager.runTaskReadOnly(t -> StreamTestTableFactory.of()
+                        .getStreamTestStreamValueTable(t)
+                        .getAllRowsUnordered()
+                        .immutableCopy()))
+                .isEmpty();
+    }
+
+    @Test
+    public void testReadAheadInsideAndOutsideTransaction() throws IOException {
+        StreamStorePersistenceConfiguration config = ImmutableStreamStorePersistenceConfiguration.builder()
+                .readAheadBlocks(4)
+                .build();
+        StreamTestStreamStore store = StreamTestStreamStore.of(txManager, StreamTestTableFactory.of(), () -> config);
+        byte[] bytes = getIncompressibleBytes(10 * StreamTestStreamStore.BLOCK_SIZE_IN_BYTES + 1);
+        long id = store.storeStream(new ByteArrayInputStream(bytes)).getLhSide();
+
+        byte[] readInside = txManager.runTaskThrowOnConflict(t -> IOUtils.toByteArray(store.loadStream(t, id)));
+        assertThat(readInside).isEqualTo(bytes);
+
+        try (InputStream stream = txManager.runTaskThrowOnConflict(t -> store.loadStream(t, id))) {
+            assertThat(IOUtils.toByteArray(stream)).isEqualTo(bytes);
+        }
+    }
+
     @Test
     public void testStreamCompression() throws IOException {
         int inputBlocks = 4;
@@ -678,6 +758,200 @@ public class StreamTest extends AtlasDbTestCase {
         assertThat(numBlocksUsed).isEqualTo(expectedBlocksUsed);
     }
 
+    @Test
+    public void testStoreChunkedStream() throws IOException {
+        storeAndCheckByteStreams(
+                chunkedStore, getIncompressibleBytes(3 * StreamTestChunkedStreamStore.BLOCK_SIZE_IN_BYTES));
+    }
+
+    @Test
+    public void chunksAreSharedBetweenStreams() throws IOException {
+        byte[] bytes = getIncompressibleBytes(3 * StreamTestChunkedStreamStore.BLOCK_SIZE_IN_BYTES);
+        List<Sha256Hash> chunkHashes = getChunkHashes(bytes);
+
+        long firstId = storeStream(chunkedStore, bytes, PtBytes.toBytes("first"));
+        long secondId = storeStream(chunkedStore, bytes, PtBytes.toBytes("second"));
+
+        verifyLoadingStreams(chunkedStore, firstId, bytes);
+        verifyLoadingStreams(chunkedStore, secondId, bytes);
+        assertThat(chunkHashes).hasSizeGreaterThan(1);
+        assertThat(getStoredChunks(chunkHashes)).containsExactlyInAnyOrderElementsOf(chunkHashes);
+        Multimap<Sha256Hash, Long> references = getChunkReferences(chunkHashes);
+        for (Sha256Hash chunkHash : chunkHashes) {
+            assertThat(references.get(chunkHash)).containsExactlyInAnyOrder(firstId, secondId);
+        }
+    }
+
+    @Test
+    public void deletingOneOfTwoStreamsSharingChunksKeepsTheChunks() throws IOException {
+        byte[] bytes = getIncompressibleBytes(3 * StreamTestChunkedStreamStore.BLOCK_SIZE_IN_BYTES);
+        List<Sha256Hash> chunkHashes = getChunkHashes(bytes);
+        long firstId = storeStream(chunkedStore, bytes, PtBytes.toBytes("first"));
+        long secondId = storeStream(chunkedStore, bytes, PtBytes.toBytes("second"));
+
+        deleteChunkedStream(firstId);
+
+        verifyLoadingStreams(chunkedStore, secondId, bytes);
+        assertThat(getStoredChunks(chunkHashes)).containsExactlyInAnyOrderElementsOf(chunkHashes);
+        assertThat(getChunkReferences(chunkHashes).values()).containsOnly(secondId);
+
+        deleteChunkedStream(secondId);
+
+        assertThat(getStoredChunks(chunkHashes)).isEmpty();
+        assertThat(getChunkReferences(chunkHashes).isEmpty()).isTrue();
+    }
+
+    @Test
+    public void cleaningUpFailedUploadDeletesItsChunks() {
+        byte[] bytes = getIncompressibleBytes(3 * StreamTestChunkedStreamStore.BLOCK_SIZE_IN_BYTES);
+        List<Sha256Hash> chunkHashes = getChunkHashes(bytes);
+
+        assertThatThrownBy(() -> chunkedStore.storeStream(failAfterReading(bytes)))
+                .isInstanceOf(RuntimeException.class);
+
+        // Chunks are stored as they are read, so the upload stored at least its first chunk before failing.
+        Sha256Hash firstChunkHash = chunkHashes.get(0);
+        assertThat(getStoredChunks(chunkHashes)).contains(firstChunkHash);
+        long failedId = Iterables.getOnlyElement(
+                getChunkReferences(ImmutableList.of(firstChunkHash)).values());
+
+        deleteChunkedStream(failedId);
+
+        assertThat(getStoredChunks(chunkHashes)).isEmpty();
+        assertThat(getChunkReferences(chunkHashes).isEmpty()).isTrue();
+    }
+
+    @Test
+    public void storingChunksConflictsWithDeletingTheirLastReference() throws Exception {
+        byte[] bytes = getIncompressibleBytes(StreamTestChunkedStreamStore.BLOCK_SIZE_IN_BYTES);
+        List<Sha256Hash> chunkHashes = getChunkHashes(bytes);
+        long existingId = storeStream(chunkedStore, bytes, PtBytes.toBytes("ref"));
+        long streamId = timestampService.getFreshTimestamp();
+
+        runConflictingTasksConcurrently(streamId, new TwoConflictingTasks() {
+            @Override
+            public void startFirstAndFail(Transaction tx, long streamId) {
+                chunkedStore.storeStreams(tx, ImmutableMap.of(streamId, new ByteArrayInputStream(bytes)));
+            }
+
+            @Override
+            public void startSecondAndFinish(Transaction tx, long streamId) {
+                new DeletingStreamStore(chunkedStore).deleteStreams(tx, ImmutableSet.of(existingId));
+            }
+        });
+
+        // The new stream must not reference chunks that were deleted along with the existing stream.
+        assertThat(getStoredChunks(chunkHashes)).isEmpty();
+        assertThat(getChunkReferences(chunkHashes).isEmpty()).isTrue();
+    }
+
+    @Test
+    public void cleaningUpChunkedStreamDuringConcurrentUploadDeletesAllItsChunks() {
+        StreamStorePersistenceConfiguration config = ImmutableStreamStorePersistenceConfiguration.builder()
+                .concurrentBlockWrites(4)
+                .build();
+        StreamTestChunkedStreamStore store =
+                StreamTestChunkedStreamStore.of(txManager, StreamTestTableFactory.of(), () -> config);
+        byte[] bytes = getIncompressibleBytes(10 * StreamTestChunkedStreamStore.BLOCK_SIZE_IN_BYTES);
+        List<Sha256Hash> chunkHashes = getChunkHashes(bytes);
+        Runnable cleanUp = () -> txManager.runTaskWithRetry(t -> {
+            Set<Long> storingIds = StreamTestTableFactory.of()
+                    .getStreamTestChunkedStreamMetadataTable(t)
+                    .getAllRowsUnordered()
+                    .immutableCopy()
+                    .stream()
+                    .map(rowResult -> rowResult.getRowName().getId())
+                    .collect(Collectors.toSet());
+            new DeletingStreamStore(store).deleteStreams(t, storingIds);
+            return null;
+        });
+
+        assertThatThrownBy(() -> store.storeStream(
+                        cleanUpAfterReading(bytes, 5 * StreamTestChunkedStreamStore.BLOCK_SIZE_IN_BYTES, cleanUp)))
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(txManager.runTaskReadOnly(t -> StreamTestTableFactory.of()
+                        .getStreamTestChunkedStreamValueTable(t)
+                        .getAllRowsUnordered()
+                        .immutableCopy()))
+                .isEmpty();
+        assertThat(getStoredChunks(chunkHashes)).isEmpty();
+        assertThat(getChunkReferences(chunkHashes).isEmpty()).isTrue();
+    }
+
+    private void deleteChunkedStream(long streamId) {
+        txManager.runTaskWithRetry(tx -> {
+            new DeletingStreamStore(chunkedStore).deleteStreams(tx, ImmutableSet.of(streamId));
+            return null;
+        });
+    }
+
+    private List<Sha256Hash> getChunkHashes(byte[] bytes) {
+        ContentDefinedChunker chunker = new ContentDefinedChunker(new ByteArrayInputStream(bytes));
+        List<Sha256Hash> chunkHashes = new ArrayList<>();
+        try {
+            for (byte[] chunk = chunker.nextChunk(); chunk.length > 0; chunk = chunker.nextChunk()) {
+                chunkHashes.add(Sha256Hash.computeHash(chunk));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return chunkHashes;
+    }
+
+    private Set<Sha256Hash> getStoredChunks(List<Sha256Hash> chunkHashes) {
+        Set<StreamTestChunkedStreamChunkRow> rows =
+                chunkHashes.stream().map(StreamTestChunkedStreamChunkRow::of).collect(Collectors.toSet());
+        return txManager.runTaskReadOnly(t -> {
+            StreamTestChunkedStreamChunkTable table =
+                    StreamTestTableFactory.of().getStreamTestChunkedStreamChunkTable(t);
+            return table.getValues(rows).keySet().stream()
+                    .map(StreamTestChunkedStreamChunkRow::getHash)
+                    .collect(Collectors.toSet());
+        });
+    }
+
+    private Multimap<Sha256Hash, Long> getChunkReferences(List<Sha256Hash> chunkHashes) {
+        return txManager.runTaskReadOnly(t -> {
+            StreamTestChunkedStreamChunkIdxTable table =
+                    StreamTestTableFactory.of().getStreamTestChunkedStreamChunkIdxTable(t);
+            Multimap<Sha256Hash, Long> references = HashMultimap.create();
+            for (Sha256Hash chunkHash : chunkHashes) {
+                for (StreamTestChunkedStreamChunkIdxColumnValue reference :
+                        table.getRowColumns(StreamTestChunkedStreamChunkIdxRow.of(chunkHash))) {
+                    references.put(chunkHash, reference.getColumnName().getStreamId());
+                }
+            }
+            return references;
+        });
+    }
+
+    private static InputStream failAfterReading(byte[] bytes) {
+        return new SequenceInputStream(new ByteArrayInputStream(bytes), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Upload interrupted");
+            }
+        });
+    }
+
+    /**
+     * Runs the given clean up once the first length bytes have been read, while the upload is in progress.
+     */
+    private static InputStream cleanUpAfterReading(byte[] bytes, int length, Runnable cleanUp) {
+        InputStream cleaningUpStream = new InputStream() {
+            @Override
+            public int read() {
+                cleanUp.run();
+                return -1;
+            }
+        };
+        return new SequenceInputStream(Collections.enumeration(ImmutableList.of(
+                new ByteArrayInputStream(bytes, 0, length),
+                cleaningUpStream,
+                new ByteArrayInputStream(bytes, length, bytes.length - length))));
+    }
+
     private byte[] generateRandomTwoBlockStream() {
         byte[] bytes = new byte[2 * StreamTestStreamStore.BLOCK_SIZE_IN_BYTES];
         Random rand = new Random();
@@ -73,6 +73,12 @@ public class StreamTestSchema implements AtlasSchema {
                         .inMemoryThreshold(StreamStoreDefinition.MAX_IN_MEMORY_THRESHOLD)
                         .build());
 
+        // test deduplicating chunks across streams
+        schema.addStreamStoreDefinition(
+                new StreamStoreDefinitionBuilder("stream_test_chunked", "stream_test_chunked", ValueType.VAR_LONG)
+                        .deduplicateChunks()
+                        .build());
+
         return schema;
     }
 
@@ -1,17 +1,22 @@
 package com.palantir.atlasdb.schema.stream.generated;
 
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 import com.palantir.atlasdb.transaction.api.Transaction;
 
 public class DeletingStreamStore {
-    private final StreamTestStreamStore underlyingStreamStore;
+    private final BiConsumer<Transaction, Set<Long>> deleteStreams;
 
     public DeletingStreamStore(StreamTestStreamStore underlyingStreamStore) {
-        this.underlyingStreamStore = underlyingStreamStore;
+        this.deleteStreams = underlyingStreamStore::deleteStreams;
+    }
+
+    public DeletingStreamStore(StreamTestChunkedStreamStore underlyingStreamStore) {
+        this.deleteStreams = underlyingStreamStore::deleteStreams;
     }
 
     public void deleteStreams(Transaction t, Set<Long> streamIds) {
-        underlyingStreamStore.deleteStreams(t, streamIds);
+        deleteStreams.accept(t, streamIds);
     }
 }
@@ -0,0 +1,51 @@
+package com.palantir.atlasdb.schema.stream.generated;
+
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.Sets;
+import com.palantir.atlasdb.cleaner.api.OnCleanupTask;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.Namespace;
+import com.palantir.atlasdb.transaction.api.Transaction;
+import com.palantir.common.base.BatchingVisitable;
+
+public class StreamTestChunkedIndexCleanupTask implements OnCleanupTask {
+
+    private final StreamTestTableFactory tables;
+
+    public StreamTestChunkedIndexCleanupTask(Namespace namespace) {
+        tables = StreamTestTableFactory.of(namespace);
+    }
+
+    @Override
+    public boolean cellsCleanedUp(Transaction t, Set<Cell> cells) {
+        StreamTestChunkedStreamIdxTable usersIndex = tables.getStreamTestChunkedStreamIdxTable(t);
+        Set<StreamTestChunkedStreamIdxTable.StreamTestChunkedStreamIdxRow> rows = Sets.newHashSetWithExpectedSize(cells.size());
+        for (Cell cell : cells) {
+            rows.add(StreamTestChunkedStreamIdxTable.StreamTestChunkedStreamIdxRow.BYTES_HYDRATOR.hydrateFromBytes(cell.getRowName()));
+        }
+        BatchColumnRangeSelection oneColumn = BatchColumnRangeSelection.create(
+                PtBytes.EMPTY_BYTE_ARRAY, PtBytes.EMPTY_BYTE_ARRAY, 1);
+        Map<StreamTestChunkedStreamIdxTable.StreamTestChunkedStreamIdxRow, BatchingVisitable<StreamTestChunkedStreamIdxTable.StreamTestChunkedStreamIdxColumnValue>> existentRows
+                = usersIndex.getRowsColumnRange(rows, oneColumn);
+        Set<StreamTestChunkedStreamIdxTable.StreamTestChunkedStreamIdxRow> rowsInDb = Sets.newHashSetWithExpectedSize(cells.size());
+        for (Map.Entry<StreamTestChunkedStreamIdxTable.StreamTestChunkedStreamIdxRow, BatchingVisitable<StreamTestChunkedStreamIdxTable.StreamTestChunkedStreamIdxColumnValue>> rowVisitable
+                : existentRows.entrySet()) {
+            rowVisitable.getValue().batchAccept(1, columnValues -> {
+                if (!columnValues.isEmpty()) {
+                    rowsInDb.add(rowVisitable.getKey());
+                }
+                return false;
+            });
+        }
+        Set<Long> toDelete = Sets.newHashSetWithExpectedSize(rows.size() - rowsInDb.size());
+        for (StreamTestChunkedStreamIdxTable.StreamTestChunkedStreamIdxRow rowToDelete : Sets.difference(rows, rowsInDb)) {
+            toDelete.add(rowToDelete.getId());
+        }
+        StreamTestChunkedStreamStore.of(tables).deleteStreams(t, toDelete);
+        return false;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.palantir.atlasdb.schema.stream.generated;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Sets;
+import com.palantir.atlasdb.cleaner.api.OnCleanupTask;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.Namespace;
+import com.palantir.atlasdb.protos.generated.StreamPersistence.Status;
+import com.palantir.atlasdb.protos.generated.StreamPersistence.StreamMetadata;
+import com.palantir.atlasdb.transaction.api.Transaction;
+
+public class StreamTestChunkedMetadataCleanupTask implements OnCleanupTask {
+
+    private final StreamTestTableFactory tables;
+
+    public StreamTestChunkedMetadataCleanupTask(Namespace namespace) {
+        tables = StreamTestTableFactory.of(namespace);
+    }
+
+    @Override
+    public boolean cellsCleanedUp(Transaction t, Set<Cell> cells) {
+        StreamTestChunkedStreamMetadataTable metaTable = tables.getStreamTestChunkedStreamMetadataTable(t);
+        Set<StreamTestChunkedStreamMetadataTable.StreamTestChunkedStreamMetadataRow> rows = Sets.newHashSetWithExpectedSize(cells.size());
+        for (Cell cell : cells) {
+            rows.add(StreamTestChunkedStreamMetadataTable.StreamTestChunkedStreamMetadataRow.BYTES_HYDRATOR.hydrateFromBytes(cell.getRowName()));
+        }
+        StreamTestChunkedStreamIdxTable indexTable = tables.getStreamTestChunkedStreamIdxTable(t);
+        Set<StreamTestChunkedStreamMetadataTable.StreamTestChunkedStreamMetadataRow> rowsWithNoIndexEntries =
+                        getUnreferencedStreamsByIterator(indexTable, rows);
+        Set<Long> toDelete = new HashSet<>();
+        Map<StreamTestChunkedStreamMetadataTable.StreamTestChunkedStreamMetadataRow, StreamMetadata> currentMetadata =
+                metaTable.getMetadatas(rows);
+        for (Map.Entry<StreamTestChunkedStreamMetadataTable.StreamTestChunkedStreamMetadataRow, StreamMetadata> e : currentMetadata.entrySet()) {
+            if (e.getValue().getStatus() != Status.STORED || rowsWithNoIndexEntries.contains(e.getKey())) {
+                toDelete.add(e.getKey().getId());
+            }
+        }
+        StreamTestChunkedStreamStore.of(tables).deleteStreams(t, toDelete);
+        return false;
+    }
+
+    private static Set<StreamTestChunkedStreamMetadataTable.StreamTestChunkedStreamMetadataRow> getUnreferencedStreamsByIterator(StreamTestChunkedStreamIdxTable indexTable, Set<StreamTestChunkedStreamMetadataTable.StreamTestChunkedStreamMetadataRow> metadataRows) {
+        Set<StreamTestChunkedStreamIdxTable.StreamTestChunkedStreamIdxRow> indexRows = metadataRows.stream()
+                .map(StreamTestChunkedStreamMetadataTable.StreamTestChunkedStreamMetadataRow::getId)
+                .map(StreamTestChunkedStreamIdxTable.StreamTestChunkedStreamIdxRow::of)
+                .collect(Collectors.toSet());
+        Map<StreamTestChunkedStreamIdxTable.StreamTestChunkedStreamIdxRow, Iterator<StreamTestChunkedStreamIdxTable.StreamTestChunkedStreamIdxColumnValue>> referenceIteratorByStream
+                = indexTable.getRowsColumnRangeIterator(indexRows,
+                        BatchColumnRangeSelection.create(PtBytes.EMPTY_BYTE_ARRAY, PtBytes.EMPTY_BYTE_ARRAY, 1));
+        return referenceIteratorByStream.entrySet().stream()
+                .filter(entry -> !entry.getValue().hasNext())
+                .map(Map.Entry::getKey)
+                .map(StreamTestChunkedStreamIdxTable.StreamTestChunkedStreamIdxRow::getId)
+                .map(StreamTestChunkedStreamMetadataTable.StreamTestChunkedStreamMetadataRow::of)
+                .collect(Collectors.toSet());
+    }
+}
\ No newline at end of file
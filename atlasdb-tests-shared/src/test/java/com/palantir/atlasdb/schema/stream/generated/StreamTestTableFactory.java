@@ -46,6 +46,39 @@ public final class StreamTestTableFactory {
         return KeyValueTable.of(t, namespace, Triggers.getAllTriggers(t, sharedTriggers, triggers));
     }
 
+    public StreamTestChunkedStreamChunkTable getStreamTestChunkedStreamChunkTable(
+            Transaction t, StreamTestChunkedStreamChunkTable.StreamTestChunkedStreamChunkTrigger... triggers) {
+        return StreamTestChunkedStreamChunkTable.of(t, namespace, Triggers.getAllTriggers(t, sharedTriggers, triggers));
+    }
+
+    public StreamTestChunkedStreamChunkIdxTable getStreamTestChunkedStreamChunkIdxTable(
+            Transaction t, StreamTestChunkedStreamChunkIdxTable.StreamTestChunkedStreamChunkIdxTrigger... triggers) {
+        return StreamTestChunkedStreamChunkIdxTable.of(
+                t, namespace, Triggers.getAllTriggers(t, sharedTriggers, triggers));
+    }
+
+    public StreamTestChunkedStreamHashAidxTable getStreamTestChunkedStreamHashAidxTable(
+            Transaction t, StreamTestChunkedStreamHashAidxTable.StreamTestChunkedStreamHashAidxTrigger... triggers) {
+        return StreamTestChunkedStreamHashAidxTable.of(
+                t, namespace, Triggers.getAllTriggers(t, sharedTriggers, triggers));
+    }
+
+    public StreamTestChunkedStreamIdxTable getStreamTestChunkedStreamIdxTable(
+            Transaction t, StreamTestChunkedStreamIdxTable.StreamTestChunkedStreamIdxTrigger... triggers) {
+        return StreamTestChunkedStreamIdxTable.of(t, namespace, Triggers.getAllTriggers(t, sharedTriggers, triggers));
+    }
+
+    public StreamTestChunkedStreamMetadataTable getStreamTestChunkedStreamMetadataTable(
+            Transaction t, StreamTestChunkedStreamMetadataTable.StreamTestChunkedStreamMetadataTrigger... triggers) {
+        return StreamTestChunkedStreamMetadataTable.of(
+                t, namespace, Triggers.getAllTriggers(t, sharedTriggers, triggers));
+    }
+
+    public StreamTestChunkedStreamValueTable getStreamTestChunkedStreamValueTable(
+            Transaction t, StreamTestChunkedStreamValueTable.StreamTestChunkedStreamValueTrigger... triggers) {
+        return StreamTestChunkedStreamValueTable.of(t, namespace, Triggers.getAllTriggers(t, sharedTriggers, triggers));
+    }
+
     public StreamTestMaxMemStreamHashAidxTable getStreamTestMaxMemStreamHashAidxTable(
             Transaction t, StreamTestMaxMemStreamHashAidxTable.StreamTestMaxMemStreamHashAidxTrigger... triggers) {
         return StreamTestMaxMemStreamHashAidxTable.of(
@@ -136,6 +169,12 @@ public final class StreamTestTableFactory {
 
     public interface SharedTriggers
             extends KeyValueTable.KeyValueTrigger,
+                    StreamTestChunkedStreamChunkTable.StreamTestChunkedStreamChunkTrigger,
+                    StreamTestChunkedStreamChunkIdxTable.StreamTestChunkedStreamChunkIdxTrigger,
+                    StreamTestChunkedStreamHashAidxTable.StreamTestChunkedStreamHashAidxTrigger,
+                    StreamTestChunkedStreamIdxTable.StreamTestChunkedStreamIdxTrigger,
+                    StreamTestChunkedStreamMetadataTable.StreamTestChunkedStreamMetadataTrigger,
+                    StreamTestChunkedStreamValueTable.StreamTestChunkedStreamValueTrigger,
                     StreamTestMaxMemStreamHashAidxTable.StreamTestMaxMemStreamHashAidxTrigger,
                     StreamTestMaxMemStreamIdxTable.StreamTestMaxMemStreamIdxTrigger,
                     StreamTestMaxMemStreamMetadataTable.StreamTestMaxMemStreamMetadataTrigger,
@@ -160,6 +199,71 @@ public final class StreamTestTableFactory {
             // do nothing
         }
 
+        @Override
+        public void putStreamTestChunkedStreamChunk(
+                Multimap<
+                                StreamTestChunkedStreamChunkTable.StreamTestChunkedStreamChunkRow,
+                                ? extends
+                                        StreamTestChunkedStreamChunkTable
+                                                        .StreamTestChunkedStreamChunkNamedColumnValue<
+                                                ?>>
+                        newRows) {
+            // do nothing
+        }
+
+        @Override
+        public void putStreamTestChunkedStreamChunkIdx(
+                Multimap<
+                                StreamTestChunkedStreamChunkIdxTable.StreamTestChunkedStreamChunkIdxRow,
+                                ? extends
+                                        StreamTestChunkedStreamChunkIdxTable.StreamTestChunkedStreamChunkIdxColumnValue>
+                        newRows) {
+            // do nothing
+        }
+
+        @Override
+        public void putStreamTestChunkedStreamHashAidx(
+                Multimap<
+                                StreamTestChunkedStreamHashAidxTable.StreamTestChunkedStreamHashAidxRow,
+                                ? extends
+                                        StreamTestChunkedStreamHashAidxTable.StreamTestChunkedStreamHashAidxColumnValue>
+                        newRows) {
+            // do nothing
+        }
+
+        @Override
+        public void putStreamTestChunkedStreamIdx(
+                Multimap<
+                                StreamTestChunkedStreamIdxTable.StreamTestChunkedStreamIdxRow,
+                                ? extends StreamTestChunkedStreamIdxTable.StreamTestChunkedStreamIdxColumnValue>
+                        newRows) {
+            // do nothing
+        }
+
+        @Override
+        public void putStreamTestChunkedStreamMetadata(
+                Multimap<
+                                StreamTestChunkedStreamMetadataTable.StreamTestChunkedStreamMetadataRow,
+                                ? extends
+                                        StreamTestChunkedStreamMetadataTable
+                                                        .StreamTestChunkedStreamMetadataNamedColumnValue<
+                                                ?>>
+                        newRows) {
+            // do nothing
+        }
+
+        @Override
+        public void putStreamTestChunkedStreamValue(
+                Multimap<
+                                StreamTestChunkedStreamValueTable.StreamTestChunkedStreamValueRow,
+                                ? extends
+                                        StreamTestChunkedStreamValueTable
+                                                        .StreamTestChunkedStreamValueNamedColumnValue<
+                                                ?>>
+                        newRows) {
+            // do nothing
+        }
+
         @Override
         public void putStreamTestMaxMemStreamHashAidx(
                 Multimap<
@@ -32,7 +32,6 @@ import com.palantir.nexus.db.monitoring.timer.SqlTimer;
 import com.palantir.nexus.db.sql.BasicSQLString.FinalSQLString;
 import com.palantir.nexus.db.sql.monitoring.logger.SqlLoggers;
 import com.palantir.nylon.threads.ThreadNames;
-import com.palantir.sql.Connections;
 import com.palantir.sql.PreparedStatements;
 import com.palantir.sql.ResultSets;
 import com.palantir.util.sql.VerboseSQLException;
@@ -303,10 +302,14 @@ public abstract class BasicSQL {
     /**
      * Encapsulates the logic for creating a prepared statement with the arguments set
      */
-    private PreparedStatement createPreparedStatement(Connection c, String sql, Object[] vs)
+    private PreparedStatement createPreparedStatement(Connection c, FinalSQLString query, Object[] vs)
             throws PalantirSqlException {
         PreparedStatement ps;
-        ps = Connections.prepareStatement(c, sql);
+        try {
+            ps = prepareTimedStatement(c, query);
+        } catch (SQLException e) {
+            throw handleInterruptions(0, e);
+        }
         List<BlobHandler> toClean = new ArrayList<>();
         if (vs != null) {
             try {
@@ -326,6 +329,22 @@ public abstract class BasicSQL {
         return BlobCleanupPreparedStatement.create(ps, toClean);
     }
 
+    /**
+     * Prepares the statement, timing only the preparation (not binding arguments or executing it) under a key derived
+     * from the query name. This is the time the driver takes to prepare the statement, including looking it up in the
+     * driver's statement cache if that is enabled. The Oracle and Postgres drivers only parse statements on the server
+     * when they are first executed, so server-side parse time is part of the execution time rather than this.
+     */
+    private PreparedStatement prepareTimedStatement(Connection c, FinalSQLString query) throws SQLException {
+        SqlTimer.Handle timerKey =
+                getSqlTimer().start("prepareStatement", SqlQueryNames.getPreparationKey(query), query.getQuery());
+        try {
+            return c.prepareStatement(query.getQuery());
+        } finally {
+            timerKey.stop();
+        }
+    }
+
     private static final class BlobCleanupPreparedStatement implements InvocationHandler {
         final PreparedStatement ps;
         final Collection<BlobHandler> toCleanup;
@@ -548,7 +567,7 @@ public abstract class BasicSQL {
         try {
             ps = BasicSQLUtils.runUninterruptably(
                     executeStatementExecutor,
-                    () -> createPreparedStatement(c, query.getQuery(), vs),
+                    () -> createPreparedStatement(c, query, vs),
                     "SQL createPreparedStatement",
                     c);
             return visitor.visit(ps);
@@ -854,7 +873,7 @@ public abstract class BasicSQL {
                                     sql.getKey(),
                                     sql.getQuery()); // $NON-NLS-1$ //$NON-NLS-2$
                     try {
-                        ps = c.prepareStatement(sql.getQuery());
+                        ps = prepareTimedStatement(c, sql);
                         for (int i = 0; i < vs.length; i++) {
                             for (int j = 0; j < vs[i].length; j++) {
                                 Object obj = vs[i][j];
@@ -922,7 +941,7 @@ public abstract class BasicSQL {
                                     sql.getQuery()); // $NON-NLS-1$ //$NON-NLS-2$
                     List<BlobHandler> cleanups = new ArrayList<>();
                     try {
-                        ps = c.prepareStatement(sql.getQuery());
+                        ps = prepareTimedStatement(c, sql);
                         for (int i = 0; i < vs.length; i++) {
                             for (int j = 0; j < vs[i].length; j++) {
                                 Object obj = vs[i][j];
@@ -0,0 +1,79 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.nexus.db.sql;
+
+import com.palantir.nexus.db.sql.BasicSQLString.FinalSQLString;
+import java.util.Optional;
+
+/**
+ * Derives stable names for SQL statements, so that statistics can be aggregated across queries that differ only in
+ * the tables they address or the number of bind variables they take. Unregistered queries are named after the first
+ * upper case tag in a comment of their text, e.g. GET_LATEST_ROW for the queries tagged "GET_LATEST_ROW (table)".
+ */
+final class SqlQueryNames {
+    static final String PREPARE_PREFIX = "prepare.";
+    static final String UNNAMED_QUERY = "UNNAMED_QUERY";
+
+    private static final String COMMENT_START = "/*";
+
+    private SqlQueryNames() {
+        // Utility class
+    }
+
+    static String getPreparationKey(FinalSQLString sql) {
+        String key = sql.getKey();
+        if (key != null) {
+            return PREPARE_PREFIX + key;
+        }
+        return PREPARE_PREFIX + getQueryTag(sql.getQuery()).orElse(UNNAMED_QUERY);
+    }
+
+    static Optional<String> getQueryTag(String sql) {
+        int commentStart = sql.indexOf(COMMENT_START);
+        while (commentStart >= 0) {
+            int tagStart = skipWhitespace(sql, commentStart + COMMENT_START.length());
+            int tagEnd = tagStart;
+            while (tagEnd < sql.length() && isTagCharacter(sql.charAt(tagEnd))) {
+                tagEnd++;
+            }
+            if (tagEnd > tagStart && isTagTerminator(sql, tagEnd)) {
+                return Optional.of(sql.substring(tagStart, tagEnd));
+            }
+            commentStart = sql.indexOf(COMMENT_START, commentStart + COMMENT_START.length());
+        }
+        return Optional.empty();
+    }
+
+    private static int skipWhitespace(String sql, int index) {
+        int current = index;
+        while (current < sql.length() && Character.isWhitespace(sql.charAt(current))) {
+            current++;
+        }
+        return current;
+    }
+
+    private static boolean isTagCharacter(char character) {
+        return (character >= 'A' && character <= 'Z') || (character >= '0' && character <= '9') || character == '_';
+    }
+
+    private static boolean isTagTerminator(String sql, int index) {
+        if (index >= sql.length()) {
+            return false;
+        }
+        char character = sql.charAt(index);
+        return Character.isWhitespace(character) || character == '(' || character == '*';
+    }
+}
@@ -17,11 +17,14 @@ package com.palantir.nexus.db.sql;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.nexus.db.monitoring.timer.DurationSqlTimer;
 import com.palantir.nexus.db.monitoring.timer.SqlTimer;
 import java.io.ByteArrayInputStream;
@@ -65,6 +68,26 @@ public class BasicSQLTest {
         verify(executeExecutorTwo, times(2)).submit(any(Callable.class));
     }
 
+    @Test
+    public void batchInsertsTimeStatementPreparationPerQueryName() throws SQLException {
+        SqlTimer.Handle handle = mock(SqlTimer.Handle.class);
+        SqlTimer sqlTimer = mock(SqlTimer.class);
+        when(sqlTimer.start(any(), any(), any())).thenReturn(handle);
+        Connection conn = createMockConnection();
+        when(conn.prepareStatement(any()).executeBatch()).thenReturn(new int[] {1});
+
+        BasicSQL basicSql = createBasicSQL(
+                mock(ExecutorService.class), MoreExecutors.newDirectExecutorService(), sqlTimer);
+        basicSql.insertMany(
+                conn,
+                SQLString.getUnregisteredQuery("/* INSERT_ONE (a) */ INSERT INTO a VALUES (?)"),
+                new Object[][] {{1L}});
+
+        verify(sqlTimer).start(eq("prepareStatement"), eq("prepare.INSERT_ONE"), anyString());
+        verify(sqlTimer).start(eq("insertMany(1)"), any(), anyString());
+        verify(handle, times(2)).stop();
+    }
+
     @Test
     public void testSQLException() {
         StringBuilder sb = new StringBuilder();
@@ -97,6 +120,11 @@ public class BasicSQLTest {
     }
 
     private BasicSQL createBasicSQL(final ExecutorService selectExecutor, final ExecutorService executeExecutor) {
+        return createBasicSQL(selectExecutor, executeExecutor, new DurationSqlTimer());
+    }
+
+    private BasicSQL createBasicSQL(
+            final ExecutorService selectExecutor, final ExecutorService executeExecutor, SqlTimer sqlTimer) {
         return new BasicSQL(selectExecutor, executeExecutor) {
             @Override
             protected SqlConfig getSqlConfig() {
@@ -108,7 +136,7 @@ public class BasicSQLTest {
 
                     @Override
                     public SqlTimer getSqlTimer() {
-                        return new DurationSqlTimer();
+                        return sqlTimer;
                     }
                 };
             }
@@ -0,0 +1,53 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.nexus.db.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class SqlQueryNamesTest {
+    @Test
+    public void unregisteredQueriesAreNamedAfterTheirTag() {
+        assertThat(SqlQueryNames.getPreparationKey(SQLString.getUnregisteredQuery(
+                        " /* GET_LATEST_ROW_INNER (ns__table) */ SELECT m.row_name FROM ns__table m")))
+                .isEqualTo("prepare.GET_LATEST_ROW_INNER");
+    }
+
+    @Test
+    public void queriesDifferingOnlyInTableAndBindVariablesShareAName() {
+        String firstKey = SqlQueryNames.getPreparationKey(SQLString.getUnregisteredQuery(
+                "/* GET_ALL_ROWS (first) */ SELECT * FROM first WHERE row_name IN (?)"));
+        String secondKey = SqlQueryNames.getPreparationKey(SQLString.getUnregisteredQuery(
+                "/* GET_ALL_ROWS (second) */ SELECT * FROM second WHERE row_name IN (?,?,?)"));
+
+        assertThat(firstKey).isEqualTo(secondKey).isEqualTo("prepare.GET_ALL_ROWS");
+    }
+
+    @Test
+    public void hintsAndMixedCaseCommentsAreNotTags() {
+        assertThat(SqlQueryNames.getQueryTag("/* UnregisteredSQLString */ DELETE /*+ INDEX(m pk_t) */ FROM t m"))
+                .isEmpty();
+        assertThat(SqlQueryNames.getQueryTag("/* UnregisteredSQLString */ /* DELETE_ONE (t) */ DELETE FROM t m"))
+                .hasValue("DELETE_ONE");
+    }
+
+    @Test
+    public void queriesWithoutTagsAreUnnamed() {
+        assertThat(SqlQueryNames.getPreparationKey(SQLString.getUnregisteredQuery("SELECT 1 FROM dual")))
+                .isEqualTo("prepare." + SqlQueryNames.UNNAMED_QUERY);
+    }
+}
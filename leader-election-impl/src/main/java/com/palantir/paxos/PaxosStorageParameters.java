@@ -29,6 +29,12 @@ public interface PaxosStorageParameters {
 
     Optional<String> fileBasedLogDirectory();
 
+    /**
+     * If present, single round writes to the SQLite log are group committed with writes of other namespaces sharing
+     * the same writer. The writer must write to {@link #sqliteDataSource()}.
+     */
+    Optional<SqlitePaxosGroupCommitWriter> sqliteGroupCommitWriter();
+
     @Default
     default boolean skipConsistencyCheckAndTruncateOldPaxosLog() {
         return false;
@@ -0,0 +1,549 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.paxos;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.palantir.common.base.Throwables;
+import com.palantir.common.persist.Persistable;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.UnsafeArg;
+import com.palantir.logsafe.logger.SafeLogger;
+import com.palantir.logsafe.logger.SafeLoggerFactory;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * A {@link PaxosStateLog} laid out as a log: rounds are appended to preallocated segment files, each covering a fixed
+ * range of sequence numbers, and every record carries a CRC32 of its payload. An in-memory index maps each sequence
+ * number present to its offset in its segment, and reads are served from a memory mapping of the segment.
+ *
+ * Because segments are preallocated by writing zeroes, appends do not change file metadata, so a data-only sync
+ * suffices for durability. Truncation persists a watermark and deletes every segment that lies entirely below it, so
+ * its cost does not depend on the number of rounds truncated. Writing a round at or below the watermark first compacts
+ * away the truncated records that are still on disk and clears the watermark, so the round survives a reopen. A
+ * record that was only partially written when the process died is detected by its checksum when the segment is next
+ * opened, and discarded along with anything after it.
+ */
+public final class SegmentedPaxosStateLog<V extends Persistable & Versionable> implements PaxosStateLog<V>, Closeable {
+    private static final SafeLogger log = SafeLoggerFactory.get(SegmentedPaxosStateLog.class);
+
+    @VisibleForTesting
+    static final int DEFAULT_ROUNDS_PER_SEGMENT = 10_000;
+
+    @VisibleForTesting
+    static final int DEFAULT_INITIAL_SEGMENT_SIZE_BYTES = 4 * 1024 * 1024;
+
+    private static final String SEGMENT_SUFFIX = ".segment";
+    private static final String TRUNCATION_WATERMARK_FILE = "truncated-up-to";
+    private static final String TMP_FILE_SUFFIX = ".tmp";
+
+    private static final int RECORD_MAGIC = 0x50534c31;
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final int ZEROES_BUFFER_SIZE = 64 * 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<Long, Segment> segments = new TreeMap<>();
+    private final Path directory;
+    private final int roundsPerSegment;
+    private final int initialSegmentSizeBytes;
+    private long truncatedUpToInclusive;
+
+    private SegmentedPaxosStateLog(
+            Path directory, int roundsPerSegment, int initialSegmentSizeBytes, long truncatedUpToInclusive) {
+        this.directory = directory;
+        this.roundsPerSegment = roundsPerSegment;
+        this.initialSegmentSizeBytes = initialSegmentSizeBytes;
+        this.truncatedUpToInclusive = truncatedUpToInclusive;
+    }
+
+    public static <V extends Persistable & Versionable> SegmentedPaxosStateLog<V> create(
+            Path baseDirectory, NamespaceAndUseCase namespaceAndUseCase) {
+        return create(baseDirectory
+                .resolve(namespaceAndUseCase.namespace().value())
+                .resolve(namespaceAndUseCase.useCase()));
+    }
+
+    public static <V extends Persistable & Versionable> SegmentedPaxosStateLog<V> create(Path directory) {
+        return create(directory, DEFAULT_ROUNDS_PER_SEGMENT, DEFAULT_INITIAL_SEGMENT_SIZE_BYTES);
+    }
+
+    @VisibleForTesting
+    static <V extends Persistable & Versionable> SegmentedPaxosStateLog<V> create(
+            Path directory, int roundsPerSegment, int initialSegmentSizeBytes) {
+        Preconditions.checkArgument(roundsPerSegment > 0, "Rounds per segment must be positive");
+        Preconditions.checkArgument(
+                initialSegmentSizeBytes >= RECORD_HEADER_SIZE,
+                "Initial segment size must be able to fit at least a record header",
+                SafeArg.of("initialSegmentSizeBytes", initialSegmentSizeBytes));
+        try {
+            Files.createDirectories(directory);
+            SegmentedPaxosStateLog<V> stateLog = new SegmentedPaxosStateLog<>(
+                    directory, roundsPerSegment, initialSegmentSizeBytes, readTruncationWatermark(directory));
+            stateLog.loadSegments();
+            return stateLog;
+        } catch (IOException e) {
+            throw Throwables.rewrapAndThrowUncheckedException(
+                    "Could not open segmented paxos state log at " + directory, e);
+        }
+    }
+
+    @Override
+    public void writeRound(long seq, V round) {
+        lock.writeLock().lock();
+        try {
+            clearTruncationWatermarkIfAtOrAbove(seq);
+            Segment segment = getOrCreateSegment(seq);
+            segment.append(seq, round.persistToBytes());
+            segment.sync();
+        } catch (IOException e) {
+            throw Throwables.rewrapAndThrowUncheckedException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Appends all rounds before syncing each touched segment once.
+     */
+    @Override
+    public void writeBatchOfRounds(Iterable<PaxosRound<V>> rounds) {
+        lock.writeLock().lock();
+        try {
+            Set<Segment> touchedSegments = new HashSet<>();
+            for (PaxosRound<V> round : rounds) {
+                clearTruncationWatermarkIfAtOrAbove(round.sequence());
+                Segment segment = getOrCreateSegment(round.sequence());
+                segment.append(round.sequence(), round.value().persistToBytes());
+                touchedSegments.add(segment);
+            }
+            for (Segment segment : touchedSegments) {
+                segment.sync();
+            }
+        } catch (IOException e) {
+            throw Throwables.rewrapAndThrowUncheckedException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public byte[] readRound(long seq) throws IOException {
+        lock.readLock().lock();
+        try {
+            Segment segment = segments.get(segmentId(seq));
+            return segment == null ? null : segment.read(seq);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long getLeastLogEntry() {
+        lock.readLock().lock();
+        try {
+            return segments.values().stream()
+                    .filter(segment -> !segment.offsets.isEmpty())
+                    .findFirst()
+                    .map(segment -> segment.offsets.firstKey())
+                    .orElse(PaxosAcceptor.NO_LOG_ENTRY);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long getGreatestLogEntry() {
+        lock.readLock().lock();
+        try {
+            return segments.descendingMap().values().stream()
+                    .filter(segment -> !segment.offsets.isEmpty())
+                    .findFirst()
+                    .map(segment -> segment.offsets.lastKey())
+                    .orElse(PaxosAcceptor.NO_LOG_ENTRY);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void truncate(long toDeleteInclusive) {
+        lock.writeLock().lock();
+        try {
+            if (toDeleteInclusive <= truncatedUpToInclusive) {
+                return;
+            }
+            writeTruncationWatermark(toDeleteInclusive);
+            truncatedUpToInclusive = toDeleteInclusive;
+
+            NavigableMap<Long, Segment> fullyTruncated = segments.headMap(segmentId(toDeleteInclusive), false);
+            for (Segment segment : new ArrayList<>(fullyTruncated.values())) {
+                segment.delete();
+            }
+            fullyTruncated.clear();
+
+            Segment partiallyTruncated = segments.get(segmentId(toDeleteInclusive));
+            if (partiallyTruncated != null) {
+                partiallyTruncated.offsets.headMap(toDeleteInclusive, true).clear();
+            }
+        } catch (IOException e) {
+            throw Throwables.rewrapAndThrowUncheckedException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Deletes every segment and then the watermark, so the log is as if newly created and rounds of any sequence can
+     * be written to it again.
+     */
+    @Override
+    public void truncateAllRounds() {
+        lock.writeLock().lock();
+        try {
+            for (Segment segment : segments.values()) {
+                segment.delete();
+            }
+            segments.clear();
+            syncDirectory(directory);
+            deleteTruncationWatermark();
+        } catch (IOException e) {
+            throw Throwables.rewrapAndThrowUncheckedException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            for (Segment segment : segments.values()) {
+                segment.channel.close();
+            }
+            segments.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    Path directory() {
+        return directory;
+    }
+
+    @VisibleForTesting
+    int numberOfSegments() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long segmentId(long seq) {
+        return Math.floorDiv(seq, roundsPerSegment);
+    }
+
+    /**
+     * The watermark would hide a round written at or below it once the log is reopened. Every segment below the one
+     * holding the watermark was deleted when truncating, so once that segment is rewritten without its truncated
+     * records, nothing on disk is below the watermark any more and it can be removed.
+     */
+    private void clearTruncationWatermarkIfAtOrAbove(long seq) throws IOException {
+        if (seq > truncatedUpToInclusive) {
+            return;
+        }
+        long watermarkSegmentId = segmentId(truncatedUpToInclusive);
+        Segment watermarkSegment = segments.get(watermarkSegmentId);
+        if (watermarkSegment != null) {
+            segments.put(watermarkSegmentId, watermarkSegment.compact(initialSegmentSizeBytes));
+            syncDirectory(directory);
+        }
+        deleteTruncationWatermark();
+    }
+
+    private Segment getOrCreateSegment(long seq) throws IOException {
+        long segmentId = segmentId(seq);
+        Segment existing = segments.get(segmentId);
+        if (existing != null) {
+            return existing;
+        }
+        Segment segment = Segment.create(segmentPath(segmentId), initialSegmentSizeBytes);
+        syncDirectory(directory);
+        segments.put(segmentId, segment);
+        return segment;
+    }
+
+    private Path segmentPath(long segmentId) {
+        return directory.resolve(segmentId + SEGMENT_SUFFIX);
+    }
+
+    private void loadSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segmentFiles = files.filter(
+                            path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .collect(Collectors.toList());
+            for (Path segmentFile : segmentFiles) {
+                String fileName = segmentFile.getFileName().toString();
+                long segmentId = Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+                if (segmentId < segmentId(truncatedUpToInclusive)) {
+                    // the process died after persisting the watermark, but before deleting this segment
+                    Files.deleteIfExists(segmentFile);
+                    continue;
+                }
+                Segment segment = Segment.open(segmentFile);
+                segment.offsets.headMap(truncatedUpToInclusive, true).clear();
+                segments.put(segmentId, segment);
+            }
+        }
+    }
+
+    private void writeTruncationWatermark(long watermark) throws IOException {
+        Path tmpFile = directory.resolve(TRUNCATION_WATERMARK_FILE + TMP_FILE_SUFFIX);
+        try (FileChannel channel = FileChannel.open(
+                tmpFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(Long.toString(watermark).getBytes(StandardCharsets.UTF_8)));
+            channel.force(true);
+        }
+        Files.move(
+                tmpFile,
+                directory.resolve(TRUNCATION_WATERMARK_FILE),
+                StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory(directory);
+    }
+
+    private void deleteTruncationWatermark() throws IOException {
+        if (Files.deleteIfExists(directory.resolve(TRUNCATION_WATERMARK_FILE))) {
+            syncDirectory(directory);
+        }
+        truncatedUpToInclusive = Long.MIN_VALUE;
+    }
+
+    private static long readTruncationWatermark(Path directory) throws IOException {
+        Path watermarkFile = directory.resolve(TRUNCATION_WATERMARK_FILE);
+        if (!Files.exists(watermarkFile)) {
+            return Long.MIN_VALUE;
+        }
+        return Long.parseLong(new String(Files.readAllBytes(watermarkFile), StandardCharsets.UTF_8).trim());
+    }
+
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // not all platforms allow opening directories, in which case we rely on the platform for durability
+            log.debug("Could not sync directory", UnsafeArg.of("directory", directory), e);
+        }
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private final NavigableMap<Long, Integer> offsets;
+        private MappedByteBuffer mapping;
+        private int writePosition;
+
+        private Segment(Path path, FileChannel channel, NavigableMap<Long, Integer> offsets, int writePosition)
+                throws IOException {
+            this.path = path;
+            this.channel = channel;
+            this.offsets = offsets;
+            this.writePosition = writePosition;
+            remap();
+        }
+
+        static Segment create(Path path, int sizeBytes) throws IOException {
+            FileChannel channel = FileChannel.open(
+                    path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            preallocate(channel, sizeBytes);
+            return new Segment(path, channel, new TreeMap<>(), 0);
+        }
+
+        static Segment open(Path path) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer contents = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            NavigableMap<Long, Integer> offsets = new TreeMap<>();
+            int position = 0;
+            boolean tornRecord = false;
+            while (position + RECORD_HEADER_SIZE <= contents.capacity()) {
+                if (contents.getInt(position) != RECORD_MAGIC) {
+                    break;
+                }
+                long seq = contents.getLong(position + Integer.BYTES);
+                int length = contents.getInt(position + Integer.BYTES + Long.BYTES);
+                if (length < 0
+                        || (long) position + RECORD_HEADER_SIZE + length > contents.capacity()
+                        || !checksumMatches(contents, position, length)) {
+                    tornRecord = true;
+                    break;
+                }
+                offsets.put(seq, position);
+                position += RECORD_HEADER_SIZE + length;
+            }
+            if (tornRecord) {
+                log.warn(
+                        "Discarding a partially written record at the end of a paxos state log segment",
+                        SafeArg.of("offset", position),
+                        UnsafeArg.of("segment", path));
+                zeroFrom(channel, position);
+            }
+            return new Segment(path, channel, offsets, position);
+        }
+
+        void append(long seq, byte[] value) throws IOException {
+            int recordSize = RECORD_HEADER_SIZE + value.length;
+            if ((long) writePosition + recordSize > mapping.capacity()) {
+                long newSize = Math.max(2L * mapping.capacity(), (long) writePosition + recordSize);
+                Preconditions.checkState(
+                        newSize <= Integer.MAX_VALUE,
+                        "Paxos state log segment would exceed the maximum size",
+                        SafeArg.of("newSize", newSize));
+                preallocate(channel, newSize);
+                channel.force(true);
+                remap();
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(value);
+            ByteBuffer record = ByteBuffer.allocate(recordSize)
+                    .putInt(RECORD_MAGIC)
+                    .putLong(seq)
+                    .putInt(value.length)
+                    .putInt((int) crc.getValue())
+                    .put(value);
+            record.flip();
+            int position = writePosition;
+            while (record.hasRemaining()) {
+                channel.write(record, position + record.position());
+            }
+            offsets.put(seq, position);
+            writePosition += recordSize;
+        }
+
+        void sync() throws IOException {
+            channel.force(false);
+        }
+
+        byte[] read(long seq) throws IOException {
+            Integer offset = offsets.get(seq);
+            if (offset == null) {
+                return null;
+            }
+            int length = mapping.getInt(offset + Integer.BYTES + Long.BYTES);
+            if (!checksumMatches(mapping, offset, length)) {
+                throw new CorruptLogFileException();
+            }
+            byte[] value = new byte[length];
+            ByteBuffer view = mapping.duplicate();
+            view.position(offset + RECORD_HEADER_SIZE);
+            view.get(value);
+            return value;
+        }
+
+        /**
+         * Rewrites this segment with only the records still in its index, replacing the file atomically. This segment
+         * is closed, and the rewritten segment returned in its place.
+         */
+        Segment compact(int initialSizeBytes) throws IOException {
+            Path tmpPath = path.resolveSibling(path.getFileName() + TMP_FILE_SUFFIX);
+            Files.deleteIfExists(tmpPath);
+            Segment compacted = create(tmpPath, initialSizeBytes);
+            try {
+                for (long seq : offsets.keySet()) {
+                    compacted.append(seq, read(seq));
+                }
+                compacted.sync();
+            } finally {
+                compacted.channel.close();
+            }
+            channel.close();
+            Files.move(tmpPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return open(path);
+        }
+
+        void delete() throws IOException {
+            channel.close();
+            Files.deleteIfExists(path);
+        }
+
+        private void remap() throws IOException {
+            mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        private static boolean checksumMatches(ByteBuffer contents, int offset, int length) {
+            int expected = contents.getInt(offset + Integer.BYTES + Long.BYTES + Integer.BYTES);
+            ByteBuffer payload = contents.duplicate();
+            payload.position(offset + RECORD_HEADER_SIZE);
+            payload.limit(offset + RECORD_HEADER_SIZE + length);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            return (int) crc.getValue() == expected;
+        }
+
+        /**
+         * Writes zeroes up to the given size rather than only extending the file, so the blocks are allocated now and
+         * later appends only overwrite them.
+         */
+        private static void preallocate(FileChannel channel, long sizeBytes) throws IOException {
+            writeZeroes(channel, channel.size(), sizeBytes);
+        }
+
+        private static void zeroFrom(FileChannel channel, int position) throws IOException {
+            writeZeroes(channel, position, channel.size());
+            channel.force(false);
+        }
+
+        private static void writeZeroes(FileChannel channel, long fromInclusive, long toExclusive) throws IOException {
+            if (fromInclusive >= toExclusive) {
+                return;
+            }
+            ByteBuffer zeroes = ByteBuffer.allocate((int) Math.min(toExclusive - fromInclusive, ZEROES_BUFFER_SIZE));
+            long current = fromInclusive;
+            while (current < toExclusive) {
+                zeroes.clear();
+                zeroes.limit((int) Math.min(zeroes.capacity(), toExclusive - current));
+                current += channel.write(zeroes, current);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SegmentedPaxosStateLog{directory=" + directory + '}';
+    }
+}
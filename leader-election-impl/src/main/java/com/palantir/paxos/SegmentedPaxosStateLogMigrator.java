@@ -0,0 +1,152 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.paxos;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.palantir.common.base.Throwables;
+import com.palantir.common.persist.Persistable;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.logger.SafeLogger;
+import com.palantir.logsafe.logger.SafeLoggerFactory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.immutables.value.Value;
+
+/**
+ * Copies the rounds of a {@link PaxosStateLog} into a {@link SegmentedPaxosStateLog}. Unlike
+ * {@link PaxosStateLogMigrator}, all entries from the least entry of the source log are copied, as the destination is
+ * intended to replace the source entirely. Completion of the migration is recorded by a marker file in the directory of
+ * the destination log; once that exists, subsequent runs only validate that the source has not advanced since.
+ */
+public final class SegmentedPaxosStateLogMigrator<V extends Persistable & Versionable> {
+    private static final SafeLogger log = SafeLoggerFactory.get(SegmentedPaxosStateLogMigrator.class);
+
+    @VisibleForTesting
+    static final int BATCH_SIZE = 10_000;
+
+    @VisibleForTesting
+    static final String MIGRATED_MARKER_FILE = "migrated";
+
+    private final SegmentedMigrationContext<V> context;
+
+    private SegmentedPaxosStateLogMigrator(SegmentedMigrationContext<V> context) {
+        this.context = context;
+    }
+
+    public static <V extends Persistable & Versionable> void migrateIfNecessary(SegmentedMigrationContext<V> context) {
+        SegmentedPaxosStateLogMigrator<V> migrator = new SegmentedPaxosStateLogMigrator<>(context);
+        if (migrator.isMigrated()) {
+            migrator.validateConsistency();
+        } else {
+            migrator.runMigration();
+        }
+    }
+
+    private boolean isMigrated() {
+        return Files.exists(markerFile());
+    }
+
+    private void runMigration() {
+        log.info(
+                "Now migrating namespace and use case {} to a segmented paxos state log.",
+                SafeArg.of("namespaceAndUseCase", context.namespaceAndUseCase()));
+        Instant start = Instant.now();
+        PaxosStateLog<V> sourceLog = context.sourceLog();
+        SegmentedPaxosStateLog<V> destinationLog = context.destinationLog();
+        destinationLog.truncateAllRounds();
+
+        long lowerBound = Math.max(0, sourceLog.getLeastLogEntry());
+        long upperBound = sourceLog.getGreatestLogEntry();
+        long numEntries = 0;
+        if (upperBound != PaxosAcceptor.NO_LOG_ENTRY) {
+            for (long batchStart = lowerBound; batchStart <= upperBound; batchStart += BATCH_SIZE) {
+                List<PaxosRound<V>> batch = readBatch(batchStart, Math.min(upperBound, batchStart + BATCH_SIZE - 1));
+                destinationLog.writeBatchOfRounds(batch);
+                numEntries += batch.size();
+            }
+        }
+
+        try {
+            Files.createFile(markerFile());
+        } catch (IOException e) {
+            throw Throwables.rewrapAndThrowUncheckedException(e);
+        }
+        log.info(
+                "Migrated {} entries for namespace and use case {} to a segmented paxos state log in {}.",
+                SafeArg.of("numEntries", numEntries),
+                SafeArg.of("namespaceAndUseCase", context.namespaceAndUseCase()),
+                SafeArg.of("duration", Duration.between(start, Instant.now())));
+    }
+
+    private List<PaxosRound<V>> readBatch(long startInclusive, long endInclusive) {
+        List<PaxosRound<V>> rounds = new ArrayList<>();
+        for (long sequence = startInclusive; sequence <= endInclusive; sequence++) {
+            read(context.sourceLog(), sequence).ifPresent(rounds::add);
+        }
+        return rounds;
+    }
+
+    private void validateConsistency() {
+        long greatestSourceEntry = context.sourceLog().getGreatestLogEntry();
+        if (greatestSourceEntry == PaxosAcceptor.NO_LOG_ENTRY) {
+            return;
+        }
+        Optional<PaxosRound<V>> source = read(context.sourceLog(), greatestSourceEntry);
+        Optional<PaxosRound<V>> destination = read(context.destinationLog(), greatestSourceEntry);
+        Preconditions.checkState(
+                source.isPresent()
+                        && destination.isPresent()
+                        && source.get().value().equalsIgnoringVersion(destination.get().value()),
+                "The migration to the segmented state log was already performed in the past, but the entry with the "
+                        + "greatest sequence in the source log does not match the entry in the destination log. This "
+                        + "indicates the source log has advanced since the migration was performed which could lead "
+                        + "to data corruption if allowed to continue.",
+                SafeArg.of("sequence", greatestSourceEntry),
+                SafeArg.of("namespaceAndUseCase", context.namespaceAndUseCase()));
+    }
+
+    private Optional<PaxosRound<V>> read(PaxosStateLog<V> stateLog, long sequence) {
+        try {
+            return Optional.ofNullable(stateLog.readRound(sequence))
+                    .map(bytes -> PaxosRound.of(sequence, context.hydrator().hydrateFromBytes(bytes)));
+        } catch (IOException e) {
+            throw Throwables.rewrapAndThrowUncheckedException(e);
+        }
+    }
+
+    private Path markerFile() {
+        return context.destinationLog().directory().resolve(MIGRATED_MARKER_FILE);
+    }
+
+    @Value.Immutable
+    public interface SegmentedMigrationContext<V extends Persistable & Versionable> {
+        PaxosStateLog<V> sourceLog();
+
+        SegmentedPaxosStateLog<V> destinationLog();
+
+        Persistable.Hydrator<V> hydrator();
+
+        NamespaceAndUseCase namespaceAndUseCase();
+    }
+}
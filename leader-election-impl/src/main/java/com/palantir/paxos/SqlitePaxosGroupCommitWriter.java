@@ -0,0 +1,155 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.paxos;
+
+import com.codahale.metrics.Timer;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.palantir.atlasdb.autobatch.Autobatchers;
+import com.palantir.atlasdb.autobatch.BatchElement;
+import com.palantir.atlasdb.autobatch.DisruptorAutobatcher;
+import com.palantir.leader.PaxosStateLogGroupCommitMetrics;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeRuntimeException;
+import com.palantir.logsafe.logger.SafeLogger;
+import com.palantir.logsafe.logger.SafeLoggerFactory;
+import com.palantir.tritium.metrics.registry.TaggedMetricRegistry;
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.immutables.value.Value;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
+
+/**
+ * Coalesces concurrent writes of paxos rounds to a shared SQLite database into a single transaction, regardless of
+ * the namespace or use case they belong to. With synchronous commits every transaction pays for its own fsync, so
+ * batching writes that arrive while a previous batch is being flushed allows the fsync rate, rather than the number of
+ * namespaces, to bound accept and learn throughput.
+ *
+ * A caller of {@link #writeRound(NamespaceAndUseCase, long, byte[])} only returns once the transaction containing
+ * its round has been committed. If a batch fails as a whole, its rounds are retried individually so that a single
+ * bad write does not fail unrelated namespaces.
+ */
+public final class SqlitePaxosGroupCommitWriter implements Closeable {
+    private static final SafeLogger log = SafeLoggerFactory.get(SqlitePaxosGroupCommitWriter.class);
+
+    private final Jdbi jdbi;
+    private final PaxosStateLogGroupCommitMetrics metrics;
+    private final DisruptorAutobatcher<PendingWrite, Void> autobatcher;
+
+    private SqlitePaxosGroupCommitWriter(Jdbi jdbi, PaxosStateLogGroupCommitMetrics metrics) {
+        this.jdbi = jdbi;
+        this.metrics = metrics;
+        this.autobatcher = Autobatchers.<PendingWrite, Void>independent(this::flush)
+                .safeLoggablePurpose("sqlite-paxos-state-log-group-commit")
+                .build();
+    }
+
+    public static SqlitePaxosGroupCommitWriter create(DataSource dataSource, TaggedMetricRegistry metricRegistry) {
+        Jdbi jdbi = SqlitePaxosStateLog.createJdbi(dataSource);
+        jdbi.withExtension(SqlitePaxosStateLog.Queries.class, SqlitePaxosStateLog.Queries::createTable);
+        return new SqlitePaxosGroupCommitWriter(jdbi, PaxosStateLogGroupCommitMetrics.of(metricRegistry));
+    }
+
+    void writeRound(NamespaceAndUseCase namespaceAndUseCase, long seq, byte[] value) {
+        ListenableFuture<Void> result = autobatcher.apply(ImmutablePendingWrite.builder()
+                .namespace(namespaceAndUseCase.namespace().value())
+                .useCase(namespaceAndUseCase.useCase())
+                .seq(seq)
+                .value(value)
+                .build());
+        try {
+            result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SafeRuntimeException("Interrupted while waiting for paxos round to be written", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new SafeRuntimeException("Failed to write paxos round", cause);
+        }
+    }
+
+    private void flush(List<BatchElement<PendingWrite, Void>> batch) {
+        List<PendingWrite> writes =
+                batch.stream().map(BatchElement::argument).collect(Collectors.toList());
+        try (Timer.Context timer = metrics.flushLatency().time()) {
+            writeInSingleTransaction(writes);
+        } catch (RuntimeException e) {
+            log.warn(
+                    "Failed to group commit paxos rounds, writing them individually instead",
+                    SafeArg.of("batchSize", batch.size()),
+                    e);
+            metrics.fallbackToIndividualWrites().mark();
+            batch.forEach(this::writeIndividually);
+            return;
+        }
+        metrics.batchSize().update(batch.size());
+        batch.forEach(element -> element.result().set(null));
+    }
+
+    private void writeIndividually(BatchElement<PendingWrite, Void> element) {
+        try {
+            writeInSingleTransaction(List.of(element.argument()));
+            element.result().set(null);
+        } catch (RuntimeException e) {
+            element.result().setException(e);
+        }
+    }
+
+    private void writeInSingleTransaction(List<PendingWrite> writes) {
+        jdbi.useExtension(Queries.class, dao -> dao.writeRounds(
+                writes.stream().map(PendingWrite::namespace).collect(Collectors.toList()),
+                writes.stream().map(PendingWrite::useCase).collect(Collectors.toList()),
+                writes.stream().map(PendingWrite::seq).collect(Collectors.toList()),
+                writes.stream().map(PendingWrite::value).collect(Collectors.toList())));
+    }
+
+    @Override
+    public void close() {
+        autobatcher.close();
+    }
+
+    @Value.Immutable
+    interface PendingWrite {
+        String namespace();
+
+        String useCase();
+
+        long seq();
+
+        byte[] value();
+    }
+
+    public interface Queries {
+        /**
+         * Batches are executed in a single transaction, and thus with a single fsync.
+         */
+        @SqlBatch("INSERT OR REPLACE INTO paxosLog (namespace, useCase, seq, val) VALUES ("
+                + ":namespace, :useCase, :seq, :value)")
+        boolean[] writeRounds(
+                @Bind("namespace") List<String> namespaces,
+                @Bind("useCase") List<String> useCases,
+                @Bind("seq") List<Long> seqs,
+                @Bind("value") List<byte[]> values);
+    }
+}
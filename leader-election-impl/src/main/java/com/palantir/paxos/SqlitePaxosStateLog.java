@@ -17,6 +17,7 @@
 package com.palantir.paxos;
 
 import com.palantir.common.persist.Persistable;
+import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.Set;
 import java.util.function.Function;
@@ -35,29 +36,56 @@ import org.jdbi.v3.sqlobject.statement.SqlUpdate;
 public class SqlitePaxosStateLog<V extends Persistable & Versionable> implements PaxosStateLog<V> {
     private final Client namespace;
     private final String useCase;
+    private final NamespaceAndUseCase namespaceAndUseCase;
     private final Jdbi jdbi;
+    private final Optional<SqlitePaxosGroupCommitWriter> groupCommitWriter;
 
-    private SqlitePaxosStateLog(NamespaceAndUseCase namespaceAndUseCase, Jdbi jdbi) {
+    private SqlitePaxosStateLog(
+            NamespaceAndUseCase namespaceAndUseCase,
+            Jdbi jdbi,
+            Optional<SqlitePaxosGroupCommitWriter> groupCommitWriter) {
         this.namespace = namespaceAndUseCase.namespace();
         this.useCase = namespaceAndUseCase.useCase();
+        this.namespaceAndUseCase = namespaceAndUseCase;
         this.jdbi = jdbi;
+        this.groupCommitWriter = groupCommitWriter;
     }
 
     public static <V extends Persistable & Versionable> PaxosStateLog<V> create(
             NamespaceAndUseCase namespaceAndUseCase, DataSource dataSource) {
-        Jdbi jdbi = Jdbi.create(dataSource).installPlugin(new SqlObjectPlugin());
-        jdbi.getConfig(JdbiImmutables.class).registerImmutable(Client.class, PaxosRound.class);
-        SqlitePaxosStateLog<V> log = new SqlitePaxosStateLog<>(namespaceAndUseCase, jdbi);
+        return create(namespaceAndUseCase, dataSource, Optional.empty());
+    }
+
+    /**
+     * If a group commit writer is provided, it must write to the same database as the provided data source. Single
+     * rounds are then written through it, so that they may share a transaction with writes for other namespaces.
+     */
+    public static <V extends Persistable & Versionable> PaxosStateLog<V> create(
+            NamespaceAndUseCase namespaceAndUseCase,
+            DataSource dataSource,
+            Optional<SqlitePaxosGroupCommitWriter> groupCommitWriter) {
+        SqlitePaxosStateLog<V> log =
+                new SqlitePaxosStateLog<>(namespaceAndUseCase, createJdbi(dataSource), groupCommitWriter);
         log.initialize();
         return log;
     }
 
+    static Jdbi createJdbi(DataSource dataSource) {
+        Jdbi jdbi = Jdbi.create(dataSource).installPlugin(new SqlObjectPlugin());
+        jdbi.getConfig(JdbiImmutables.class).registerImmutable(Client.class, PaxosRound.class);
+        return jdbi;
+    }
+
     private void initialize() {
         execute(Queries::createTable);
     }
 
     @Override
     public void writeRound(long seq, V round) {
+        if (groupCommitWriter.isPresent()) {
+            groupCommitWriter.get().writeRound(namespaceAndUseCase, seq, round.persistToBytes());
+            return;
+        }
         execute(dao -> dao.writeRound(namespace, useCase, seq, round.persistToBytes()));
     }
 
@@ -0,0 +1,264 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.paxos;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.google.common.primitives.Longs;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.leader.PaxosKnowledgeEventRecorder;
+import com.palantir.leader.proxy.ToggleableExceptionProxy;
+import com.palantir.logsafe.exceptions.SafeRuntimeException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PaxosProposerPreparingNextRoundTest {
+    private static final int NUM_NODES = 5;
+    private static final int QUORUM_SIZE = 3;
+    private static final int MAX_NODES_DOWN = NUM_NODES - QUORUM_SIZE;
+    private static final int NUM_SEQUENCES = 50;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final ExecutorService executor = PTExecutors.newCachedThreadPool();
+    private final List<AtomicBoolean> acceptorFailureToggles = new ArrayList<>();
+    private final List<PaxosLearner> learners = new ArrayList<>();
+    private PaxosAcceptorNetworkClient acceptorClient;
+
+    @Before
+    public void setup() {
+        List<PaxosAcceptor> acceptors = new ArrayList<>();
+        RuntimeException exception = new SafeRuntimeException("mock acceptor failure");
+        for (int i = 0; i < NUM_NODES; i++) {
+            AtomicBoolean failureToggle = new AtomicBoolean(false);
+            acceptorFailureToggles.add(failureToggle);
+            acceptors.add(ToggleableExceptionProxy.newProxyInstance(
+                    PaxosAcceptor.class,
+                    PaxosAcceptorImpl.newAcceptor(logDirectory("acceptor", i)),
+                    failureToggle,
+                    exception));
+            learners.add(PaxosLearnerImpl.newLearner(logDirectory("learner", i), PaxosKnowledgeEventRecorder.NO_OP));
+        }
+        acceptorClient = SingleLeaderAcceptorNetworkClient.createLegacy(
+                acceptors, QUORUM_SIZE, Maps.toMap(acceptors, $ -> executor), PaxosConstants.CANCEL_REMAINING_CALLS);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void stableProposerOnlyPreparesFirstRoundOnCallingThread() throws PaxosRoundFailureException {
+        Set<Long> preparedOnCallingThread = ConcurrentHashMap.newKeySet();
+        Thread callingThread = Thread.currentThread();
+        PaxosAcceptorNetworkClient recordingClient = new DelegatingAcceptorNetworkClient(acceptorClient) {
+            @Override
+            public PaxosResponses<PaxosPromise> prepare(long seq, PaxosProposalId proposalId) {
+                if (Thread.currentThread().equals(callingThread)) {
+                    preparedOnCallingThread.add(seq);
+                }
+                return super.prepare(seq, proposalId);
+            }
+        };
+        ExecutorService preparer = PTExecutors.newSingleThreadExecutor();
+        PaxosProposerImpl proposer = (PaxosProposerImpl) PaxosProposerImpl.newProposerPreparingNextRound(
+                recordingClient, learnerClient(0), UUID.randomUUID(), preparer);
+
+        for (long seq = 0; seq < NUM_SEQUENCES; seq++) {
+            assertThat(proposer.propose(seq, Longs.toByteArray(seq))).isEqualTo(Longs.toByteArray(seq));
+            assertThat(proposer.getSequencePreparedInAdvance()).contains(seq + 1);
+        }
+        preparer.shutdown();
+
+        assertThat(preparedOnCallingThread).containsExactly(0L);
+        assertAllLearnersAgree(NUM_SEQUENCES);
+    }
+
+    @Test
+    public void proposerFallsBackToBothPhasesIfAnotherProposerIntervenes() throws PaxosRoundFailureException {
+        PaxosProposer stableProposer = PaxosProposerImpl.newProposerPreparingNextRound(
+                acceptorClient, learnerClient(0), UUID.randomUUID(), MoreExecutors.directExecutor());
+        PaxosProposer otherProposer =
+                PaxosProposerImpl.newProposer(acceptorClient, learnerClient(1), UUID.randomUUID());
+
+        stableProposer.propose(0L, Longs.toByteArray(0L));
+        byte[] otherValue = proposeUntilSuccessful(otherProposer, 1L, Longs.toByteArray(42L));
+
+        assertThat(otherValue).isEqualTo(Longs.toByteArray(42L));
+        assertThat(proposeUntilSuccessful(stableProposer, 1L, Longs.toByteArray(1L))).isEqualTo(otherValue);
+        assertAllLearnersAgree(2);
+    }
+
+    @Test
+    public void concurrentProposersNeverLearnDifferentValuesUnderAcceptorFailures() {
+        List<PaxosProposer> proposers = ImmutableList.of(
+                PaxosProposerImpl.newProposerPreparingNextRound(
+                        acceptorClient, learnerClient(0), UUID.randomUUID(), executor),
+                PaxosProposerImpl.newProposerPreparingNextRound(
+                        acceptorClient, learnerClient(1), UUID.randomUUID(), executor),
+                PaxosProposerImpl.newProposer(acceptorClient, learnerClient(2), UUID.randomUUID()));
+
+        AtomicBoolean finished = new AtomicBoolean(false);
+        Future<?> nemesis = executor.submit(() -> injectAcceptorFailures(finished));
+
+        Map<Long, Set<PaxosValueKey>> decidedValues = new ConcurrentHashMap<>();
+        List<Future<?>> clients = IntStream.range(0, proposers.size())
+                .mapToObj(index -> executor.submit(() -> {
+                    for (long seq = 0; seq < NUM_SEQUENCES; seq++) {
+                        byte[] value = Longs.toByteArray(index * NUM_SEQUENCES + seq);
+                        byte[] decided = proposeUntilSuccessful(proposers.get(index), seq, value);
+                        decidedValues
+                                .computeIfAbsent(seq, $ -> ConcurrentHashMap.newKeySet())
+                                .add(new PaxosValueKey(decided));
+                    }
+                }))
+                .collect(Collectors.toList());
+        clients.forEach(Futures::getUnchecked);
+        finished.set(true);
+        Futures.getUnchecked(nemesis);
+
+        assertThat(decidedValues).hasSize(NUM_SEQUENCES);
+        decidedValues.forEach((seq, values) -> assertThat(values)
+                .as("values decided for sequence %s", seq)
+                .hasSize(1));
+        assertAllLearnersAgree(NUM_SEQUENCES);
+    }
+
+    private void injectAcceptorFailures(AtomicBoolean finished) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (!finished.get()) {
+            acceptorFailureToggles.forEach(toggle -> toggle.set(false));
+            random.ints(0, NUM_NODES)
+                    .distinct()
+                    .limit(random.nextInt(MAX_NODES_DOWN + 1))
+                    .forEach(index -> acceptorFailureToggles.get(index).set(true));
+            sleepUninterruptibly(random.nextInt(5));
+        }
+        acceptorFailureToggles.forEach(toggle -> toggle.set(false));
+    }
+
+    private void assertAllLearnersAgree(int numSequences) {
+        for (long seq = 0; seq < numSequences; seq++) {
+            long sequence = seq;
+            Set<PaxosValueKey> learnedValues = learners.stream()
+                    .map(learner -> learner.getLearnedValue(sequence))
+                    .flatMap(Optional::stream)
+                    .map(value -> new PaxosValueKey(value.getData()))
+                    .collect(Collectors.toSet());
+            assertThat(learnedValues).as("values learned for sequence %s", seq).hasSize(1);
+        }
+    }
+
+    private PaxosLearnerNetworkClient learnerClient(int index) {
+        PaxosLearner ourLearner = learners.get(index);
+        List<PaxosLearner> remoteLearners = learners.stream()
+                .filter(learner -> !learner.equals(ourLearner))
+                .collect(ImmutableList.toImmutableList());
+        return SingleLeaderLearnerNetworkClient.createLegacy(
+                ourLearner,
+                remoteLearners,
+                QUORUM_SIZE,
+                Maps.toMap(learners, $ -> executor),
+                PaxosConstants.CANCEL_REMAINING_CALLS);
+    }
+
+    private String logDirectory(String role, int index) {
+        return tempFolder.getRoot().toPath().resolve(role).resolve(Integer.toString(index)).toString();
+    }
+
+    private static byte[] proposeUntilSuccessful(PaxosProposer proposer, long seq, byte[] value) {
+        while (true) {
+            try {
+                return proposer.propose(seq, value);
+            } catch (PaxosRoundFailureException e) {
+                sleepUninterruptibly(ThreadLocalRandom.current().nextInt(5));
+            }
+        }
+    }
+
+    private static void sleepUninterruptibly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SafeRuntimeException("interrupted", e);
+        }
+    }
+
+    private static final class PaxosValueKey {
+        private final long value;
+
+        private PaxosValueKey(byte[] bytes) {
+            this.value = Longs.fromByteArray(bytes);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof PaxosValueKey && ((PaxosValueKey) other).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(value);
+        }
+    }
+
+    private static class DelegatingAcceptorNetworkClient implements PaxosAcceptorNetworkClient {
+        private final PaxosAcceptorNetworkClient delegate;
+
+        DelegatingAcceptorNetworkClient(PaxosAcceptorNetworkClient delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public PaxosResponses<PaxosPromise> prepare(long seq, PaxosProposalId proposalId) {
+            return delegate.prepare(seq, proposalId);
+        }
+
+        @Override
+        public PaxosResponses<BooleanPaxosResponse> accept(long seq, PaxosProposal proposal) {
+            return delegate.accept(seq, proposal);
+        }
+
+        @Override
+        public PaxosResponses<PaxosLong> getLatestSequencePreparedOrAccepted() {
+            return delegate.getLatestSequencePreparedOrAccepted();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.paxos;
+
+import static com.palantir.paxos.PaxosStateLogTestUtils.NAMESPACE;
+import static com.palantir.paxos.PaxosStateLogTestUtils.getPaxosValue;
+import static com.palantir.paxos.PaxosStateLogTestUtils.valueForRound;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.stream.LongStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SegmentedPaxosStateLogMigratorTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private PaxosStateLog<PaxosValue> source;
+    private SegmentedPaxosStateLog<PaxosValue> destination;
+
+    @Before
+    public void setup() {
+        source = SqlitePaxosStateLog.create(
+                NAMESPACE,
+                SqliteConnections.getDefaultConfiguredPooledDataSource(
+                        tempFolder.getRoot().toPath().resolve("sqlite")));
+        destination = SegmentedPaxosStateLog.create(tempFolder.getRoot().toPath().resolve("segmented"), NAMESPACE);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        destination.close();
+    }
+
+    @Test
+    public void migratesAllEntriesFromSource() {
+        source.writeBatchOfRounds(PaxosStateLogTestUtils.generateRounds(LongStream.rangeClosed(7, 2_500)));
+
+        migrate();
+
+        assertThat(destination.getLeastLogEntry()).isEqualTo(7L);
+        assertThat(destination.getGreatestLogEntry()).isEqualTo(2_500L);
+        LongStream.rangeClosed(7, 2_500)
+                .forEach(seq -> assertThat(getPaxosValue(destination, seq)).isEqualTo(valueForRound(seq)));
+    }
+
+    @Test
+    public void migratedEntriesCanBeReadAfterReopeningDestinationThatWasTruncatedBefore() throws IOException {
+        destination.writeBatchOfRounds(PaxosStateLogTestUtils.generateRounds(LongStream.rangeClosed(1, 3_000)));
+        destination.truncate(2_000L);
+        source.writeBatchOfRounds(PaxosStateLogTestUtils.generateRounds(LongStream.rangeClosed(7, 2_500)));
+
+        migrate();
+        destination.close();
+        destination = SegmentedPaxosStateLog.create(tempFolder.getRoot().toPath().resolve("segmented"), NAMESPACE);
+
+        assertThat(destination.getLeastLogEntry()).isEqualTo(7L);
+        assertThat(destination.getGreatestLogEntry()).isEqualTo(2_500L);
+        LongStream.rangeClosed(7, 2_500)
+                .forEach(seq -> assertThat(getPaxosValue(destination, seq)).isEqualTo(valueForRound(seq)));
+    }
+
+    @Test
+    public void migrationOfEmptySourceSucceeds() {
+        migrate();
+
+        assertThat(destination.getGreatestLogEntry()).isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+    }
+
+    @Test
+    public void rerunningAfterMigrationOnlyValidates() {
+        source.writeBatchOfRounds(PaxosStateLogTestUtils.generateRounds(LongStream.rangeClosed(1, 10)));
+        migrate();
+        destination.writeRound(11L, valueForRound(11L));
+
+        assertThatCode(this::migrate).doesNotThrowAnyException();
+        assertThat(destination.getGreatestLogEntry()).isEqualTo(11L);
+    }
+
+    @Test
+    public void failsValidationIfSourceAdvancedAfterMigration() {
+        source.writeBatchOfRounds(PaxosStateLogTestUtils.generateRounds(LongStream.rangeClosed(1, 10)));
+        migrate();
+        source.writeRound(12L, valueForRound(12L));
+
+        assertThatThrownBy(this::migrate).isInstanceOf(IllegalStateException.class);
+    }
+
+    private void migrate() {
+        SegmentedPaxosStateLogMigrator.migrateIfNecessary(ImmutableSegmentedMigrationContext.<PaxosValue>builder()
+                .sourceLog(source)
+                .destinationLog(destination)
+                .hydrator(PaxosValue.BYTES_HYDRATOR)
+                .namespaceAndUseCase(NAMESPACE)
+                .build());
+    }
+}
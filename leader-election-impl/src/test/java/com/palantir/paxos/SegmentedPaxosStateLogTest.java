@@ -0,0 +1,209 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.paxos;
+
+import static com.palantir.paxos.PaxosStateLogTestUtils.getPaxosValue;
+import static com.palantir.paxos.PaxosStateLogTestUtils.valueForRound;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.stream.LongStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SegmentedPaxosStateLogTest {
+    private static final int ROUNDS_PER_SEGMENT = 10;
+    private static final int INITIAL_SEGMENT_SIZE = 64;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private Path directory;
+    private SegmentedPaxosStateLog<PaxosValue> stateLog;
+
+    @Before
+    public void setup() {
+        directory = tempFolder.getRoot().toPath().resolve("log");
+        stateLog = createLog();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        stateLog.close();
+    }
+
+    @Test
+    public void readingNonExistentRoundReturnsNull() throws IOException {
+        assertThat(stateLog.readRound(10L)).isNull();
+    }
+
+    @Test
+    public void returnsDefaultValueForExtremesWhenNoEntries() {
+        assertThat(stateLog.getLeastLogEntry()).isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+        assertThat(stateLog.getGreatestLogEntry()).isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+    }
+
+    @Test
+    public void canWriteAndRetrieveValuesAcrossSegmentsAndGrowth() {
+        LongStream.range(0, 5 * ROUNDS_PER_SEGMENT).forEach(this::writeValueForRound);
+
+        LongStream.range(0, 5 * ROUNDS_PER_SEGMENT)
+                .forEach(seq -> assertThat(getPaxosValue(stateLog, seq)).isEqualTo(valueForRound(seq)));
+        assertThat(stateLog.getLeastLogEntry()).isEqualTo(0L);
+        assertThat(stateLog.getGreatestLogEntry()).isEqualTo(5L * ROUNDS_PER_SEGMENT - 1);
+        assertThat(stateLog.numberOfSegments()).isEqualTo(5);
+    }
+
+    @Test
+    public void overwritesReturnLatestValue() {
+        writeValueForRound(5L);
+        PaxosValue newValue = new PaxosValue("otherLeader", 5L, null);
+        stateLog.writeRound(5L, newValue);
+
+        assertThat(getPaxosValue(stateLog, 5L)).isEqualTo(newValue);
+    }
+
+    @Test
+    public void canWriteBatch() {
+        stateLog.writeBatchOfRounds(PaxosStateLogTestUtils.generateRounds(LongStream.rangeClosed(3, 25)));
+
+        LongStream.rangeClosed(3, 25)
+                .forEach(seq -> assertThat(getPaxosValue(stateLog, seq)).isEqualTo(valueForRound(seq)));
+    }
+
+    @Test
+    public void truncationDropsWholeSegmentsAndHidesRemainingTruncatedRounds() throws IOException {
+        LongStream.range(0, 3 * ROUNDS_PER_SEGMENT).forEach(this::writeValueForRound);
+
+        stateLog.truncate(ROUNDS_PER_SEGMENT + 4);
+
+        assertThat(stateLog.numberOfSegments()).isEqualTo(2);
+        assertThat(stateLog.getLeastLogEntry()).isEqualTo(ROUNDS_PER_SEGMENT + 5);
+        assertThat(stateLog.readRound(ROUNDS_PER_SEGMENT + 4)).isNull();
+        assertThat(stateLog.readRound(3L)).isNull();
+    }
+
+    @Test
+    public void truncateAllRoundsRemovesEverything() {
+        LongStream.range(0, 25).forEach(this::writeValueForRound);
+
+        stateLog.truncateAllRounds();
+
+        assertThat(stateLog.getLeastLogEntry()).isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+        assertThat(stateLog.getGreatestLogEntry()).isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+    }
+
+    @Test
+    public void roundsWrittenAfterTruncatingAllRoundsSurviveReopening() throws IOException {
+        LongStream.range(0, 25).forEach(this::writeValueForRound);
+        stateLog.truncateAllRounds();
+        LongStream.range(0, 25).forEach(this::writeValueForRound);
+        stateLog.close();
+
+        stateLog = createLog();
+
+        assertThat(stateLog.getLeastLogEntry()).isEqualTo(0L);
+        assertThat(stateLog.getGreatestLogEntry()).isEqualTo(24L);
+        LongStream.range(0, 25).forEach(seq -> assertThat(getPaxosValue(stateLog, seq)).isEqualTo(valueForRound(seq)));
+    }
+
+    @Test
+    public void roundWrittenBelowTruncationSurvivesReopeningWithoutResurrectingTruncatedRounds() throws IOException {
+        LongStream.range(0, 25).forEach(this::writeValueForRound);
+        stateLog.truncate(14L);
+        writeValueForRound(12L);
+        stateLog.close();
+
+        stateLog = createLog();
+
+        assertThat(stateLog.getLeastLogEntry()).isEqualTo(12L);
+        assertThat(getPaxosValue(stateLog, 12L)).isEqualTo(valueForRound(12L));
+        assertThat(stateLog.readRound(13L)).isNull();
+        assertThat(stateLog.readRound(14L)).isNull();
+        LongStream.range(15, 25).forEach(seq -> assertThat(getPaxosValue(stateLog, seq)).isEqualTo(valueForRound(seq)));
+    }
+
+    @Test
+    public void stateIsRecoveredAfterReopening() throws IOException {
+        LongStream.range(0, 25).forEach(this::writeValueForRound);
+        stateLog.truncate(12L);
+        stateLog.close();
+
+        stateLog = createLog();
+
+        assertThat(stateLog.getLeastLogEntry()).isEqualTo(13L);
+        assertThat(stateLog.getGreatestLogEntry()).isEqualTo(24L);
+        assertThat(stateLog.readRound(12L)).isNull();
+        assertThat(getPaxosValue(stateLog, 20L)).isEqualTo(valueForRound(20L));
+    }
+
+    @Test
+    public void partiallyWrittenTailIsDiscardedOnReopening() throws IOException {
+        writeValueForRound(1L);
+        writeValueForRound(2L);
+        stateLog.close();
+        long lastRecordLength = valueForRound(2L).persistToBytes().length;
+        corruptLastByteOfRecordEndingAt(segmentFile(0), recordsEndOffset(2, lastRecordLength));
+
+        stateLog = createLog();
+
+        assertThat(stateLog.getGreatestLogEntry()).isEqualTo(1L);
+        writeValueForRound(3L);
+        assertThat(getPaxosValue(stateLog, 3L)).isEqualTo(valueForRound(3L));
+    }
+
+    @Test
+    public void corruptionOfReadableRecordIsDetectedOnRead() throws IOException {
+        writeValueForRound(1L);
+        corruptLastByteOfRecordEndingAt(
+                segmentFile(0), recordsEndOffset(1, valueForRound(1L).persistToBytes().length));
+
+        assertThatThrownBy(() -> stateLog.readRound(1L)).isInstanceOf(PaxosStateLog.CorruptLogFileException.class);
+    }
+
+    private SegmentedPaxosStateLog<PaxosValue> createLog() {
+        return SegmentedPaxosStateLog.create(directory, ROUNDS_PER_SEGMENT, INITIAL_SEGMENT_SIZE);
+    }
+
+    private void writeValueForRound(long round) {
+        stateLog.writeRound(round, valueForRound(round));
+    }
+
+    private Path segmentFile(long segmentId) {
+        return directory.resolve(segmentId + ".segment");
+    }
+
+    private static long recordsEndOffset(int numRecords, long payloadLength) {
+        // all records written in these tests have the same payload length
+        return numRecords * (20 + payloadLength);
+    }
+
+    private static void corruptLastByteOfRecordEndingAt(Path file, long endOffset) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(endOffset - 1);
+            int lastByte = raf.read();
+            raf.seek(endOffset - 1);
+            raf.write(lastByte ^ 0xFF);
+        }
+    }
+}
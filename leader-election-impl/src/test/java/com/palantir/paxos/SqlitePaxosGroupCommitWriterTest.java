@@ -0,0 +1,113 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.paxos;
+
+import static com.palantir.paxos.PaxosStateLogTestUtils.getPaxosValue;
+import static com.palantir.paxos.PaxosStateLogTestUtils.valueForRound;
+import static com.palantir.paxos.PaxosStateLogTestUtils.wrap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+import com.google.common.util.concurrent.Futures;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.leader.PaxosStateLogGroupCommitMetrics;
+import com.palantir.tritium.metrics.registry.DefaultTaggedMetricRegistry;
+import com.palantir.tritium.metrics.registry.TaggedMetricRegistry;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SqlitePaxosGroupCommitWriterTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static final String USE_CASE = "useCase";
+    private static final int NUM_NAMESPACES = 50;
+    private static final int ROUNDS_PER_NAMESPACE = 20;
+
+    private final TaggedMetricRegistry metricRegistry = new DefaultTaggedMetricRegistry();
+    private DataSource dataSource;
+    private SqlitePaxosGroupCommitWriter writer;
+
+    @Before
+    public void setup() {
+        dataSource = SqliteConnections.getDefaultConfiguredPooledDataSource(
+                tempFolder.getRoot().toPath());
+        writer = SqlitePaxosGroupCommitWriter.create(dataSource, metricRegistry);
+    }
+
+    @After
+    public void tearDown() {
+        writer.close();
+    }
+
+    @Test
+    public void roundsWrittenThroughWriterAreVisibleToLogs() {
+        PaxosStateLog<PaxosValue> log = createLog(Client.of("tom"));
+        log.writeRound(5L, valueForRound(5L));
+        log.writeRound(7L, valueForRound(7L));
+
+        assertThat(getPaxosValue(log, 5L)).isEqualTo(valueForRound(5L));
+        assertThat(getPaxosValue(log, 7L)).isEqualTo(valueForRound(7L));
+        assertThat(log.getGreatestLogEntry()).isEqualTo(7L);
+    }
+
+    @Test
+    public void concurrentWritesAcrossNamespacesAreAllPersisted() {
+        ExecutorService executor = PTExecutors.newFixedThreadPool(NUM_NAMESPACES);
+        List<Future<?>> futures = IntStream.range(0, NUM_NAMESPACES)
+                .mapToObj(index -> executor.submit(() -> {
+                    PaxosStateLog<PaxosValue> log = createLog(namespace(index));
+                    for (long seq = 0; seq < ROUNDS_PER_NAMESPACE; seq++) {
+                        log.writeRound(seq, valueForRound(seq + index));
+                    }
+                }))
+                .collect(Collectors.toList());
+        futures.forEach(
+                future -> assertThatCode(() -> Futures.getUnchecked(future)).doesNotThrowAnyException());
+        executor.shutdown();
+
+        for (int index = 0; index < NUM_NAMESPACES; index++) {
+            PaxosStateLog<PaxosValue> log = SqlitePaxosStateLog.create(wrap(namespace(index), USE_CASE), dataSource);
+            for (long seq = 0; seq < ROUNDS_PER_NAMESPACE; seq++) {
+                assertThat(getPaxosValue(log, seq)).isEqualTo(valueForRound(seq + index));
+            }
+        }
+
+        PaxosStateLogGroupCommitMetrics metrics = PaxosStateLogGroupCommitMetrics.of(metricRegistry);
+        long flushes = metrics.flushLatency().getCount();
+        assertThat(flushes).isPositive().isLessThanOrEqualTo((long) NUM_NAMESPACES * ROUNDS_PER_NAMESPACE);
+        assertThat(metrics.batchSize().getSnapshot().getMax()).isPositive();
+    }
+
+    private PaxosStateLog<PaxosValue> createLog(Client client) {
+        return SqlitePaxosStateLog.create(wrap(client, USE_CASE), dataSource, Optional.of(writer));
+    }
+
+    private static Client namespace(int index) {
+        return Client.of("namespace" + index);
+    }
+}
@@ -0,0 +1,422 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.lock.watch;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import com.google.common.primitives.Bytes;
+import com.google.common.primitives.UnsignedBytes;
+import com.palantir.lock.ByteArrayLockDescriptor;
+import com.palantir.lock.LockDescriptor;
+import com.palantir.lock.v2.LockToken;
+import com.palantir.lock.watch.LockWatchReferences.EntireTable;
+import com.palantir.lock.watch.LockWatchReferences.ExactCell;
+import com.palantir.lock.watch.LockWatchReferences.ExactRow;
+import com.palantir.lock.watch.LockWatchReferences.LockWatchReference;
+import com.palantir.lock.watch.LockWatchReferences.RowPrefix;
+import com.palantir.lock.watch.LockWatchReferences.RowRange;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A compact binary encoding of {@link LockWatchStateUpdate}s, for clients that poll for updates frequently.
+ *
+ * Table names are dictionary-encoded: every table that appears in an update, either as the table part of an Atlas
+ * lock descriptor (everything before the first zero byte) or as the table of a lock watch reference, is written once
+ * at the start of the update and referred to by index afterwards. The descriptors of each event are written in sorted
+ * order, each one only storing the bytes it does not share with the previous descriptor of the same table. Event
+ * sequence numbers are written as deltas, as the events of an update are consecutive.
+ */
+public final class CompactLockWatchStateUpdates {
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final byte SUCCESS = 0;
+    private static final byte SNAPSHOT = 1;
+
+    private static final byte LOCK_EVENT = 0;
+    private static final byte UNLOCK_EVENT = 1;
+    private static final byte LOCK_WATCH_CREATED_EVENT = 2;
+
+    private static final byte ENTIRE_TABLE = 0;
+    private static final byte ROW_PREFIX = 1;
+    private static final byte ROW_RANGE = 2;
+    private static final byte EXACT_ROW = 3;
+    private static final byte EXACT_CELL = 4;
+
+    private static final byte TABLE_SEPARATOR = 0;
+    private static final int NO_TABLE = 0;
+    private static final byte[] EMPTY = new byte[0];
+
+    private CompactLockWatchStateUpdates() {
+        // no
+    }
+
+    public static byte[] encode(LockWatchStateUpdate update) {
+        return new Encoder().encode(update);
+    }
+
+    public static LockWatchStateUpdate decode(byte[] encoded) {
+        return decode(ByteBuffer.wrap(encoded));
+    }
+
+    public static LockWatchStateUpdate decode(ByteBuffer encoded) {
+        return new Decoder(encoded.duplicate()).decode();
+    }
+
+    private static final class Encoder implements LockWatchStateUpdate.Visitor<Void>, LockWatchEvent.Visitor<Void> {
+        private final Map<ByteBuffer, Integer> tableIndices = new HashMap<>();
+        private final List<byte[]> tables = new ArrayList<>();
+        private final ByteArrayDataOutput body = ByteStreams.newDataOutput();
+
+        byte[] encode(LockWatchStateUpdate update) {
+            update.accept(this);
+
+            ByteArrayDataOutput output = ByteStreams.newDataOutput();
+            output.writeByte(FORMAT_VERSION);
+            writeUuid(output, update.logId());
+            writeUnsignedVarLong(output, tables.size());
+            tables.forEach(table -> writeByteArray(output, table));
+            output.write(body.toByteArray());
+            return output.toByteArray();
+        }
+
+        @Override
+        public Void visit(LockWatchStateUpdate.Success success) {
+            body.writeByte(SUCCESS);
+            writeSignedVarLong(body, success.lastKnownVersion());
+            writeUnsignedVarLong(body, success.events().size());
+            long previousSequence = 0;
+            for (LockWatchEvent event : success.events()) {
+                writeSignedVarLong(body, event.sequence() - previousSequence);
+                event.accept(this);
+                previousSequence = event.sequence();
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(LockWatchStateUpdate.Snapshot snapshot) {
+            body.writeByte(SNAPSHOT);
+            writeSignedVarLong(body, snapshot.lastKnownVersion());
+            writeReferences(snapshot.lockWatches());
+            writeDescriptors(snapshot.locked());
+            return null;
+        }
+
+        @Override
+        public Void visit(LockEvent lockEvent) {
+            body.writeByte(LOCK_EVENT);
+            writeUuid(body, lockEvent.lockToken().getRequestId());
+            writeDescriptors(lockEvent.lockDescriptors());
+            return null;
+        }
+
+        @Override
+        public Void visit(UnlockEvent unlockEvent) {
+            body.writeByte(UNLOCK_EVENT);
+            writeDescriptors(unlockEvent.lockDescriptors());
+            return null;
+        }
+
+        @Override
+        public Void visit(LockWatchCreatedEvent lockWatchCreatedEvent) {
+            body.writeByte(LOCK_WATCH_CREATED_EVENT);
+            writeReferences(lockWatchCreatedEvent.references());
+            writeDescriptors(lockWatchCreatedEvent.lockDescriptors());
+            return null;
+        }
+
+        private void writeDescriptors(Set<LockDescriptor> descriptors) {
+            byte[][] sorted = descriptors.stream().map(LockDescriptor::getBytes).toArray(byte[][]::new);
+            Arrays.sort(sorted, UnsignedBytes.lexicographicalComparator());
+
+            writeUnsignedVarLong(body, sorted.length);
+            int previousTable = -1;
+            byte[] previous = EMPTY;
+            int previousStart = 0;
+            for (byte[] descriptor : sorted) {
+                int separator = Bytes.indexOf(descriptor, TABLE_SEPARATOR);
+                int table = separator < 0 ? NO_TABLE : tableIndex(Arrays.copyOf(descriptor, separator));
+                int start = separator + 1;
+                int shared =
+                        table == previousTable ? commonPrefixLength(previous, previousStart, descriptor, start) : 0;
+
+                writeUnsignedVarLong(body, table);
+                writeUnsignedVarLong(body, shared);
+                writeUnsignedVarLong(body, descriptor.length - start - shared);
+                body.write(descriptor, start + shared, descriptor.length - start - shared);
+
+                previousTable = table;
+                previous = descriptor;
+                previousStart = start;
+            }
+        }
+
+        private void writeReferences(Set<LockWatchReference> references) {
+            writeUnsignedVarLong(body, references.size());
+            references.forEach(reference -> reference.accept(new LockWatchReferences.Visitor<Void>() {
+                @Override
+                public Void visit(EntireTable entireTable) {
+                    writeReference(ENTIRE_TABLE, entireTable.qualifiedTableRef());
+                    return null;
+                }
+
+                @Override
+                public Void visit(RowPrefix rowPrefix) {
+                    writeReference(ROW_PREFIX, rowPrefix.qualifiedTableRef(), rowPrefix.row());
+                    return null;
+                }
+
+                @Override
+                public Void visit(RowRange rowRange) {
+                    writeReference(
+                            ROW_RANGE,
+                            rowRange.qualifiedTableRef(),
+                            rowRange.startInclusive(),
+                            rowRange.endExclusive());
+                    return null;
+                }
+
+                @Override
+                public Void visit(ExactRow exactRow) {
+                    writeReference(EXACT_ROW, exactRow.qualifiedTableRef(), exactRow.row());
+                    return null;
+                }
+
+                @Override
+                public Void visit(ExactCell exactCell) {
+                    writeReference(EXACT_CELL, exactCell.qualifiedTableRef(), exactCell.row(), exactCell.col());
+                    return null;
+                }
+            }));
+        }
+
+        private void writeReference(byte type, String qualifiedTableRef, byte[]... components) {
+            body.writeByte(type);
+            writeUnsignedVarLong(body, tableIndex(qualifiedTableRef.getBytes(StandardCharsets.UTF_8)));
+            for (byte[] component : components) {
+                writeByteArray(body, component);
+            }
+        }
+
+        private int tableIndex(byte[] table) {
+            return tableIndices.computeIfAbsent(ByteBuffer.wrap(table), unused -> {
+                tables.add(table);
+                return tables.size();
+            });
+        }
+
+        private static int commonPrefixLength(byte[] first, int firstStart, byte[] second, int secondStart) {
+            int maxLength = Math.min(first.length - firstStart, second.length - secondStart);
+            int length = 0;
+            while (length < maxLength && first[firstStart + length] == second[secondStart + length]) {
+                length++;
+            }
+            return length;
+        }
+    }
+
+    private static final class Decoder {
+        private final ByteBuffer input;
+        private final List<byte[]> tables = new ArrayList<>();
+
+        private Decoder(ByteBuffer input) {
+            this.input = input;
+        }
+
+        LockWatchStateUpdate decode() {
+            byte formatVersion = input.get();
+            Preconditions.checkArgument(
+                    formatVersion == FORMAT_VERSION,
+                    "Unknown compact lock watch update format",
+                    SafeArg.of("formatVersion", formatVersion));
+            UUID logId = readUuid();
+            int numTables = readCount();
+            for (int i = 0; i < numTables; i++) {
+                tables.add(readByteArray());
+            }
+
+            byte type = input.get();
+            switch (type) {
+                case SUCCESS:
+                    return decodeSuccess(logId);
+                case SNAPSHOT:
+                    return decodeSnapshot(logId);
+                default:
+                    throw unknownType("update", type);
+            }
+        }
+
+        private LockWatchStateUpdate decodeSuccess(UUID logId) {
+            long lastKnownVersion = readSignedVarLong();
+            int numEvents = readCount();
+            ImmutableList.Builder<LockWatchEvent> events = ImmutableList.builderWithExpectedSize(numEvents);
+            long sequence = 0;
+            for (int i = 0; i < numEvents; i++) {
+                sequence += readSignedVarLong();
+                events.add(readEvent(sequence));
+            }
+            return LockWatchStateUpdate.success(logId, lastKnownVersion, events.build());
+        }
+
+        private LockWatchStateUpdate decodeSnapshot(UUID logId) {
+            long lastKnownVersion = readSignedVarLong();
+            Set<LockWatchReference> lockWatches = readReferences();
+            return LockWatchStateUpdate.snapshot(logId, lastKnownVersion, readDescriptors(), lockWatches);
+        }
+
+        private LockWatchEvent readEvent(long sequence) {
+            byte type = input.get();
+            switch (type) {
+                case LOCK_EVENT:
+                    LockToken lockToken = LockToken.of(readUuid());
+                    return LockEvent.builder(readDescriptors(), lockToken).build(sequence);
+                case UNLOCK_EVENT:
+                    return UnlockEvent.builder(readDescriptors()).build(sequence);
+                case LOCK_WATCH_CREATED_EVENT:
+                    Set<LockWatchReference> references = readReferences();
+                    return LockWatchCreatedEvent.builder(references, readDescriptors()).build(sequence);
+                default:
+                    throw unknownType("event", type);
+            }
+        }
+
+        private Set<LockDescriptor> readDescriptors() {
+            int numDescriptors = readCount();
+            ImmutableSet.Builder<LockDescriptor> descriptors = ImmutableSet.builderWithExpectedSize(numDescriptors);
+            byte[] previous = EMPTY;
+            int previousStart = 0;
+            for (int i = 0; i < numDescriptors; i++) {
+                int table = readCount();
+                int shared = readCount();
+                int suffixLength = readCount();
+
+                byte[] tablePrefix = table == NO_TABLE ? EMPTY : tables.get(table - 1);
+                int start = table == NO_TABLE ? 0 : tablePrefix.length + 1;
+                byte[] descriptor = new byte[start + shared + suffixLength];
+                System.arraycopy(tablePrefix, 0, descriptor, 0, tablePrefix.length);
+                System.arraycopy(previous, previousStart, descriptor, start, shared);
+                input.get(descriptor, start + shared, suffixLength);
+                descriptors.add(ByteArrayLockDescriptor.of(descriptor));
+
+                previous = descriptor;
+                previousStart = start;
+            }
+            return descriptors.build();
+        }
+
+        private Set<LockWatchReference> readReferences() {
+            int numReferences = readCount();
+            ImmutableSet.Builder<LockWatchReference> references = ImmutableSet.builderWithExpectedSize(numReferences);
+            for (int i = 0; i < numReferences; i++) {
+                references.add(readReference());
+            }
+            return references.build();
+        }
+
+        private LockWatchReference readReference() {
+            byte type = input.get();
+            String qualifiedTableRef = new String(tables.get(readCount() - 1), StandardCharsets.UTF_8);
+            switch (type) {
+                case ENTIRE_TABLE:
+                    return LockWatchReferences.entireTable(qualifiedTableRef);
+                case ROW_PREFIX:
+                    return LockWatchReferences.rowPrefix(qualifiedTableRef, readByteArray());
+                case ROW_RANGE:
+                    byte[] startInclusive = readByteArray();
+                    return LockWatchReferences.rowRange(qualifiedTableRef, startInclusive, readByteArray());
+                case EXACT_ROW:
+                    return LockWatchReferences.exactRow(qualifiedTableRef, readByteArray());
+                case EXACT_CELL:
+                    byte[] row = readByteArray();
+                    return LockWatchReferences.exactCell(qualifiedTableRef, row, readByteArray());
+                default:
+                    throw unknownType("reference", type);
+            }
+        }
+
+        private byte[] readByteArray() {
+            byte[] bytes = new byte[readCount()];
+            input.get(bytes);
+            return bytes;
+        }
+
+        private UUID readUuid() {
+            return new UUID(input.getLong(), input.getLong());
+        }
+
+        private int readCount() {
+            return Math.toIntExact(readUnsignedVarLong());
+        }
+
+        private long readSignedVarLong() {
+            long zigZag = readUnsignedVarLong();
+            return (zigZag >>> 1) ^ -(zigZag & 1);
+        }
+
+        private long readUnsignedVarLong() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte next = input.get();
+                value |= (long) (next & 0x7F) << shift;
+                if (next >= 0) {
+                    return value;
+                }
+            }
+        }
+
+        private static SafeIllegalArgumentException unknownType(String kind, byte type) {
+            return new SafeIllegalArgumentException(
+                    "Unknown type in compact lock watch update", SafeArg.of("kind", kind), SafeArg.of("type", type));
+        }
+    }
+
+    private static void writeByteArray(ByteArrayDataOutput output, byte[] bytes) {
+        writeUnsignedVarLong(output, bytes.length);
+        output.write(bytes);
+    }
+
+    private static void writeUuid(ByteArrayDataOutput output, UUID uuid) {
+        output.writeLong(uuid.getMostSignificantBits());
+        output.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static void writeSignedVarLong(ByteArrayDataOutput output, long value) {
+        writeUnsignedVarLong(output, (value << 1) ^ (value >> 63));
+    }
+
+    private static void writeUnsignedVarLong(ByteArrayDataOutput output, long value) {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            output.writeByte((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        output.writeByte((int) remaining);
+    }
+}
@@ -0,0 +1,428 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.lock.client;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimaps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.palantir.atlasdb.autobatch.Autobatchers;
+import com.palantir.atlasdb.autobatch.BatchElement;
+import com.palantir.atlasdb.autobatch.DisruptorAutobatcher;
+import com.palantir.atlasdb.autobatch.DisruptorAutobatcher.DisruptorFuture;
+import com.palantir.atlasdb.futures.AtlasFutures;
+import com.palantir.atlasdb.timelock.api.ConjureStartTransactionsRequest;
+import com.palantir.atlasdb.timelock.api.ConjureStartTransactionsResponse;
+import com.palantir.atlasdb.timelock.api.ConjureUnlockRequestV2;
+import com.palantir.atlasdb.timelock.api.ConjureUnlockResponseV2;
+import com.palantir.atlasdb.timelock.api.GetCommitTimestampsRequest;
+import com.palantir.atlasdb.timelock.api.GetCommitTimestampsResponse;
+import com.palantir.atlasdb.timelock.api.LeaderTimes;
+import com.palantir.atlasdb.timelock.api.MultiClientConjureTimelockServiceBlocking;
+import com.palantir.atlasdb.timelock.api.MultiClientTimelockFailure;
+import com.palantir.atlasdb.timelock.api.MultiClientTimelockRequestType;
+import com.palantir.atlasdb.timelock.api.MultiClientTimelockRequests;
+import com.palantir.atlasdb.timelock.api.MultiClientTimelockResponses;
+import com.palantir.atlasdb.timelock.api.Namespace;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.conjure.java.api.errors.RemoteException;
+import com.palantir.tokens.auth.AuthHeader;
+import com.palantir.tritium.metrics.registry.TaggedMetricRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * Coalesces the multi-client requests made by a client into calls to TimeLock's batch endpoint: requests made while a
+ * call is in flight are sent together in the next call, regardless of their type and namespace. If TimeLock does not
+ * support the batch endpoint, requests are sent to the endpoint for their type instead.
+ *
+ * Requests of the same type for the same namespace cannot share a call, and are sent in subsequent calls. A request
+ * that TimeLock reports as failed fails only the caller that made it, with the error TimeLock reported for it.
+ *
+ * A request type is considered slow once a call including it takes longer than {@link #SLOW_CALL_THRESHOLD}. Requests
+ * of slow types are taken out of the shared call and sent in calls of their own, off the batching thread, so that
+ * they do not hold up the requests of other types; a type is shared again once such a call is fast.
+ *
+ * Once closed, requests are no longer batched but are still sent to TimeLock, as batchers that are shared between
+ * namespaces may outlive the services of the namespace that created this.
+ */
+public final class CoalescingMultiClientConjureTimelockService
+        implements InternalMultiClientConjureTimelockService, AutoCloseable {
+    private static final AuthHeader AUTH_HEADER = AuthHeader.valueOf("Bearer omitted");
+    private static final String SAFE_LOGGABLE_PURPOSE = "multi-client-timelock-requests";
+
+    private static final Duration SLOW_CALL_THRESHOLD = Duration.ofMillis(500);
+
+    private final Function<MultiClientTimelockRequests, MultiClientTimelockResponses> batchFunction;
+    private final MultiClientTimelockRequestsMetrics metrics;
+    private final long slowCallThresholdNanos;
+    private final Set<MultiClientTimelockRequestType> slowRequestTypes = ConcurrentHashMap.newKeySet();
+    private final ExecutorService slowRequestExecutor =
+            PTExecutors.newCachedThreadPool(SAFE_LOGGABLE_PURPOSE + "-slow-requests");
+
+    @GuardedBy("this")
+    private DisruptorAutobatcher<MultiClientTimelockRequests, MultiClientTimelockResponses> autobatcher;
+
+    @GuardedBy("this")
+    private boolean closed = false;
+
+    private CoalescingMultiClientConjureTimelockService(
+            Function<MultiClientTimelockRequests, MultiClientTimelockResponses> batchFunction,
+            MultiClientTimelockRequestsMetrics metrics,
+            Duration slowCallThreshold) {
+        this.batchFunction = batchFunction;
+        this.metrics = metrics;
+        this.slowCallThresholdNanos = slowCallThreshold.toNanos();
+    }
+
+    public static CoalescingMultiClientConjureTimelockService create(
+            MultiClientConjureTimelockServiceBlocking delegate, TaggedMetricRegistry taggedMetricRegistry) {
+        return create(delegate, taggedMetricRegistry, SLOW_CALL_THRESHOLD);
+    }
+
+    @VisibleForTesting
+    static CoalescingMultiClientConjureTimelockService create(
+            MultiClientConjureTimelockServiceBlocking delegate,
+            TaggedMetricRegistry taggedMetricRegistry,
+            Duration slowCallThreshold) {
+        ServerApiVersionGuesser serverApiVersionGuesser = new ServerApiVersionGuesser();
+        Function<MultiClientTimelockRequests, MultiClientTimelockResponses> batchFunction =
+                requests -> serverApiVersionGuesser.runUnderSuspicion(
+                        () -> delegate.batch(AUTH_HEADER, requests), () -> executeSeparately(delegate, requests));
+        return new CoalescingMultiClientConjureTimelockService(
+                batchFunction, MultiClientTimelockRequestsMetrics.of(taggedMetricRegistry), slowCallThreshold);
+    }
+
+    @Override
+    public LeaderTimes leaderTimes(Set<Namespace> namespaces) {
+        MultiClientTimelockRequests request =
+                MultiClientTimelockRequests.builder().leaderTimes(namespaces).build();
+        return LeaderTimes.of(execute(MultiClientTimelockRequestType.LEADER_TIMES, namespaces, request)
+                .getLeaderTimes());
+    }
+
+    @Override
+    public Map<Namespace, GetCommitTimestampsResponse> getCommitTimestamps(
+            Map<Namespace, GetCommitTimestampsRequest> requests) {
+        MultiClientTimelockRequests request =
+                MultiClientTimelockRequests.builder().getCommitTimestamps(requests).build();
+        return ImmutableMap.copyOf(Maps.transformValues(
+                execute(MultiClientTimelockRequestType.GET_COMMIT_TIMESTAMPS, requests.keySet(), request)
+                        .getGetCommitTimestamps(),
+                CompactLockWatchResponses::fromCompact));
+    }
+
+    @Override
+    public Map<Namespace, ConjureStartTransactionsResponse> startTransactions(
+            Map<Namespace, ConjureStartTransactionsRequest> requests) {
+        MultiClientTimelockRequests request =
+                MultiClientTimelockRequests.builder().startTransactions(requests).build();
+        return ImmutableMap.copyOf(Maps.transformValues(
+                execute(MultiClientTimelockRequestType.START_TRANSACTIONS, requests.keySet(), request)
+                        .getStartTransactions(),
+                CompactLockWatchResponses::fromCompact));
+    }
+
+    @Override
+    public Map<Namespace, ConjureUnlockResponseV2> unlock(Map<Namespace, ConjureUnlockRequestV2> requests) {
+        MultiClientTimelockRequests request =
+                MultiClientTimelockRequests.builder().unlock(requests).build();
+        return execute(MultiClientTimelockRequestType.UNLOCK, requests.keySet(), request)
+                .getUnlock();
+    }
+
+    @Override
+    public void close() {
+        DisruptorAutobatcher<MultiClientTimelockRequests, MultiClientTimelockResponses> toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = autobatcher;
+            autobatcher = null;
+        }
+        if (toClose != null) {
+            toClose.close();
+        }
+        slowRequestExecutor.shutdown();
+    }
+
+    private MultiClientTimelockResponses execute(
+            MultiClientTimelockRequestType requestType,
+            Set<Namespace> namespaces,
+            MultiClientTimelockRequests request) {
+        long startNanos = System.nanoTime();
+        MultiClientTimelockResponses responses = AtlasFutures.getUnchecked(autobatcher()
+                .map(autobatcher -> autobatcher.apply(request))
+                .orElseGet(() -> executeUnbatched(request)));
+        long durationNanos = System.nanoTime() - startNanos;
+        for (Namespace namespace : namespaces) {
+            metrics.latency()
+                    .requestType(requestType.toString())
+                    .namespace(namespace.get())
+                    .build()
+                    .update(durationNanos, TimeUnit.NANOSECONDS);
+        }
+        return responses;
+    }
+
+    private synchronized Optional<DisruptorAutobatcher<MultiClientTimelockRequests, MultiClientTimelockResponses>>
+            autobatcher() {
+        if (closed) {
+            return Optional.empty();
+        }
+        if (autobatcher == null) {
+            autobatcher = Autobatchers.<MultiClientTimelockRequests, MultiClientTimelockResponses>independent(
+                            this::dispatch)
+                    .safeLoggablePurpose(SAFE_LOGGABLE_PURPOSE)
+                    .batchFunctionTimeout(Duration.ofSeconds(30))
+                    .build();
+        }
+        return Optional.of(autobatcher);
+    }
+
+    /**
+     * Sends the requests of slow types in separate calls on {@link #slowRequestExecutor}, and all other requests
+     * together on the batching thread.
+     */
+    private void dispatch(List<BatchElement<MultiClientTimelockRequests, MultiClientTimelockResponses>> batch) {
+        ListMultimap<
+                        MultiClientTimelockRequestType,
+                        BatchElement<MultiClientTimelockRequests, MultiClientTimelockResponses>>
+                slowElements = ArrayListMultimap.create();
+        List<BatchElement<MultiClientTimelockRequests, MultiClientTimelockResponses>> sharedElements =
+                new ArrayList<>();
+        for (BatchElement<MultiClientTimelockRequests, MultiClientTimelockResponses> element : batch) {
+            MultiClientTimelockRequestType requestType = requestType(element.argument());
+            if (slowRequestTypes.contains(requestType)) {
+                slowElements.put(requestType, element);
+            } else {
+                sharedElements.add(element);
+            }
+        }
+        for (List<BatchElement<MultiClientTimelockRequests, MultiClientTimelockResponses>> elements :
+                Multimaps.asMap(slowElements).values()) {
+            try {
+                slowRequestExecutor.execute(() -> processBatchOrFail(elements));
+            } catch (RejectedExecutionException e) {
+                processBatchOrFail(elements);
+            }
+        }
+        processBatchOrFail(sharedElements);
+    }
+
+    private void processBatchOrFail(
+            List<BatchElement<MultiClientTimelockRequests, MultiClientTimelockResponses>> elements) {
+        try {
+            processBatch(this::callAndTrackSlowTypes, elements);
+        } catch (Throwable t) {
+            elements.forEach(element -> element.result().setException(t));
+        }
+    }
+
+    private MultiClientTimelockResponses callAndTrackSlowTypes(MultiClientTimelockRequests requests) {
+        long startNanos = System.nanoTime();
+        try {
+            return batchFunction.apply(requests);
+        } finally {
+            Set<MultiClientTimelockRequestType> requestTypes = requestTypes(requests);
+            if (System.nanoTime() - startNanos >= slowCallThresholdNanos) {
+                slowRequestTypes.addAll(requestTypes);
+            } else if (requestTypes.size() == 1) {
+                slowRequestTypes.removeAll(requestTypes);
+            }
+        }
+    }
+
+    private ListenableFuture<MultiClientTimelockResponses> executeUnbatched(MultiClientTimelockRequests request) {
+        BatchElement<MultiClientTimelockRequests, MultiClientTimelockResponses> element =
+                BatchElement.of(request, new DisruptorFuture<>(SAFE_LOGGABLE_PURPOSE));
+        processBatch(batchFunction, ImmutableList.of(element));
+        return element.result();
+    }
+
+    @VisibleForTesting
+    static void processBatch(
+            Function<MultiClientTimelockRequests, MultiClientTimelockResponses> batchFunction,
+            List<BatchElement<MultiClientTimelockRequests, MultiClientTimelockResponses>> batch) {
+        List<BatchElement<MultiClientTimelockRequests, MultiClientTimelockResponses>> pending = batch;
+        while (!pending.isEmpty()) {
+            CombinedRequests combinedRequests = new CombinedRequests();
+            List<BatchElement<MultiClientTimelockRequests, MultiClientTimelockResponses>> included =
+                    new ArrayList<>();
+            List<BatchElement<MultiClientTimelockRequests, MultiClientTimelockResponses>> deferred =
+                    new ArrayList<>();
+            for (BatchElement<MultiClientTimelockRequests, MultiClientTimelockResponses> element : pending) {
+                if (combinedRequests.tryAdd(element.argument())) {
+                    included.add(element);
+                } else {
+                    deferred.add(element);
+                }
+            }
+
+            MultiClientTimelockResponses responses = batchFunction.apply(combinedRequests.build());
+            for (BatchElement<MultiClientTimelockRequests, MultiClientTimelockResponses> element : included) {
+                complete(element, responses);
+            }
+            pending = deferred;
+        }
+    }
+
+    private static void complete(
+            BatchElement<MultiClientTimelockRequests, MultiClientTimelockResponses> element,
+            MultiClientTimelockResponses responses) {
+        MultiClientTimelockRequests requests = element.argument();
+        Optional<MultiClientTimelockFailure> failure = responses.getFailures().stream()
+                .filter(candidate -> isFor(requests, candidate))
+                .findFirst();
+        if (failure.isPresent()) {
+            element.result()
+                    .setException(new RemoteException(
+                            failure.get().getError(), failure.get().getStatus()));
+        } else {
+            element.result().set(responsesFor(requests, responses));
+        }
+    }
+
+    /**
+     * Each request made through this service is of a single type.
+     */
+    private static MultiClientTimelockRequestType requestType(MultiClientTimelockRequests requests) {
+        return Iterables.getOnlyElement(requestTypes(requests), MultiClientTimelockRequestType.LEADER_TIMES);
+    }
+
+    private static Set<MultiClientTimelockRequestType> requestTypes(MultiClientTimelockRequests requests) {
+        Set<MultiClientTimelockRequestType> requestTypes = new HashSet<>();
+        if (!requests.getLeaderTimes().isEmpty()) {
+            requestTypes.add(MultiClientTimelockRequestType.LEADER_TIMES);
+        }
+        if (!requests.getStartTransactions().isEmpty()) {
+            requestTypes.add(MultiClientTimelockRequestType.START_TRANSACTIONS);
+        }
+        if (!requests.getGetCommitTimestamps().isEmpty()) {
+            requestTypes.add(MultiClientTimelockRequestType.GET_COMMIT_TIMESTAMPS);
+        }
+        if (!requests.getUnlock().isEmpty()) {
+            requestTypes.add(MultiClientTimelockRequestType.UNLOCK);
+        }
+        return requestTypes;
+    }
+
+    private static boolean isFor(MultiClientTimelockRequests requests, MultiClientTimelockFailure failure) {
+        Namespace namespace = failure.getNamespace();
+        switch (failure.getRequestType().get()) {
+            case LEADER_TIMES:
+                return requests.getLeaderTimes().contains(namespace);
+            case START_TRANSACTIONS:
+                return requests.getStartTransactions().containsKey(namespace);
+            case GET_COMMIT_TIMESTAMPS:
+                return requests.getGetCommitTimestamps().containsKey(namespace);
+            case UNLOCK:
+                return requests.getUnlock().containsKey(namespace);
+            default:
+                return false;
+        }
+    }
+
+    private static MultiClientTimelockResponses responsesFor(
+            MultiClientTimelockRequests requests, MultiClientTimelockResponses responses) {
+        return MultiClientTimelockResponses.builder()
+                .leaderTimes(Maps.filterKeys(responses.getLeaderTimes(), requests.getLeaderTimes()::contains))
+                .startTransactions(Maps.filterKeys(
+                        responses.getStartTransactions(), requests.getStartTransactions()::containsKey))
+                .getCommitTimestamps(Maps.filterKeys(
+                        responses.getGetCommitTimestamps(), requests.getGetCommitTimestamps()::containsKey))
+                .unlock(Maps.filterKeys(responses.getUnlock(), requests.getUnlock()::containsKey))
+                .build();
+    }
+
+    private static MultiClientTimelockResponses executeSeparately(
+            MultiClientConjureTimelockServiceBlocking delegate, MultiClientTimelockRequests requests) {
+        MultiClientTimelockResponses.Builder responses = MultiClientTimelockResponses.builder();
+        if (!requests.getLeaderTimes().isEmpty()) {
+            responses.leaderTimes(
+                    delegate.leaderTimes(AUTH_HEADER, requests.getLeaderTimes()).getLeaderTimes());
+        }
+        if (!requests.getStartTransactions().isEmpty()) {
+            responses.startTransactions(Maps.transformValues(
+                    delegate.startTransactionsForClients(AUTH_HEADER, requests.getStartTransactions()),
+                    CompactLockWatchResponses::toCompact));
+        }
+        if (!requests.getGetCommitTimestamps().isEmpty()) {
+            responses.getCommitTimestamps(Maps.transformValues(
+                    delegate.getCommitTimestampsForClients(AUTH_HEADER, requests.getGetCommitTimestamps()),
+                    CompactLockWatchResponses::toCompact));
+        }
+        if (!requests.getUnlock().isEmpty()) {
+            responses.unlock(delegate.unlock(AUTH_HEADER, requests.getUnlock()));
+        }
+        return responses.build();
+    }
+
+    private static final class CombinedRequests {
+        private final Set<Namespace> leaderTimes = new HashSet<>();
+        private final Map<Namespace, ConjureStartTransactionsRequest> startTransactions = new HashMap<>();
+        private final Map<Namespace, GetCommitTimestampsRequest> getCommitTimestamps = new HashMap<>();
+        private final Map<Namespace, ConjureUnlockRequestV2> unlock = new HashMap<>();
+
+        /**
+         * Leader times for the same namespace can be served by the same response, but other requests consume
+         * timestamps or locks and so must be sent separately.
+         */
+        private boolean tryAdd(MultiClientTimelockRequests requests) {
+            if (overlaps(startTransactions, requests.getStartTransactions())
+                    || overlaps(getCommitTimestamps, requests.getGetCommitTimestamps())
+                    || overlaps(unlock, requests.getUnlock())) {
+                return false;
+            }
+            leaderTimes.addAll(requests.getLeaderTimes());
+            startTransactions.putAll(requests.getStartTransactions());
+            getCommitTimestamps.putAll(requests.getGetCommitTimestamps());
+            unlock.putAll(requests.getUnlock());
+            return true;
+        }
+
+        private MultiClientTimelockRequests build() {
+            return MultiClientTimelockRequests.builder()
+                    .leaderTimes(leaderTimes)
+                    .startTransactions(startTransactions)
+                    .getCommitTimestamps(getCommitTimestamps)
+                    .unlock(unlock)
+                    .build();
+        }
+
+        private static boolean overlaps(Map<Namespace, ?> combined, Map<Namespace, ?> requests) {
+            return !Sets.intersection(combined.keySet(), requests.keySet()).isEmpty();
+        }
+    }
+}
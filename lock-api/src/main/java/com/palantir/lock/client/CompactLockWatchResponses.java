@@ -0,0 +1,74 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.lock.client;
+
+import com.palantir.atlasdb.timelock.api.ConjureCompactLockWatchStateUpdate;
+import com.palantir.atlasdb.timelock.api.ConjureStartTransactionsResponse;
+import com.palantir.atlasdb.timelock.api.ConjureStartTransactionsResponseV2;
+import com.palantir.atlasdb.timelock.api.GetCommitTimestampsResponse;
+import com.palantir.atlasdb.timelock.api.GetCommitTimestampsResponseV2;
+import com.palantir.conjure.java.lib.Bytes;
+import com.palantir.lock.watch.CompactLockWatchStateUpdates;
+import com.palantir.lock.watch.LockWatchStateUpdate;
+
+/**
+ * Converts between the responses carrying a lock watch update as JSON and their V2 versions, which carry the update
+ * in the compact encoding of {@link CompactLockWatchStateUpdates}.
+ */
+public final class CompactLockWatchResponses {
+    private CompactLockWatchResponses() {}
+
+    public static ConjureStartTransactionsResponseV2 toCompact(ConjureStartTransactionsResponse response) {
+        return ConjureStartTransactionsResponseV2.builder()
+                .immutableTimestamp(response.getImmutableTimestamp())
+                .timestamps(response.getTimestamps())
+                .lease(response.getLease())
+                .lockWatchUpdate(encode(response.getLockWatchUpdate()))
+                .build();
+    }
+
+    public static ConjureStartTransactionsResponse fromCompact(ConjureStartTransactionsResponseV2 response) {
+        return ConjureStartTransactionsResponse.builder()
+                .immutableTimestamp(response.getImmutableTimestamp())
+                .timestamps(response.getTimestamps())
+                .lease(response.getLease())
+                .lockWatchUpdate(decode(response.getLockWatchUpdate()))
+                .build();
+    }
+
+    public static GetCommitTimestampsResponseV2 toCompact(GetCommitTimestampsResponse response) {
+        return GetCommitTimestampsResponseV2.of(
+                response.getInclusiveLower(),
+                response.getInclusiveUpper(),
+                encode(response.getLockWatchUpdate()));
+    }
+
+    public static GetCommitTimestampsResponse fromCompact(GetCommitTimestampsResponseV2 response) {
+        return GetCommitTimestampsResponse.of(
+                response.getInclusiveLower(),
+                response.getInclusiveUpper(),
+                decode(response.getLockWatchUpdate()));
+    }
+
+    private static ConjureCompactLockWatchStateUpdate encode(LockWatchStateUpdate update) {
+        return ConjureCompactLockWatchStateUpdate.of(Bytes.from(CompactLockWatchStateUpdates.encode(update)));
+    }
+
+    private static LockWatchStateUpdate decode(ConjureCompactLockWatchStateUpdate update) {
+        return CompactLockWatchStateUpdates.decode(update.getEncodedUpdate().asReadOnlyByteBuffer());
+    }
+}
@@ -33,6 +33,7 @@ import com.palantir.atlasdb.timelock.api.ConjureRefreshLocksResponseV2;
 import com.palantir.atlasdb.timelock.api.ConjureSingleTimestamp;
 import com.palantir.atlasdb.timelock.api.ConjureStartTransactionsRequest;
 import com.palantir.atlasdb.timelock.api.ConjureStartTransactionsResponse;
+import com.palantir.atlasdb.timelock.api.ConjureStartTransactionsResponseV2;
 import com.palantir.atlasdb.timelock.api.ConjureTimelockService;
 import com.palantir.atlasdb.timelock.api.ConjureTimelockServiceBlocking;
 import com.palantir.atlasdb.timelock.api.ConjureTimestampRange;
@@ -45,13 +46,10 @@ import com.palantir.atlasdb.timelock.api.GetCommitTimestampRequest;
 import com.palantir.atlasdb.timelock.api.GetCommitTimestampResponse;
 import com.palantir.atlasdb.timelock.api.GetCommitTimestampsRequest;
 import com.palantir.atlasdb.timelock.api.GetCommitTimestampsResponse;
-import com.palantir.conjure.java.api.errors.RemoteException;
-import com.palantir.conjure.java.api.errors.UnknownRemoteException;
+import com.palantir.atlasdb.timelock.api.GetCommitTimestampsResponseV2;
 import com.palantir.lock.v2.LeaderTime;
 import com.palantir.tokens.auth.AuthHeader;
 import java.util.Set;
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -73,11 +71,20 @@ public class DialogueAdaptingConjureTimelockService implements ConjureTimelockSe
     public ConjureStartTransactionsResponse startTransactions(
             AuthHeader authHeader, String namespace, ConjureStartTransactionsRequest request) {
         return executeInstrumented(
-                () -> dialogueDelegate.startTransactions(authHeader, namespace, request),
+                () -> serverApiVersionGuesser.runUnderSuspicion(
+                        () -> CompactLockWatchResponses.fromCompact(
+                                dialogueDelegate.startTransactionsV2(authHeader, namespace, request)),
+                        () -> dialogueDelegate.startTransactions(authHeader, namespace, request)),
                 () -> conjureTimelockServiceBlockingMetrics.startTransactions().time(),
                 conjureTimelockServiceBlockingMetrics::startTransactionErrors);
     }
 
+    @Override
+    public ConjureStartTransactionsResponseV2 startTransactionsV2(
+            AuthHeader authHeader, String namespace, ConjureStartTransactionsRequest request) {
+        return dialogueDelegate.startTransactionsV2(authHeader, namespace, request);
+    }
+
     @Override
     public ConjureGetFreshTimestampsResponse getFreshTimestamps(
             AuthHeader authHeader, String namespace, ConjureGetFreshTimestampsRequest request) {
@@ -164,7 +171,16 @@ public class DialogueAdaptingConjureTimelockService implements ConjureTimelockSe
     @Override
     public GetCommitTimestampsResponse getCommitTimestamps(
             AuthHeader authHeader, String namespace, GetCommitTimestampsRequest request) {
-        return dialogueDelegate.getCommitTimestamps(authHeader, namespace, request);
+        return serverApiVersionGuesser.runUnderSuspicion(
+                () -> CompactLockWatchResponses.fromCompact(
+                        dialogueDelegate.getCommitTimestampsV2(authHeader, namespace, request)),
+                () -> dialogueDelegate.getCommitTimestamps(authHeader, namespace, request));
+    }
+
+    @Override
+    public GetCommitTimestampsResponseV2 getCommitTimestampsV2(
+            AuthHeader authHeader, String namespace, GetCommitTimestampsRequest request) {
+        return dialogueDelegate.getCommitTimestampsV2(authHeader, namespace, request);
     }
 
     @Override
@@ -192,54 +208,4 @@ public class DialogueAdaptingConjureTimelockService implements ConjureTimelockSe
     private Set<ConjureLockToken> fromV2Tokens(Set<ConjureLockTokenV2> v2Tokens) {
         return v2Tokens.stream().map(token -> ConjureLockToken.of(token.get())).collect(Collectors.toSet());
     }
-
-    private static final class ServerApiVersionGuesser {
-        private static final int NOT_FOUND = 404;
-        private static final double ATTEMPT_NEW_PROBABILITY_WHEN_SUSPECTING_OLD = 0.001;
-
-        private final AtomicBoolean suspectOldVersion;
-
-        private ServerApiVersionGuesser() {
-            this.suspectOldVersion = new AtomicBoolean();
-        }
-
-        public <T> T runUnderSuspicion(Supplier<T> newFunction, Supplier<T> legacyFunction) {
-            if (shouldUseNewEndpoint()) {
-                return runNewFunctionFirst(newFunction, legacyFunction);
-            }
-            return legacyFunction.get();
-        }
-
-        private boolean shouldUseNewEndpoint() {
-            if (suspectOldVersion.get()) {
-                return ThreadLocalRandom.current().nextDouble() < ATTEMPT_NEW_PROBABILITY_WHEN_SUSPECTING_OLD;
-            }
-            return true;
-        }
-
-        private <T> T runNewFunctionFirst(Supplier<T> newFunction, Supplier<T> legacyFunction) {
-            try {
-                T candidateOutput = newFunction.get();
-                if (suspectOldVersion.get()) {
-                    suspectOldVersion.set(false);
-                }
-                return candidateOutput;
-            } catch (RemoteException remoteException) {
-                if (remoteException.getStatus() != NOT_FOUND) {
-                    throw remoteException;
-                }
-                return suspectOldVersionAndCallLegacy(legacyFunction);
-            } catch (UnknownRemoteException unknownRemoteException) {
-                if (unknownRemoteException.getStatus() != NOT_FOUND) {
-                    throw unknownRemoteException;
-                }
-                return suspectOldVersionAndCallLegacy(legacyFunction);
-            }
-        }
-
-        private <T> T suspectOldVersionAndCallLegacy(Supplier<T> legacyFunction) {
-            suspectOldVersion.set(true);
-            return legacyFunction.get();
-        }
-    }
 }
@@ -16,15 +16,21 @@
 
 package com.palantir.lock.client;
 
+import com.palantir.atlasdb.timelock.api.ConjureIdentifiedVersion;
 import com.palantir.atlasdb.timelock.api.LockWatchRequest;
 import com.palantir.atlasdb.timelock.lock.watch.ConjureLockWatchingServiceBlocking;
+import com.palantir.lock.watch.CompactLockWatchStateUpdates;
+import com.palantir.lock.watch.LockWatchStateUpdate;
+import com.palantir.lock.watch.LockWatchVersion;
 import com.palantir.tokens.auth.AuthHeader;
+import java.util.Optional;
 
 public class NamespacedConjureLockWatchingService implements LockWatchStarter {
     private static final AuthHeader AUTH_HEADER = AuthHeader.valueOf("Bearer omitted");
 
     private final ConjureLockWatchingServiceBlocking lockWatcher;
     private final String namespace;
+    private final ServerApiVersionGuesser serverApiVersionGuesser = new ServerApiVersionGuesser();
 
     public NamespacedConjureLockWatchingService(ConjureLockWatchingServiceBlocking lockWatcher, String namespace) {
         this.lockWatcher = lockWatcher;
@@ -35,4 +41,18 @@ public class NamespacedConjureLockWatchingService implements LockWatchStarter {
     public void startWatching(LockWatchRequest request) {
         lockWatcher.startWatching(AUTH_HEADER, namespace, request);
     }
+
+    /**
+     * Polls for the lock watch events since the given version, using the compact encoding of the update unless the
+     * server is suspected not to support it.
+     */
+    public LockWatchStateUpdate getLockWatchUpdate(Optional<LockWatchVersion> lastKnownVersion) {
+        Optional<ConjureIdentifiedVersion> version = ConjureLockRequests.toConjure(lastKnownVersion);
+        return serverApiVersionGuesser.runUnderSuspicion(
+                () -> CompactLockWatchStateUpdates.decode(lockWatcher
+                        .getCompactLockWatchUpdate(AUTH_HEADER, namespace, version)
+                        .getEncodedUpdate()
+                        .asReadOnlyByteBuffer()),
+                () -> lockWatcher.getLockWatchUpdate(AUTH_HEADER, namespace, version));
+    }
 }
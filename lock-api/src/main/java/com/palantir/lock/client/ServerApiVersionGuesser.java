@@ -0,0 +1,77 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.lock.client;
+
+import com.palantir.conjure.java.api.errors.RemoteException;
+import com.palantir.conjure.java.api.errors.UnknownRemoteException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Tracks whether the server is suspected to predate an endpoint, so that callers can fall back to a legacy endpoint
+ * without paying for a failed request every time.
+ */
+final class ServerApiVersionGuesser {
+    private static final int NOT_FOUND = 404;
+    private static final double ATTEMPT_NEW_PROBABILITY_WHEN_SUSPECTING_OLD = 0.001;
+
+    private final AtomicBoolean suspectOldVersion;
+
+    ServerApiVersionGuesser() {
+        this.suspectOldVersion = new AtomicBoolean();
+    }
+
+    <T> T runUnderSuspicion(Supplier<T> newFunction, Supplier<T> legacyFunction) {
+        if (shouldUseNewEndpoint()) {
+            return runNewFunctionFirst(newFunction, legacyFunction);
+        }
+        return legacyFunction.get();
+    }
+
+    private boolean shouldUseNewEndpoint() {
+        if (suspectOldVersion.get()) {
+            return ThreadLocalRandom.current().nextDouble() < ATTEMPT_NEW_PROBABILITY_WHEN_SUSPECTING_OLD;
+        }
+        return true;
+    }
+
+    private <T> T runNewFunctionFirst(Supplier<T> newFunction, Supplier<T> legacyFunction) {
+        try {
+            T candidateOutput = newFunction.get();
+            if (suspectOldVersion.get()) {
+                suspectOldVersion.set(false);
+            }
+            return candidateOutput;
+        } catch (RemoteException remoteException) {
+            if (remoteException.getStatus() != NOT_FOUND) {
+                throw remoteException;
+            }
+            return suspectOldVersionAndCallLegacy(legacyFunction);
+        } catch (UnknownRemoteException unknownRemoteException) {
+            if (unknownRemoteException.getStatus() != NOT_FOUND) {
+                throw unknownRemoteException;
+            }
+            return suspectOldVersionAndCallLegacy(legacyFunction);
+        }
+    }
+
+    private <T> T suspectOldVersionAndCallLegacy(Supplier<T> legacyFunction) {
+        suspectOldVersion.set(true);
+        return legacyFunction.get();
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.lock.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.Futures;
+import com.palantir.atlasdb.autobatch.BatchElement;
+import com.palantir.atlasdb.autobatch.DisruptorAutobatcher.DisruptorFuture;
+import com.palantir.atlasdb.timelock.api.ConjureLockTokenV2;
+import com.palantir.atlasdb.timelock.api.ConjureUnlockRequestV2;
+import com.palantir.atlasdb.timelock.api.ConjureUnlockResponseV2;
+import com.palantir.atlasdb.timelock.api.LeaderTimes;
+import com.palantir.atlasdb.timelock.api.MultiClientConjureTimelockServiceBlocking;
+import com.palantir.atlasdb.timelock.api.MultiClientTimelockFailure;
+import com.palantir.atlasdb.timelock.api.MultiClientTimelockRequestType;
+import com.palantir.atlasdb.timelock.api.MultiClientTimelockRequests;
+import com.palantir.atlasdb.timelock.api.MultiClientTimelockResponses;
+import com.palantir.atlasdb.timelock.api.Namespace;
+import com.palantir.common.time.NanoTime;
+import com.palantir.conjure.java.api.errors.RemoteException;
+import com.palantir.conjure.java.api.errors.SerializableError;
+import com.palantir.conjure.java.api.errors.UnknownRemoteException;
+import com.palantir.lock.v2.LeaderTime;
+import com.palantir.lock.v2.LeadershipId;
+import com.palantir.tritium.metrics.registry.DefaultTaggedMetricRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Test;
+
+public class CoalescingMultiClientConjureTimelockServiceTest {
+    private static final Namespace NAMESPACE_1 = Namespace.of("alpha");
+    private static final Namespace NAMESPACE_2 = Namespace.of("beta");
+    private static final LeaderTime LEADER_TIME = LeaderTime.of(LeadershipId.random(), NanoTime.createForTests(1L));
+    private static final ConjureLockTokenV2 TOKEN_1 = ConjureLockTokenV2.of(UUID.randomUUID());
+    private static final ConjureLockTokenV2 TOKEN_2 = ConjureLockTokenV2.of(UUID.randomUUID());
+    private static final SerializableError ERROR = SerializableError.builder()
+            .errorCode("FAILED_PRECONDITION")
+            .errorName("Default:FailedPrecondition")
+            .build();
+
+    private final MultiClientConjureTimelockServiceBlocking delegate =
+            mock(MultiClientConjureTimelockServiceBlocking.class);
+    private final CoalescingMultiClientConjureTimelockService service =
+            CoalescingMultiClientConjureTimelockService.create(delegate, new DefaultTaggedMetricRegistry());
+
+    @After
+    public void after() {
+        service.close();
+    }
+
+    @Test
+    public void requestsOfDifferentTypesShareOneCall() {
+        List<MultiClientTimelockRequests> calls = new ArrayList<>();
+        BatchElement<MultiClientTimelockRequests, MultiClientTimelockResponses> leaderTimes =
+                batchElement(MultiClientTimelockRequests.builder()
+                        .leaderTimes(ImmutableSet.of(NAMESPACE_1))
+                        .build());
+        BatchElement<MultiClientTimelockRequests, MultiClientTimelockResponses> unlock =
+                batchElement(MultiClientTimelockRequests.builder()
+                        .unlock(ImmutableMap.of(NAMESPACE_2, ConjureUnlockRequestV2.of(ImmutableSet.of(TOKEN_1))))
+                        .build());
+
+        CoalescingMultiClientConjureTimelockService.processBatch(
+                requests -> {
+                    calls.add(requests);
+                    return respondTo(requests);
+                },
+                ImmutableList.of(leaderTimes, unlock));
+
+        assertThat(calls).hasSize(1);
+        assertThat(Futures.getUnchecked(leaderTimes.result()).getLeaderTimes())
+                .containsOnlyKeys(NAMESPACE_1);
+        assertThat(Futures.getUnchecked(leaderTimes.result()).getUnlock()).isEmpty();
+        assertThat(Futures.getUnchecked(unlock.result()).getUnlock()).containsOnlyKeys(NAMESPACE_2);
+        assertThat(Futures.getUnchecked(unlock.result()).getLeaderTimes()).isEmpty();
+    }
+
+    @Test
+    public void requestsForDifferentNamespacesShareOneCall() {
+        List<MultiClientTimelockRequests> calls = new ArrayList<>();
+        BatchElement<MultiClientTimelockRequests, MultiClientTimelockResponses> first =
+                batchElement(MultiClientTimelockRequests.builder()
+                        .unlock(ImmutableMap.of(NAMESPACE_1, ConjureUnlockRequestV2.of(ImmutableSet.of(TOKEN_1))))
+                        .build());
+        BatchElement<MultiClientTimelockRequests, MultiClientTimelockResponses> second =
+                batchElement(MultiClientTimelockRequests.builder()
+                        .unlock(ImmutableMap.of(NAMESPACE_2, ConjureUnlockRequestV2.of(ImmutableSet.of(TOKEN_2))))
+                        .build());
+
+        CoalescingMultiClientConjureTimelockService.processBatch(
+                requests -> {
+                    calls.add(requests);
+                    return respondTo(requests);
+                },
+                ImmutableList.of(first, second));
+
+        assertThat(calls).hasSize(1);
+        assertThat(Futures.getUnchecked(first.result()).getUnlock()).containsOnlyKeys(NAMESPACE_1);
+        assertThat(Futures.getUnchecked(second.result()).getUnlock()).containsOnlyKeys(NAMESPACE_2);
+    }
+
+    @Test
+    public void failedRequestsOnlyFailTheirOwnCaller() {
+        BatchElement<MultiClientTimelockRequests, MultiClientTimelockResponses> failed =
+                batchElement(MultiClientTimelockRequests.builder()
+                        .unlock(ImmutableMap.of(NAMESPACE_1, ConjureUnlockRequestV2.of(ImmutableSet.of(TOKEN_1))))
+                        .build());
+        BatchElement<MultiClientTimelockRequests, MultiClientTimelockResponses> served =
+                batchElement(MultiClientTimelockRequests.builder()
+                        .unlock(ImmutableMap.of(NAMESPACE_2, ConjureUnlockRequestV2.of(ImmutableSet.of(TOKEN_2))))
+                        .build());
+
+        CoalescingMultiClientConjureTimelockService.processBatch(
+                requests -> MultiClientTimelockResponses.builder()
+                        .unlock(NAMESPACE_2, ConjureUnlockResponseV2.of(ImmutableSet.of(TOKEN_2)))
+                        .failures(ImmutableList.of(MultiClientTimelockFailure.builder()
+                                .namespace(NAMESPACE_1)
+                                .requestType(MultiClientTimelockRequestType.UNLOCK)
+                                .error(ERROR)
+                                .status(400)
+                                .build()))
+                        .build(),
+                ImmutableList.of(failed, served));
+
+        assertThatThrownBy(() -> Futures.getUnchecked(failed.result()))
+                .extracting(Throwable::getCause)
+                .isInstanceOfSatisfying(RemoteException.class, exception -> {
+                    assertThat(exception.getError()).isEqualTo(ERROR);
+                    assertThat(exception.getStatus()).isEqualTo(400);
+                });
+        assertThat(Futures.getUnchecked(served.result()).getUnlock().get(NAMESPACE_2).getTokens())
+                .containsExactly(TOKEN_2);
+    }
+
+    @Test
+    public void leaderTimeRequestsForTheSameNamespaceShareOneCall() {
+        List<MultiClientTimelockRequests> calls = new ArrayList<>();
+        MultiClientTimelockRequests request = MultiClientTimelockRequests.builder()
+                .leaderTimes(ImmutableSet.of(NAMESPACE_1))
+                .build();
+
+        CoalescingMultiClientConjureTimelockService.processBatch(
+                requests -> {
+                    calls.add(requests);
+                    return respondTo(requests);
+                },
+                ImmutableList.of(batchElement(request), batchElement(request)));
+
+        assertThat(calls).containsExactly(request);
+    }
+
+    @Test
+    public void unlocksForTheSameNamespaceAreSentInSeparateCalls() {
+        List<MultiClientTimelockRequests> calls = new ArrayList<>();
+        BatchElement<MultiClientTimelockRequests, MultiClientTimelockResponses> first =
+                batchElement(MultiClientTimelockRequests.builder()
+                        .unlock(ImmutableMap.of(NAMESPACE_1, ConjureUnlockRequestV2.of(ImmutableSet.of(TOKEN_1))))
+                        .build());
+        BatchElement<MultiClientTimelockRequests, MultiClientTimelockResponses> second =
+                batchElement(MultiClientTimelockRequests.builder()
+                        .unlock(ImmutableMap.of(NAMESPACE_1, ConjureUnlockRequestV2.of(ImmutableSet.of(TOKEN_2))))
+                        .build());
+
+        CoalescingMultiClientConjureTimelockService.processBatch(
+                requests -> {
+                    calls.add(requests);
+                    return respondTo(requests);
+                },
+                ImmutableList.of(first, second));
+
+        assertThat(calls).containsExactly(first.argument(), second.argument());
+        assertThat(Futures.getUnchecked(first.result()).getUnlock().get(NAMESPACE_1).getTokens())
+                .containsExactly(TOKEN_1);
+        assertThat(Futures.getUnchecked(second.result()).getUnlock().get(NAMESPACE_1).getTokens())
+                .containsExactly(TOKEN_2);
+    }
+
+    @Test
+    public void sendsRequestsToBatchEndpoint() {
+        when(delegate.batch(any(), any())).thenAnswer(invocation -> respondTo(invocation.getArgument(1)));
+
+        assertThat(service.leaderTimes(ImmutableSet.of(NAMESPACE_1)))
+                .isEqualTo(LeaderTimes.of(ImmutableMap.of(NAMESPACE_1, LEADER_TIME)));
+        verify(delegate, never()).leaderTimes(any(), any());
+    }
+
+    @Test
+    public void fallsBackToSeparateEndpointsIfServerDoesNotSupportBatchEndpoint() {
+        when(delegate.batch(any(), any())).thenThrow(new UnknownRemoteException(404, ""));
+        Map<Namespace, ConjureUnlockRequestV2> request =
+                ImmutableMap.of(NAMESPACE_1, ConjureUnlockRequestV2.of(ImmutableSet.of(TOKEN_1)));
+        when(delegate.unlock(any(), eq(request)))
+                .thenReturn(ImmutableMap.of(NAMESPACE_1, ConjureUnlockResponseV2.of(ImmutableSet.of(TOKEN_1))));
+
+        assertThat(service.unlock(request).get(NAMESPACE_1).getTokens()).containsExactly(TOKEN_1);
+        verify(delegate, never()).leaderTimes(any(), any());
+    }
+
+    @Test
+    public void slowRequestsOfOneTypeDoNotHoldUpRequestsOfOtherTypes() throws Exception {
+        CoalescingMultiClientConjureTimelockService isolatingService =
+                CoalescingMultiClientConjureTimelockService.create(
+                        delegate, new DefaultTaggedMetricRegistry(), Duration.ofMillis(10));
+        AtomicReference<CountDownLatch> unlockReleased = new AtomicReference<>(new CountDownLatch(0));
+        when(delegate.batch(any(), any())).thenAnswer(invocation -> {
+            MultiClientTimelockRequests requests = invocation.getArgument(1);
+            if (!requests.getUnlock().isEmpty()) {
+                Thread.sleep(50);
+                unlockReleased.get().await();
+            }
+            return respondTo(requests);
+        });
+        Map<Namespace, ConjureUnlockRequestV2> unlockRequest =
+                ImmutableMap.of(NAMESPACE_1, ConjureUnlockRequestV2.of(ImmutableSet.of(TOKEN_1)));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            isolatingService.unlock(unlockRequest);
+
+            unlockReleased.set(new CountDownLatch(1));
+            Future<Map<Namespace, ConjureUnlockResponseV2>> unlock =
+                    executor.submit(() -> isolatingService.unlock(unlockRequest));
+            verify(delegate, timeout(10_000).times(2)).batch(any(), any());
+
+            assertThat(isolatingService.leaderTimes(ImmutableSet.of(NAMESPACE_1)))
+                    .isEqualTo(LeaderTimes.of(ImmutableMap.of(NAMESPACE_1, LEADER_TIME)));
+            assertThat(unlock).isNotDone();
+
+            unlockReleased.get().countDown();
+            assertThat(unlock.get().get(NAMESPACE_1).getTokens()).containsExactly(TOKEN_1);
+        } finally {
+            unlockReleased.get().countDown();
+            executor.shutdownNow();
+            isolatingService.close();
+        }
+    }
+
+    @Test
+    public void stillSendsRequestsAfterBeingClosed() {
+        when(delegate.batch(any(), any())).thenAnswer(invocation -> respondTo(invocation.getArgument(1)));
+        service.close();
+
+        assertThat(service.leaderTimes(ImmutableSet.of(NAMESPACE_1)))
+                .isEqualTo(LeaderTimes.of(ImmutableMap.of(NAMESPACE_1, LEADER_TIME)));
+    }
+
+    private static BatchElement<MultiClientTimelockRequests, MultiClientTimelockResponses> batchElement(
+            MultiClientTimelockRequests request) {
+        return BatchElement.of(request, new DisruptorFuture<>("test"));
+    }
+
+    private static MultiClientTimelockResponses respondTo(MultiClientTimelockRequests requests) {
+        MultiClientTimelockResponses.Builder responses = MultiClientTimelockResponses.builder();
+        requests.getLeaderTimes().forEach(namespace -> responses.leaderTimes(namespace, LEADER_TIME));
+        requests.getUnlock()
+                .forEach((namespace, request) ->
+                        responses.unlock(namespace, ConjureUnlockResponseV2.of(request.getTokens())));
+        return responses.build();
+    }
+}
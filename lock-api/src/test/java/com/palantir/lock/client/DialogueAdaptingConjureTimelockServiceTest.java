@@ -0,0 +1,83 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.lock.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.palantir.atlasdb.timelock.api.ConjureTimelockServiceBlocking;
+import com.palantir.atlasdb.timelock.api.GetCommitTimestampsRequest;
+import com.palantir.atlasdb.timelock.api.GetCommitTimestampsResponse;
+import com.palantir.conjure.java.api.errors.UnknownRemoteException;
+import com.palantir.lock.AtlasRowLockDescriptor;
+import com.palantir.lock.watch.LockWatchStateUpdate;
+import com.palantir.lock.watch.UnlockEvent;
+import com.palantir.tokens.auth.AuthHeader;
+import com.palantir.tritium.metrics.registry.DefaultTaggedMetricRegistry;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.Test;
+
+public class DialogueAdaptingConjureTimelockServiceTest {
+    private static final AuthHeader AUTH_HEADER = AuthHeader.valueOf("Bearer test");
+    private static final String NAMESPACE = "namespace";
+    private static final GetCommitTimestampsRequest REQUEST = GetCommitTimestampsRequest.of(3, Optional.empty());
+    private static final LockWatchStateUpdate UPDATE = LockWatchStateUpdate.success(
+            UUID.randomUUID(),
+            5L,
+            ImmutableList.of(UnlockEvent.builder(ImmutableSet.of(AtlasRowLockDescriptor.of("t.t", new byte[] {1})))
+                    .build(5L)));
+    private static final GetCommitTimestampsResponse RESPONSE = GetCommitTimestampsResponse.of(1L, 3L, UPDATE);
+
+    private final ConjureTimelockServiceBlocking delegate = mock(ConjureTimelockServiceBlocking.class);
+    private final DialogueAdaptingConjureTimelockService service = new DialogueAdaptingConjureTimelockService(
+            delegate, ConjureTimelockServiceBlockingMetrics.of(new DefaultTaggedMetricRegistry()));
+
+    @Test
+    public void getsCommitTimestampsWithCompactLockWatchUpdate() {
+        when(delegate.getCommitTimestampsV2(any(), eq(NAMESPACE), eq(REQUEST)))
+                .thenReturn(CompactLockWatchResponses.toCompact(RESPONSE));
+
+        assertThat(service.getCommitTimestamps(AUTH_HEADER, NAMESPACE, REQUEST)).isEqualTo(RESPONSE);
+        verify(delegate, never()).getCommitTimestamps(any(), any(), any());
+    }
+
+    @Test
+    public void fallsBackToLegacyEndpointIfCompactEndpointIsNotFound() {
+        when(delegate.getCommitTimestampsV2(any(), any(), any())).thenThrow(new UnknownRemoteException(404, ""));
+        when(delegate.getCommitTimestamps(any(), eq(NAMESPACE), eq(REQUEST))).thenReturn(RESPONSE);
+
+        assertThat(service.getCommitTimestamps(AUTH_HEADER, NAMESPACE, REQUEST)).isEqualTo(RESPONSE);
+    }
+
+    @Test
+    public void doesNotFallBackOnOtherErrors() {
+        when(delegate.getCommitTimestampsV2(any(), any(), any())).thenThrow(new UnknownRemoteException(500, ""));
+
+        assertThatThrownBy(() -> service.getCommitTimestamps(AUTH_HEADER, NAMESPACE, REQUEST))
+                .isInstanceOf(UnknownRemoteException.class);
+        verify(delegate, never()).getCommitTimestamps(any(), any(), any());
+    }
+}
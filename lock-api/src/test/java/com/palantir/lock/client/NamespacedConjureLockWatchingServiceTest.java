@@ -0,0 +1,87 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.lock.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.palantir.atlasdb.timelock.api.ConjureCompactLockWatchStateUpdate;
+import com.palantir.atlasdb.timelock.api.ConjureIdentifiedVersion;
+import com.palantir.atlasdb.timelock.lock.watch.ConjureLockWatchingServiceBlocking;
+import com.palantir.conjure.java.api.errors.UnknownRemoteException;
+import com.palantir.conjure.java.lib.Bytes;
+import com.palantir.lock.AtlasRowLockDescriptor;
+import com.palantir.lock.watch.CompactLockWatchStateUpdates;
+import com.palantir.lock.watch.LockWatchStateUpdate;
+import com.palantir.lock.watch.LockWatchVersion;
+import com.palantir.lock.watch.UnlockEvent;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.Test;
+
+public class NamespacedConjureLockWatchingServiceTest {
+    private static final String NAMESPACE = "namespace";
+    private static final UUID LOG_ID = UUID.randomUUID();
+    private static final LockWatchVersion VERSION = LockWatchVersion.of(LOG_ID, 4L);
+    private static final Optional<ConjureIdentifiedVersion> CONJURE_VERSION =
+            ConjureLockRequests.toConjure(Optional.of(VERSION));
+    private static final LockWatchStateUpdate UPDATE = LockWatchStateUpdate.success(
+            LOG_ID,
+            5L,
+            ImmutableList.of(UnlockEvent.builder(ImmutableSet.of(AtlasRowLockDescriptor.of("t.t", new byte[] {1})))
+                    .build(5L)));
+
+    private final ConjureLockWatchingServiceBlocking delegate = mock(ConjureLockWatchingServiceBlocking.class);
+    private final NamespacedConjureLockWatchingService service =
+            new NamespacedConjureLockWatchingService(delegate, NAMESPACE);
+
+    @Test
+    public void decodesCompactUpdates() {
+        when(delegate.getCompactLockWatchUpdate(any(), eq(NAMESPACE), eq(CONJURE_VERSION)))
+                .thenReturn(ConjureCompactLockWatchStateUpdate.of(
+                        Bytes.from(CompactLockWatchStateUpdates.encode(UPDATE))));
+
+        assertThat(service.getLockWatchUpdate(Optional.of(VERSION))).isEqualTo(UPDATE);
+        verify(delegate, never()).getLockWatchUpdate(any(), any(), any());
+    }
+
+    @Test
+    public void fallsBackToJsonUpdatesIfServerDoesNotSupportCompactUpdates() {
+        when(delegate.getCompactLockWatchUpdate(any(), any(), any())).thenThrow(new UnknownRemoteException(404, ""));
+        when(delegate.getLockWatchUpdate(any(), eq(NAMESPACE), eq(CONJURE_VERSION)))
+                .thenReturn(UPDATE);
+
+        assertThat(service.getLockWatchUpdate(Optional.of(VERSION))).isEqualTo(UPDATE);
+    }
+
+    @Test
+    public void doesNotFallBackOnOtherErrors() {
+        when(delegate.getCompactLockWatchUpdate(any(), any(), any())).thenThrow(new UnknownRemoteException(500, ""));
+
+        assertThatThrownBy(() -> service.getLockWatchUpdate(Optional.of(VERSION)))
+                .isInstanceOf(UnknownRemoteException.class);
+        verify(delegate, never()).getLockWatchUpdate(any(), any(), any());
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.lock.watch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.primitives.Longs;
+import com.palantir.lock.AtlasCellLockDescriptor;
+import com.palantir.lock.AtlasRowLockDescriptor;
+import com.palantir.lock.AtlasTimestampLockDescriptor;
+import com.palantir.lock.LockDescriptor;
+import com.palantir.lock.StringLockDescriptor;
+import com.palantir.lock.v2.LockToken;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.junit.Test;
+
+public class CompactLockWatchStateUpdatesTest {
+    private static final String TABLE = "namespace.table";
+    private static final String OTHER_TABLE = "namespace.other";
+    private static final UUID LOG_ID = UUID.randomUUID();
+
+    private static final Set<LockWatchReferences.LockWatchReference> REFERENCES = ImmutableSet.of(
+            LockWatchReferences.entireTable(TABLE),
+            LockWatchReferences.rowPrefix(OTHER_TABLE, new byte[] {1, 2}),
+            LockWatchReferences.rowRange(OTHER_TABLE, new byte[] {3}, new byte[] {4, 5}),
+            LockWatchReferences.exactRow(OTHER_TABLE, new byte[] {6}),
+            LockWatchReferences.exactCell(TABLE, new byte[] {7}, new byte[] {8}));
+
+    @Test
+    public void successfulUpdateSurvivesRoundTrip() {
+        Set<LockDescriptor> rows = rowDescriptors(TABLE, 100);
+        Set<LockDescriptor> mixed = ImmutableSet.of(
+                AtlasRowLockDescriptor.of(TABLE, new byte[] {0, 0, 1}),
+                AtlasRowLockDescriptor.of(OTHER_TABLE, new byte[0]),
+                AtlasCellLockDescriptor.of(OTHER_TABLE, new byte[] {9}, new byte[] {10}));
+        LockWatchStateUpdate update = LockWatchStateUpdate.success(
+                LOG_ID,
+                12L,
+                ImmutableList.of(
+                        LockWatchCreatedEvent.builder(REFERENCES, mixed).build(10L),
+                        LockEvent.builder(rows, LockToken.of(UUID.randomUUID())).build(11L),
+                        UnlockEvent.builder(rows).build(12L)));
+
+        assertRoundTrips(update);
+    }
+
+    @Test
+    public void snapshotSurvivesRoundTrip() {
+        LockWatchStateUpdate update =
+                LockWatchStateUpdate.snapshot(LOG_ID, -1L, rowDescriptors(OTHER_TABLE, 10), REFERENCES);
+
+        assertRoundTrips(update);
+    }
+
+    @Test
+    public void descriptorsWithoutTableSurviveRoundTrip() {
+        Set<LockDescriptor> descriptors = ImmutableSet.of(
+                StringLockDescriptor.of("no table here"),
+                StringLockDescriptor.of("no table there"),
+                AtlasTimestampLockDescriptor.of(5L),
+                AtlasTimestampLockDescriptor.of(Long.MAX_VALUE));
+        LockWatchStateUpdate update = LockWatchStateUpdate.success(
+                LOG_ID, Long.MAX_VALUE, ImmutableList.of(UnlockEvent.builder(descriptors).build(Long.MAX_VALUE)));
+
+        assertRoundTrips(update);
+    }
+
+    @Test
+    public void emptyUpdateSurvivesRoundTrip() {
+        assertRoundTrips(LockWatchStateUpdate.success(LOG_ID, 0L, ImmutableList.of()));
+    }
+
+    @Test
+    public void compactEncodingIsMuchSmallerThanJsonForRowLocks() throws JsonProcessingException {
+        LockWatchStateUpdate update = LockWatchStateUpdate.success(
+                LOG_ID,
+                1L,
+                ImmutableList.of(
+                        LockEvent.builder(rowDescriptors(TABLE, 1_000), LockToken.of(UUID.randomUUID()))
+                                .build(0L),
+                        UnlockEvent.builder(rowDescriptors(TABLE, 1_000)).build(1L)));
+
+        int jsonSize = new ObjectMapper().writeValueAsBytes(update).length;
+        assertThat(CompactLockWatchStateUpdates.encode(update).length).isLessThan(jsonSize / 5);
+    }
+
+    @Test
+    public void rejectsUnknownFormatVersion() {
+        byte[] encoded =
+                CompactLockWatchStateUpdates.encode(LockWatchStateUpdate.success(LOG_ID, 0L, ImmutableList.of()));
+        encoded[0] = 17;
+
+        assertThatThrownBy(() -> CompactLockWatchStateUpdates.decode(encoded))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown compact lock watch update format");
+    }
+
+    private static void assertRoundTrips(LockWatchStateUpdate update) {
+        assertThat(CompactLockWatchStateUpdates.decode(CompactLockWatchStateUpdates.encode(update)))
+                .isEqualTo(update);
+    }
+
+    private static Set<LockDescriptor> rowDescriptors(String table, int count) {
+        return LongStream.range(0, count)
+                .mapToObj(row -> AtlasRowLockDescriptor.of(table, Longs.toByteArray(row)))
+                .collect(Collectors.toSet());
+    }
+}
@@ -24,6 +24,7 @@ import com.palantir.leader.proxy.LeadershipCoordinator;
 import com.palantir.paxos.Client;
 import com.palantir.paxos.LeaderPinger;
 import com.palantir.paxos.PaxosLearner;
+import com.palantir.paxos.SqlitePaxosGroupCommitWriter;
 import com.palantir.timelock.paxos.HealthCheckPinger;
 import java.time.Duration;
 import java.util.UUID;
@@ -41,6 +42,8 @@ public abstract class LeadershipContextFactory
 
     abstract PaxosResourcesFactory.TimelockPaxosInstallationContext install();
 
+    abstract SqlitePaxosGroupCommitWriter sqliteGroupCommitWriter();
+
     abstract Factories.LeaderPingHealthCheckFactory healthCheckPingersFactory();
 
     abstract NetworkClientFactories.Builder networkClientFactoryBuilder();
@@ -64,6 +67,7 @@ public abstract class LeadershipContextFactory
                 useCase(),
                 install().dataDirectory(),
                 install().sqliteDataSource(),
+                sqliteGroupCommitWriter(),
                 leaderUuid(),
                 install().install().paxos().canCreateNewClients(),
                 install().timeLockVersion(),
@@ -18,9 +18,14 @@ package com.palantir.atlasdb.timelock.paxos;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.io.Closer;
 import com.palantir.common.streams.KeyedStream;
 import com.palantir.conjure.java.undertow.lib.UndertowService;
+import com.palantir.logsafe.logger.SafeLogger;
+import com.palantir.logsafe.logger.SafeLoggerFactory;
 import com.palantir.timestamp.ManagedTimestampService;
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +33,7 @@ import org.immutables.value.Value;
 
 @Value.Immutable
 public abstract class PaxosResources {
+    private static final SafeLogger log = SafeLoggerFactory.get(PaxosResources.class);
 
     public abstract NetworkClientFactories.Factory<ManagedTimestampService> timestampServiceFactory();
 
@@ -43,6 +49,8 @@ public abstract class PaxosResources {
 
     public abstract TimeLockCorruptionComponents timeLockCorruptionComponents();
 
+    abstract List<Closeable> closeables();
+
     @Value.Derived
     Map<PaxosUseCase, BatchPaxosResources> leadershipBatchResources() {
         return KeyedStream.stream(leadershipBatchComponents())
@@ -74,6 +82,20 @@ public abstract class PaxosResources {
                 leadershipContextFactory(), leadershipContextFactory().healthCheckPingers());
     }
 
+    /**
+     * Shuts down the leadership components, and then closes the resources shared by all clients, such as executors.
+     */
+    public void shutdown() {
+        leadershipComponents().shutdown();
+        Closer closer = Closer.create();
+        closeables().forEach(closer::register);
+        try {
+            closer.close();
+        } catch (IOException e) {
+            log.warn("Received exceptions whilst trying to close paxos resources.", e);
+        }
+    }
+
     private static BatchPaxosResources batchResourcesFromComponents(LocalPaxosComponents components) {
         BatchPaxosAcceptorResource acceptorResource = new BatchPaxosAcceptorResource(components.batchAcceptor());
         BatchPaxosLearnerResource learnerResource = new BatchPaxosLearnerResource(components.batchLearner());
@@ -19,6 +19,8 @@ package com.palantir.atlasdb.timelock.paxos;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Suppliers;
 import com.palantir.atlasdb.util.MetricsManager;
+import com.palantir.common.concurrent.NamedThreadFactory;
+import com.palantir.common.concurrent.PTExecutors;
 import com.palantir.common.proxy.PredicateSwitchedProxy;
 import com.palantir.conjure.java.api.config.service.UserAgent;
 import com.palantir.conjure.java.config.ssl.SslSocketFactories;
@@ -31,6 +33,7 @@ import com.palantir.paxos.PaxosLearnerNetworkClient;
 import com.palantir.paxos.PaxosProposer;
 import com.palantir.paxos.PaxosProposerImpl;
 import com.palantir.paxos.SqliteConnections;
+import com.palantir.paxos.SqlitePaxosGroupCommitWriter;
 import com.palantir.sls.versions.OrderableSlsVersion;
 import com.palantir.timelock.config.ClusterConfiguration;
 import com.palantir.timelock.config.PaxosInstallConfiguration.PaxosLeaderMode;
@@ -53,12 +56,23 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.sql.DataSource;
 import org.immutables.value.Value;
 
 public final class PaxosResourcesFactory {
+    private static final int NEXT_ROUND_PREPARER_THREADS = 16;
+    private static final int NEXT_ROUND_PREPARER_QUEUE_SIZE = 1024;
+
+    @VisibleForTesting
+    static final int BOUND_EXTENSION_THREADS = 16;
+
+    private static final int BOUND_EXTENSION_QUEUE_SIZE = 1024;
 
     private PaxosResourcesFactory() {}
 
@@ -68,13 +82,20 @@ public final class PaxosResourcesFactory {
             Supplier<PaxosRuntimeConfiguration> paxosRuntime) {
         PaxosRemoteClients remoteClients = ImmutablePaxosRemoteClients.of(install, metrics);
 
+        // Every use case logs to the same SQLite database, so they share one writer and thus one group commit.
+        SqlitePaxosGroupCommitWriter groupCommitWriter =
+                SqlitePaxosGroupCommitWriter.create(install.sqliteDataSource(), metrics.getTaggedRegistry());
+
         ImmutablePaxosResources.Builder resourcesBuilder =
-                setupTimestampResources(install, metrics, paxosRuntime, remoteClients);
+                setupTimestampResources(install, metrics, paxosRuntime, remoteClients, groupCommitWriter);
+        resourcesBuilder.addCloseables(groupCommitWriter);
 
         if (install.useLeaderForEachClient()) {
-            return configureLeaderForEachClient(resourcesBuilder, install, metrics, paxosRuntime, remoteClients);
+            return configureLeaderForEachClient(
+                    resourcesBuilder, install, metrics, paxosRuntime, remoteClients, groupCommitWriter);
         } else {
-            return configureLeaderForAllClients(resourcesBuilder, install, metrics, paxosRuntime, remoteClients);
+            return configureLeaderForAllClients(
+                    resourcesBuilder, install, metrics, paxosRuntime, remoteClients, groupCommitWriter);
         }
     }
 
@@ -83,7 +104,8 @@ public final class PaxosResourcesFactory {
             TimelockPaxosInstallationContext install,
             MetricsManager metrics,
             Supplier<PaxosRuntimeConfiguration> paxosRuntime,
-            PaxosRemoteClients remoteClients) {
+            PaxosRemoteClients remoteClients,
+            SqlitePaxosGroupCommitWriter groupCommitWriter) {
         TimelockPaxosMetrics timelockMetrics = TimelockPaxosMetrics.of(PaxosUseCase.LEADER_FOR_EACH_CLIENT, metrics);
 
         Factories.LeaderPingHealthCheckFactory healthCheckPingersFactory = dependencies -> {
@@ -101,6 +123,7 @@ public final class PaxosResourcesFactory {
 
         LeadershipContextFactory factory = ImmutableLeadershipContextFactory.builder()
                 .install(install)
+                .sqliteGroupCommitWriter(groupCommitWriter)
                 .remoteClients(remoteClients)
                 .runtime(paxosRuntime)
                 .useCase(PaxosUseCase.LEADER_FOR_EACH_CLIENT)
@@ -124,7 +147,8 @@ public final class PaxosResourcesFactory {
             TimelockPaxosInstallationContext install,
             MetricsManager metrics,
             Supplier<PaxosRuntimeConfiguration> paxosRuntime,
-            PaxosRemoteClients remoteClients) {
+            PaxosRemoteClients remoteClients,
+            SqlitePaxosGroupCommitWriter groupCommitWriter) {
 
         TimelockPaxosMetrics timelockMetrics = TimelockPaxosMetrics.of(PaxosUseCase.LEADER_FOR_ALL_CLIENTS, metrics);
 
@@ -141,6 +165,7 @@ public final class PaxosResourcesFactory {
 
         LeadershipContextFactory factory = ImmutableLeadershipContextFactory.builder()
                 .install(install)
+                .sqliteGroupCommitWriter(groupCommitWriter)
                 .remoteClients(remoteClients)
                 .runtime(paxosRuntime)
                 .useCase(PaxosUseCase.LEADER_FOR_ALL_CLIENTS)
@@ -171,7 +196,8 @@ public final class PaxosResourcesFactory {
             TimelockPaxosInstallationContext install,
             MetricsManager metrics,
             Supplier<PaxosRuntimeConfiguration> paxosRuntime,
-            PaxosRemoteClients remoteClients) {
+            PaxosRemoteClients remoteClients,
+            SqlitePaxosGroupCommitWriter groupCommitWriter) {
         TimelockPaxosMetrics timelockMetrics = TimelockPaxosMetrics.of(PaxosUseCase.TIMESTAMP, metrics);
 
         LocalPaxosComponents paxosComponents = LocalPaxosComponents.createWithAsyncMigration(
@@ -179,6 +205,7 @@ public final class PaxosResourcesFactory {
                 PaxosUseCase.TIMESTAMP,
                 install.dataDirectory(),
                 install.sqliteDataSource(),
+                groupCommitWriter,
                 install.nodeUuid(),
                 install.install().paxos().canCreateNewClients(),
                 install.timeLockVersion(),
@@ -219,9 +246,18 @@ public final class PaxosResourcesFactory {
                 .addAllCloseables(singleLeaderClientFactories.closeables())
                 .build();
 
+        // Preparing in advance is only an optimisation, so rounds that do not fit in the queue are not prepared.
+        ExecutorService nextRoundPreparer = PTExecutors.newThreadPoolExecutor(
+                NEXT_ROUND_PREPARER_THREADS,
+                NEXT_ROUND_PREPARER_THREADS,
+                1,
+                TimeUnit.MINUTES,
+                new ArrayBlockingQueue<>(NEXT_ROUND_PREPARER_QUEUE_SIZE),
+                new NamedThreadFactory("timestamp-paxos-next-round-preparer", true));
         NetworkClientFactories.Factory<PaxosProposer> proposerFactory =
-                getPaxosProposerFactory(timelockMetrics, combinedNetworkClientFactories);
+                getPaxosProposerFactory(timelockMetrics, combinedNetworkClientFactories, nextRoundPreparer);
 
+        ExecutorService boundExtensionExecutor = createBoundExtensionExecutor();
         NetworkClientFactories.Factory<ManagedTimestampService> timestampFactory = client -> {
             // TODO (jkong): live reload ping
             TimestampBoundStore boundStore = timelockMetrics.instrument(
@@ -233,26 +269,49 @@ public final class PaxosResourcesFactory {
                             combinedNetworkClientFactories.learner().create(client),
                             paxosRuntime.get().maximumWaitBeforeProposalMs()),
                     client);
-            return PersistentTimestampServiceImpl.create(boundStore);
+            return PersistentTimestampServiceImpl.createWithPreemptiveBoundExtension(
+                    boundStore,
+                    boundExtensionExecutor,
+                    timelockMetrics.clientScopedMetrics().metricRegistryForClient(client));
         };
 
         return ImmutablePaxosResources.builder()
                 .addAdhocResources(new TimestampPaxosResource(paxosComponents))
                 .timestampPaxosComponents(paxosComponents)
-                .timestampServiceFactory(timestampFactory);
+                .timestampServiceFactory(timestampFactory)
+                .addCloseables(nextRoundPreparer::shutdownNow)
+                .addCloseables(boundExtensionExecutor::shutdownNow);
+    }
+
+    /**
+     * Extensions of different clients' timestamp bounds each wait on a paxos round, so they run in parallel rather
+     * than queueing behind one another. Extensions that do not fit in the queue are not scheduled; the bound is then
+     * extended by the request that reaches it.
+     */
+    @VisibleForTesting
+    static ExecutorService createBoundExtensionExecutor() {
+        return PTExecutors.newThreadPoolExecutor(
+                BOUND_EXTENSION_THREADS,
+                BOUND_EXTENSION_THREADS,
+                1,
+                TimeUnit.MINUTES,
+                new ArrayBlockingQueue<>(BOUND_EXTENSION_QUEUE_SIZE),
+                new NamedThreadFactory("timestamp-bound-extension", true));
     }
 
     @VisibleForTesting
     static NetworkClientFactories.Factory<PaxosProposer> getPaxosProposerFactory(
-            TimelockPaxosMetrics timelockMetrics, NetworkClientFactories combinedNetworkClientFactories) {
+            TimelockPaxosMetrics timelockMetrics,
+            NetworkClientFactories combinedNetworkClientFactories,
+            Executor nextRoundPreparer) {
         return client -> {
             PaxosAcceptorNetworkClient acceptorNetworkClient =
                     combinedNetworkClientFactories.acceptor().create(client);
             PaxosLearnerNetworkClient learnerNetworkClient =
                     combinedNetworkClientFactories.learner().create(client);
 
-            PaxosProposer paxosProposer =
-                    PaxosProposerImpl.newProposer(acceptorNetworkClient, learnerNetworkClient, UUID.randomUUID());
+            PaxosProposer paxosProposer = PaxosProposerImpl.newProposerPreparingNextRound(
+                    acceptorNetworkClient, learnerNetworkClient, UUID.randomUUID(), nextRoundPreparer);
 
             return timelockMetrics.instrument(PaxosProposer.class, paxosProposer, client);
         };
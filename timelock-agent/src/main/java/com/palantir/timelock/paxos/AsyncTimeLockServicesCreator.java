@@ -15,7 +15,6 @@
  */
 package com.palantir.timelock.paxos;
 
-import com.codahale.metrics.InstrumentedScheduledExecutorService;
 import com.google.common.base.Suppliers;
 import com.palantir.atlasdb.debug.LockDiagnosticConfig;
 import com.palantir.atlasdb.timelock.AsyncTimelockResource;
@@ -24,11 +23,10 @@ import com.palantir.atlasdb.timelock.AsyncTimelockServiceImpl;
 import com.palantir.atlasdb.timelock.TimeLockServices;
 import com.palantir.atlasdb.timelock.lock.AsyncLockService;
 import com.palantir.atlasdb.timelock.lock.LockLog;
+import com.palantir.atlasdb.timelock.lock.LockShards;
 import com.palantir.atlasdb.timelock.lock.NonTransactionalLockService;
 import com.palantir.atlasdb.timelock.paxos.LeadershipComponents;
 import com.palantir.atlasdb.util.MetricsManager;
-import com.palantir.common.concurrent.NamedThreadFactory;
-import com.palantir.common.concurrent.PTExecutors;
 import com.palantir.lock.LockService;
 import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.logger.SafeLogger;
@@ -37,7 +35,6 @@ import com.palantir.paxos.Client;
 import com.palantir.timestamp.ManagedTimestampService;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Supplier;
 
 public class AsyncTimeLockServicesCreator implements TimeLockServicesCreator {
@@ -47,6 +44,7 @@ public class AsyncTimeLockServicesCreator implements TimeLockServicesCreator {
     private final LockLog lockLog;
     private final LeadershipComponents leadershipComponents;
     private final Map<Client, LockDiagnosticConfig> lockDiagnosticConfig;
+    private final LockShards lockShards;
 
     AsyncTimeLockServicesCreator(
             MetricsManager metricsManager,
@@ -58,6 +56,7 @@ public class AsyncTimeLockServicesCreator implements TimeLockServicesCreator {
         this.lockLog = lockLog;
         this.leadershipComponents = leadershipComponents;
         this.lockDiagnosticConfig = lockDiagnosticConfig;
+        this.lockShards = LockShards.create(metricsManager, Runtime.getRuntime().availableProcessors());
     }
 
     @Override
@@ -87,22 +86,17 @@ public class AsyncTimeLockServicesCreator implements TimeLockServicesCreator {
 
     private AsyncTimelockService createRawAsyncTimelockService(
             Client client, Supplier<ManagedTimestampService> timestampServiceSupplier, LockLog maybeEnhancedLockLog) {
-        ScheduledExecutorService reaperExecutor = new InstrumentedScheduledExecutorService(
-                PTExecutors.newSingleThreadScheduledExecutor(
-                        new NamedThreadFactory("async-lock-reaper-" + client, true)),
-                metricsManager.getRegistry(),
-                "async-lock-reaper");
-        ScheduledExecutorService timeoutExecutor = new InstrumentedScheduledExecutorService(
-                PTExecutors.newSingleThreadScheduledExecutor(
-                        new NamedThreadFactory("async-lock-timeouts-" + client, true)),
-                metricsManager.getRegistry(),
-                "async-lock-timeouts");
         return new AsyncTimelockServiceImpl(
-                AsyncLockService.createDefault(maybeEnhancedLockLog, reaperExecutor, timeoutExecutor),
+                AsyncLockService.createSharded(maybeEnhancedLockLog, lockShards.shardFor(client.value())),
                 timestampServiceSupplier.get(),
                 maybeEnhancedLockLog);
     }
 
+    @Override
+    public void close() {
+        lockShards.close();
+    }
+
     /**
      * TODO(fdesouza): Remove this once PDS-95791 is resolved.
      * @deprecated Remove this once PDS-95791 is resolved.
@@ -657,7 +657,8 @@ public class TimeLockAgent {
     }
 
     public void shutdown() {
-        paxosResources.leadershipComponents().shutdown();
+        paxosResources.shutdown();
+        timelockCreator.close();
         timestampStorage.close();
         sqliteDataSource.close();
     }
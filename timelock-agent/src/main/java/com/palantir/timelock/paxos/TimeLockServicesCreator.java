@@ -19,9 +19,10 @@ import com.palantir.atlasdb.timelock.TimeLockServices;
 import com.palantir.lock.LockService;
 import com.palantir.paxos.Client;
 import com.palantir.timestamp.ManagedTimestampService;
+import java.io.Closeable;
 import java.util.function.Supplier;
 
-public interface TimeLockServicesCreator {
+public interface TimeLockServicesCreator extends Closeable {
     /**
      * Creates a TimeLockServices object for the given client, based on the provided timestamp service supplier
      * and lock service supplier.
@@ -30,4 +31,10 @@ public interface TimeLockServicesCreator {
             Client client,
             Supplier<ManagedTimestampService> rawTimestampServiceSupplier,
             Supplier<LockService> rawLockServiceSupplier);
+
+    /**
+     * Releases resources shared by the services of all clients. Called once TimeLock has shut down those services.
+     */
+    @Override
+    void close();
 }
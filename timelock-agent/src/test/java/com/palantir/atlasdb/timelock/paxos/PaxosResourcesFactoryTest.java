@@ -19,21 +19,94 @@ package com.palantir.atlasdb.timelock.paxos;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.palantir.atlasdb.util.MetricsManagers;
 import com.palantir.paxos.Client;
 import com.palantir.paxos.PaxosProposer;
+import com.palantir.timestamp.PersistentTimestampService;
+import com.palantir.timestamp.PersistentTimestampServiceImpl;
+import com.palantir.timestamp.TimestampBoundStore;
+import com.palantir.tritium.metrics.registry.DefaultTaggedMetricRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import org.junit.Test;
 import org.mockito.Answers;
 
 public class PaxosResourcesFactoryTest {
+    private static final long BOUND_BUFFER = 1_000_000;
+    // leaves less than half of the buffer, so an extension is scheduled
+    private static final long TIMESTAMP_NEAR_BOUND = BOUND_BUFFER + BOUND_BUFFER * 6 / 10;
+
     @Test
     public void individualTimestampServicesHaveDifferingProposers() {
         NetworkClientFactories.Factory<PaxosProposer> proposerFactory = PaxosResourcesFactory.getPaxosProposerFactory(
                 TimelockPaxosMetrics.of(PaxosUseCase.TIMESTAMP, MetricsManagers.createForTests()),
-                mock(NetworkClientFactories.class, Answers.RETURNS_DEEP_STUBS));
+                mock(NetworkClientFactories.class, Answers.RETURNS_DEEP_STUBS),
+                MoreExecutors.directExecutor());
         Client client = Client.of("client");
         PaxosProposer proposer1 = proposerFactory.create(client);
         PaxosProposer proposer2 = proposerFactory.create(client);
         assertThat(proposer1.getUuid()).isNotEqualTo(proposer2.getUuid());
     }
+
+    @Test
+    public void boundExtensionsOfDifferentClientsDoNotQueueBehindEachOther() throws InterruptedException {
+        CountDownLatch extensionsStarted = new CountDownLatch(PaxosResourcesFactory.BOUND_EXTENSION_THREADS);
+        CountDownLatch releaseExtensions = new CountDownLatch(1);
+        ExecutorService boundExtensionExecutor = PaxosResourcesFactory.createBoundExtensionExecutor();
+        try {
+            List<PersistentTimestampService> timestampServices = new ArrayList<>();
+            for (int i = 0; i < PaxosResourcesFactory.BOUND_EXTENSION_THREADS; i++) {
+                BlockingBoundStore boundStore = new BlockingBoundStore(extensionsStarted, releaseExtensions);
+                PersistentTimestampService timestampService =
+                        PersistentTimestampServiceImpl.createWithPreemptiveBoundExtension(
+                                boundStore, boundExtensionExecutor, new DefaultTaggedMetricRegistry());
+                timestampService.fastForwardTimestamp(BOUND_BUFFER);
+                boundStore.blockFurtherStores();
+                timestampService.fastForwardTimestamp(TIMESTAMP_NEAR_BOUND);
+                timestampServices.add(timestampService);
+            }
+
+            assertThat(extensionsStarted.await(10, TimeUnit.SECONDS)).isTrue();
+            timestampServices.forEach(timestampService ->
+                    assertThat(timestampService.getFreshTimestamp()).isEqualTo(TIMESTAMP_NEAR_BOUND + 1));
+        } finally {
+            releaseExtensions.countDown();
+            boundExtensionExecutor.shutdownNow();
+        }
+    }
+
+    private static final class BlockingBoundStore implements TimestampBoundStore {
+        private final CountDownLatch storesStarted;
+        private final CountDownLatch releaseStores;
+        private volatile long upperLimit = 0;
+        private volatile boolean blockStores = false;
+
+        private BlockingBoundStore(CountDownLatch storesStarted, CountDownLatch releaseStores) {
+            this.storesStarted = storesStarted;
+            this.releaseStores = releaseStores;
+        }
+
+        private void blockFurtherStores() {
+            blockStores = true;
+        }
+
+        @Override
+        public long getUpperLimit() {
+            return upperLimit;
+        }
+
+        @Override
+        public void storeUpperLimit(long limit) {
+            if (blockStores) {
+                storesStarted.countDown();
+                Uninterruptibles.awaitUninterruptibly(releaseStores);
+            }
+            upperLimit = limit;
+        }
+    }
 }
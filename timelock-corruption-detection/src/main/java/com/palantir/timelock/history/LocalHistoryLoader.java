@@ -46,6 +46,23 @@ public final class LocalHistoryLoader {
                 .collectToMap());
     }
 
+    public Map<NamespaceAndUseCase, String> getLocalPaxosHistoryDigests(
+            Map<NamespaceAndUseCase, HistoryQuerySequenceBounds> namespaceAndUseCaseWiseSequenceRangeToBeVerified) {
+        return KeyedStream.stream(namespaceAndUseCaseWiseSequenceRangeToBeVerified)
+                .map(this::digestLocalHistory)
+                .collectToMap();
+    }
+
+    private String digestLocalHistory(
+            NamespaceAndUseCase namespaceAndUseCase, HistoryQuerySequenceBounds sequenceRangeToBeVerified) {
+        String paxosUseCasePrefix = namespaceAndUseCase.useCase();
+        return sqlitePaxosStateLogHistory.getDigestOfLearnerAndAcceptorLogsInRange(
+                namespaceAndUseCase.namespace(),
+                LearnerUseCase.createLearnerUseCase(paxosUseCasePrefix),
+                AcceptorUseCase.createAcceptorUseCase(paxosUseCasePrefix),
+                sequenceRangeToBeVerified);
+    }
+
     @VisibleForTesting
     LearnerAndAcceptorRecords loadLocalHistory(
             NamespaceAndUseCase namespaceAndUseCase, HistoryQuerySequenceBounds sequenceRangeToBeVerified) {
@@ -17,6 +17,7 @@
 package com.palantir.timelock.history;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import com.palantir.common.streams.KeyedStream;
 import com.palantir.logsafe.logger.SafeLogger;
@@ -31,10 +32,13 @@ import com.palantir.timelock.history.models.ImmutableLearnedAndAcceptedValue;
 import com.palantir.timelock.history.models.LearnedAndAcceptedValue;
 import com.palantir.timelock.history.models.PaxosHistoryOnSingleNode;
 import com.palantir.timelock.history.sqlite.SqlitePaxosStateLogHistory;
+import com.palantir.timelock.history.util.PaxosLogDigester;
 import com.palantir.timelock.history.util.UseCaseUtils;
 import com.palantir.tokens.auth.AuthHeader;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.sql.DataSource;
@@ -66,6 +70,11 @@ public class PaxosLogHistoryProvider {
 
     //     TODO(snanda): Refactor the two parts on translating PaxosHistoryOnRemote to
     //      CompletePaxosHistoryForNamespaceAndUseCase to a separate component
+    /**
+     * Returns the history across all nodes for the next sequence range to be verified of every (namespace, useCase)
+     * pair. Full logs are only fetched from remotes for pairs whose digests differ from ours; where every node reports
+     * the same digest, the history of each node is the local one.
+     */
     public List<CompletePaxosHistoryForNamespaceAndUseCase> getHistory() {
         Map<NamespaceAndUseCase, HistoryQuerySequenceBounds> namespaceAndUseCaseWiseSequenceRangeToBeVerified =
                 getNamespaceAndUseCaseToHistoryQuerySeqBoundsMap();
@@ -76,26 +85,69 @@ public class PaxosLogHistoryProvider {
         List<HistoryQuery> historyQueries =
                 getHistoryQueryListForRemoteServers(namespaceAndUseCaseWiseSequenceRangeToBeVerified);
 
-        List<PaxosHistoryOnRemote> rawHistoryFromAllRemotes = getHistoriesFromRemoteServers(historyQueries);
+        Set<NamespaceAndUseCase> namespaceAndUseCasesAgreedOnAllNodes = getNamespaceAndUseCasesAgreedOnAllNodes(
+                namespaceAndUseCaseWiseSequenceRangeToBeVerified, localPaxosHistory, historyQueries);
 
-        List<ConsolidatedPaxosHistoryOnSingleNode> historyFromAllRemotes =
-                buildHistoryFromRemoteResponses(rawHistoryFromAllRemotes);
+        List<HistoryQuery> historyQueriesRequiringFullHistory = historyQueries.stream()
+                .filter(query -> !namespaceAndUseCasesAgreedOnAllNodes.contains(query.getNamespaceAndUseCase()))
+                .collect(Collectors.toList());
+
+        List<ConsolidatedPaxosHistoryOnSingleNode> historyFromAllRemotes = historyQueriesRequiringFullHistory.isEmpty()
+                ? ImmutableList.of()
+                : buildHistoryFromRemoteResponses(getHistoriesFromRemoteServers(historyQueriesRequiringFullHistory));
 
         List<CompletePaxosHistoryForNamespaceAndUseCase> completeHistoryList = consolidateAndGetHistoriesAcrossAllNodes(
-                namespaceAndUseCaseWiseSequenceRangeToBeVerified, localPaxosHistory, historyFromAllRemotes);
+                namespaceAndUseCaseWiseSequenceRangeToBeVerified,
+                namespaceAndUseCasesAgreedOnAllNodes,
+                localPaxosHistory,
+                historyFromAllRemotes);
 
         progressTracker.updateProgressState(namespaceAndUseCaseWiseSequenceRangeToBeVerified);
 
         return completeHistoryList;
     }
 
+    /**
+     * Returns the (namespace, useCase) pairs for which every remote reports the same digest of learned and accepted
+     * values as we have locally, for the same sequence range. If any remote cannot provide digests, full histories are
+     * fetched for all pairs.
+     */
+    private Set<NamespaceAndUseCase> getNamespaceAndUseCasesAgreedOnAllNodes(
+            Map<NamespaceAndUseCase, HistoryQuerySequenceBounds> namespaceAndUseCaseWiseSequenceRangeToBeVerified,
+            PaxosHistoryOnSingleNode localPaxosHistory,
+            List<HistoryQuery> historyQueries) {
+        if (historyQueries.isEmpty()) {
+            return ImmutableSet.of();
+        }
+
+        List<Optional<Set<PaxosLogDigestForNamespaceAndUseCase>>> digestsFromAllRemotes =
+                remoteHistoryProviders.stream()
+                        .map(remote -> fetchDigestsFromRemote(historyQueries, remote))
+                        .collect(Collectors.toList());
+        if (!digestsFromAllRemotes.stream().allMatch(Optional::isPresent)) {
+            return ImmutableSet.of();
+        }
+
+        return KeyedStream.stream(localPaxosHistory.history())
+                .map((namespaceAndUseCase, records) -> PaxosLogDigestForNamespaceAndUseCase.of(
+                        namespaceAndUseCase,
+                        namespaceAndUseCaseWiseSequenceRangeToBeVerified.get(namespaceAndUseCase),
+                        PaxosLogDigester.digest(records)))
+                .filter(localDigest -> digestsFromAllRemotes.stream()
+                        .allMatch(remoteDigests -> remoteDigests.get().contains(localDigest)))
+                .keys()
+                .collect(Collectors.toSet());
+    }
+
     private List<CompletePaxosHistoryForNamespaceAndUseCase> consolidateAndGetHistoriesAcrossAllNodes(
             Map<NamespaceAndUseCase, HistoryQuerySequenceBounds> namespaceAndUseCaseWiseSequenceRangeToBeVerified,
+            Set<NamespaceAndUseCase> namespaceAndUseCasesAgreedOnAllNodes,
             PaxosHistoryOnSingleNode localPaxosHistory,
             List<ConsolidatedPaxosHistoryOnSingleNode> historyFromAllRemotes) {
         return namespaceAndUseCaseWiseSequenceRangeToBeVerified.keySet().stream()
-                .map(namespaceAndUseCase ->
-                        buildCompleteHistory(namespaceAndUseCase, localPaxosHistory, historyFromAllRemotes))
+                .map(namespaceAndUseCase -> namespaceAndUseCasesAgreedOnAllNodes.contains(namespaceAndUseCase)
+                        ? buildHistoryAgreedOnAllNodes(namespaceAndUseCase, localPaxosHistory)
+                        : buildCompleteHistory(namespaceAndUseCase, localPaxosHistory, historyFromAllRemotes))
                 .collect(Collectors.toList());
     }
 
@@ -126,6 +178,21 @@ public class PaxosLogHistoryProvider {
                 .collectToMap();
     }
 
+    /**
+     * Every node has the same learned and accepted values in this range, so the history across all nodes is the local
+     * record once per node. Identical logs can still be corrupt, for example when a value was learned without being
+     * accepted, so they are analysed like any other history.
+     */
+    private CompletePaxosHistoryForNamespaceAndUseCase buildHistoryAgreedOnAllNodes(
+            NamespaceAndUseCase namespaceAndUseCase, PaxosHistoryOnSingleNode localPaxosHistory) {
+        return ImmutableCompletePaxosHistoryForNamespaceAndUseCase.of(
+                namespaceAndUseCase.namespace(),
+                namespaceAndUseCase.useCase(),
+                Collections.nCopies(
+                        remoteHistoryProviders.size() + 1,
+                        localPaxosHistory.getConsolidatedLocalAndRemoteRecord(namespaceAndUseCase)));
+    }
+
     private CompletePaxosHistoryForNamespaceAndUseCase buildCompleteHistory(
             NamespaceAndUseCase namespaceAndUseCase,
             PaxosHistoryOnSingleNode localPaxosHistory,
@@ -202,6 +269,20 @@ public class PaxosLogHistoryProvider {
         }
     }
 
+    private Optional<Set<PaxosLogDigestForNamespaceAndUseCase>> fetchDigestsFromRemote(
+            List<HistoryQuery> historyQueries, TimeLockPaxosHistoryProvider remote) {
+        try {
+            return Optional.of(ImmutableSet.copyOf(
+                    remote.getPaxosHistoryDigests(AUTH_HEADER, historyQueries).getDigests()));
+        } catch (Exception exception) {
+            log.info(
+                    "The remote failed to provide history digests,"
+                            + " we will fetch the full history from all nodes instead.",
+                    exception);
+            return Optional.empty();
+        }
+    }
+
     private Map.Entry<NamespaceAndUseCase, HistoryQuery> buildHistoryQuery(
             NamespaceAndUseCase namespaceAndUseCase, HistoryQuerySequenceBounds bounds) {
         return Maps.immutableEntry(namespaceAndUseCase, HistoryQuery.of(namespaceAndUseCase, bounds));
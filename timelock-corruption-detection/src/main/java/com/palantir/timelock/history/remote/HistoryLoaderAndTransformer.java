@@ -23,6 +23,7 @@ import com.palantir.timelock.history.HistoryQuery;
 import com.palantir.timelock.history.HistoryQuerySequenceBounds;
 import com.palantir.timelock.history.LocalHistoryLoader;
 import com.palantir.timelock.history.LogsForNamespaceAndUseCase;
+import com.palantir.timelock.history.PaxosLogDigestForNamespaceAndUseCase;
 import com.palantir.timelock.history.PaxosLogWithAcceptedAndLearnedValues;
 import com.palantir.timelock.history.models.LearnerAndAcceptorRecords;
 import com.palantir.timelock.history.models.PaxosHistoryOnSingleNode;
@@ -38,11 +39,7 @@ public final class HistoryLoaderAndTransformer {
     public static List<LogsForNamespaceAndUseCase> getLogsForHistoryQueries(
             LocalHistoryLoader localHistoryLoader, List<HistoryQuery> historyQueries) {
         Map<NamespaceAndUseCase, HistoryQuerySequenceBounds> namespaceAndUseCaseWiseSequenceRangeToBeVerified =
-                historyQueries.stream()
-                        .collect(Collectors.toMap(
-                                HistoryQuery::getNamespaceAndUseCase,
-                                HistoryQuery::getSequenceBounds,
-                                HistoryLoaderAndTransformer::minimalLowerBoundResolver));
+                getSequenceRangesToBeVerified(historyQueries);
 
         PaxosHistoryOnSingleNode localPaxosHistory =
                 localHistoryLoader.getLocalPaxosHistory(namespaceAndUseCaseWiseSequenceRangeToBeVerified);
@@ -53,6 +50,32 @@ public final class HistoryLoaderAndTransformer {
                 .collect(Collectors.toList());
     }
 
+    public static List<PaxosLogDigestForNamespaceAndUseCase> getDigestsForHistoryQueries(
+            LocalHistoryLoader localHistoryLoader, List<HistoryQuery> historyQueries) {
+        Map<NamespaceAndUseCase, HistoryQuerySequenceBounds> namespaceAndUseCaseWiseSequenceRangeToBeVerified =
+                getSequenceRangesToBeVerified(historyQueries);
+
+        Map<NamespaceAndUseCase, String> digests =
+                localHistoryLoader.getLocalPaxosHistoryDigests(namespaceAndUseCaseWiseSequenceRangeToBeVerified);
+
+        return KeyedStream.stream(digests)
+                .map((namespaceAndUseCase, digest) -> PaxosLogDigestForNamespaceAndUseCase.of(
+                        namespaceAndUseCase,
+                        namespaceAndUseCaseWiseSequenceRangeToBeVerified.get(namespaceAndUseCase),
+                        digest))
+                .values()
+                .collect(Collectors.toList());
+    }
+
+    private static Map<NamespaceAndUseCase, HistoryQuerySequenceBounds> getSequenceRangesToBeVerified(
+            List<HistoryQuery> historyQueries) {
+        return historyQueries.stream()
+                .collect(Collectors.toMap(
+                        HistoryQuery::getNamespaceAndUseCase,
+                        HistoryQuery::getSequenceBounds,
+                        HistoryLoaderAndTransformer::minimalLowerBoundResolver));
+    }
+
     private static HistoryQuerySequenceBounds minimalLowerBoundResolver(
             HistoryQuerySequenceBounds bound1, HistoryQuerySequenceBounds bound2) {
         return bound1.getLowerBoundInclusive() < bound2.getLowerBoundInclusive() ? bound1 : bound2;
@@ -22,6 +22,7 @@ import com.palantir.atlasdb.futures.AtlasFutures;
 import com.palantir.conjure.java.undertow.lib.UndertowService;
 import com.palantir.timelock.history.HistoryQuery;
 import com.palantir.timelock.history.LocalHistoryLoader;
+import com.palantir.timelock.history.PaxosHistoryDigestsOnRemote;
 import com.palantir.timelock.history.PaxosHistoryOnRemote;
 import com.palantir.timelock.history.TimeLockPaxosHistoryProvider;
 import com.palantir.timelock.history.TimeLockPaxosHistoryProviderEndpoints;
@@ -43,6 +44,13 @@ public final class TimeLockPaxosHistoryProviderResource implements UndertowTimeL
                 HistoryLoaderAndTransformer.getLogsForHistoryQueries(localHistoryLoader, historyQueries)));
     }
 
+    @Override
+    public ListenableFuture<PaxosHistoryDigestsOnRemote> getPaxosHistoryDigests(
+            AuthHeader authHeader, List<HistoryQuery> historyQueries) {
+        return Futures.immediateFuture(PaxosHistoryDigestsOnRemote.of(
+                HistoryLoaderAndTransformer.getDigestsForHistoryQueries(localHistoryLoader, historyQueries)));
+    }
+
     public static UndertowService undertow(LocalHistoryLoader localHistoryLoader) {
         return TimeLockPaxosHistoryProviderEndpoints.of(new TimeLockPaxosHistoryProviderResource(localHistoryLoader));
     }
@@ -62,5 +70,11 @@ public final class TimeLockPaxosHistoryProviderResource implements UndertowTimeL
         public PaxosHistoryOnRemote getPaxosHistory(AuthHeader authHeader, List<HistoryQuery> historyQueries) {
             return AtlasFutures.getUnchecked(delegate.getPaxosHistory(authHeader, historyQueries));
         }
+
+        @Override
+        public PaxosHistoryDigestsOnRemote getPaxosHistoryDigests(
+                AuthHeader authHeader, List<HistoryQuery> historyQueries) {
+            return AtlasFutures.getUnchecked(delegate.getPaxosHistoryDigests(authHeader, historyQueries));
+        }
     }
 }
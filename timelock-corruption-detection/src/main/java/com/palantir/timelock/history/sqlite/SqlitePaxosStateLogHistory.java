@@ -31,9 +31,11 @@ import com.palantir.timelock.history.models.AcceptorUseCase;
 import com.palantir.timelock.history.models.ImmutableLearnerAndAcceptorRecords;
 import com.palantir.timelock.history.models.LearnerAndAcceptorRecords;
 import com.palantir.timelock.history.models.LearnerUseCase;
+import com.palantir.timelock.history.util.PaxosLogDigester;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.stream.Stream;
 import javax.sql.DataSource;
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.core.mapper.immutables.JdbiImmutables;
@@ -82,6 +84,35 @@ public final class SqlitePaxosStateLogHistory {
                         querySequenceBounds.getUpperBoundInclusive())));
     }
 
+    /**
+     * Computes the digest of the learner and acceptor logs in the given range, streaming rows from the database in
+     * sequence order rather than materialising the whole range in memory.
+     */
+    public String getDigestOfLearnerAndAcceptorLogsInRange(
+            Client namespace,
+            LearnerUseCase learnerUseCase,
+            AcceptorUseCase acceptorUseCase,
+            HistoryQuerySequenceBounds querySequenceBounds) {
+        return execute(dao -> {
+            PaxosLogDigester digester = new PaxosLogDigester();
+            try (Stream<Map.Entry<Long, PaxosValue>> learnerLogs = dao.streamLearnerLogsInRange(
+                    namespace,
+                    learnerUseCase.value(),
+                    querySequenceBounds.getLowerBoundInclusive(),
+                    querySequenceBounds.getUpperBoundInclusive())) {
+                learnerLogs.forEach(digester::putLearnedValue);
+            }
+            try (Stream<Map.Entry<Long, PaxosAcceptorData>> acceptorLogs = dao.streamAcceptorLogsInRange(
+                    namespace,
+                    acceptorUseCase.value(),
+                    querySequenceBounds.getLowerBoundInclusive(),
+                    querySequenceBounds.getUpperBoundInclusive())) {
+                acceptorLogs.forEach(digester::putAcceptorData);
+            }
+            return digester.digest();
+        });
+    }
+
     public Map<Long, PaxosValue> getLearnerLogsSince(
             Client namespace, LearnerUseCase learnerUseCase, long lowerBoundInclusive, int learnerLogBatchSizeLimit) {
         return execute(dao -> dao.getLearnerLogsSince(
@@ -121,6 +152,22 @@ public final class SqlitePaxosStateLogHistory {
                 @Bind("lowerBoundInclusive") long lowerBoundInclusive,
                 @Bind("upperBoundInclusive") long upperBoundInclusive);
 
+        @SqlQuery("SELECT seq, val FROM paxosLog WHERE namespace = :namespace.value AND useCase = :useCase AND seq >="
+                + " :lowerBoundInclusive AND seq <= :upperBoundInclusive ORDER BY seq ASC")
+        Stream<Map.Entry<Long, PaxosValue>> streamLearnerLogsInRange(
+                @BindPojo("namespace") Client namespace,
+                @Bind("useCase") String useCase,
+                @Bind("lowerBoundInclusive") long lowerBoundInclusive,
+                @Bind("upperBoundInclusive") long upperBoundInclusive);
+
+        @SqlQuery("SELECT seq, val FROM paxosLog WHERE namespace = :namespace.value AND useCase = :useCase AND seq >="
+                + " :lowerBoundInclusive AND seq <= :upperBoundInclusive ORDER BY seq ASC")
+        Stream<Map.Entry<Long, PaxosAcceptorData>> streamAcceptorLogsInRange(
+                @BindPojo("namespace") Client namespace,
+                @Bind("useCase") String useCase,
+                @Bind("lowerBoundInclusive") long lowerBoundInclusive,
+                @Bind("upperBoundInclusive") long upperBoundInclusive);
+
         @SqlQuery("SELECT seq, val FROM paxosLog WHERE namespace = :namespace.value AND useCase = :useCase AND seq >="
                 + " :lowerBoundInclusive ORDER BY seq ASC LIMIT :limit")
         Map<Long, PaxosValue> getLearnerLogsSince(
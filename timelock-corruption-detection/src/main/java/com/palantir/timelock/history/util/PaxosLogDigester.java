@@ -0,0 +1,81 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.timelock.history.util;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.palantir.paxos.PaxosValue;
+import com.palantir.timelock.history.PaxosAcceptorData;
+import com.palantir.timelock.history.models.LearnerAndAcceptorRecords;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Builds a rolling digest of the Paxos learner and acceptor logs for a sequence range, so that nodes can check
+ * whether their logs agree without exchanging them.
+ *
+ * Only the learned values and the last accepted values contribute to the digest, as these are the only parts of the
+ * logs that corruption checks look at; promises and acceptor state versions legitimately differ between nodes.
+ * Learner and acceptor entries must each be supplied in increasing sequence order, but the two may be interleaved.
+ */
+public final class PaxosLogDigester {
+    private final Hasher learnedValues = Hashing.murmur3_128().newHasher();
+    private final Hasher acceptedValues = Hashing.murmur3_128().newHasher();
+
+    public static String digest(LearnerAndAcceptorRecords records) {
+        PaxosLogDigester digester = new PaxosLogDigester();
+        new TreeMap<>(records.learnerRecords()).forEach(digester::putLearnedValue);
+        new TreeMap<>(records.acceptorRecords()).forEach(digester::putAcceptorData);
+        return digester.digest();
+    }
+
+    public void putLearnedValue(Map.Entry<Long, PaxosValue> entry) {
+        putLearnedValue(entry.getKey(), entry.getValue());
+    }
+
+    public void putLearnedValue(long seq, PaxosValue value) {
+        putPaxosValue(learnedValues, seq, value);
+    }
+
+    public void putAcceptorData(Map.Entry<Long, PaxosAcceptorData> entry) {
+        putAcceptorData(entry.getKey(), entry.getValue());
+    }
+
+    public void putAcceptorData(long seq, PaxosAcceptorData acceptorData) {
+        acceptorData.getLastAcceptedValue().ifPresent(value -> putPaxosValue(acceptedValues, seq, value));
+    }
+
+    public String digest() {
+        return Hashing.combineOrdered(ImmutableList.of(learnedValues.hash(), acceptedValues.hash()))
+                .toString();
+    }
+
+    private static void putPaxosValue(Hasher hasher, long seq, PaxosValue value) {
+        hasher.putLong(seq)
+                .putString(Strings.nullToEmpty(value.getLeaderUUID()), StandardCharsets.UTF_8)
+                .putLong(value.getRound());
+        byte[] data = value.getData();
+        if (data == null) {
+            hasher.putInt(-1);
+        } else {
+            hasher.putInt(data.length).putBytes(data);
+        }
+    }
+}
@@ -22,6 +22,7 @@ import static com.palantir.timelock.TimelockCorruptionTestConstants.DEFAULT_USE_
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
 import com.palantir.paxos.ImmutableNamespaceAndUseCase;
 import com.palantir.paxos.PaxosAcceptorState;
 import com.palantir.paxos.PaxosStateLog;
@@ -32,6 +33,7 @@ import com.palantir.timelock.history.models.AcceptorUseCase;
 import com.palantir.timelock.history.models.LearnerUseCase;
 import com.palantir.timelock.history.remote.HistoryLoaderAndTransformer;
 import com.palantir.timelock.history.sqlite.SqlitePaxosStateLogHistory;
+import com.palantir.timelock.history.util.PaxosLogDigester;
 import com.palantir.timelock.history.utils.HistoryQueries;
 import com.palantir.timelock.history.utils.PaxosSerializationTestUtils;
 import java.util.List;
@@ -166,6 +168,39 @@ public class HistoryLoaderAndTransformerTest {
         sanityCheckLoadedHistory(paxosHistory, 100 - firstSeqWithLog + 1);
     }
 
+    @Test
+    public void digestOfStreamedLogsMatchesDigestOfLoadedLogs() {
+        writeToLogs(1, 100);
+        HistoryQuery historyQuery = HistoryQueries.unboundedHistoryQuerySinceSeq(27);
+
+        PaxosLogDigestForNamespaceAndUseCase digest = Iterables.getOnlyElement(
+                HistoryLoaderAndTransformer.getDigestsForHistoryQueries(history, ImmutableList.of(historyQuery)));
+
+        assertThat(digest.getNamespaceAndUseCase()).isEqualTo(DEFAULT_NAMESPACE_AND_USE_CASE);
+        assertThat(digest.getSequenceBounds()).isEqualTo(historyQuery.getSequenceBounds());
+        assertThat(digest.getDigest())
+                .isEqualTo(PaxosLogDigester.digest(
+                        history.loadLocalHistory(DEFAULT_NAMESPACE_AND_USE_CASE, historyQuery.getSequenceBounds())));
+    }
+
+    @Test
+    public void digestChangesIfAcceptedValueChanges() {
+        writeToLogs(1, 100);
+        List<HistoryQuery> historyQueries = ImmutableList.of(HistoryQueries.unboundedHistoryQuerySinceSeq(27));
+        String digestBeforeChange = getOnlyDigest(historyQueries);
+
+        PaxosSerializationTestUtils.writeAcceptorStateForLogAndRound(
+                acceptorLog, 50, Optional.of(PaxosSerializationTestUtils.createPaxosValueForRoundAndData(50, 51)));
+
+        assertThat(getOnlyDigest(historyQueries)).isNotEqualTo(digestBeforeChange);
+    }
+
+    private String getOnlyDigest(List<HistoryQuery> historyQueries) {
+        return Iterables.getOnlyElement(
+                        HistoryLoaderAndTransformer.getDigestsForHistoryQueries(history, historyQueries))
+                .getDigest();
+    }
+
     private LogsForNamespaceAndUseCase sanityCheckLoadedHistory(
             List<LogsForNamespaceAndUseCase> paxosHistory, int logCount) {
 
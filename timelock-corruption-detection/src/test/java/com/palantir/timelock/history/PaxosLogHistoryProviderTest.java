@@ -23,12 +23,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
+import com.google.common.collect.MoreCollectors;
 import com.palantir.common.streams.KeyedStream;
 import com.palantir.paxos.Client;
 import com.palantir.paxos.ImmutableNamespaceAndUseCase;
@@ -38,6 +41,8 @@ import com.palantir.paxos.PaxosStateLog;
 import com.palantir.paxos.PaxosValue;
 import com.palantir.paxos.SqliteConnections;
 import com.palantir.paxos.SqlitePaxosStateLog;
+import com.palantir.timelock.corruption.detection.CorruptionCheckViolation;
+import com.palantir.timelock.corruption.detection.HistoryAnalyzer;
 import com.palantir.timelock.history.models.AcceptorUseCase;
 import com.palantir.timelock.history.models.CompletePaxosHistoryForNamespaceAndUseCase;
 import com.palantir.timelock.history.models.ConsolidatedLearnerAndAcceptorRecord;
@@ -58,6 +63,7 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
 
 public class PaxosLogHistoryProviderTest {
     @Rule
@@ -219,7 +225,96 @@ public class PaxosLogHistoryProviderTest {
         assertThat(namespaceAndUseCasesWithHistory).containsExactlyInAnyOrderElementsOf(allNamespaceAndUseCases);
     }
 
+    @Test
+    public void doesNotFetchFullHistoryIfDigestsMatchOnAllNodes() {
+        Map<NamespaceAndUseCase, Set<PaxosValue>> expected = writeLogsForRangeOfNamespaceUseCasePairs();
+        remoteReportsLocalDigests();
+
+        List<CompletePaxosHistoryForNamespaceAndUseCase> completeHistory = paxosLogHistoryProvider.getHistory();
+
+        verify(remote, never()).getPaxosHistory(any(), any());
+        assertThat(completeHistory).hasSize(expected.size());
+        completeHistory.forEach(historyForNamespaceAndUseCase -> assertSanityWithValuesOfFetchedRecords(
+                historyForNamespaceAndUseCase,
+                historyForNamespaceAndUseCase.namespace(),
+                historyForNamespaceAndUseCase.useCase(),
+                getIntegerValueOfClient(historyForNamespaceAndUseCase),
+                expected.get(ImmutableNamespaceAndUseCase.of(
+                        historyForNamespaceAndUseCase.namespace(), historyForNamespaceAndUseCase.useCase()))));
+    }
+
+    @Test
+    public void detectsCorruptionInLogsThatAreIdenticalOnAllNodes() {
+        PaxosSerializationTestUtils.writeToLogs(acceptorLog, learnerLog, 1, 9);
+        PaxosSerializationTestUtils.createAndWriteValueForLogAndRound(learnerLog, 10);
+        PaxosSerializationTestUtils.writeAcceptorStateForLogAndRound(
+                acceptorLog, 10, Optional.of(PaxosSerializationTestUtils.createPaxosValueForRoundAndData(10, 11)));
+        remoteReportsLocalDigests();
+
+        List<CompletePaxosHistoryForNamespaceAndUseCase> completeHistory = paxosLogHistoryProvider.getHistory();
+
+        verify(remote, never()).getPaxosHistory(any(), any());
+        assertThat(HistoryAnalyzer.corruptionHealthReportForHistory(completeHistory)
+                        .violatingStatusesToNamespaceAndUseCase()
+                        .asMap())
+                .containsOnlyKeys(CorruptionCheckViolation.VALUE_LEARNED_WITHOUT_QUORUM);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked") // ArgumentCaptor of a generic type
+    public void onlyFetchesFullHistoryForNamespacesWithMismatchedDigests() {
+        writeLogsForRangeOfNamespaceUseCasePairs();
+        NamespaceAndUseCase mismatched = ImmutableNamespaceAndUseCase.of(Client.of("5"), "5");
+        when(remote.getPaxosHistoryDigests(any(), any())).thenAnswer(invocation -> {
+            List<PaxosLogDigestForNamespaceAndUseCase> digests =
+                    HistoryLoaderAndTransformer.getDigestsForHistoryQueries(history, invocation.getArgument(1));
+            return PaxosHistoryDigestsOnRemote.of(digests.stream()
+                    .map(digest -> digest.getNamespaceAndUseCase().equals(mismatched)
+                            ? PaxosLogDigestForNamespaceAndUseCase.of(
+                                    mismatched, digest.getSequenceBounds(), "mismatched")
+                            : digest)
+                    .collect(Collectors.toList()));
+        });
+        when(remote.getPaxosHistory(any(), any()))
+                .thenAnswer(invocation -> PaxosHistoryOnRemote.of(
+                        HistoryLoaderAndTransformer.getLogsForHistoryQueries(history, invocation.getArgument(1))));
+
+        List<CompletePaxosHistoryForNamespaceAndUseCase> completeHistory = paxosLogHistoryProvider.getHistory();
+
+        ArgumentCaptor<List<HistoryQuery>> queriesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(remote).getPaxosHistory(any(), queriesCaptor.capture());
+        assertThat(queriesCaptor.getValue())
+                .extracting(HistoryQuery::getNamespaceAndUseCase)
+                .containsExactly(mismatched);
+
+        CompletePaxosHistoryForNamespaceAndUseCase historyForMismatched = completeHistory.stream()
+                .filter(historyForNamespaceAndUseCase -> historyForNamespaceAndUseCase.namespace()
+                        .equals(mismatched.namespace()))
+                .collect(MoreCollectors.onlyElement());
+        assertSanityOfRecords(historyForMismatched, mismatched.namespace(), mismatched.useCase(), 5);
+    }
+
+    @Test
+    public void fetchesFullHistoryIfRemoteCannotProvideDigests() {
+        PaxosSerializationTestUtils.writeToLogs(acceptorLog, learnerLog, 1, 9);
+        when(remote.getPaxosHistoryDigests(any(), any())).thenThrow(new RuntimeException());
+        when(remote.getPaxosHistory(any(), any()))
+                .thenAnswer(invocation -> PaxosHistoryOnRemote.of(
+                        HistoryLoaderAndTransformer.getLogsForHistoryQueries(history, invocation.getArgument(1))));
+
+        CompletePaxosHistoryForNamespaceAndUseCase historyForNamespaceAndUseCase =
+                Iterables.getOnlyElement(paxosLogHistoryProvider.getHistory());
+
+        assertSanityOfRecords(historyForNamespaceAndUseCase, DEFAULT_CLIENT, DEFAULT_USE_CASE, 9);
+    }
+
     // utils
+    private void remoteReportsLocalDigests() {
+        when(remote.getPaxosHistoryDigests(any(), any()))
+                .thenAnswer(invocation -> PaxosHistoryDigestsOnRemote.of(
+                        HistoryLoaderAndTransformer.getDigestsForHistoryQueries(history, invocation.getArgument(1))));
+    }
+
     private Map<NamespaceAndUseCase, Set<PaxosValue>> writeLogsForRangeOfNamespaceUseCasePairs() {
         return KeyedStream.of(IntStream.rangeClosed(1, 9).boxed())
                 .mapEntries((idx, unused) -> {
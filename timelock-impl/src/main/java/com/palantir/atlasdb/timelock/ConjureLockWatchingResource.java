@@ -20,12 +20,19 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.palantir.atlasdb.futures.AtlasFutures;
 import com.palantir.atlasdb.http.RedirectRetryTargeter;
+import com.palantir.atlasdb.timelock.api.ConjureCompactLockWatchStateUpdate;
+import com.palantir.atlasdb.timelock.api.ConjureIdentifiedVersion;
 import com.palantir.atlasdb.timelock.api.LockWatchRequest;
 import com.palantir.atlasdb.timelock.lock.watch.ConjureLockWatchingService;
 import com.palantir.atlasdb.timelock.lock.watch.ConjureLockWatchingServiceEndpoints;
 import com.palantir.atlasdb.timelock.lock.watch.UndertowConjureLockWatchingService;
+import com.palantir.conjure.java.lib.Bytes;
 import com.palantir.conjure.java.undertow.lib.UndertowService;
+import com.palantir.lock.client.ConjureLockRequests;
+import com.palantir.lock.watch.CompactLockWatchStateUpdates;
+import com.palantir.lock.watch.LockWatchStateUpdate;
 import com.palantir.tokens.auth.AuthHeader;
+import java.util.Optional;
 import java.util.function.Function;
 
 public final class ConjureLockWatchingResource implements UndertowConjureLockWatchingService {
@@ -59,6 +66,28 @@ public final class ConjureLockWatchingResource implements UndertowConjureLockWat
         return Futures.immediateFuture(null);
     }
 
+    @Override
+    public ListenableFuture<LockWatchStateUpdate> getLockWatchUpdate(
+            AuthHeader authHeader, String namespace, Optional<ConjureIdentifiedVersion> lastKnownVersion) {
+        return exceptionHandler.handleExceptions(
+                () -> Futures.immediateFuture(getLockWatchUpdateSync(namespace, lastKnownVersion)));
+    }
+
+    @Override
+    public ListenableFuture<ConjureCompactLockWatchStateUpdate> getCompactLockWatchUpdate(
+            AuthHeader authHeader, String namespace, Optional<ConjureIdentifiedVersion> lastKnownVersion) {
+        return exceptionHandler.handleExceptions(() -> {
+            LockWatchStateUpdate update = getLockWatchUpdateSync(namespace, lastKnownVersion);
+            return Futures.immediateFuture(ConjureCompactLockWatchStateUpdate.of(
+                    Bytes.from(CompactLockWatchStateUpdates.encode(update))));
+        });
+    }
+
+    private LockWatchStateUpdate getLockWatchUpdateSync(
+            String namespace, Optional<ConjureIdentifiedVersion> lastKnownVersion) {
+        return timelockServices.apply(namespace).getWatchStateUpdate(ConjureLockRequests.fromConjure(lastKnownVersion));
+    }
+
     public static final class JerseyAdapter implements ConjureLockWatchingService {
         private final ConjureLockWatchingResource resource;
 
@@ -70,5 +99,18 @@ public final class ConjureLockWatchingResource implements UndertowConjureLockWat
         public void startWatching(AuthHeader authHeader, String namespace, LockWatchRequest request) {
             AtlasFutures.getUnchecked(resource.startWatching(authHeader, namespace, request));
         }
+
+        @Override
+        public LockWatchStateUpdate getLockWatchUpdate(
+                AuthHeader authHeader, String namespace, Optional<ConjureIdentifiedVersion> lastKnownVersion) {
+            return AtlasFutures.getUnchecked(resource.getLockWatchUpdate(authHeader, namespace, lastKnownVersion));
+        }
+
+        @Override
+        public ConjureCompactLockWatchStateUpdate getCompactLockWatchUpdate(
+                AuthHeader authHeader, String namespace, Optional<ConjureIdentifiedVersion> lastKnownVersion) {
+            return AtlasFutures.getUnchecked(
+                    resource.getCompactLockWatchUpdate(authHeader, namespace, lastKnownVersion));
+        }
     }
 }
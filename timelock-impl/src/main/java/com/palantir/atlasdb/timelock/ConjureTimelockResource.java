@@ -40,6 +40,7 @@ import com.palantir.atlasdb.timelock.api.ConjureRefreshLocksResponseV2;
 import com.palantir.atlasdb.timelock.api.ConjureSingleTimestamp;
 import com.palantir.atlasdb.timelock.api.ConjureStartTransactionsRequest;
 import com.palantir.atlasdb.timelock.api.ConjureStartTransactionsResponse;
+import com.palantir.atlasdb.timelock.api.ConjureStartTransactionsResponseV2;
 import com.palantir.atlasdb.timelock.api.ConjureTimelockService;
 import com.palantir.atlasdb.timelock.api.ConjureTimelockServiceEndpoints;
 import com.palantir.atlasdb.timelock.api.ConjureTimestampRange;
@@ -52,12 +53,14 @@ import com.palantir.atlasdb.timelock.api.GetCommitTimestampRequest;
 import com.palantir.atlasdb.timelock.api.GetCommitTimestampResponse;
 import com.palantir.atlasdb.timelock.api.GetCommitTimestampsRequest;
 import com.palantir.atlasdb.timelock.api.GetCommitTimestampsResponse;
+import com.palantir.atlasdb.timelock.api.GetCommitTimestampsResponseV2;
 import com.palantir.atlasdb.timelock.api.SuccessfulLockResponse;
 import com.palantir.atlasdb.timelock.api.UndertowConjureTimelockService;
 import com.palantir.atlasdb.timelock.api.UnsuccessfulLockResponse;
 import com.palantir.conjure.java.undertow.lib.UndertowService;
 import com.palantir.lock.ByteArrayLockDescriptor;
 import com.palantir.lock.LockDescriptor;
+import com.palantir.lock.client.CompactLockWatchResponses;
 import com.palantir.lock.client.IdentifiedLockRequest;
 import com.palantir.lock.client.ImmutableIdentifiedLockRequest;
 import com.palantir.lock.v2.ImmutableWaitForLocksRequest;
@@ -103,6 +106,15 @@ public final class ConjureTimelockResource implements UndertowConjureTimelockSer
         return handleExceptions(() -> forNamespace(namespace).startTransactionsWithWatches(request));
     }
 
+    @Override
+    public ListenableFuture<ConjureStartTransactionsResponseV2> startTransactionsV2(
+            AuthHeader authHeader, String namespace, ConjureStartTransactionsRequest request) {
+        return handleExceptions(() -> Futures.transform(
+                forNamespace(namespace).startTransactionsWithWatches(request),
+                CompactLockWatchResponses::toCompact,
+                MoreExecutors.directExecutor()));
+    }
+
     @Override
     public ListenableFuture<ConjureGetFreshTimestampsResponse> getFreshTimestamps(
             AuthHeader authHeader, String namespace, ConjureGetFreshTimestampsRequest request) {
@@ -283,6 +295,15 @@ public final class ConjureTimelockResource implements UndertowConjureTimelockSer
                 getCommitTimestampsInternal(namespace, request.getNumTimestamps(), request.getLastKnownVersion()));
     }
 
+    @Override
+    public ListenableFuture<GetCommitTimestampsResponseV2> getCommitTimestampsV2(
+            AuthHeader authHeader, String namespace, GetCommitTimestampsRequest request) {
+        return handleExceptions(() -> Futures.transform(
+                getCommitTimestampsInternal(namespace, request.getNumTimestamps(), request.getLastKnownVersion()),
+                CompactLockWatchResponses::toCompact,
+                MoreExecutors.directExecutor()));
+    }
+
     @Override
     public ListenableFuture<GetCommitTimestampResponse> getCommitTimestamp(
             AuthHeader authHeader, String namespace, GetCommitTimestampRequest request) {
@@ -324,6 +345,12 @@ public final class ConjureTimelockResource implements UndertowConjureTimelockSer
             return unwrap(resource.startTransactions(authHeader, namespace, request));
         }
 
+        @Override
+        public ConjureStartTransactionsResponseV2 startTransactionsV2(
+                AuthHeader authHeader, String namespace, ConjureStartTransactionsRequest request) {
+            return unwrap(resource.startTransactionsV2(authHeader, namespace, request));
+        }
+
         @Override
         public ConjureGetFreshTimestampsResponse getFreshTimestamps(
                 AuthHeader authHeader, String namespace, ConjureGetFreshTimestampsRequest request) {
@@ -386,6 +413,12 @@ public final class ConjureTimelockResource implements UndertowConjureTimelockSer
             return unwrap(resource.getCommitTimestamps(authHeader, namespace, request));
         }
 
+        @Override
+        public GetCommitTimestampsResponseV2 getCommitTimestampsV2(
+                AuthHeader authHeader, String namespace, GetCommitTimestampsRequest request) {
+            return unwrap(resource.getCommitTimestampsV2(authHeader, namespace, request));
+        }
+
         @Override
         public GetCommitTimestampResponse getCommitTimestamp(
                 AuthHeader authHeader, String namespace, GetCommitTimestampRequest request) {
@@ -21,6 +21,7 @@ import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.FluentFuture;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
@@ -32,23 +33,42 @@ import com.palantir.atlasdb.timelock.api.ConjureIdentifiedVersion;
 import com.palantir.atlasdb.timelock.api.ConjureLockTokenV2;
 import com.palantir.atlasdb.timelock.api.ConjureStartTransactionsRequest;
 import com.palantir.atlasdb.timelock.api.ConjureStartTransactionsResponse;
+import com.palantir.atlasdb.timelock.api.ConjureStartTransactionsResponseV2;
 import com.palantir.atlasdb.timelock.api.ConjureUnlockRequestV2;
 import com.palantir.atlasdb.timelock.api.ConjureUnlockResponseV2;
 import com.palantir.atlasdb.timelock.api.GetCommitTimestampsRequest;
 import com.palantir.atlasdb.timelock.api.GetCommitTimestampsResponse;
+import com.palantir.atlasdb.timelock.api.GetCommitTimestampsResponseV2;
 import com.palantir.atlasdb.timelock.api.LeaderTimes;
 import com.palantir.atlasdb.timelock.api.MultiClientConjureTimelockService;
 import com.palantir.atlasdb.timelock.api.MultiClientConjureTimelockServiceEndpoints;
+import com.palantir.atlasdb.timelock.api.MultiClientTimelockFailure;
+import com.palantir.atlasdb.timelock.api.MultiClientTimelockRequestType;
+import com.palantir.atlasdb.timelock.api.MultiClientTimelockRequests;
+import com.palantir.atlasdb.timelock.api.MultiClientTimelockResponses;
 import com.palantir.atlasdb.timelock.api.Namespace;
 import com.palantir.atlasdb.timelock.api.UndertowMultiClientConjureTimelockService;
+import com.palantir.conjure.java.api.errors.ErrorType;
+import com.palantir.conjure.java.api.errors.SerializableError;
+import com.palantir.conjure.java.api.errors.ServiceException;
 import com.palantir.conjure.java.undertow.lib.UndertowService;
+import com.palantir.leader.NotCurrentLeaderException;
+import com.palantir.lock.client.CompactLockWatchResponses;
 import com.palantir.lock.v2.LeaderTime;
 import com.palantir.lock.v2.LockToken;
 import com.palantir.lock.watch.LockWatchVersion;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.logger.SafeLogger;
+import com.palantir.logsafe.logger.SafeLoggerFactory;
 import com.palantir.tokens.auth.AuthHeader;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -56,6 +76,8 @@ import java.util.function.Supplier;
  * This implementation of multi-client batched TimeLock endpoints does not support multi-leader mode on TimeLock.
  * */
 public final class MultiClientConjureTimelockResource implements UndertowMultiClientConjureTimelockService {
+    private static final SafeLogger log = SafeLoggerFactory.get(MultiClientConjureTimelockResource.class);
+
     private final ConjureResourceExceptionHandler exceptionHandler;
     private final Function<String, AsyncTimelockService> timelockServices;
 
@@ -127,6 +149,113 @@ public final class MultiClientConjureTimelockResource implements UndertowMultiCl
                 MoreExecutors.directExecutor()));
     }
 
+    /**
+     * Each request of the batch is served independently: a request that fails is listed in the failures of the
+     * response rather than failing the rest of the batch. Only losing leadership fails the whole batch, so that the
+     * client retries it against the new leader.
+     */
+    @Override
+    public ListenableFuture<MultiClientTimelockResponses> batch(
+            AuthHeader authHeader, MultiClientTimelockRequests request) {
+        return handleExceptions(() -> {
+            Queue<MultiClientTimelockFailure> failures = new ConcurrentLinkedQueue<>();
+            ListenableFuture<Map<Namespace, LeaderTime>> leaderTimes = serveEachNamespace(
+                    MultiClientTimelockRequestType.LEADER_TIMES,
+                    request.getLeaderTimes(),
+                    this::getNamespacedLeaderTimes,
+                    failures);
+            ListenableFuture<Map<Namespace, ConjureStartTransactionsResponseV2>> startTransactions =
+                    serveEachNamespace(
+                            MultiClientTimelockRequestType.START_TRANSACTIONS,
+                            request.getStartTransactions().keySet(),
+                            namespace -> transformValue(
+                                    startTransactionsForSingleNamespace(
+                                            namespace, request.getStartTransactions().get(namespace)),
+                                    CompactLockWatchResponses::toCompact),
+                            failures);
+            ListenableFuture<Map<Namespace, GetCommitTimestampsResponseV2>> commitTimestamps = serveEachNamespace(
+                    MultiClientTimelockRequestType.GET_COMMIT_TIMESTAMPS,
+                    request.getGetCommitTimestamps().keySet(),
+                    namespace -> transformValue(
+                            getCommitTimestampsForSingleNamespace(
+                                    namespace, request.getGetCommitTimestamps().get(namespace)),
+                            CompactLockWatchResponses::toCompact),
+                    failures);
+            ListenableFuture<Map<Namespace, ConjureUnlockResponseV2>> unlocked = serveEachNamespace(
+                    MultiClientTimelockRequestType.UNLOCK,
+                    request.getUnlock().keySet(),
+                    namespace -> unlockForSingleNamespace(namespace, request.getUnlock().get(namespace)),
+                    failures);
+            return Futures.whenAllSucceed(leaderTimes, startTransactions, commitTimestamps, unlocked)
+                    .call(
+                            () -> MultiClientTimelockResponses.builder()
+                                    .leaderTimes(Futures.getDone(leaderTimes))
+                                    .startTransactions(Futures.getDone(startTransactions))
+                                    .getCommitTimestamps(Futures.getDone(commitTimestamps))
+                                    .unlock(Futures.getDone(unlocked))
+                                    .failures(failures)
+                                    .build(),
+                            MoreExecutors.directExecutor());
+        });
+    }
+
+    private static <T> ListenableFuture<Map<Namespace, T>> serveEachNamespace(
+            MultiClientTimelockRequestType requestType,
+            Set<Namespace> namespaces,
+            Function<Namespace, ListenableFuture<Map.Entry<Namespace, T>>> serveNamespace,
+            Queue<MultiClientTimelockFailure> failures) {
+        List<ListenableFuture<Optional<Map.Entry<Namespace, T>>>> responses = new ArrayList<>();
+        for (Namespace namespace : namespaces) {
+            responses.add(FluentFuture.from(Futures.submitAsync(
+                            () -> serveNamespace.apply(namespace), MoreExecutors.directExecutor()))
+                    .transform(Optional::of, MoreExecutors.directExecutor())
+                    .catching(
+                            Exception.class,
+                            exception -> {
+                                if (exception instanceof NotCurrentLeaderException) {
+                                    throw (NotCurrentLeaderException) exception;
+                                }
+                                ServiceException serviceException = toServiceException(exception);
+                                log.warn(
+                                        "Failed to serve a request of a multi-client batch",
+                                        SafeArg.of("namespace", namespace),
+                                        SafeArg.of("requestType", requestType),
+                                        SafeArg.of("errorInstanceId", serviceException.getErrorInstanceId()),
+                                        exception);
+                                failures.add(MultiClientTimelockFailure.builder()
+                                        .namespace(namespace)
+                                        .requestType(requestType)
+                                        .error(SerializableError.forException(serviceException))
+                                        .status(serviceException.getErrorType().httpErrorCode())
+                                        .build());
+                                return Optional.empty();
+                            },
+                            MoreExecutors.directExecutor()));
+        }
+        return Futures.transform(
+                Futures.allAsList(responses),
+                entries -> entries.stream()
+                        .flatMap(Optional::stream)
+                        .collect(ImmutableMap.toImmutableMap(Map.Entry::getKey, Map.Entry::getValue)),
+                MoreExecutors.directExecutor());
+    }
+
+    private static <T, U> ListenableFuture<Map.Entry<Namespace, U>> transformValue(
+            ListenableFuture<Map.Entry<Namespace, T>> entry, Function<T, U> transformer) {
+        return Futures.transform(
+                entry,
+                namespacedValue ->
+                        Maps.immutableEntry(namespacedValue.getKey(), transformer.apply(namespacedValue.getValue())),
+                MoreExecutors.directExecutor());
+    }
+
+    private static ServiceException toServiceException(Exception exception) {
+        if (exception instanceof ServiceException) {
+            return (ServiceException) exception;
+        }
+        return new ServiceException(ErrorType.INTERNAL, exception);
+    }
+
     private ListenableFuture<Entry<Namespace, ConjureUnlockResponseV2>> unlockForSingleNamespace(
             Namespace namespace, ConjureUnlockRequestV2 request) {
         ListenableFuture<ConjureUnlockResponseV2> unlockResponseFuture = Futures.transform(
@@ -243,6 +372,11 @@ public final class MultiClientConjureTimelockResource implements UndertowMultiCl
             return unwrap(resource.unlock(authHeader, requests));
         }
 
+        @Override
+        public MultiClientTimelockResponses batch(AuthHeader authHeader, MultiClientTimelockRequests request) {
+            return unwrap(resource.batch(authHeader, request));
+        }
+
         private static <T> T unwrap(ListenableFuture<T> future) {
             return AtlasFutures.getUnchecked(future);
         }
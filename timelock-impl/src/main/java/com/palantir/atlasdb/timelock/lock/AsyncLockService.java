@@ -58,7 +58,28 @@ public class AsyncLockService implements Closeable {
      */
     public static AsyncLockService createDefault(
             LockLog lockLog, ScheduledExecutorService reaperExecutor, ScheduledExecutorService timeoutExecutor) {
+        return create(lockLog, new LockCollection(), reaperExecutor, timeoutExecutor);
+    }
 
+    /**
+     * Creates a new asynchronous lock service, using a standard {@link LeaderClock}, whose lock state, reaping of
+     * expired locks and timing out of lock requests are all confined to the given shard.
+     *
+     * The shard may be shared with other lock services, and is not shut down when {@link #close()} is called.
+     *
+     * @param lockLog lock logger
+     * @param shard the shard that the locks of this service are confined to
+     * @return an asynchronous lock service
+     */
+    public static AsyncLockService createSharded(LockLog lockLog, EventLoopLockShard shard) {
+        return create(lockLog, new LockCollection(shard), shard.newScheduler(), shard.newScheduler());
+    }
+
+    private static AsyncLockService create(
+            LockLog lockLog,
+            LockCollection locks,
+            ScheduledExecutorService reaperExecutor,
+            ScheduledExecutorService timeoutExecutor) {
         LeaderClock clock = LeaderClock.create();
 
         HeldLocksCollection heldLocks = HeldLocksCollection.create(clock);
@@ -66,7 +87,7 @@ public class AsyncLockService implements Closeable {
         LockAcquirer lockAcquirer = new LockAcquirer(lockLog, timeoutExecutor, clock, lockWatchingService);
 
         return new AsyncLockService(
-                new LockCollection(),
+                locks,
                 new ImmutableTimestampTracker(),
                 lockAcquirer,
                 heldLocks,
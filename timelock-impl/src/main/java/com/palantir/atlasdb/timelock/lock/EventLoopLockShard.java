@@ -0,0 +1,201 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.timelock.lock;
+
+import com.codahale.metrics.Timer;
+import com.google.common.collect.ImmutableList;
+import com.palantir.common.concurrent.AbstractForwardingScheduledExecutorService;
+import com.palantir.common.concurrent.NamedThreadFactory;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.logger.SafeLogger;
+import com.palantir.logsafe.logger.SafeLoggerFactory;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link LockShard} backed by a single event loop thread. Tasks executed from the event loop thread itself run
+ * immediately; tasks from other threads are queued. Requests are completed on a separate executor, so callbacks
+ * registered on lock requests never run on the event loop.
+ *
+ * Lock services sharing a shard also share its thread for reaping expired locks and timing out lock requests, through
+ * the schedulers returned by {@link #newScheduler()}.
+ */
+public final class EventLoopLockShard implements LockShard {
+    private static final SafeLogger log = SafeLoggerFactory.get(EventLoopLockShard.class);
+
+    private final String name;
+    private final ScheduledExecutorService eventLoop;
+    private final Executor completionExecutor;
+    private final Timer serviceTime;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    private volatile Thread eventLoopThread;
+
+    private EventLoopLockShard(String name, Timer serviceTime, Executor completionExecutor) {
+        this.name = name;
+        this.serviceTime = serviceTime;
+        this.completionExecutor = completionExecutor;
+        ThreadFactory threadFactory = new NamedThreadFactory(name, true);
+        this.eventLoop = PTExecutors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = threadFactory.newThread(runnable);
+            eventLoopThread = thread;
+            return thread;
+        });
+    }
+
+    static EventLoopLockShard create(String name, Timer serviceTime, Executor completionExecutor) {
+        return new EventLoopLockShard(name, serviceTime, completionExecutor);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (Thread.currentThread() == eventLoopThread) {
+            task.run();
+            return;
+        }
+
+        queueDepth.incrementAndGet();
+        try {
+            eventLoop.execute(() -> {
+                queueDepth.decrementAndGet();
+                runTimed(task);
+            });
+        } catch (RejectedExecutionException e) {
+            queueDepth.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs the completion on the completion executor, or on the calling thread once that executor has been shut down,
+     * so that requests are still completed while TimeLock shuts down.
+     */
+    @Override
+    public void complete(Runnable completion) {
+        try {
+            completionExecutor.execute(completion);
+        } catch (RejectedExecutionException e) {
+            completion.run();
+        }
+    }
+
+    /**
+     * Returns a scheduler whose tasks run on this shard's event loop. Shutting the scheduler down cancels the tasks
+     * scheduled through it, but leaves the event loop running for other users of the shard.
+     */
+    public ScheduledExecutorService newScheduler() {
+        return new ShardScheduler();
+    }
+
+    public int queueDepth() {
+        return queueDepth.get();
+    }
+
+    void shutdown() {
+        eventLoop.shutdown();
+    }
+
+    private void runTimed(Runnable task) {
+        try (Timer.Context timer = serviceTime.time()) {
+            task.run();
+        } catch (Throwable t) {
+            log.warn("Task on lock shard failed", SafeArg.of("shard", name), t);
+        }
+    }
+
+    private final class ShardScheduler extends AbstractForwardingScheduledExecutorService {
+        private final List<ScheduledFuture<?>> periodicTasks = new CopyOnWriteArrayList<>();
+
+        private volatile boolean isShutdown = false;
+
+        @Override
+        protected ScheduledExecutorService delegate() {
+            return eventLoop;
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(
+                Runnable command, long initialDelay, long period, TimeUnit unit) {
+            return trackPeriodicTask(super.scheduleAtFixedRate(command, initialDelay, period, unit));
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(
+                Runnable command, long initialDelay, long delay, TimeUnit unit) {
+            return trackPeriodicTask(super.scheduleWithFixedDelay(command, initialDelay, delay, unit));
+        }
+
+        @Override
+        public void shutdown() {
+            isShutdown = true;
+            periodicTasks.forEach(task -> task.cancel(false));
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown();
+            return ImmutableList.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return isShutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return isShutdown;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return isShutdown;
+        }
+
+        @Override
+        protected Runnable wrap(Runnable runnable) {
+            return () -> {
+                if (!isShutdown) {
+                    runTimed(runnable);
+                }
+            };
+        }
+
+        @Override
+        protected <T> Callable<T> wrap(Callable<T> callable) {
+            return () -> {
+                try (Timer.Context timer = serviceTime.time()) {
+                    return isShutdown ? null : callable.call();
+                }
+            };
+        }
+
+        private ScheduledFuture<?> trackPeriodicTask(ScheduledFuture<?> task) {
+            periodicTasks.add(task);
+            return task;
+        }
+    }
+}
@@ -21,45 +21,57 @@ import com.palantir.lock.LockDescriptor;
 import com.palantir.logsafe.SafeArg;
 import java.util.LinkedHashMap;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
-import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.NotThreadSafe;
 
+/**
+ * The state of an exclusive lock is confined to its {@link LockShard}: it is only read and written by tasks executed by
+ * the shard, so requests against the lock may complete asynchronously, through {@link LockShard#complete}.
+ */
 public class ExclusiveLock implements AsyncLock {
 
     private final LockDescriptor descriptor;
+    private final LockShard shard;
 
-    @GuardedBy("this")
     private final LockRequestQueue queue = new LockRequestQueue();
 
-    @GuardedBy("this")
-    private UUID currentHolder = null;
+    // volatile only so that tests can read the holder from outside the shard
+    private volatile UUID currentHolder = null;
 
     public ExclusiveLock(LockDescriptor descriptor) {
+        this(descriptor, LockShard.callerRuns());
+    }
+
+    public ExclusiveLock(LockDescriptor descriptor, LockShard shard) {
         this.descriptor = descriptor;
+        this.shard = shard;
     }
 
     @Override
-    public synchronized AsyncResult<Void> lock(UUID requestId) {
+    public AsyncResult<Void> lock(UUID requestId) {
         return submit(new LockRequest(requestId, false));
     }
 
     @Override
-    public synchronized AsyncResult<Void> waitUntilAvailable(UUID requestId) {
+    public AsyncResult<Void> waitUntilAvailable(UUID requestId) {
         return submit(new LockRequest(requestId, true));
     }
 
     @Override
-    public synchronized void unlock(UUID requestId) {
-        if (Objects.equals(requestId, currentHolder)) {
-            currentHolder = null;
-            processQueue();
-        }
+    public void unlock(UUID requestId) {
+        shard.execute(() -> {
+            if (Objects.equals(requestId, currentHolder)) {
+                currentHolder = null;
+                processQueue();
+            }
+        });
     }
 
     @Override
-    public synchronized void timeout(UUID requestId) {
-        queue.timeoutAndRemoveIfStillQueued(requestId);
+    public void timeout(UUID requestId) {
+        shard.execute(() -> queue.removeIfStillQueued(requestId)
+                .ifPresent(request -> shard.complete(request.result::timeout)));
     }
 
     @Override
@@ -68,19 +80,24 @@ public class ExclusiveLock implements AsyncLock {
     }
 
     @VisibleForTesting
-    synchronized UUID getCurrentHolder() {
+    UUID getCurrentHolder() {
         return currentHolder;
     }
 
-    @GuardedBy("this")
     private AsyncResult<Void> submit(LockRequest request) {
-        queue.enqueue(request);
-        processQueue();
+        shard.execute(() -> {
+            try {
+                queue.enqueue(request);
+            } catch (RuntimeException e) {
+                shard.complete(() -> request.result.fail(e));
+                throw e;
+            }
+            processQueue();
+        });
 
         return request.result;
     }
 
-    @GuardedBy("this")
     private void processQueue() {
         while (!queue.isEmpty() && currentHolder == null) {
             LockRequest head = queue.dequeue();
@@ -89,7 +106,7 @@ public class ExclusiveLock implements AsyncLock {
                 currentHolder = head.requestId;
             }
 
-            head.result.complete(null);
+            shard.complete(() -> head.result.complete(null));
         }
     }
 
@@ -127,11 +144,8 @@ public class ExclusiveLock implements AsyncLock {
             return queue.remove(queue.keySet().iterator().next());
         }
 
-        public void timeoutAndRemoveIfStillQueued(UUID requestId) {
-            LockRequest request = queue.remove(requestId);
-            if (request != null) {
-                request.result.timeout();
-            }
+        public Optional<LockRequest> removeIfStillQueued(UUID requestId) {
+            return Optional.ofNullable(queue.remove(requestId));
         }
     }
 }
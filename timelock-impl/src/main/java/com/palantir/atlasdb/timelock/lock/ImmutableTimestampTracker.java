@@ -17,18 +17,25 @@ package com.palantir.atlasdb.timelock.lock;
 
 import com.palantir.atlasdb.timelock.util.LoggableIllegalStateException;
 import com.palantir.logsafe.SafeArg;
+import java.util.Map;
 import java.util.Optional;
-import java.util.SortedMap;
-import java.util.TreeMap;
 import java.util.UUID;
-import javax.annotation.concurrent.GuardedBy;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
+/**
+ * Tracks the start timestamps of open transactions, so that the immutable timestamp is the least of these.
+ *
+ * Locking and unlocking happen on every transaction start and end, so the holders are kept in a lock-free skip list
+ * rather than behind a monitor. Start timestamps are nearly monotonic, so new entries are almost always inserted at the
+ * tail and are removed close to the head; reading the least entry only needs to skip over nodes that were lazily
+ * deleted by concurrent unlocks.
+ */
 public class ImmutableTimestampTracker {
 
-    @GuardedBy("this")
-    private final SortedMap<Long, UUID> holdersByTimestamp = new TreeMap<>();
+    private final ConcurrentNavigableMap<Long, UUID> holdersByTimestamp = new ConcurrentSkipListMap<>();
 
-    public synchronized void lock(long timestamp, UUID requestId) {
+    public void lock(long timestamp, UUID requestId) {
         boolean wasAdded = holdersByTimestamp.putIfAbsent(timestamp, requestId) == null;
         if (!wasAdded) {
             throw new LoggableIllegalStateException(
@@ -39,7 +46,7 @@ public class ImmutableTimestampTracker {
         }
     }
 
-    public synchronized void unlock(long timestamp, UUID requestId) {
+    public void unlock(long timestamp, UUID requestId) {
         boolean wasRemoved = holdersByTimestamp.remove(timestamp, requestId);
         if (!wasRemoved) {
             throw new LoggableIllegalStateException(
@@ -50,11 +57,8 @@ public class ImmutableTimestampTracker {
         }
     }
 
-    public synchronized Optional<Long> getImmutableTimestamp() {
-        if (holdersByTimestamp.isEmpty()) {
-            return Optional.empty();
-        }
-        return Optional.of(holdersByTimestamp.firstKey());
+    public Optional<Long> getImmutableTimestamp() {
+        return Optional.ofNullable(holdersByTimestamp.firstEntry()).map(Map.Entry::getKey);
     }
 
     // TODO(nziebart): should these locks should be created by LockCollection for consistency?
@@ -32,6 +32,10 @@ public class LockCollection {
         locksById = Caffeine.newBuilder().weakValues().build(ExclusiveLock::new);
     }
 
+    public LockCollection(LockShard shard) {
+        locksById = Caffeine.newBuilder().weakValues().build(descriptor -> new ExclusiveLock(descriptor, shard));
+    }
+
     public OrderedLocks getAll(Set<LockDescriptor> descriptors) {
         List<LockDescriptor> orderedDescriptors = sort(descriptors);
 
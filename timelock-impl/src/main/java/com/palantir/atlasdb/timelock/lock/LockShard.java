@@ -0,0 +1,50 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.timelock.lock;
+
+/**
+ * Executes operations on lock state. Tasks executed by the same shard never run concurrently, and tasks executed from
+ * the same thread run in the order in which they were submitted, so state that is only ever accessed from tasks of a
+ * single shard needs no further synchronization.
+ */
+public interface LockShard {
+    void execute(Runnable task);
+
+    /**
+     * Runs the completion of a request that was decided by a task of this shard. Completing a request runs its
+     * callbacks, so shards backed by their own thread run completions elsewhere, keeping that thread for lock state.
+     */
+    default void complete(Runnable completion) {
+        completion.run();
+    }
+
+    /**
+     * Returns a shard that runs each task on the calling thread, excluding concurrent tasks with a monitor.
+     */
+    static LockShard callerRuns() {
+        return new CallerRunsLockShard();
+    }
+
+    final class CallerRunsLockShard implements LockShard {
+        private CallerRunsLockShard() {}
+
+        @Override
+        public synchronized void execute(Runnable task) {
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.timelock.lock;
+
+import com.codahale.metrics.Gauge;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.palantir.atlasdb.util.MetricsManager;
+import com.palantir.common.concurrent.NamedThreadFactory;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import java.io.Closeable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.IntStream;
+
+/**
+ * A fixed set of {@link EventLoopLockShard}s, across which the lock services of all namespaces are spread. Each
+ * namespace is always assigned to the same shard. The shards share a pool of threads on which lock requests are
+ * completed.
+ */
+public final class LockShards implements Closeable {
+    private final List<EventLoopLockShard> shards;
+    private final ExecutorService completionExecutor;
+
+    private LockShards(List<EventLoopLockShard> shards, ExecutorService completionExecutor) {
+        this.shards = shards;
+        this.completionExecutor = completionExecutor;
+    }
+
+    public static LockShards create(MetricsManager metricsManager, int numShards) {
+        Preconditions.checkArgument(
+                numShards > 0, "Must have at least one lock shard", SafeArg.of("numShards", numShards));
+        ExecutorService completionExecutor =
+                PTExecutors.newFixedThreadPool(numShards, new NamedThreadFactory("async-lock-completion", true));
+        return new LockShards(
+                IntStream.range(0, numShards)
+                        .mapToObj(index -> createShard(metricsManager, index, completionExecutor))
+                        .collect(ImmutableList.toImmutableList()),
+                completionExecutor);
+    }
+
+    public EventLoopLockShard shardFor(String namespace) {
+        return shards.get(Math.floorMod(namespace.hashCode(), shards.size()));
+    }
+
+    @Override
+    public void close() {
+        shards.forEach(EventLoopLockShard::shutdown);
+        completionExecutor.shutdown();
+    }
+
+    private static EventLoopLockShard createShard(
+            MetricsManager metricsManager, int index, ExecutorService completionExecutor) {
+        Map<String, String> tags = ImmutableMap.of("shard", Integer.toString(index));
+        EventLoopLockShard shard = EventLoopLockShard.create(
+                "async-lock-shard-" + index,
+                metricsManager.registerOrGetTaggedTimer(LockShards.class, "serviceTime", tags),
+                completionExecutor);
+        metricsManager.registerOrGet(LockShards.class, "queueDepth", (Gauge<Integer>) shard::queueDepth, tags);
+        return shard;
+    }
+}
@@ -40,6 +40,7 @@ import com.palantir.paxos.PaxosLearnerImpl;
 import com.palantir.paxos.PaxosStorageParameters;
 import com.palantir.paxos.PaxosValue;
 import com.palantir.paxos.SplittingPaxosStateLog;
+import com.palantir.paxos.SqlitePaxosGroupCommitWriter;
 import com.palantir.sls.versions.OrderableSlsVersion;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -62,6 +63,7 @@ public class LocalPaxosComponents {
     private final PaxosUseCase paxosUseCase;
     private final Path baseLogDirectory;
     private final DataSource sqliteDataSource;
+    private final SqlitePaxosGroupCommitWriter sqliteGroupCommitWriter;
     private final UUID leaderUuid;
     private final Map<Client, Components> componentsByClient = new ConcurrentHashMap<>();
     private final Supplier<BatchPaxosAcceptor> memoizedBatchAcceptor;
@@ -76,6 +78,7 @@ public class LocalPaxosComponents {
             PaxosUseCase paxosUseCase,
             Path legacyLogDirectory,
             DataSource sqliteDataSource,
+            SqlitePaxosGroupCommitWriter sqliteGroupCommitWriter,
             UUID leaderUuid,
             boolean canCreateNewClients,
             OrderableSlsVersion timeLockVersion,
@@ -84,6 +87,7 @@ public class LocalPaxosComponents {
         this.paxosUseCase = paxosUseCase;
         this.baseLogDirectory = legacyLogDirectory;
         this.sqliteDataSource = sqliteDataSource;
+        this.sqliteGroupCommitWriter = sqliteGroupCommitWriter;
         this.leaderUuid = leaderUuid;
         this.memoizedBatchAcceptor = Suppliers.memoize(this::createBatchAcceptor);
         this.memoizedBatchLearner = Suppliers.memoize(this::createBatchLearner);
@@ -98,6 +102,7 @@ public class LocalPaxosComponents {
             PaxosUseCase paxosUseCase,
             Path legacyLogDirectory,
             DataSource sqliteDataSource,
+            SqlitePaxosGroupCommitWriter sqliteGroupCommitWriter,
             UUID leaderUuid,
             boolean canCreateNewClients,
             OrderableSlsVersion timeLockVersion,
@@ -109,6 +114,7 @@ public class LocalPaxosComponents {
                     paxosUseCase,
                     legacyLogDirectory,
                     sqliteDataSource,
+                    sqliteGroupCommitWriter,
                     leaderUuid,
                     canCreateNewClients,
                     timeLockVersion,
@@ -124,6 +130,7 @@ public class LocalPaxosComponents {
             PaxosUseCase paxosUseCase,
             Path legacyLogDirectory,
             DataSource sqliteDataSource,
+            SqlitePaxosGroupCommitWriter sqliteGroupCommitWriter,
             UUID leaderUuid,
             boolean canCreateNewClients,
             OrderableSlsVersion timeLockVersion,
@@ -134,6 +141,7 @@ public class LocalPaxosComponents {
                 paxosUseCase,
                 legacyLogDirectory,
                 sqliteDataSource,
+                sqliteGroupCommitWriter,
                 leaderUuid,
                 canCreateNewClients,
                 timeLockVersion,
@@ -241,6 +249,7 @@ public class LocalPaxosComponents {
         return ImmutablePaxosStorageParameters.builder()
                 .fileBasedLogDirectory(learnerLogDir.toString())
                 .sqliteDataSource(sqliteDataSource)
+                .sqliteGroupCommitWriter(sqliteGroupCommitWriter)
                 .namespaceAndUseCase(ImmutableNamespaceAndUseCase.of(client, learnerUseCase))
                 .skipConsistencyCheckAndTruncateOldPaxosLog(skipConsistencyCheckAndTruncateOldPaxosLog)
                 .build();
@@ -256,6 +265,7 @@ public class LocalPaxosComponents {
         return ImmutablePaxosStorageParameters.builder()
                 .fileBasedLogDirectory(acceptorLogDir.toString())
                 .sqliteDataSource(sqliteDataSource)
+                .sqliteGroupCommitWriter(sqliteGroupCommitWriter)
                 .namespaceAndUseCase(ImmutableNamespaceAndUseCase.of(client, acceptorUseCase))
                 .skipConsistencyCheckAndTruncateOldPaxosLog(skipConsistencyCheckAndTruncateOldPaxosLog)
                 .build();
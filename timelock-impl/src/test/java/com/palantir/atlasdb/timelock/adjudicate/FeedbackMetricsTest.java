@@ -21,14 +21,21 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableList;
 import com.palantir.atlasdb.timelock.api.ConjureStartTransactionsRequest;
 import com.palantir.atlasdb.timelock.api.ConjureStartTransactionsResponse;
 import com.palantir.atlasdb.timelock.api.ConjureTimelockServiceBlocking;
 import com.palantir.atlasdb.util.MetricsManagers;
+import com.palantir.lock.client.CompactLockWatchResponses;
 import com.palantir.lock.client.ConjureTimelockServiceBlockingMetrics;
 import com.palantir.lock.client.DialogueAdaptingConjureTimelockService;
 import com.palantir.lock.v2.LeaderTime;
+import com.palantir.lock.v2.Lease;
+import com.palantir.lock.v2.LockImmutableTimestampResponse;
+import com.palantir.lock.v2.PartitionedTimestamps;
+import com.palantir.lock.watch.LockWatchStateUpdate;
 import com.palantir.tokens.auth.AuthHeader;
+import java.util.UUID;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -46,9 +53,6 @@ public class FeedbackMetricsTest {
     @Mock
     private ConjureStartTransactionsRequest request;
 
-    @Mock
-    private ConjureStartTransactionsResponse conjureStartTransactionsResponse;
-
     @Before
     public void cleanMetrics() {
         metrics = ConjureTimelockServiceBlockingMetrics.of(
@@ -80,8 +84,13 @@ public class FeedbackMetricsTest {
 
     @Test
     public void startTransactionMetricsAreRecordedOnSuccess() {
-        when(conjureTimelockServiceBlocking.startTransactions(AUTH_HEADER, NAMESPACE, request))
-                .thenReturn(conjureStartTransactionsResponse);
+        when(conjureTimelockServiceBlocking.startTransactionsV2(AUTH_HEADER, NAMESPACE, request))
+                .thenReturn(CompactLockWatchResponses.toCompact(ConjureStartTransactionsResponse.builder()
+                        .immutableTimestamp(mock(LockImmutableTimestampResponse.class))
+                        .timestamps(mock(PartitionedTimestamps.class))
+                        .lease(mock(Lease.class))
+                        .lockWatchUpdate(LockWatchStateUpdate.success(UUID.randomUUID(), 5L, ImmutableList.of()))
+                        .build()));
         service.startTransactions(AUTH_HEADER, NAMESPACE, request);
         assertThat(metrics.startTransactions().getCount()).isEqualTo(1L);
         assertThat(metrics.startTransactions().getSnapshot().get99thPercentile())
@@ -91,7 +100,7 @@ public class FeedbackMetricsTest {
 
     @Test
     public void startTransactionErrorMetricsAreRecordedOnException() {
-        when(conjureTimelockServiceBlocking.startTransactions(AUTH_HEADER, NAMESPACE, request))
+        when(conjureTimelockServiceBlocking.startTransactionsV2(AUTH_HEADER, NAMESPACE, request))
                 .thenThrow(new RuntimeException("Failed to start transaction."));
 
         assertThatThrownBy(() -> service.startTransactions(AUTH_HEADER, NAMESPACE, request))
@@ -18,6 +18,7 @@ package com.palantir.atlasdb.timelock.batch;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
@@ -25,6 +26,7 @@ import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.Futures;
 import com.palantir.atlasdb.http.RedirectRetryTargeter;
 import com.palantir.atlasdb.timelock.AsyncTimelockService;
@@ -36,13 +38,20 @@ import com.palantir.atlasdb.timelock.api.ConjureUnlockResponseV2;
 import com.palantir.atlasdb.timelock.api.GetCommitTimestampsRequest;
 import com.palantir.atlasdb.timelock.api.GetCommitTimestampsResponse;
 import com.palantir.atlasdb.timelock.api.LeaderTimes;
+import com.palantir.atlasdb.timelock.api.MultiClientTimelockFailure;
+import com.palantir.atlasdb.timelock.api.MultiClientTimelockRequestType;
+import com.palantir.atlasdb.timelock.api.MultiClientTimelockRequests;
+import com.palantir.atlasdb.timelock.api.MultiClientTimelockResponses;
 import com.palantir.atlasdb.timelock.api.Namespace;
 import com.palantir.atlasdb.util.TimelockTestUtils;
 import com.palantir.common.streams.KeyedStream;
 import com.palantir.common.time.NanoTime;
+import com.palantir.conjure.java.api.errors.ErrorType;
 import com.palantir.conjure.java.api.errors.QosException.RetryOther;
 import com.palantir.conjure.java.api.errors.QosException.Throttle;
+import com.palantir.conjure.java.api.errors.ServiceException;
 import com.palantir.leader.NotCurrentLeaderException;
+import com.palantir.lock.client.CompactLockWatchResponses;
 import com.palantir.lock.remoting.BlockingTimeoutException;
 import com.palantir.lock.v2.LeaderTime;
 import com.palantir.lock.v2.LeadershipId;
@@ -170,6 +179,76 @@ public class MultiClientConjureTimelockResourceTest {
         }
     }
 
+    @Test
+    public void canServeRequestsOfDifferentTypesInOneBatch() {
+        Map<Namespace, GetCommitTimestampsRequest> commitTimestampsRequests =
+                getGetCommitTimestampsRequests(ImmutableSet.of("client1", "client2"));
+        Map<Namespace, ConjureUnlockRequestV2> unlockRequests = getUnlockRequests(ImmutableSet.of("client3"));
+        MultiClientTimelockRequests request = MultiClientTimelockRequests.builder()
+                .leaderTimes(ImmutableSet.of(Namespace.of("client1"), Namespace.of("client4")))
+                .startTransactions(getStartTransactionsRequests(ImmutableList.of("client2")))
+                .getCommitTimestamps(commitTimestampsRequests)
+                .unlock(unlockRequests)
+                .build();
+
+        MultiClientTimelockResponses responses = Futures.getUnchecked(resource.batch(AUTH_HEADER, request));
+
+        assertThat(responses.getLeaderTimes()).containsOnlyKeys(Namespace.of("client1"), Namespace.of("client4"));
+        assertThat(responses.getStartTransactions()).containsOnlyKeys(Namespace.of("client2"));
+        assertThat(responses.getGetCommitTimestamps())
+                .containsExactlyInAnyOrderEntriesOf(Maps.transformValues(
+                        getGetCommitTimestampsResponseMap(ImmutableSet.of("client1", "client2")),
+                        CompactLockWatchResponses::toCompact));
+        assertThat(CompactLockWatchResponses.fromCompact(
+                                responses.getStartTransactions().get(Namespace.of("client2")))
+                        .getLockWatchUpdate())
+                .isEqualTo(lockWatchStateUpdate);
+        assertThat(responses.getUnlock().get(Namespace.of("client3")).get())
+                .isEqualTo(unlockRequests.get(Namespace.of("client3")).get());
+    }
+
+    @Test
+    public void reportsFailedRequestsInBatchWithoutFailingOthers() {
+        when(getServiceForClient("client1").leaderTime()).thenThrow(new BlockingTimeoutException(""));
+        when(getServiceForClient("client2").unlock(any()))
+                .thenReturn(Futures.immediateFailedFuture(new ServiceException(ErrorType.FAILED_PRECONDITION)));
+        Map<Namespace, ConjureUnlockRequestV2> unlockRequests =
+                getUnlockRequests(ImmutableSet.of("client1", "client2"));
+        MultiClientTimelockRequests request = MultiClientTimelockRequests.builder()
+                .leaderTimes(ImmutableSet.of(Namespace.of("client1"), Namespace.of("client2")))
+                .unlock(unlockRequests)
+                .build();
+
+        MultiClientTimelockResponses responses = Futures.getUnchecked(resource.batch(AUTH_HEADER, request));
+
+        assertThat(responses.getLeaderTimes()).containsOnlyKeys(Namespace.of("client2"));
+        assertThat(responses.getUnlock()).containsOnlyKeys(Namespace.of("client1"));
+        assertThat(responses.getFailures())
+                .extracting(
+                        MultiClientTimelockFailure::getNamespace,
+                        MultiClientTimelockFailure::getRequestType,
+                        failure -> failure.getError().errorCode(),
+                        MultiClientTimelockFailure::getStatus)
+                .containsExactlyInAnyOrder(
+                        tuple(Namespace.of("client1"), MultiClientTimelockRequestType.LEADER_TIMES, "INTERNAL", 500),
+                        tuple(
+                                Namespace.of("client2"),
+                                MultiClientTimelockRequestType.UNLOCK,
+                                "FAILED_PRECONDITION",
+                                400));
+    }
+
+    @Test
+    public void failsWholeBatchIfNotCurrentLeader() {
+        when(getServiceForClient("alpha").leaderTime()).thenThrow(new NotCurrentLeaderException("Not the leader!"));
+        MultiClientTimelockRequests request = MultiClientTimelockRequests.builder()
+                .leaderTimes(ImmutableSet.of(Namespace.of("alpha"), Namespace.of("beta")))
+                .build();
+
+        assertThatThrownBy(() -> Futures.getUnchecked(resource.batch(AUTH_HEADER, request)))
+                .hasCauseInstanceOf(RetryOther.class);
+    }
+
     private Map<Namespace, GetCommitTimestampsResponse> getGetCommitTimestampsResponseMap(Set<String> namespaces) {
         return KeyedStream.of(namespaces)
                 .mapKeys(Namespace::of)
@@ -28,13 +28,16 @@ import com.palantir.paxos.PaxosProposal;
 import com.palantir.paxos.PaxosProposalId;
 import com.palantir.paxos.PaxosValue;
 import com.palantir.paxos.SqliteConnections;
+import com.palantir.paxos.SqlitePaxosGroupCommitWriter;
 import com.palantir.sls.versions.OrderableSlsVersion;
+import com.palantir.tritium.metrics.registry.DefaultTaggedMetricRegistry;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.UUID;
 import javax.sql.DataSource;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -59,15 +62,22 @@ public class LocalPaxosComponentsTest {
     private LocalPaxosComponents paxosComponents;
     private Path legacyDirectory;
     private DataSource sqlite;
+    private SqlitePaxosGroupCommitWriter groupCommitWriter;
 
     @Before
     public void setUp() throws IOException {
         legacyDirectory = TEMPORARY_FOLDER.newFolder("legacy").toPath();
         sqlite = SqliteConnections.getDefaultConfiguredPooledDataSource(
                 TEMPORARY_FOLDER.newFolder("sqlite").toPath());
+        groupCommitWriter = SqlitePaxosGroupCommitWriter.create(sqlite, new DefaultTaggedMetricRegistry());
         paxosComponents = createPaxosComponents(true);
     }
 
+    @After
+    public void tearDown() {
+        groupCommitWriter.close();
+    }
+
     @Test
     public void newClientCanBeCreated() {
         PaxosLearner learner = paxosComponents.learner(CLIENT);
@@ -130,6 +140,7 @@ public class LocalPaxosComponentsTest {
                 PaxosUseCase.TIMESTAMP,
                 legacyDirectory,
                 sqlite,
+                groupCommitWriter,
                 UUID.randomUUID(),
                 canCreateNewClients,
                 DEFAULT_TIME_LOCK_VERSION,
@@ -143,6 +154,7 @@ public class LocalPaxosComponentsTest {
                 PaxosUseCase.TIMESTAMP,
                 legacyDirectory,
                 sqlite,
+                groupCommitWriter,
                 UUID.randomUUID(),
                 canCreateNewClients,
                 timeLockVersion,
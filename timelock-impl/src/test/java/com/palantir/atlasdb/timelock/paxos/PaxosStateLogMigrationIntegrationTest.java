@@ -32,9 +32,11 @@ import com.palantir.paxos.PaxosStateLogMigrator;
 import com.palantir.paxos.PaxosStorageParameters;
 import com.palantir.paxos.PaxosValue;
 import com.palantir.paxos.SqliteConnections;
+import com.palantir.paxos.SqlitePaxosGroupCommitWriter;
 import com.palantir.paxos.SqlitePaxosStateLog;
 import com.palantir.paxos.Versionable;
 import com.palantir.sls.versions.OrderableSlsVersion;
+import com.palantir.tritium.metrics.registry.DefaultTaggedMetricRegistry;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Arrays;
@@ -42,6 +44,7 @@ import java.util.Collection;
 import java.util.UUID;
 import javax.sql.DataSource;
 import org.jmock.lib.concurrent.DeterministicScheduler;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -67,6 +70,7 @@ public class PaxosStateLogMigrationIntegrationTest {
 
     private Path legacyDirectory;
     private DataSource sqlite;
+    private SqlitePaxosGroupCommitWriter groupCommitWriter;
     private PaxosStateLog<PaxosValue> fileBasedLearnerLog;
 
     @Rule
@@ -77,9 +81,15 @@ public class PaxosStateLogMigrationIntegrationTest {
         legacyDirectory = TEMPORARY_FOLDER.newFolder("legacy").toPath();
         sqlite = SqliteConnections.getDefaultConfiguredPooledDataSource(
                 TEMPORARY_FOLDER.newFolder("sqlite").toPath());
+        groupCommitWriter = SqlitePaxosGroupCommitWriter.create(sqlite, new DefaultTaggedMetricRegistry());
         fileBasedLearnerLog = createFileSystemLearnerLog(CLIENT);
     }
 
+    @After
+    public void tearDown() {
+        groupCommitWriter.close();
+    }
+
     public PaxosStateLogMigrationIntegrationTest(boolean asyncMigrationCompleted) {
         this.asyncMigrationCompleted = asyncMigrationCompleted;
     }
@@ -348,6 +358,7 @@ public class PaxosStateLogMigrationIntegrationTest {
                 useCase,
                 legacyDirectory,
                 sqlite,
+                groupCommitWriter,
                 UUID.randomUUID(),
                 true,
                 OrderableSlsVersion.valueOf("0.0.0"),
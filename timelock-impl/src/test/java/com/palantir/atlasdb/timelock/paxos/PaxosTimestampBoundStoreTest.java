@@ -46,7 +46,9 @@ import com.palantir.paxos.PaxosRoundFailureException;
 import com.palantir.paxos.SingleLeaderAcceptorNetworkClient;
 import com.palantir.paxos.SingleLeaderLearnerNetworkClient;
 import com.palantir.paxos.SqliteConnections;
+import com.palantir.paxos.SqlitePaxosGroupCommitWriter;
 import com.palantir.sls.versions.OrderableSlsVersion;
+import com.palantir.tritium.metrics.registry.DefaultTaggedMetricRegistry;
 import java.io.IOException;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -56,6 +58,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.Nullable;
+import javax.sql.DataSource;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -109,11 +112,15 @@ public class PaxosTimestampBoundStoreTest {
 
         for (int i = 0; i < NUM_NODES; i++) {
             String root = temporaryFolder.getRoot().getAbsolutePath();
+            DataSource sqlite = SqliteConnections.getDefaultConfiguredPooledDataSource(Paths.get(root, i + "sqlite"));
+            SqlitePaxosGroupCommitWriter groupCommitWriter =
+                    closer.register(SqlitePaxosGroupCommitWriter.create(sqlite, new DefaultTaggedMetricRegistry()));
             LocalPaxosComponents components = LocalPaxosComponents.createWithAsyncMigration(
                     TimelockPaxosMetrics.of(PaxosUseCase.TIMESTAMP, MetricsManagers.createForTests()),
                     PaxosUseCase.TIMESTAMP,
                     Paths.get(root, i + "legacy"),
-                    SqliteConnections.getDefaultConfiguredPooledDataSource(Paths.get(root, i + "sqlite")),
+                    sqlite,
+                    groupCommitWriter,
                     UUID.randomUUID(),
                     true,
                     OrderableSlsVersion.valueOf("0.0.0"),
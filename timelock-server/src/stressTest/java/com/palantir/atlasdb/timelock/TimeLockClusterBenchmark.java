@@ -0,0 +1,177 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.timelock;
+
+import static com.palantir.atlasdb.timelock.TemplateVariables.generateThreeNodeTimelockCluster;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.UniformReservoir;
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.Futures;
+import com.palantir.atlasdb.timelock.api.ConjureStartTransactionsRequest;
+import com.palantir.atlasdb.timelock.api.GetCommitTimestampsRequest;
+import com.palantir.atlasdb.timelock.util.TestableTimeLockClusterPorts;
+import com.palantir.lock.StringLockDescriptor;
+import com.palantir.lock.v2.LockRequest;
+import com.palantir.lock.v2.LockResponse;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.logger.SafeLogger;
+import com.palantir.logsafe.logger.SafeLoggerFactory;
+import com.palantir.timelock.config.PaxosInstallConfiguration.PaxosLeaderMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+/**
+ * Drives start transaction, lock and unlock, and commit timestamp workloads across many namespaces against three
+ * TimeLock servers running in this JVM, with batch paxos traffic between the servers subject to simulated latency,
+ * jitter and loss. Throughput and latency percentiles for each workload are logged.
+ *
+ * This is not run as part of the build; run it locally with {@code ./gradlew timelock-server:timeLockClusterBenchmark}.
+ * Parameters can be overridden with {@code -Dtimelock.benchmark.<parameter>=<value>}, for example
+ * {@code -Dtimelock.benchmark.latencyMillis=5}.
+ */
+public class TimeLockClusterBenchmark {
+    private static final SafeLogger log = SafeLoggerFactory.get(TimeLockClusterBenchmark.class);
+
+    private static final int NUM_NAMESPACES = Integer.getInteger("timelock.benchmark.namespaces", 50);
+    private static final int NUM_THREADS = Integer.getInteger("timelock.benchmark.threads", 32);
+    private static final Duration WORKLOAD_DURATION =
+            Duration.ofSeconds(Long.getLong("timelock.benchmark.durationSeconds", 30));
+    private static final SimulatedNetworkConditions NETWORK_CONDITIONS = SimulatedNetworkConditions.builder()
+            .latency(Duration.ofMillis(Long.getLong("timelock.benchmark.latencyMillis", 2)))
+            .jitter(Duration.ofMillis(Long.getLong("timelock.benchmark.jitterMillis", 1)))
+            .lossProbability(Double.parseDouble(System.getProperty("timelock.benchmark.lossProbability", "0.001")))
+            .build();
+
+    private static final long LOCK_TIMEOUT_MS = 1_000;
+    private static final UUID REQUESTOR_ID = UUID.randomUUID();
+    private static final List<String> NAMESPACES = IntStream.range(0, NUM_NAMESPACES)
+            .mapToObj(index -> "benchmark-" + index)
+            .collect(Collectors.toList());
+
+    @ClassRule
+    public static final TestableTimelockCluster CLUSTER = new TestableTimelockCluster(
+            "timelock cluster benchmark",
+            "paxosMultiServer.ftl",
+            generateThreeNodeTimelockCluster(
+                    TestableTimeLockClusterPorts.TIMELOCK_CLUSTER_BENCHMARK,
+                    builder -> builder.clientPaxosBuilder(builder.clientPaxosBuilder()
+                                    .isUseBatchPaxosTimestamp(true)
+                                    .isBatchSingleLeader(true))
+                            .leaderMode(PaxosLeaderMode.SINGLE_LEADER)));
+
+    @BeforeClass
+    public static void setUpNetworkAndElectLeaders() {
+        CLUSTER.simulateNetworkConditionsForBatchPaxos(NETWORK_CONDITIONS);
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        CLUSTER.waitUntilAllServersOnlineAndReadyToServeNamespaces(NAMESPACES);
+        log.info(
+                "Cluster ready to serve {} namespaces after {} with network conditions {}",
+                SafeArg.of("namespaces", NUM_NAMESPACES),
+                SafeArg.of("elapsed", stopwatch.elapsed()),
+                SafeArg.of("networkConditions", NETWORK_CONDITIONS));
+    }
+
+    @Test
+    public void startTransactions() {
+        runWorkload("start-transactions", client -> client.namespacedConjureTimelockService()
+                .startTransactions(ConjureStartTransactionsRequest.builder()
+                        .numTransactions(1)
+                        .requestId(UUID.randomUUID())
+                        .requestorId(REQUESTOR_ID)
+                        .build()));
+    }
+
+    @Test
+    public void lockAndUnlock() {
+        runWorkload("lock-and-unlock", client -> {
+            LockResponse response = client.lock(LockRequest.of(
+                    ImmutableSet.of(StringLockDescriptor.of(UUID.randomUUID().toString())), LOCK_TIMEOUT_MS));
+            response.getTokenOrEmpty().ifPresent(client::unlock);
+        });
+    }
+
+    @Test
+    public void getCommitTimestamps() {
+        runWorkload("commit-timestamps", client -> client.namespacedConjureTimelockService()
+                .getCommitTimestamps(GetCommitTimestampsRequest.builder().numTimestamps(1).build()));
+    }
+
+    private static void runWorkload(String workload, Consumer<NamespacedClients> operation) {
+        List<NamespacedClients> clients =
+                NAMESPACES.stream().map(CLUSTER::client).collect(Collectors.toList());
+        Timer latencies = new Timer(new UniformReservoir(100_000));
+        Meter failures = new Meter();
+        Instant deadline = Instant.now().plus(WORKLOAD_DURATION);
+
+        ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+        List<Future<?>> workers = IntStream.range(0, NUM_THREADS)
+                .mapToObj(unused -> executor.submit(() -> {
+                    while (Instant.now().isBefore(deadline)) {
+                        NamespacedClients client = clients.get(ThreadLocalRandom.current().nextInt(clients.size()));
+                        try (Timer.Context context = latencies.time()) {
+                            operation.accept(client);
+                        } catch (RuntimeException e) {
+                            failures.mark();
+                        }
+                    }
+                }))
+                .collect(Collectors.toList());
+        workers.forEach(Futures::getUnchecked);
+        executor.shutdown();
+
+        report(workload, latencies, failures);
+        assertThat(latencies.getCount()).isGreaterThan(failures.getCount());
+    }
+
+    private static void report(String workload, Timer latencies, Meter failures) {
+        Snapshot snapshot = latencies.getSnapshot();
+        double throughput = (double) latencies.getCount() / WORKLOAD_DURATION.getSeconds();
+        log.info(
+                "{}: {} operations ({} failed) in {}, {} ops/s; latency p50 {} ms, p95 {} ms, p99 {} ms, max {} ms",
+                SafeArg.of("workload", workload),
+                SafeArg.of("operations", latencies.getCount()),
+                SafeArg.of("failures", failures.getCount()),
+                SafeArg.of("duration", WORKLOAD_DURATION),
+                SafeArg.of("throughput", String.format("%.1f", throughput)),
+                SafeArg.of("p50", String.format("%.2f", nanosToMillis(snapshot.getMedian()))),
+                SafeArg.of("p95", String.format("%.2f", nanosToMillis(snapshot.get95thPercentile()))),
+                SafeArg.of("p99", String.format("%.2f", nanosToMillis(snapshot.get99thPercentile()))),
+                SafeArg.of("max", String.format("%.2f", nanosToMillis(snapshot.getMax()))));
+    }
+
+    private static double nanosToMillis(double nanos) {
+        return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -18,7 +18,15 @@ package com.palantir.atlasdb.timelock.lock;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.google.common.util.concurrent.Futures;
+import com.palantir.common.concurrent.PTExecutors;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.Test;
 
 public class ImmutableTimestampTrackerTest {
@@ -78,6 +86,29 @@ public class ImmutableTimestampTrackerTest {
         assertThatThrownBy(() -> unlock(TIMESTAMP_1, REQUEST_1)).isInstanceOf(IllegalStateException.class);
     }
 
+    @Test
+    public void immutableTimestampNeverExceedsHeldTimestampUnderConcurrentLocking() {
+        lock(TIMESTAMP_1, REQUEST_1);
+        AtomicLong timestamps = new AtomicLong(TIMESTAMP_2);
+        ExecutorService executor = PTExecutors.newFixedThreadPool(8);
+        List<Future<?>> futures = IntStream.range(0, 8)
+                .mapToObj(unused -> executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        long timestamp = timestamps.incrementAndGet();
+                        UUID requestId = UUID.randomUUID();
+                        lock(timestamp, requestId);
+                        assertThat(tracker.getImmutableTimestamp()).contains(TIMESTAMP_1);
+                        unlock(timestamp, requestId);
+                    }
+                }))
+                .collect(Collectors.toList());
+        futures.forEach(Futures::getUnchecked);
+        executor.shutdown();
+
+        unlock(TIMESTAMP_1, REQUEST_1);
+        assertThat(tracker.getImmutableTimestamp()).isNotPresent();
+    }
+
     private AsyncResult<Void> lock(long timestamp, UUID requestId) {
         return tracker.getLockFor(timestamp).lock(requestId);
     }
@@ -0,0 +1,167 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.timelock.lock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.palantir.atlasdb.util.MetricsManager;
+import com.palantir.atlasdb.util.MetricsManagers;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.lock.LockDescriptor;
+import com.palantir.lock.StringLockDescriptor;
+import com.palantir.lock.v2.LockToken;
+import com.palantir.logsafe.exceptions.SafeRuntimeException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.After;
+import org.junit.Test;
+
+public class ShardedAsyncLockServiceTest {
+    private static final LockDescriptor LOCK_A = StringLockDescriptor.of("a");
+    private static final TimeLimit TIMEOUT = TimeLimit.of(10_000L);
+    private static final TimeLimit SHORT_TIMEOUT = TimeLimit.of(100L);
+
+    private final MetricsManager metricsManager = MetricsManagers.createForTests();
+    private final LockShards lockShards = LockShards.create(metricsManager, 2);
+    private final LockLog lockLog = new LockLog(new MetricRegistry(), () -> 2L);
+
+    @After
+    public void tearDown() {
+        lockShards.close();
+    }
+
+    @Test
+    public void namespacesAreAlwaysAssignedToTheSameShard() {
+        assertThat(lockShards.shardFor("namespace")).isSameAs(lockShards.shardFor("namespace"));
+    }
+
+    @Test
+    public void waitingRequestGetsTheLockAfterItIsUnlocked() {
+        AsyncLockService service = createService("namespace");
+
+        LockToken token = awaitSuccess(service.lock(UUID.randomUUID(), ImmutableSet.of(LOCK_A), TIMEOUT))
+                .value();
+        AsyncResult<Leased<LockToken>> waiter = service.lock(UUID.randomUUID(), ImmutableSet.of(LOCK_A), TIMEOUT);
+        assertThat(waiter.isComplete()).isFalse();
+
+        assertThat(service.unlock(token)).isTrue();
+        awaitSuccess(waiter);
+    }
+
+    @Test
+    public void closingOneServiceDoesNotAffectOthersOnTheSameShard() {
+        EventLoopLockShard shard = lockShards.shardFor("namespace");
+        AsyncLockService closed = AsyncLockService.createSharded(lockLog, shard);
+        AsyncLockService open = AsyncLockService.createSharded(lockLog, shard);
+        closed.close();
+
+        awaitSuccess(open.lock(UUID.randomUUID(), ImmutableSet.of(LOCK_A), TIMEOUT));
+        AsyncResult<Leased<LockToken>> timedOut =
+                open.lock(UUID.randomUUID(), ImmutableSet.of(LOCK_A), SHORT_TIMEOUT);
+
+        awaitCompletion(timedOut);
+        assertThat(timedOut.isTimedOut()).isTrue();
+    }
+
+    @Test
+    public void exclusiveLockIsMutuallyExclusiveAcrossThreads() {
+        ExclusiveLock lock = new ExclusiveLock(LOCK_A, lockShards.shardFor("namespace"));
+        AtomicInteger holders = new AtomicInteger();
+        AtomicInteger maxHolders = new AtomicInteger();
+
+        ExecutorService executor = PTExecutors.newFixedThreadPool(8);
+        List<Future<?>> futures = IntStream.range(0, 8)
+                .mapToObj(unused -> executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        UUID requestId = UUID.randomUUID();
+                        awaitSuccess(lock.lock(requestId));
+                        maxHolders.accumulateAndGet(holders.incrementAndGet(), Math::max);
+                        holders.decrementAndGet();
+                        lock.unlock(requestId);
+                    }
+                }))
+                .collect(Collectors.toList());
+        futures.forEach(Futures::getUnchecked);
+        executor.shutdown();
+
+        assertThat(maxHolders).hasValue(1);
+    }
+
+    @Test
+    public void lockRequestsAreCompletedOffTheShardThread() {
+        ExclusiveLock lock = new ExclusiveLock(LOCK_A, lockShards.shardFor("namespace"));
+        UUID holder = UUID.randomUUID();
+        awaitSuccess(lock.lock(holder));
+        AsyncResult<Void> waiter = lock.lock(UUID.randomUUID());
+        AtomicReference<String> completingThread = new AtomicReference<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        waiter.onComplete(() -> {
+            completingThread.set(Thread.currentThread().getName());
+            completed.countDown();
+        });
+
+        lock.unlock(holder);
+
+        assertThat(Uninterruptibles.awaitUninterruptibly(completed, 10, TimeUnit.SECONDS)).isTrue();
+        assertThat(completingThread.get()).startsWith("async-lock-completion");
+    }
+
+    @Test
+    public void registersQueueDepthAndServiceTimeMetricsPerShard() {
+        assertThat(metricsManager.getTaggedRegistry().getMetrics().keySet())
+                .filteredOn(name -> name.safeTags().containsKey("shard"))
+                .extracting(name -> name.safeName())
+                .containsExactlyInAnyOrder(
+                        MetricRegistry.name(LockShards.class, "queueDepth"),
+                        MetricRegistry.name(LockShards.class, "queueDepth"),
+                        MetricRegistry.name(LockShards.class, "serviceTime"),
+                        MetricRegistry.name(LockShards.class, "serviceTime"));
+    }
+
+    private AsyncLockService createService(String namespace) {
+        return AsyncLockService.createSharded(lockLog, lockShards.shardFor(namespace));
+    }
+
+    private static <T> T awaitSuccess(AsyncResult<T> result) {
+        awaitCompletion(result);
+        assertThat(result.isCompletedSuccessfully()).isTrue();
+        return result.get();
+    }
+
+    private static void awaitCompletion(AsyncResult<?> result) {
+        CountDownLatch latch = new CountDownLatch(1);
+        result.onComplete(latch::countDown);
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SafeRuntimeException("interrupted", e);
+        }
+    }
+}
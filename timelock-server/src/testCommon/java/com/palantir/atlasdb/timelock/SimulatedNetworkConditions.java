@@ -0,0 +1,64 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.timelock;
+
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import java.time.Duration;
+import org.immutables.value.Value;
+
+/**
+ * Latency, jitter and loss applied to requests one TimeLock node makes to the batch paxos acceptor and learner
+ * endpoints of another. Each request is delayed by a uniformly random duration in
+ * {@code [latency - jitter, latency + jitter]}, and dropped with probability {@code lossProbability}.
+ */
+@Value.Immutable
+public interface SimulatedNetworkConditions {
+    SimulatedNetworkConditions PERFECT = builder().build();
+
+    @Value.Default
+    default Duration latency() {
+        return Duration.ZERO;
+    }
+
+    @Value.Default
+    default Duration jitter() {
+        return Duration.ZERO;
+    }
+
+    @Value.Default
+    default double lossProbability() {
+        return 0.0;
+    }
+
+    @Value.Check
+    default void check() {
+        Preconditions.checkArgument(
+                jitter().compareTo(latency()) <= 0,
+                "Jitter must not exceed latency",
+                SafeArg.of("latency", latency()),
+                SafeArg.of("jitter", jitter()));
+        Preconditions.checkArgument(
+                lossProbability() >= 0.0 && lossProbability() < 1.0,
+                "Loss probability must be in [0, 1)",
+                SafeArg.of("lossProbability", lossProbability()));
+    }
+
+    static ImmutableSimulatedNetworkConditions.Builder builder() {
+        return ImmutableSimulatedNetworkConditions.builder();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.timelock;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Resets the connection instead of proxying the request for a configurable fraction of the requests matched by a
+ * stub, simulating a lossy link between TimeLock nodes.
+ */
+final class SimulatedPacketLossTransformer extends ResponseDefinitionTransformer {
+    static final String NAME = "simulated-packet-loss";
+    static final String LOSS_PROBABILITY = "lossProbability";
+
+    @Override
+    public ResponseDefinition transform(
+            Request request, ResponseDefinition responseDefinition, FileSource files, Parameters parameters) {
+        double lossProbability = parameters.getDouble(LOSS_PROBABILITY, 0.0);
+        if (ThreadLocalRandom.current().nextDouble() < lossProbability) {
+            return ResponseDefinitionBuilder.responseDefinition()
+                    .withFault(Fault.CONNECTION_RESET_BY_PEER)
+                    .build();
+        }
+        return responseDefinition;
+    }
+
+    @Override
+    public boolean applyGlobally() {
+        return false;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+}
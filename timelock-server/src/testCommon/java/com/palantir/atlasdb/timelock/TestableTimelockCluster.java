@@ -226,6 +226,10 @@ public class TestableTimelockCluster implements TestRule {
         }
     }
 
+    void simulateNetworkConditionsForBatchPaxos(SimulatedNetworkConditions conditions) {
+        servers.forEach(server -> server.serverHolder().simulateNetworkConditionsForBatchPaxos(conditions));
+    }
+
     Set<TestableTimelockServer> servers() {
         return servers;
     }
@@ -18,6 +18,7 @@ package com.palantir.atlasdb.timelock;
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.any;
 import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
@@ -25,9 +26,11 @@ import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.google.common.primitives.Ints;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.palantir.atlasdb.timelock.config.CombinedTimeLockServerConfiguration;
+import com.palantir.atlasdb.timelock.paxos.PaxosTimeLockConstants;
 import com.palantir.conjure.java.api.config.service.UserAgent;
 import com.palantir.conjure.java.api.config.service.UserAgents;
 import com.palantir.logsafe.Preconditions;
@@ -44,6 +47,9 @@ public class TimeLockServerHolder extends ExternalResource {
 
     static final String ALL_NAMESPACES = "/[a-zA-Z0-9_-]+/.*";
 
+    private static final String BATCH_PAXOS_ENDPOINTS = "/\\" + PaxosTimeLockConstants.INTERNAL_NAMESPACE + "/[^/]+/\\"
+            + PaxosTimeLockConstants.BATCH_INTERNAL_NAMESPACE + "/(acceptor|learner)/.*";
+
     static final UserAgent WIREMOCK_USER_AGENT = UserAgent.of(UserAgent.Agent.of("wiremock", "1.1.1"));
 
     private final Supplier<String> configFilePathSupplier;
@@ -100,6 +106,27 @@ public class TimeLockServerHolder extends ExternalResource {
         wireMock.register(catchAll);
     }
 
+    /**
+     * Applies the given conditions to batch paxos acceptor and learner requests made to this server by the other
+     * servers in the cluster, which address each other through their proxies. Requests from clients are unaffected.
+     */
+    void simulateNetworkConditionsForBatchPaxos(SimulatedNetworkConditions conditions) {
+        long latencyMillis = conditions.latency().toMillis();
+        long jitterMillis = conditions.jitter().toMillis();
+        wireMock.register(any(urlPathMatching(BATCH_PAXOS_ENDPOINTS))
+                .willReturn(aResponse()
+                        .proxiedFrom(getTimelockUri())
+                        .withAdditionalRequestHeader("User-Agent", UserAgents.format(WIREMOCK_USER_AGENT))
+                        .withUniformRandomDelay(
+                                Ints.checkedCast(latencyMillis - jitterMillis),
+                                Ints.checkedCast(latencyMillis + jitterMillis))
+                        .withTransformers(SimulatedPacketLossTransformer.NAME)
+                        .withTransformerParameter(
+                                SimulatedPacketLossTransformer.LOSS_PROBABILITY, conditions.lossProbability()))
+                .atPriority(1)
+                .build());
+    }
+
     public int getTimelockPort() {
         return timelockPort;
     }
@@ -162,6 +189,7 @@ public class TimeLockServerHolder extends ExternalResource {
                 .httpsPort(port)
                 .keystorePath("var/security/keyStore.jks")
                 .keystorePassword("keystore")
-                .keyManagerPassword("keystore");
+                .keyManagerPassword("keystore")
+                .extensions(new SimulatedPacketLossTransformer());
     }
 }
@@ -28,7 +28,8 @@ public enum TestableTimeLockClusterPorts {
     MULTI_LEADER_PAXOS_SUITE(9080),
     SINGLE_LEADER_PAXOS_SUITE_1(9090),
     SINGLE_LEADER_PAXOS_SUITE_2(9100),
-    SINGLE_LEADER_PAXOS_SUITE_3(9110);
+    SINGLE_LEADER_PAXOS_SUITE_3(9110),
+    TIMELOCK_CLUSTER_BENCHMARK(9120);
 
     private final int startingPort;
 
@@ -22,6 +22,10 @@ import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.logger.SafeLogger;
 import com.palantir.logsafe.logger.SafeLoggerFactory;
+import com.palantir.tritium.metrics.registry.MetricName;
+import com.palantir.tritium.metrics.registry.TaggedMetricRegistry;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import javax.annotation.concurrent.ThreadSafe;
 
 @ThreadSafe
@@ -48,7 +52,16 @@ public class PersistentTimestampServiceImpl implements PersistentTimestampServic
     private static final SafeLogger log = SafeLoggerFactory.get(PersistentTimestampServiceImpl.class);
     private static final int MAX_TIMESTAMPS_PER_REQUEST = 10_000;
 
+    @VisibleForTesting
+    static final MetricName BOUND_HOT_PATH_STALL =
+            MetricName.builder().safeName("timestamp.boundHotPathStall").build();
+
+    @VisibleForTesting
+    static final MetricName PREEMPTIVE_BOUND_EXTENSION =
+            MetricName.builder().safeName("timestamp.preemptiveBoundExtension").build();
+
     private ErrorCheckingTimestampBoundStore store;
+    private Function<TimestampBoundStore, PersistentUpperLimit> upperLimitFactory;
     private PersistentTimestamp timestamp;
     private final InitializingWrapper wrapper = new InitializingWrapper();
 
@@ -65,7 +78,31 @@ public class PersistentTimestampServiceImpl implements PersistentTimestampServic
     }
 
     public static PersistentTimestampService create(ErrorCheckingTimestampBoundStore store, boolean initializeAsync) {
-        PersistentTimestampServiceImpl service = new PersistentTimestampServiceImpl(store);
+        return create(store, PersistentUpperLimit::new, initializeAsync);
+    }
+
+    /**
+     * Creates a timestamp service that extends its persisted upper bound on the provided executor before the bound
+     * is reached, so that requests do not usually wait for the bound to be stored. Time that requests do spend
+     * waiting for the bound to be stored is reported by the {@code timestamp.boundHotPathStall} timer.
+     */
+    public static PersistentTimestampService createWithPreemptiveBoundExtension(
+            TimestampBoundStore store, Executor extensionExecutor, TaggedMetricRegistry metricRegistry) {
+        return create(
+                new ErrorCheckingTimestampBoundStore(store),
+                boundStore -> PersistentUpperLimit.withPreemptiveExtension(
+                        boundStore,
+                        extensionExecutor,
+                        metricRegistry.timer(BOUND_HOT_PATH_STALL),
+                        metricRegistry.meter(PREEMPTIVE_BOUND_EXTENSION)),
+                AtlasDbConstants.DEFAULT_INITIALIZE_ASYNC);
+    }
+
+    private static PersistentTimestampService create(
+            ErrorCheckingTimestampBoundStore store,
+            Function<TimestampBoundStore, PersistentUpperLimit> upperLimitFactory,
+            boolean initializeAsync) {
+        PersistentTimestampServiceImpl service = new PersistentTimestampServiceImpl(store, upperLimitFactory);
         service.wrapper.initialize(initializeAsync);
         return service.wrapper.isInitialized() ? service : service.wrapper;
     }
@@ -75,12 +112,15 @@ public class PersistentTimestampServiceImpl implements PersistentTimestampServic
         this.timestamp = timestamp;
     }
 
-    private PersistentTimestampServiceImpl(ErrorCheckingTimestampBoundStore store) {
+    private PersistentTimestampServiceImpl(
+            ErrorCheckingTimestampBoundStore store,
+            Function<TimestampBoundStore, PersistentUpperLimit> upperLimitFactory) {
         this.store = store;
+        this.upperLimitFactory = upperLimitFactory;
     }
 
     private void tryInitialize() {
-        PersistentUpperLimit upperLimit = new PersistentUpperLimit(store);
+        PersistentUpperLimit upperLimit = upperLimitFactory.apply(store);
         long latestTimestamp = upperLimit.get();
         timestamp = new PersistentTimestamp(upperLimit, latestTimestamp);
     }
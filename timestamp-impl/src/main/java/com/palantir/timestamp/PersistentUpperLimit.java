@@ -15,9 +15,19 @@
  */
 package com.palantir.timestamp;
 
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Timer;
 import com.google.common.annotations.VisibleForTesting;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.logger.SafeLogger;
+import com.palantir.logsafe.logger.SafeLoggerFactory;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class PersistentUpperLimit {
+    private static final SafeLogger log = SafeLoggerFactory.get(PersistentUpperLimit.class);
 
     /**
      * Some internal atlas clients have behavior tied to this value and will need to
@@ -28,19 +38,50 @@ public class PersistentUpperLimit {
 
     private volatile long currentLimit;
     private final TimestampBoundStore store;
+    private final Optional<PreemptiveExtension> preemptiveExtension;
+    private final AtomicBoolean extensionInFlight = new AtomicBoolean();
 
     public PersistentUpperLimit(TimestampBoundStore boundStore) {
+        this(boundStore, Optional.empty());
+    }
+
+    private PersistentUpperLimit(TimestampBoundStore boundStore, Optional<PreemptiveExtension> preemptiveExtension) {
         this.store = boundStore;
+        this.preemptiveExtension = preemptiveExtension;
         this.currentLimit = boundStore.getUpperLimit();
     }
 
+    /**
+     * Creates an upper limit that extends the limit on the provided executor once less than half of the buffer
+     * remains. The limit is still never more than {@link #BUFFER} above the greatest timestamp issued, but in steady
+     * state it is then never reached, so callers do not wait for a new bound to be persisted. Any time callers do spend
+     * waiting for this is recorded by the provided timer.
+     */
+    public static PersistentUpperLimit withPreemptiveExtension(
+            TimestampBoundStore boundStore,
+            Executor extensionExecutor,
+            Timer hotPathStalls,
+            Meter preemptiveExtensions) {
+        PreemptiveExtension preemptiveExtension =
+                new PreemptiveExtension(extensionExecutor, hotPathStalls, preemptiveExtensions);
+        return new PersistentUpperLimit(boundStore, Optional.of(preemptiveExtension));
+    }
+
     public long get() {
         return currentLimit;
     }
 
     public void increaseToAtLeast(long newLimit) {
         if (newLimit > currentLimit) {
-            updateLimit(newLimit);
+            if (preemptiveExtension.isPresent()) {
+                try (Timer.Context timer = preemptiveExtension.get().hotPathStalls.time()) {
+                    updateLimit(newLimit);
+                }
+            } else {
+                updateLimit(newLimit);
+            }
+        } else {
+            preemptiveExtension.ifPresent(extension -> maybeExtendPreemptively(extension, newLimit));
         }
     }
 
@@ -54,9 +95,53 @@ public class PersistentUpperLimit {
         currentLimit = newLimitWithBuffer;
     }
 
+    private void maybeExtendPreemptively(PreemptiveExtension extension, long issuedTimestamp) {
+        if (currentLimit - issuedTimestamp >= BUFFER / 2 || !extensionInFlight.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            extension.executor.execute(() -> extendPreemptively(extension, issuedTimestamp));
+        } catch (RejectedExecutionException e) {
+            extensionInFlight.set(false);
+            log.info("Could not schedule a pre-emptive extension of the timestamp bound", e);
+        }
+    }
+
+    private void extendPreemptively(PreemptiveExtension extension, long issuedTimestamp) {
+        try {
+            synchronized (this) {
+                long newLimitWithBuffer = Math.addExact(issuedTimestamp, BUFFER);
+                if (newLimitWithBuffer > currentLimit) {
+                    storeUpperLimit(newLimitWithBuffer);
+                    currentLimit = newLimitWithBuffer;
+                    extension.preemptiveExtensions.mark();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn(
+                    "Failed to pre-emptively extend the timestamp bound. Requests will extend it once it is reached.",
+                    SafeArg.of("currentLimit", currentLimit),
+                    e);
+        } finally {
+            extensionInFlight.set(false);
+        }
+    }
+
     private void storeUpperLimit(long upperLimit) {
         DebugLogger.willStoreNewUpperLimit(upperLimit);
         store.storeUpperLimit(upperLimit);
         DebugLogger.didStoreNewUpperLimit(upperLimit);
     }
+
+    private static final class PreemptiveExtension {
+        private final Executor executor;
+        private final Timer hotPathStalls;
+        private final Meter preemptiveExtensions;
+
+        private PreemptiveExtension(Executor executor, Timer hotPathStalls, Meter preemptiveExtensions) {
+            this.executor = executor;
+            this.hotPathStalls = hotPathStalls;
+            this.preemptiveExtensions = preemptiveExtensions;
+        }
+    }
 }
@@ -18,12 +18,18 @@ package com.palantir.timestamp;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -32,6 +38,9 @@ public class PersistentUpperLimitTest {
     private static final long INITIAL_UPPER_LIMIT = 10L;
     private static final long BUFFER = PersistentUpperLimit.BUFFER;
 
+    private final Timer hotPathStalls = new Timer();
+    private final Meter preemptiveExtensions = new Meter();
+
     private TimestampBoundStore boundStore;
     private PersistentUpperLimit upperLimit;
 
@@ -111,4 +120,74 @@ public class PersistentUpperLimitTest {
 
         assertThat(upperLimit.get()).isEqualTo(INITIAL_UPPER_LIMIT);
     }
+
+    @Test
+    public void preemptivelyExtendsTheLimitBeforeItIsReached() {
+        PersistentUpperLimit preemptiveLimit = createPreemptiveUpperLimit(Runnable::run);
+        preemptiveLimit.increaseToAtLeast(TIMESTAMP);
+        assertThat(hotPathStalls.getCount()).isEqualTo(1);
+
+        long issued = TIMESTAMP + BUFFER / 2 + 1;
+        preemptiveLimit.increaseToAtLeast(issued);
+
+        assertThat(preemptiveLimit.get()).isEqualTo(issued + BUFFER);
+        verify(boundStore).storeUpperLimit(issued + BUFFER);
+        assertThat(preemptiveExtensions.getCount()).isEqualTo(1);
+        assertThat(hotPathStalls.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void doesNotPreemptivelyExtendWhileMostOfTheBufferRemains() {
+        PersistentUpperLimit preemptiveLimit = createPreemptiveUpperLimit(Runnable::run);
+        preemptiveLimit.increaseToAtLeast(TIMESTAMP);
+
+        preemptiveLimit.increaseToAtLeast(TIMESTAMP + BUFFER / 4);
+
+        assertThat(preemptiveLimit.get()).isEqualTo(TIMESTAMP + BUFFER);
+        assertThat(preemptiveExtensions.getCount()).isZero();
+    }
+
+    @Test
+    public void preemptiveExtensionNeverExtendsMoreThanTheBufferAboveIssuedTimestamps() {
+        PersistentUpperLimit preemptiveLimit = createPreemptiveUpperLimit(Runnable::run);
+        preemptiveLimit.increaseToAtLeast(TIMESTAMP);
+
+        for (long issued = TIMESTAMP; issued < TIMESTAMP + 10 * BUFFER; issued += BUFFER / 3) {
+            preemptiveLimit.increaseToAtLeast(issued);
+            assertThat(preemptiveLimit.get()).isLessThanOrEqualTo(issued + BUFFER);
+        }
+        assertThat(preemptiveExtensions.getCount()).isPositive();
+    }
+
+    @Test
+    public void schedulesAtMostOnePreemptiveExtensionAtATime() {
+        List<Runnable> scheduledExtensions = new ArrayList<>();
+        PersistentUpperLimit preemptiveLimit = createPreemptiveUpperLimit(scheduledExtensions::add);
+        preemptiveLimit.increaseToAtLeast(TIMESTAMP);
+
+        preemptiveLimit.increaseToAtLeast(TIMESTAMP + BUFFER - 10);
+        preemptiveLimit.increaseToAtLeast(TIMESTAMP + BUFFER - 5);
+        assertThat(scheduledExtensions).hasSize(1);
+
+        scheduledExtensions.get(0).run();
+        preemptiveLimit.increaseToAtLeast(preemptiveLimit.get() - 5);
+        assertThat(scheduledExtensions).hasSize(2);
+    }
+
+    @Test
+    public void failedPreemptiveExtensionLeavesLimitUnchanged() {
+        doNothing().doThrow(RuntimeException.class).when(boundStore).storeUpperLimit(anyLong());
+        PersistentUpperLimit preemptiveLimit = createPreemptiveUpperLimit(Runnable::run);
+        preemptiveLimit.increaseToAtLeast(TIMESTAMP);
+
+        preemptiveLimit.increaseToAtLeast(TIMESTAMP + BUFFER - 1);
+
+        assertThat(preemptiveLimit.get()).isEqualTo(TIMESTAMP + BUFFER);
+        assertThat(preemptiveExtensions.getCount()).isZero();
+    }
+
+    private PersistentUpperLimit createPreemptiveUpperLimit(Executor executor) {
+        return PersistentUpperLimit.withPreemptiveExtension(
+                boundStore, executor, hotPathStalls, preemptiveExtensions);
+    }
 }